@@ -0,0 +1,187 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.keyboard.NativeKeyListener;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseListener;
+import org.jnativehook.mouse.NativeMouseMotionListener;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import org.jnativehook.mouse.NativeMouseWheelListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.ArrayList;
+import java.util.EventListener;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the fan-out of a single event to the registered listeners by <code>EventDispatchTask</code>.  The task is
+ * run on the benchmark thread, so no executor handoff is included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Djava.awt.headless=true", "-Djnativehook.lib.load=false" })
+@State(Scope.Thread)
+public class EventDispatchBenchmark {
+	public enum ListenerType {
+		KEY,
+		BUTTON,
+		MOTION,
+		WHEEL
+	}
+
+	@Param({ "1", "10", "100" })
+	public int listenerCount;
+
+	@Param
+	public ListenerType listenerType;
+
+	private final List<EventListener> listeners = new ArrayList<EventListener>();
+
+	private NativeInputEvent event;
+
+	@Setup(Level.Trial)
+	public void setUp(final Blackhole blackhole) {
+		for (int i = 0; i < listenerCount; i++) {
+			switch (listenerType) {
+				case KEY:
+					NativeKeyListener keyListener = new NativeKeyListener() {
+						public void nativeKeyTyped(NativeKeyEvent nativeEvent) {
+							blackhole.consume(nativeEvent);
+						}
+
+						public void nativeKeyPressed(NativeKeyEvent nativeEvent) {
+							blackhole.consume(nativeEvent);
+						}
+
+						public void nativeKeyReleased(NativeKeyEvent nativeEvent) {
+							blackhole.consume(nativeEvent);
+						}
+					};
+					GlobalScreen.addNativeKeyListener(keyListener);
+					listeners.add(keyListener);
+					break;
+
+				case BUTTON:
+					NativeMouseListener mouseListener = new NativeMouseListener() {
+						public void nativeMouseClicked(NativeMouseEvent nativeEvent) {
+							blackhole.consume(nativeEvent);
+						}
+
+						public void nativeMousePressed(NativeMouseEvent nativeEvent) {
+							blackhole.consume(nativeEvent);
+						}
+
+						public void nativeMouseReleased(NativeMouseEvent nativeEvent) {
+							blackhole.consume(nativeEvent);
+						}
+					};
+					GlobalScreen.addNativeMouseListener(mouseListener);
+					listeners.add(mouseListener);
+					break;
+
+				case MOTION:
+					NativeMouseMotionListener motionListener = new NativeMouseMotionListener() {
+						public void nativeMouseMoved(NativeMouseEvent nativeEvent) {
+							blackhole.consume(nativeEvent);
+						}
+
+						public void nativeMouseDragged(NativeMouseEvent nativeEvent) {
+							blackhole.consume(nativeEvent);
+						}
+					};
+					GlobalScreen.addNativeMouseMotionListener(motionListener);
+					listeners.add(motionListener);
+					break;
+
+				case WHEEL:
+					NativeMouseWheelListener wheelListener = new NativeMouseWheelListener() {
+						public void nativeMouseWheelMoved(NativeMouseWheelEvent nativeEvent) {
+							blackhole.consume(nativeEvent);
+						}
+					};
+					GlobalScreen.addNativeMouseWheelListener(wheelListener);
+					listeners.add(wheelListener);
+					break;
+			}
+		}
+
+		switch (listenerType) {
+			case KEY:
+				event = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, 0x41, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED);
+				break;
+
+			case BUTTON:
+				event = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 0, 100, 100, 1, NativeMouseEvent.BUTTON1);
+				break;
+
+			case MOTION:
+				event = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 100, 100, 0);
+				break;
+
+			case WHEEL:
+				event = new NativeMouseWheelEvent(NativeMouseEvent.NATIVE_MOUSE_WHEEL, 0, 100, 100, 0, NativeMouseWheelEvent.WHEEL_UNIT_SCROLL, 3, -1);
+				break;
+		}
+
+		// Stamp the event like the native hook thread would.
+		event.setCaptureTime(System.nanoTime());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		for (EventListener listener : listeners) {
+			if (listener instanceof NativeKeyListener) {
+				GlobalScreen.removeNativeKeyListener((NativeKeyListener) listener);
+			}
+			else if (listener instanceof NativeMouseListener) {
+				GlobalScreen.removeNativeMouseListener((NativeMouseListener) listener);
+			}
+			else if (listener instanceof NativeMouseMotionListener) {
+				GlobalScreen.removeNativeMouseMotionListener((NativeMouseMotionListener) listener);
+			}
+			else if (listener instanceof NativeMouseWheelListener) {
+				GlobalScreen.removeNativeMouseWheelListener((NativeMouseWheelListener) listener);
+			}
+		}
+
+		listeners.clear();
+	}
+
+	@Benchmark
+	public void dispatch() {
+		new GlobalScreen.EventDispatchTask(event).run();
+	}
+}
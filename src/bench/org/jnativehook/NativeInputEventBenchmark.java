@@ -0,0 +1,117 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the text helpers used to describe native input events.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Djava.awt.headless=true", "-Djnativehook.lib.load=false" })
+@State(Scope.Thread)
+public class NativeInputEventBenchmark {
+	/** Key codes ranging from common letters to keys at the end of the lookup. */
+	private static final int[] KEY_CODES = {
+		NativeKeyEvent.VC_A,
+		NativeKeyEvent.VC_ENTER,
+		NativeKeyEvent.VC_F12,
+		NativeKeyEvent.VC_SUN_UNDO,
+		NativeKeyEvent.VC_UNDEFINED
+	};
+
+	@Param({ "0", "1", "15", "8191" })
+	public int modifiers;
+
+	private NativeKeyEvent keyEvent;
+
+	private NativeMouseEvent mouseEvent;
+
+	private NativeMouseWheelEvent wheelEvent;
+
+	private int keyIndex;
+
+	/** Reused by the append benchmarks so that only the formatting itself is measured. */
+	private final StringBuilder param = new StringBuilder(255);
+
+	@Setup
+	public void setUp() {
+		keyEvent = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, modifiers, 0x41, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED);
+		mouseEvent = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_PRESSED, modifiers, 100, 100, 1, NativeMouseEvent.BUTTON1);
+		wheelEvent = new NativeMouseWheelEvent(NativeMouseEvent.NATIVE_MOUSE_WHEEL, modifiers, 100, 100, 0, NativeMouseWheelEvent.WHEEL_UNIT_SCROLL, 3, -1);
+	}
+
+	@Benchmark
+	public String getKeyText() {
+		keyIndex = (keyIndex + 1) % KEY_CODES.length;
+
+		return NativeKeyEvent.getKeyText(KEY_CODES[keyIndex]);
+	}
+
+	@Benchmark
+	public String getModifiersText() {
+		return NativeInputEvent.getModifiersText(modifiers);
+	}
+
+	@Benchmark
+	public String keyParamString() {
+		return keyEvent.paramString();
+	}
+
+	@Benchmark
+	public String mouseParamString() {
+		return mouseEvent.paramString();
+	}
+
+	@Benchmark
+	public String wheelParamString() {
+		return wheelEvent.paramString();
+	}
+
+	@Benchmark
+	public StringBuilder keyAppendParamString() {
+		param.setLength(0);
+
+		return keyEvent.appendParamString(param);
+	}
+
+	@Benchmark
+	public StringBuilder wheelAppendParamString() {
+		param.setLength(0);
+
+		return wheelEvent.appendParamString(param);
+	}
+}
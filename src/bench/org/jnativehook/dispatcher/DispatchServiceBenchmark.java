@@ -0,0 +1,127 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.dispatcher;
+
+// Imports.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the cost of handing a task from the producer, which plays the role of the native hook thread, to the
+ * dispatch thread of each dispatch service.  The <code>handoff</code> benchmark waits for every task before submitting
+ * the next one.  The <code>burst</code> benchmark submits a burst of tasks and waits for the last one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Djava.awt.headless=true", "-Djnativehook.lib.load=false" })
+@State(Scope.Thread)
+public class DispatchServiceBenchmark {
+	private static final int BURST_SIZE = 1000;
+
+	public enum ServiceType {
+		DEFAULT,
+		SWING,
+		RING_BUFFER,
+		COALESCING
+	}
+
+	@Param
+	public ServiceType serviceType;
+
+	private ExecutorService service;
+
+	private final AtomicLong executed = new AtomicLong(0);
+
+	private long submitted;
+
+	private final Runnable task = new Runnable() {
+		public void run() {
+			executed.lazySet(executed.get() + 1);
+		}
+	};
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		switch (serviceType) {
+			case DEFAULT:
+				service = new DefaultDispatchService();
+				break;
+
+			case SWING:
+				service = new SwingDispatchService();
+				break;
+
+			case RING_BUFFER:
+				service = new RingBufferDispatchService();
+				break;
+
+			case COALESCING:
+				service = new CoalescingDispatchService();
+				break;
+		}
+
+		executed.set(0);
+		submitted = 0;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		service.shutdown();
+		service.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Benchmark
+	public void handoff() {
+		service.execute(task);
+		await(++submitted);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BURST_SIZE)
+	public void burst() {
+		for (int i = 0; i < BURST_SIZE; i++) {
+			service.execute(task);
+		}
+
+		submitted += BURST_SIZE;
+		await(submitted);
+	}
+
+	private void await(long count) {
+		while (executed.get() < count) {
+			Thread.onSpinWait();
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.keyboard;
+
+// Imports.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.awt.event.KeyEvent;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of native key events to AWT key events by <code>SwingKeyAdapter</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Djava.awt.headless=true", "-Djnativehook.lib.load=false" })
+@State(Scope.Thread)
+public class SwingKeyAdapterBenchmark {
+	private SwingKeyAdapter adapter;
+
+	private NativeKeyEvent pressedEvent;
+
+	private NativeKeyEvent typedEvent;
+
+	@Setup
+	public void setUp() {
+		adapter = new SwingKeyAdapter();
+		pressedEvent = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, NativeKeyEvent.SHIFT_L_MASK, 0x41, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED);
+		typedEvent = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_TYPED, NativeKeyEvent.SHIFT_L_MASK, 0x41, NativeKeyEvent.VC_UNDEFINED, 'A');
+	}
+
+	@Benchmark
+	public KeyEvent convertPressed() {
+		return adapter.getJavaKeyEvent(pressedEvent);
+	}
+
+	@Benchmark
+	public KeyEvent convertTyped() {
+		return adapter.getJavaKeyEvent(typedEvent);
+	}
+}
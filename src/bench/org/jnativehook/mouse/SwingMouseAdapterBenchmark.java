@@ -0,0 +1,71 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.mouse;
+
+// Imports.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of native mouse events to AWT mouse events by <code>SwingMouseAdapter</code> and
+ * <code>SwingMouseWheelAdapter</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Djava.awt.headless=true", "-Djnativehook.lib.load=false" })
+@State(Scope.Thread)
+public class SwingMouseAdapterBenchmark {
+	private SwingMouseAdapter mouseAdapter;
+
+	private SwingMouseWheelAdapter wheelAdapter;
+
+	private NativeMouseEvent mouseEvent;
+
+	private NativeMouseWheelEvent wheelEvent;
+
+	@Setup
+	public void setUp() {
+		mouseAdapter = new SwingMouseAdapter();
+		wheelAdapter = new SwingMouseWheelAdapter();
+		mouseEvent = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_PRESSED, NativeMouseEvent.BUTTON1_MASK, 100, 100, 1, NativeMouseEvent.BUTTON1);
+		wheelEvent = new NativeMouseWheelEvent(NativeMouseEvent.NATIVE_MOUSE_WHEEL, 0, 100, 100, 0, NativeMouseWheelEvent.WHEEL_UNIT_SCROLL, 3, -1);
+	}
+
+	@Benchmark
+	public MouseEvent convertButton() {
+		return mouseAdapter.getJavaKeyEvent(mouseEvent);
+	}
+
+	@Benchmark
+	public MouseWheelEvent convertWheel() {
+		return wheelAdapter.getJavaMouseWheelEvent(wheelEvent);
+	}
+}
@@ -6,4 +6,6 @@ module org.jnativehook {
 
 	requires transitive java.desktop;
 	requires transitive java.logging;
+	requires java.management;
+	requires jdk.jfr;
 }
\ No newline at end of file
@@ -19,21 +19,40 @@ package org.jnativehook;
 
 // Imports.
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.module.ModuleDescriptor;
 import java.math.BigInteger;
+import java.net.JarURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.jar.Attributes;
-import java.util.jar.JarInputStream;
+import java.util.jar.JarEntry;
 import java.util.jar.Manifest;
 import java.util.logging.Logger;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CRC32;
 
 /**
  * Default implementation of the <code>NativeLibraryLocator</code> interface.  This will first attempt to load the
@@ -41,8 +60,21 @@ import java.util.logging.Logger;
  * jar based on the host operating system and architecture.
  * <p>
  *
+ * Extracted libraries are kept in a persistent cache directory and named after their content, so any number of JVMs
+ * and library versions can share the cache.  When the library is packaged in a jar, the name is derived from the
+ * CRC-32 and size recorded in the jar directory, which allows a warm start to find the cached copy without reading
+ * the library or the manifest.  Otherwise the library is hashed with SHA-256.  Extraction is serialized across JVMs
+ * with a file lock, and the complete library is moved into place atomically so that a partially written file is
+ * never loaded.
+ * <p>
+ *
+ * The cache directory defaults to a per-user directory in <code>java.io.tmpdir</code> and can be changed with the
+ * <code>jnativehook.lib.cache</code> property.  A cache directory that belongs to another user, or that other users
+ * can write to, is never used.  The library is extracted to a private temporary directory instead, which is removed
+ * when the JVM exits.
+ *
  * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
- * @version	2.0
+ * @version	2.1
  * @since	2.0
  *
  * @see NativeLibraryLocator
@@ -50,6 +82,12 @@ import java.util.logging.Logger;
 public class DefaultLibraryLocator implements NativeLibraryLocator {
 	private static Logger logger = Logger.getLogger(GlobalScreen.class.getPackage().getName());
 
+	/** The name of the file used to serialize extraction between JVMs. */
+	private static final String LOCK_FILE = ".lock";
+
+	/** The maximum number of bytes transferred per channel call. */
+	private static final long TRANSFER_SIZE = 1 << 20;
+
 	/**
 	 * Perform default procedures to interface with the native library. These
 	 * procedures include unpacking and loading the library into the Java
@@ -74,7 +112,6 @@ public class DefaultLibraryLocator implements NativeLibraryLocator {
 		String libNativePrefix = libNativeName.substring(0, i) + '-';
 		String libNativeArch = NativeSystem.getArchitecture().toString().toLowerCase();
 		String libNativeSuffix = '.' + libNativeArch + libNativeName.substring(i);
-		String libNativeVersion = null;
 
 		// Compile the resource path for the native library.
 		StringBuilder libResourcePath = new StringBuilder("/");
@@ -84,119 +121,375 @@ public class DefaultLibraryLocator implements NativeLibraryLocator {
 		libResourcePath.append(libNativeName);
 
 		// This may return null in some circumstances.
-		InputStream libInputStream = GlobalScreen.class.getResourceAsStream(libResourcePath.toString());
-		if (libInputStream != null) {
+		URL libResource = GlobalScreen.class.getResource(libResourcePath.toString());
+		if (libResource != null) {
 			try {
-				// Try and get version info by loading the Jar manifest as a resource stream.
-				URL jarFile = GlobalScreen.class.getProtectionDomain().getCodeSource().getLocation();
-				JarInputStream jarInputStream = new JarInputStream(jarFile.openStream());
+				libraries.add(getCachedLibrary(libResource, libNativePrefix, libNativeSuffix));
+			}
+			catch (IOException e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+			catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+		}
+		else {
+			logger.severe("Unable to extract the native library " + libResourcePath.toString() + "!\n");
+		}
+
+		return libraries.iterator();
+	}
+
+	/**
+	 * Returns the cached copy of the library resource, extracting it first if it is not cached yet.
+	 *
+	 * @param resource the library resource.
+	 * @param prefix the file name prefix of the library.
+	 * @param suffix the file name suffix of the library.
+	 * @return the cached library file.
+	 * @throws IOException if the library could not be extracted.
+	 * @throws NoSuchAlgorithmException if the library must be hashed and SHA-256 is unavailable.
+	 */
+	private static File getCachedLibrary(URL resource, String prefix, String suffix) throws IOException, NoSuchAlgorithmException {
+		Path cacheDir = getCacheDirectory();
+		Files.createDirectories(cacheDir);
+		restrictPermissions(cacheDir);
+
+		// Never load a library another user could have replaced.
+		boolean shared = isTrusted(cacheDir);
+		if (!shared) {
+			cacheDir = Files.createTempDirectory("jnativehook-");
+			cacheDir.toFile().deleteOnExit();
+		}
+
+		// A known key lets warm starts find the library without reading it.
+		long[] entry = getEntryChecksum(resource);
+		String key = null;
+		if (entry != null) {
+			key = Long.toHexString(entry[0]) + '-' + Long.toHexString(entry[1]);
+
+			Path libPath = cacheDir.resolve(prefix + key + suffix);
+			if (Files.isRegularFile(libPath) && Files.size(libPath) == entry[1]) {
+				return reuseLibrary(libPath, key);
+			}
+		}
+
+		NativeLibraryExtractionEvent extraction = new NativeLibraryExtractionEvent();
+		extraction.begin();
+
+		// Only one JVM on this host extracts at a time, the others wait and then reuse its copy.  Threads of this JVM
+		// are serialized by the monitor, because a second lock on the file from the same JVM fails instead of waiting.
+		synchronized (DefaultLibraryLocator.class) {
+			Path lockPath = cacheDir.resolve(LOCK_FILE);
+			FileChannel lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			if (!shared) {
+				lockPath.toFile().deleteOnExit();
+			}
+
+			try {
+				FileLock lock = lockChannel.lock();
+
+				try {
+					if (key != null) {
+						Path libPath = cacheDir.resolve(prefix + key + suffix);
+						if (Files.isRegularFile(libPath) && Files.size(libPath) == entry[1]) {
+							// Another JVM extracted the library while we were waiting for the lock.
+							return reuseLibrary(libPath, key);
+						}
+					}
+
+					Path tmpPath = Files.createTempFile(cacheDir, prefix, ".tmp");
+					try {
+						InputStream libInputStream = resource.openStream();
+						try {
+							if (key != null) {
+								CheckedInputStream checkedInputStream = new CheckedInputStream(libInputStream, new CRC32());
+								long size = transfer(checkedInputStream, tmpPath);
+
+								if (checkedInputStream.getChecksum().getValue() != entry[0] || size != entry[1]) {
+									throw new IOException("Checksum mismatch while extracting " + resource + ".");
+								}
+							}
+							else {
+								MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+								transfer(new DigestInputStream(libInputStream, sha256), tmpPath);
+
+								key = String.format("%064x", new BigInteger(1, sha256.digest()));
+							}
+						}
+						finally {
+							libInputStream.close();
+						}
 
-				// Try and extract a version string from the Manifest.
-				Manifest manifest = jarInputStream.getManifest();
-				if (manifest != null) {
-					Attributes attributes = manifest.getAttributes(basePackage);
+						Path libPath = cacheDir.resolve(prefix + key + suffix);
+						if (Files.isRegularFile(libPath) && Files.size(libPath) == Files.size(tmpPath)) {
+							// Unkeyed resources are only identified after hashing them.
+							return reuseLibrary(libPath, key);
+						}
+
+						move(tmpPath, libPath);
+						if (!shared) {
+							libPath.toFile().deleteOnExit();
+						}
+
+						setLibraryVersion(key);
 
-					if (attributes != null) {
-						String version = attributes.getValue("Specification-Version");
-						String revision = attributes.getValue("Implementation-Version");
+						// Log the file path and checksum.
+						logger.info("Library extracted successfully: " + libPath + " (" + key + ").\n");
 
-						libNativeVersion = version + '.' + revision;
+						extraction.end();
+						if (extraction.shouldCommit()) {
+							extraction.path = libPath.toString();
+							extraction.size = Files.size(libPath);
+							extraction.checksum = key;
+							extraction.commit();
+						}
+
+						return libPath.toFile();
 					}
-					else {
-						logger.warning("Invalid library manifest!\n");
+					finally {
+						Files.deleteIfExists(tmpPath);
 					}
 				}
-				else {
-					logger.warning("Cannot find library manifest!\n");
+				finally {
+					lock.release();
 				}
+			}
+			finally {
+				lockChannel.close();
+			}
+		}
+	}
+
+	/**
+	 * Returns the directory extracted libraries are cached in.
+	 *
+	 * @return the cache directory.
+	 */
+	private static Path getCacheDirectory() {
+		String cacheDir = System.getProperty("jnativehook.lib.cache");
+		if (cacheDir != null) {
+			return Paths.get(cacheDir);
+		}
 
-				jarInputStream.close();
+		// Keep users apart so that one user cannot plant a library for another.
+		String user = System.getProperty("user.name", "").replaceAll("[^A-Za-z0-9._-]", "_");
+
+		return Paths.get(System.getProperty("java.io.tmpdir"), "jnativehook-" + user);
+	}
+
+	/**
+	 * Limits access to the cache directory to its owner where the file system supports POSIX permissions.
+	 *
+	 * @param cacheDir the cache directory.
+	 */
+	private static void restrictPermissions(Path cacheDir) {
+		try {
+			Files.setPosixFilePermissions(cacheDir, PosixFilePermissions.fromString("rwx------"));
+		}
+		catch (UnsupportedOperationException e) {
+			// Not a POSIX file system.
+		}
+		catch (IOException e) {
+			// The directory belongs to another user or was created with the intended permissions.
+			logger.fine("Unable to restrict the permissions of " + cacheDir + ": " + e.getMessage() + "\n");
+		}
+	}
+
+	/**
+	 * Determine if the cache directory can be trusted.  The directory must belong to the current user and, where the
+	 * file system supports POSIX permissions, must not be writable by other users.
+	 *
+	 * @param cacheDir the cache directory.
+	 * @return true if libraries in the directory may be loaded.
+	 * @throws IOException if the owner or the permissions of the directory could not be read.
+	 */
+	private static boolean isTrusted(Path cacheDir) throws IOException {
+		try {
+			// The owner of a new file is the most reliable way to identify the current user.
+			UserPrincipal user;
+			Path probe = Files.createTempFile("jnativehook-", ".owner");
+			try {
+				user = Files.getOwner(probe);
 			}
-			catch (IOException e) {
-				logger.severe(e.getMessage());
+			finally {
+				Files.delete(probe);
 			}
 
+			UserPrincipal owner = Files.getOwner(cacheDir);
+			if (!user.equals(owner)) {
+				logger.warning("Not using the library cache " + cacheDir + ": it belongs to " + owner.getName() + ".\n");
+				return false;
+			}
+		}
+		catch (UnsupportedOperationException e) {
+			// The file system does not record owners.
+		}
 
-			// The temp file for this instance of the library.
-			File libFile = null;
-			if (libNativeVersion != null) {
-				// Use the library version from the manifest to create a file.
-				libFile = new File(System.getProperty("java.io.tmpdir"),
-						libNativePrefix + libNativeVersion + libNativeSuffix);
+		try {
+			Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(cacheDir);
+			if (permissions.contains(PosixFilePermission.GROUP_WRITE) || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+				logger.warning("Not using the library cache " + cacheDir + ": it is writable by other users (" + PosixFilePermissions.toString(permissions) + ").\n");
+				return false;
+			}
+		}
+		catch (UnsupportedOperationException e) {
+			// Not a POSIX file system.
+		}
 
-				if (libFile.exists()) {
-					// Add the native library to the list.
-					libraries.add(libFile);
+		return true;
+	}
 
-					// Set the library version property.
-					System.setProperty("jnativehook.lib.version", libNativeVersion);
+	/**
+	 * Reads the checksum and size recorded for the resource in the directory of its jar.  Reading the directory does
+	 * not inflate the resource or the manifest.
+	 *
+	 * @param resource the library resource.
+	 * @return the CRC-32 and the uncompressed size of the resource, or null if the resource is not in a jar.
+	 * @throws IOException if the jar could not be opened.
+	 */
+	private static long[] getEntryChecksum(URL resource) throws IOException {
+		URLConnection connection = resource.openConnection();
+		if (connection instanceof JarURLConnection) {
+			JarEntry entry = ((JarURLConnection) connection).getJarEntry();
 
-					logger.info("Found existing library: " + libFile.getPath() + " (" + libNativeVersion + ").\n");
-				}
+			if (entry != null && entry.getCrc() != -1 && entry.getSize() != -1) {
+				return new long[] { entry.getCrc(), entry.getSize() };
 			}
+		}
 
-			if (libraries.isEmpty()) {
-				try {
-					if (libFile == null) {
-						// If we were unable to extract a library version from the manifest, create a new tmp file.
-						libFile = File.createTempFile(libNativePrefix, libNativeSuffix);
-					}
+		return null;
+	}
 
-					byte[] buffer = new byte[4 * 1024];
-					int size;
+	/**
+	 * Copies a stream to a file with channel transfers.
+	 *
+	 * @param in the stream to copy.
+	 * @param target the file to write.
+	 * @return the number of bytes copied.
+	 * @throws IOException if the stream could not be copied.
+	 */
+	private static long transfer(InputStream in, Path target) throws IOException {
+		ReadableByteChannel source = Channels.newChannel(in);
+		FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
 
-					// Check and see if a copy of the native lib already exists.
-					FileOutputStream libOutputStream = new FileOutputStream(libFile);
+		long position = 0;
+		try {
+			long count;
+			while ((count = out.transferFrom(source, position, TRANSFER_SIZE)) > 0) {
+				position += count;
+			}
+		}
+		finally {
+			out.close();
+		}
 
-					// Setup a digest...
-					MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
-					DigestInputStream digestInputStream = new DigestInputStream(libInputStream, sha1);
+		return position;
+	}
 
-					// Read from the digest stream and write to the file steam.
-					while ((size = digestInputStream.read(buffer)) != -1) {
-						libOutputStream.write(buffer, 0, size);
-					}
+	/**
+	 * Atomically moves a completely written library to its final name.
+	 *
+	 * @param source the temporary file.
+	 * @param target the cached library file.
+	 * @throws IOException if the file could not be moved.
+	 */
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException e) {
+			try {
+				Files.move(source, target);
+			}
+			catch (FileAlreadyExistsException ex) {
+				// Left behind by an interrupted extraction that did not hold the lock, replace it.
+				Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+	}
 
-					// Close all the streams.
-					digestInputStream.close();
-					libInputStream.close();
-					libOutputStream.close();
-
-					// Convert the digest from byte[] to hex string.
-					String sha1Sum = new BigInteger(1, sha1.digest()).toString(16).toUpperCase();
-					if (libNativeVersion == null) {
-						// Use the sha1 sum as a version finger print.
-						libNativeVersion = sha1Sum;
-
-						// Better late than never.
-						File newFile = new File(System.getProperty("java.io.tmpdir"),
-								libNativePrefix + libNativeVersion + libNativeSuffix);
-						if (libFile.renameTo(newFile)) {
-							libFile = newFile;
-						}
-					}
+	/**
+	 * Sets the library version property.  The version is taken from the package attributes the class loader read
+	 * from the jar manifest.  Class loaders of the module path do not define package attributes, so the manifest is
+	 * read directly if they are missing, followed by the version of the module.  The content key is used if none of
+	 * them provide a version.
+	 *
+	 * @param key the content key of the library.
+	 */
+	private static void setLibraryVersion(String key) {
+		Package basePackage = GlobalScreen.class.getPackage();
+		String version = basePackage.getSpecificationVersion();
+		String revision = basePackage.getImplementationVersion();
 
-					// Add the native library to the list.
-					libraries.add(libFile);
+		if (version == null || revision == null) {
+			Attributes attributes = getManifestAttributes(basePackage.getName().replace('.', '/') + '/');
+			if (attributes != null) {
+				version = attributes.getValue(Attributes.Name.SPECIFICATION_VERSION);
+				revision = attributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION);
+			}
+		}
 
-					// Set the library version property.
-					System.setProperty("jnativehook.lib.version", libNativeVersion);
+		if (version != null && revision != null) {
+			System.setProperty("jnativehook.lib.version", version + '.' + revision);
+			return;
+		}
 
-					// Log the file path and checksum.
-					logger.info("Library extracted successfully: " + libFile.getPath() + " (0X" + sha1Sum + ").\n");
-				}
-				catch (IOException e) {
-					throw new IllegalStateException(e.getMessage(), e);
+		ModuleDescriptor descriptor = GlobalScreen.class.getModule().getDescriptor();
+		if (descriptor != null && descriptor.version().isPresent()) {
+			System.setProperty("jnativehook.lib.version", descriptor.version().get().toString());
+		}
+		else {
+			System.setProperty("jnativehook.lib.version", key);
+		}
+	}
+
+	/**
+	 * Reads a section of the manifest of the jar containing this library.
+	 *
+	 * @param name the name of the manifest section.
+	 * @return the attributes of the section, or null if the manifest or the section could not be found.
+	 */
+	private static Attributes getManifestAttributes(String name) {
+		try {
+			InputStream manifestInputStream = GlobalScreen.class.getResourceAsStream("/META-INF/MANIFEST.MF");
+			if (manifestInputStream != null) {
+				try {
+					return new Manifest(manifestInputStream).getAttributes(name);
 				}
-				catch (NoSuchAlgorithmException e) {
-					throw new IllegalStateException(e.getMessage(), e);
+				finally {
+					manifestInputStream.close();
 				}
 			}
 		}
-		else {
-			logger.severe("Unable to extract the native library " + libResourcePath.toString() + "!\n");
+		catch (IOException e) {
+			logger.fine("Unable to read the manifest: " + e.getMessage() + "\n");
 		}
 
-		return libraries.iterator();
+		return null;
+	}
+
+	/**
+	 * Reports the reuse of a previously extracted library.
+	 *
+	 * @param libPath the cached library file.
+	 * @param key the content key of the library.
+	 * @return the cached library file.
+	 * @throws IOException if the size of the library could not be read.
+	 */
+	private static File reuseLibrary(Path libPath, String key) throws IOException {
+		setLibraryVersion(key);
+
+		logger.info("Found existing library: " + libPath + " (" + key + ").\n");
+
+		NativeLibraryExtractionEvent extraction = new NativeLibraryExtractionEvent();
+		if (extraction.shouldCommit()) {
+			extraction.path = libPath.toString();
+			extraction.size = Files.size(libPath);
+			extraction.reused = true;
+			extraction.commit();
+		}
+
+		return libPath.toFile();
 	}
 }
@@ -0,0 +1,152 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import javax.swing.event.EventListenerList;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Array;
+import java.util.EventListener;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An <code>EventListenerList</code> that caches a typed listener array for each listener interface.  The cached array
+ * is replaced while holding the list lock whenever a listener of that type is added or removed.  Retrieving the
+ * listeners for a type does not lock, copy or allocate, which makes this registry suitable for the event dispatch
+ * path.
+ * <p>
+ *
+ * Registrations are kept in the inherited list as well, so the registry can be used wherever an
+ * <code>EventListenerList</code> is expected.  Unlike the inherited implementation, {@link #getListeners(Class)}
+ * returns the listeners in the order they were added, and the returned array is shared and must not be modified.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see GlobalScreen
+ */
+public class EventListenerRegistry extends EventListenerList {
+	private static final long serialVersionUID = 4418604574553094839L;
+
+	/** The current listener array for each listener interface. */
+	private transient ConcurrentHashMap<Class<?>, EventListener[]> listeners = new ConcurrentHashMap<Class<?>, EventListener[]>();
+
+	/**
+	 * Adds the listener as a listener of the specified type.
+	 *
+	 * @param type the type of the listener to be added.
+	 * @param listener the listener to be added.
+	 * @param <T> the listener interface.
+	 */
+	public synchronized <T extends EventListener> void add(Class<T> type, T listener) {
+		super.add(type, listener);
+		getCache().put(type, collect(type));
+	}
+
+	/**
+	 * Removes the last registration of the listener as a listener of the specified type.  This method performs no
+	 * function if the listener was not previously added.
+	 *
+	 * @param type the type of the listener to be removed.
+	 * @param listener the listener to be removed.
+	 * @param <T> the listener interface.
+	 */
+	public synchronized <T extends EventListener> void remove(Class<T> type, T listener) {
+		super.remove(type, listener);
+		getCache().put(type, collect(type));
+	}
+
+	/**
+	 * Returns all the listeners of the specified type.  The returned array is shared and must not be modified.  It
+	 * is not affected by subsequent calls to <code>add</code> or <code>remove</code>.
+	 *
+	 * @param type the type of listeners to return.
+	 * @param <T> the listener interface.
+	 * @return the listeners of the specified type, or an empty array if there are none.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends EventListener> T[] getListeners(Class<T> type) {
+		EventListener[] current = listeners.get(type);
+
+		if (current == null) {
+			// Only the first lookup for a type allocates.
+			current = load(type);
+		}
+
+		return (T[]) current;
+	}
+
+	/**
+	 * Returns the number of listeners registered for the specified type.
+	 *
+	 * @param type the type of listeners to count.
+	 * @return the number of listeners of the specified type.
+	 */
+	public int getListenerCount(Class<?> type) {
+		EventListener[] current = listeners.get(type);
+
+		return current != null ? current.length : 0;
+	}
+
+	private synchronized <T extends EventListener> EventListener[] load(Class<T> type) {
+		EventListener[] current = listeners.get(type);
+
+		if (current == null) {
+			current = collect(type);
+			listeners.put(type, current);
+		}
+
+		return current;
+	}
+
+	/**
+	 * Copies the listeners of the specified type out of the inherited list, in the order they were added.
+	 */
+	private <T extends EventListener> T[] collect(Class<T> type) {
+		Object[] list = getListenerList();
+
+		@SuppressWarnings("unchecked")
+		T[] result = (T[]) Array.newInstance(type, super.getListenerCount(type));
+		for (int i = 0, j = 0; i < list.length; i += 2) {
+			if (list[i] == type) {
+				result[j++] = type.cast(list[i + 1]);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the listener cache.  The inherited deserialization adds the listeners before this class is restored,
+	 * so the cache is created on demand.
+	 */
+	private ConcurrentHashMap<Class<?>, EventListener[]> getCache() {
+		if (listeners == null) {
+			listeners = new ConcurrentHashMap<Class<?>, EventListener[]>();
+		}
+
+		return listeners;
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		getCache();
+	}
+}
@@ -0,0 +1,104 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.keyboard.NativeKeyListener;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseListener;
+import java.util.EventListener;
+
+/**
+ * A listener registered together with a {@link NativeEventFilter}.  The nested subclasses implement the listener
+ * interface they wrap and are kept in the same list as the listeners added without a filter, so all listeners are
+ * notified in the order they were added.  The dispatcher evaluates the filter before it calls the wrapper, so the
+ * listener is only invoked for the events it asked for.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ */
+class FilteredListener implements EventListener {
+	/**
+	 * A filtered <code>NativeKeyListener</code>.
+	 */
+	static final class Key extends FilteredListener implements NativeKeyListener {
+		final NativeKeyListener listener;
+
+		Key(NativeKeyListener listener, NativeEventFilter filter) {
+			super(listener, filter);
+			this.listener = listener;
+		}
+
+		public void nativeKeyPressed(NativeKeyEvent nativeEvent) {
+			listener.nativeKeyPressed(nativeEvent);
+		}
+
+		public void nativeKeyReleased(NativeKeyEvent nativeEvent) {
+			listener.nativeKeyReleased(nativeEvent);
+		}
+
+		public void nativeKeyTyped(NativeKeyEvent nativeEvent) {
+			listener.nativeKeyTyped(nativeEvent);
+		}
+	}
+
+	/**
+	 * A filtered <code>NativeMouseListener</code>.
+	 */
+	static final class Mouse extends FilteredListener implements NativeMouseListener {
+		final NativeMouseListener listener;
+
+		Mouse(NativeMouseListener listener, NativeEventFilter filter) {
+			super(listener, filter);
+			this.listener = listener;
+		}
+
+		public void nativeMouseClicked(NativeMouseEvent nativeEvent) {
+			listener.nativeMouseClicked(nativeEvent);
+		}
+
+		public void nativeMousePressed(NativeMouseEvent nativeEvent) {
+			listener.nativeMousePressed(nativeEvent);
+		}
+
+		public void nativeMouseReleased(NativeMouseEvent nativeEvent) {
+			listener.nativeMouseReleased(nativeEvent);
+		}
+	}
+
+	/** A private copy of the filter. */
+	final NativeEventFilter filter;
+
+	private final EventListener delegate;
+
+	private FilteredListener(EventListener delegate, NativeEventFilter filter) {
+		this.delegate = delegate;
+		this.filter = new NativeEventFilter(filter);
+	}
+
+	/**
+	 * Returns the listener receiving the filtered events.
+	 *
+	 * @return the filtered listener.
+	 */
+	EventListener getListener() {
+		return delegate;
+	}
+}
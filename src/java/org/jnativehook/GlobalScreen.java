@@ -19,6 +19,7 @@ package org.jnativehook;
 
 // Imports.
 import org.jnativehook.dispatcher.DefaultDispatchService;
+import org.jnativehook.dispatcher.RingBufferDispatchService;
 import org.jnativehook.keyboard.NativeKeyEvent;
 import org.jnativehook.keyboard.NativeKeyListener;
 import org.jnativehook.mouse.NativeMouseEvent;
@@ -28,9 +29,31 @@ import org.jnativehook.mouse.NativeMouseWheelEvent;
 import org.jnativehook.mouse.NativeMouseWheelListener;
 import javax.swing.event.EventListenerList;
 import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.EventListener;
 import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 /**
  * GlobalScreen is used to represent the native screen area that Java does not
@@ -41,6 +64,13 @@ import java.util.logging.Logger;
  * native library. That includes registering and un-registering the native hook
  * with the underlying operating system and adding global keyboard and mouse
  * listeners.
+ * <p>
+ * If the <code>jnativehook.lib.load</code> system property is set to
+ * <code>false</code>, the native library is not loaded.  The native hook
+ * cannot be registered in that case, but events dispatched from Java or
+ * produced by a {@link NativeEventSource} are still delivered to the
+ * registered listeners.  The native library is not loaded by default if the
+ * <code>jnativehook.source</code> property is set.
  *
  * @author Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
  * @version 2.1
@@ -63,11 +93,199 @@ public class GlobalScreen {
 	protected static ExecutorService eventExecutor;
 
 	/**
-	 * The list of event listeners to notify.
+	 * Guards the start and stop of the hook thread.
+	 */
+	private static final Object hookLock = new Object();
+
+	/**
+	 * The registration that is waiting for the hook to start, or null.
+	 */
+	private static CompletableFuture<Duration> pendingRegistration;
+
+	/**
+	 * Completed once the event dispatcher of the last registration has terminated.
+	 */
+	private static CompletableFuture<Void> dispatcherTermination = CompletableFuture.completedFuture(null);
+
+	/**
+	 * The maximum time to wait for a full ring to accept the final task before the dispatcher is shut down.
+	 */
+	private static final long FINAL_TASK_TIMEOUT = TimeUnit.SECONDS.toNanos(1);
+
+	/**
+	 * The interval at which an internal task is resubmitted while the ring is full.
+	 */
+	private static final long TASK_RETRY_INTERVAL = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/**
+	 * Lazily started daemon threads that complete the registration futures and drain the event dispatcher.  Neither
+	 * the hook thread nor the caller of an asynchronous method ever runs the continuations of the returned futures.
+	 */
+	private static class HookNotifier {
+		private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable);
+				thread.setName("JNativeHook Hook Notifier");
+				thread.setDaemon(true);
+
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Lazily started daemon thread shared by the batch listeners, the motion throttles and the statistics.  It only
+	 * submits tasks to the event dispatcher or samples counters, so it never runs a listener.
+	 */
+	static class InternalTimer {
+		static final ScheduledExecutorService INSTANCE = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable);
+				thread.setName("JNativeHook Timer");
+				thread.setDaemon(true);
+
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Delivers the events collected by the batch listeners.  Queued as the last task when the hook is unregistered.
+	 */
+	private static final Runnable flushBatchesTask = new Runnable() {
+		public void run() {
+			NativeInputBatch[] batches = eventListeners.getListeners(NativeInputBatch.class);
+			for (int i = 0; i < batches.length; i++) {
+				batches[i].flush();
+			}
+		}
+	};
+
+	/**
+	 * The list of event listeners to notify.  An <code>EventListenerRegistry</code> is used so that looking up the
+	 * listeners of an event does not copy the list.
+	 */
+	protected static EventListenerList eventListeners = new EventListenerRegistry();
+
+	/**
+	 * The listeners notified on the native hook thread.
+	 */
+	static final SynchronousDispatcher synchronousDispatcher = new SynchronousDispatcher(new Runnable() {
+		public void run() {
+			updateEventMask();
+		}
+	});
+
+	/**
+	 * The statistics of the event pipeline.
+	 */
+	static final NativeHookStatistics statistics = new NativeHookStatistics();
+
+	/**
+	 * The keyboard and mouse state maintained on the native hook thread.
+	 */
+	static final NativeInputState inputState = new NativeInputState();
+
+	/**
+	 * True if the input state is updated for every event.
+	 */
+	private static volatile boolean inputStateTracking = false;
+
+	/**
+	 * Event categories used by the native library to skip events without listeners.
+	 */
+	private static final int EVENT_MASK_KEY = 1 << 0;
+	private static final int EVENT_MASK_BUTTON = 1 << 1;
+	private static final int EVENT_MASK_MOTION = 1 << 2;
+	private static final int EVENT_MASK_WHEEL = 1 << 3;
+	private static final int EVENT_MASK_ALL = EVENT_MASK_KEY | EVENT_MASK_BUTTON | EVENT_MASK_MOTION | EVENT_MASK_WHEEL;
+
+	/**
+	 * The event categories that have listeners expecting event objects.
+	 */
+	private static volatile int objectEventMask = 0;
+
+	/**
+	 * The event ring used the next time the native hook is registered.
+	 */
+	private static NativeEventRing eventRing;
+
+	/**
+	 * The event ring the native library is currently writing to.
+	 */
+	private static NativeEventRing activeEventRing;
+
+	/**
+	 * The pool of recycled events, or null if event recycling is disabled.
+	 */
+	private static volatile NativeEventPool eventPool;
+
+	/**
+	 * True if the native library was loaded.
 	 */
-	protected static EventListenerList eventListeners = new EventListenerList();
+	private static boolean nativeLibraryLoaded;
+
+	/**
+	 * The source of events used instead of the native hook, or null to use the native hook.
+	 */
+	private static volatile NativeEventSource eventSource;
 
 	static {
+		// Loading the native library may be disabled to deliver events synthesized in Java on headless machines.  It
+		// is not loaded by default if events are produced by a Java event source.
+		String libLoad = System.getProperty("jnativehook.source") == null ? "true" : "false";
+		nativeLibraryLoaded = Boolean.parseBoolean(System.getProperty("jnativehook.lib.load", libLoad));
+		if (nativeLibraryLoaded) {
+			loadNativeLibrary();
+
+			// Deliver native log messages without blocking the native code that produced them.
+			new NativeLogThread().start();
+
+			// Native capture time stamps are reported in the System.nanoTime() domain.
+			calibrateNativeClock();
+
+			// Add some 2.0 backward comparability.
+			Integer autoRepeatRate = GlobalScreen.getAutoRepeatRate();
+			if (autoRepeatRate != null) {
+				System.setProperty("jnativehook.key.repeat.rate", autoRepeatRate.toString());
+			}
+
+			Integer autoRepeatDelay = GlobalScreen.getAutoRepeatDelay();
+			if (autoRepeatDelay != null) {
+				System.setProperty("jnativehook.key.repeat.delay", autoRepeatDelay.toString());
+			}
+
+			Integer multiClickIterval = GlobalScreen.getMultiClickIterval();
+			if (multiClickIterval != null) {
+				System.setProperty("jnativehook.button.multiclick.iterval", multiClickIterval.toString());
+			}
+
+			Integer pointerSensitivity = GlobalScreen.getPointerSensitivity();
+			if (pointerSensitivity != null) {
+				System.setProperty("jnativehook.pointer.sensitivity", pointerSensitivity.toString());
+			}
+
+			Integer pointerAccelerationMultiplier = GlobalScreen.getPointerAccelerationMultiplier();
+			if (pointerAccelerationMultiplier != null) {
+				System.setProperty("jnativehook.pointer.acceleration.multiplier", pointerAccelerationMultiplier.toString());
+			}
+
+
+			Integer pointerAccelerationThreshold = GlobalScreen.getPointerAccelerationThreshold();
+			if (pointerAccelerationThreshold != null) {
+				System.setProperty("jnativehook.pointer.acceleration.threshold", pointerAccelerationThreshold.toString());
+			}
+		}
+
+		// Nothing is listening yet, so the native library does not need to deliver any events.
+		updateEventMask();
+	}
+
+	/**
+	 * Load the native library from the java.library.path or with the configured
+	 * <code>NativeLibraryLocator</code>.
+	 */
+	private static void loadNativeLibrary() {
 		String libName = System.getProperty("jnativehook.lib.name", "JNativeHook");
 
 		try {
@@ -96,38 +314,6 @@ public class GlobalScreen {
 				throw new UnsatisfiedLinkError(e.getMessage());
 			}
 		}
-
-		// Add some 2.0 backward comparability.
-		Integer autoRepeatRate = GlobalScreen.getAutoRepeatRate();
-		if (autoRepeatRate != null) {
-			System.setProperty("jnativehook.key.repeat.rate", autoRepeatRate.toString());
-		}
-
-		Integer autoRepeatDelay = GlobalScreen.getAutoRepeatDelay();
-		if (autoRepeatDelay != null) {
-			System.setProperty("jnativehook.key.repeat.delay", autoRepeatDelay.toString());
-		}
-
-		Integer multiClickIterval = GlobalScreen.getMultiClickIterval();
-		if (multiClickIterval != null) {
-			System.setProperty("jnativehook.button.multiclick.iterval", multiClickIterval.toString());
-		}
-
-		Integer pointerSensitivity = GlobalScreen.getPointerSensitivity();
-		if (pointerSensitivity != null) {
-			System.setProperty("jnativehook.pointer.sensitivity", pointerSensitivity.toString());
-		}
-
-		Integer pointerAccelerationMultiplier = GlobalScreen.getPointerAccelerationMultiplier();
-		if (pointerAccelerationMultiplier != null) {
-			System.setProperty("jnativehook.pointer.acceleration.multiplier", pointerAccelerationMultiplier.toString());
-		}
-
-
-		Integer pointerAccelerationThreshold = GlobalScreen.getPointerAccelerationThreshold();
-		if (pointerAccelerationThreshold != null) {
-			System.setProperty("jnativehook.pointer.acceleration.threshold", pointerAccelerationThreshold.toString());
-		}
 	}
 
 
@@ -143,6 +329,30 @@ public class GlobalScreen {
 	public static void addNativeKeyListener(NativeKeyListener listener) {
 		if (listener != null) {
 			eventListeners.add(NativeKeyListener.class, listener);
+			updateEventMask();
+		}
+	}
+
+	/**
+	 * Adds the specified native key listener to receive the key events
+	 * accepted by the filter.  The filter is copied and evaluated before the
+	 * listener is called, so the listener is not invoked at all for events it
+	 * is not interested in.  Listeners are notified in the order they were
+	 * added, with or without a filter.  A listener added with a filter is
+	 * removed with {@link #removeNativeKeyListener(NativeKeyListener)}.  If listener is
+	 * null, no exception is thrown and no action is performed.
+	 *
+	 * @param listener a native key listener object
+	 * @param filter the events to deliver, or null to deliver all events.
+	 * @since 2.1
+	 */
+	public static void addNativeKeyListener(NativeKeyListener listener, NativeEventFilter filter) {
+		if (filter == null) {
+			addNativeKeyListener(listener);
+		}
+		else if (listener != null) {
+			eventListeners.add(NativeKeyListener.class, new FilteredListener.Key(listener, filter));
+			updateEventMask();
 		}
 	}
 
@@ -156,7 +366,8 @@ public class GlobalScreen {
 	 */
 	public static void removeNativeKeyListener(NativeKeyListener listener) {
 		if (listener != null) {
-			eventListeners.remove(NativeKeyListener.class, listener);
+			removeListener(NativeKeyListener.class, listener);
+			updateEventMask();
 		}
 	}
 
@@ -170,6 +381,30 @@ public class GlobalScreen {
 	public static void addNativeMouseListener(NativeMouseListener listener) {
 		if (listener != null) {
 			eventListeners.add(NativeMouseListener.class, listener);
+			updateEventMask();
+		}
+	}
+
+	/**
+	 * Adds the specified native mouse listener to receive the mouse button events
+	 * accepted by the filter.  The filter is copied and evaluated before the
+	 * listener is called, so the listener is not invoked at all for events it
+	 * is not interested in.  Listeners are notified in the order they were
+	 * added, with or without a filter.  A listener added with a filter is
+	 * removed with {@link #removeNativeMouseListener(NativeMouseListener)}.  If listener is
+	 * null, no exception is thrown and no action is performed.
+	 *
+	 * @param listener a native mouse listener object
+	 * @param filter the events to deliver, or null to deliver all events.
+	 * @since 2.1
+	 */
+	public static void addNativeMouseListener(NativeMouseListener listener, NativeEventFilter filter) {
+		if (filter == null) {
+			addNativeMouseListener(listener);
+		}
+		else if (listener != null) {
+			eventListeners.add(NativeMouseListener.class, new FilteredListener.Mouse(listener, filter));
+			updateEventMask();
 		}
 	}
 
@@ -183,7 +418,8 @@ public class GlobalScreen {
 	 */
 	public static void removeNativeMouseListener(NativeMouseListener listener) {
 		if (listener != null) {
-			eventListeners.remove(NativeMouseListener.class, listener);
+			removeListener(NativeMouseListener.class, listener);
+			updateEventMask();
 		}
 	}
 
@@ -197,6 +433,35 @@ public class GlobalScreen {
 	public static void addNativeMouseMotionListener(NativeMouseMotionListener listener) {
 		if (listener != null) {
 			eventListeners.add(NativeMouseMotionListener.class, listener);
+			updateEventMask();
+		}
+	}
+
+	/**
+	 * Adds the specified native mouse motion listener to receive a reduced
+	 * stream of mouse motion events.  A motion event is only delivered to the
+	 * listener if at least <code>1 / maxRate</code> seconds have passed and the
+	 * pointer moved at least <code>minDistance</code> pixels since the previous
+	 * delivery.  Events that do not qualify are withheld, and the most recent
+	 * one is delivered before the next button press or release, or once the
+	 * pointer has come to rest.  Other listeners still receive every event.
+	 * The number of events that were skipped is available via
+	 * {@link NativeHookMXBean#getThrottledEventCount()}.
+	 * <p>
+	 * The listener is removed with
+	 * {@link #removeNativeMouseMotionListener(NativeMouseMotionListener)}.  If
+	 * listener is null, no exception is thrown and no action is performed.
+	 *
+	 * @param listener a native mouse motion listener object
+	 * @param maxRate the maximum number of events per second, or 0 for no limit.
+	 * @param minDistance the minimum distance in pixels between delivered positions, or 0 for no limit.
+	 * @throws IllegalArgumentException if <code>maxRate</code> or <code>minDistance</code> is negative.
+	 * @since 2.1
+	 */
+	public static void addNativeMouseMotionListener(NativeMouseMotionListener listener, int maxRate, int minDistance) {
+		if (listener != null) {
+			eventListeners.add(NativeMouseMotionThrottle.class, new NativeMouseMotionThrottle(listener, maxRate, minDistance));
+			updateEventMask();
 		}
 	}
 
@@ -211,7 +476,23 @@ public class GlobalScreen {
 	 */
 	public static void removeNativeMouseMotionListener(NativeMouseMotionListener listener) {
 		if (listener != null) {
-			eventListeners.remove(NativeMouseMotionListener.class, listener);
+			synchronized (eventListeners) {
+				int count = eventListeners.getListenerCount(NativeMouseMotionListener.class);
+				eventListeners.remove(NativeMouseMotionListener.class, listener);
+
+				if (eventListeners.getListenerCount(NativeMouseMotionListener.class) == count) {
+					// The listener may have been added with a rate limit.
+					NativeMouseMotionThrottle[] throttles = eventListeners.getListeners(NativeMouseMotionThrottle.class);
+					for (int i = throttles.length - 1; i >= 0; i--) {
+						if (throttles[i].getListener().equals(listener)) {
+							eventListeners.remove(NativeMouseMotionThrottle.class, throttles[i]);
+							break;
+						}
+					}
+				}
+			}
+
+			updateEventMask();
 		}
 	}
 
@@ -226,6 +507,7 @@ public class GlobalScreen {
 	public static void addNativeMouseWheelListener(NativeMouseWheelListener listener) {
 		if (listener != null) {
 			eventListeners.add(NativeMouseWheelListener.class, listener);
+			updateEventMask();
 		}
 	}
 
@@ -242,223 +524,1491 @@ public class GlobalScreen {
 	public static void removeNativeMouseWheelListener(NativeMouseWheelListener listener) {
 		if (listener != null) {
 			eventListeners.remove(NativeMouseWheelListener.class, listener);
+			updateEventMask();
 		}
 	}
 
 	/**
-	 * Get information about the native monitor configuration and layout.
+	 * Adds the specified native input batch listener to receive all events from the native system in bulk.  Events
+	 * are delivered once the dispatcher has drained its queue or 256 events have been collected, whichever comes
+	 * first.  If listener is null, no exception is thrown and no action is performed.
 	 *
-	 * @return an array of <code>NativeMonitorInfo</code> objects.
+	 * @param listener a native input batch listener object
 	 * @since 2.1
 	 */
-	public static native NativeMonitorInfo[] getNativeMonitors();
+	public static void addNativeInputBatchListener(NativeInputBatchListener listener) {
+		addNativeInputBatchListener(listener, NativeInputBatch.DEFAULT_BATCH_SIZE, 0, TimeUnit.NANOSECONDS);
+	}
 
 	/**
-	 * Retrieves the keyboard auto repeat rate.
+	 * Adds the specified native input batch listener to receive all events from the native system in bulk.  A batch
+	 * is delivered as soon as it holds <code>maxBatchSize</code> events.  Otherwise it is delivered once
+	 * <code>maxLinger</code> has elapsed since its first event, or once the dispatcher has drained its queue if
+	 * <code>maxLinger</code> is zero.  If listener is null, no exception is thrown and no action is performed.
 	 *
-	 * @return <code>Integer</code> or null.
+	 * @param listener a native input batch listener object
+	 * @param maxBatchSize the maximum number of events delivered in a single batch.
+	 * @param maxLinger the maximum time to wait for more events before a batch is delivered.
+	 * @param unit the time unit of the <code>maxLinger</code> argument.
+	 * @throws IllegalArgumentException if <code>maxBatchSize</code> is less than one or <code>maxLinger</code> is
+	 * negative.
 	 * @since 2.1
- 	 */
-	public static native Integer getAutoRepeatRate();
+	 */
+	public static void addNativeInputBatchListener(NativeInputBatchListener listener, int maxBatchSize, long maxLinger, TimeUnit unit) {
+		if (listener != null) {
+			eventListeners.add(NativeInputBatch.class, new NativeInputBatch(listener, maxBatchSize, unit.toNanos(maxLinger)));
+			updateEventMask();
+		}
+	}
 
 	/**
-	 * Retrieves the keyboard auto repeat delay.
+	 * Removes the specified native input batch listener so that it no longer receives events from the native
+	 * system.  Events that were already collected for the listener may still be delivered.  This method performs no
+	 * function if the listener specified by the argument was not previously added.  If listener is null, no
+	 * exception is thrown and no action is performed.
 	 *
-	 * @return <code>Integer</code> or null.
+	 * @param listener a native input batch listener object
 	 * @since 2.1
 	 */
-	public static native Integer getAutoRepeatDelay();
+	public static void removeNativeInputBatchListener(NativeInputBatchListener listener) {
+		if (listener != null) {
+			synchronized (eventListeners) {
+				NativeInputBatch[] batches = eventListeners.getListeners(NativeInputBatch.class);
+				for (int i = batches.length - 1; i >= 0; i--) {
+					if (batches[i].getListener().equals(listener)) {
+						eventListeners.remove(NativeInputBatch.class, batches[i]);
+						break;
+					}
+				}
+			}
+
+			updateEventMask();
+		}
+	}
 
 	/**
-	 * Retrieves the mouse acceleration multiplier.
+	 * Adds the specified listener to receive events synchronously on the native
+	 * hook thread.  Synchronous listeners are notified before the event is
+	 * returned to the native system and before any asynchronous listener, which
+	 * allows them to consume events on platforms that support it.  If listener
+	 * is null, no exception is thrown and no action is performed.
+	 * <p>
 	 *
-	 * @return <code>Integer</code> or null.
+	 * <b>Note:</b> Synchronous listeners delay the delivery of user input to
+	 * every application.  All synchronous listeners of an event share the budget
+	 * set with {@link #setSynchronousDispatchBudget(long, TimeUnit)}.  When the
+	 * budget is exceeded, the event is delivered to the remaining synchronous
+	 * listeners by the event dispatcher instead.  A listener that exceeds the
+	 * budget on the number of events set with
+	 * {@link #setSynchronousDispatchOverrunLimit(int)} is automatically demoted
+	 * to an asynchronous listener.
+	 *
+	 * @param type the listener interface, one of <code>NativeKeyListener</code>,
+	 * <code>NativeMouseListener</code>, <code>NativeMouseMotionListener</code> or
+	 * <code>NativeMouseWheelListener</code>.
+	 * @param listener a listener object implementing <code>type</code>.
+	 * @param <T> the listener interface.
+	 * @throws IllegalArgumentException if the listener interface is not supported.
 	 * @since 2.1
 	 */
-	public static native Integer getPointerAccelerationMultiplier();
+	public static <T extends EventListener> void addSynchronousListener(Class<T> type, T listener) {
+		if (listener != null) {
+			synchronousDispatcher.add(type, listener);
+			updateEventMask();
+		}
+	}
 
 	/**
-	 * Retrieves the mouse acceleration threshold.
+	 * Removes the specified synchronous listener so that it no longer receives
+	 * events on the native hook thread.  Listeners that were demoted because they
+	 * exceeded the synchronous dispatch budget must be removed with the regular
+	 * remove method for their type.  This method performs no function if the
+	 * listener specified by the argument was not previously added.  If listener
+	 * is null, no exception is thrown and no action is performed.
 	 *
-	 * @return <code>Integer</code> or null.
+	 * @param type the listener interface the listener was added with.
+	 * @param listener a listener object implementing <code>type</code>.
+	 * @param <T> the listener interface.
 	 * @since 2.1
 	 */
-	public static native Integer getPointerAccelerationThreshold();
+	public static <T extends EventListener> void removeSynchronousListener(Class<T> type, T listener) {
+		if (listener != null) {
+			synchronousDispatcher.remove(type, listener);
+			updateEventMask();
+		}
+	}
 
 	/**
-	 * Retrieves the mouse sensitivity.
+	 * Set the time budget shared by all synchronous listeners of a single event.
+	 * The default budget is one millisecond.
 	 *
-	 * @return <code>Integer</code> or null.
+	 * @param budget the maximum time synchronous listeners may spend on an event.
+	 * @param unit the time unit of the <code>budget</code> argument.
+	 * @throws IllegalArgumentException if the budget is negative.
 	 * @since 2.1
 	 */
-	public static native Integer getPointerSensitivity();
+	public static void setSynchronousDispatchBudget(long budget, TimeUnit unit) {
+		synchronousDispatcher.setBudget(unit.toNanos(budget));
+	}
 
 	/**
-	 * Retrieves the double/triple click interval in milliseconds.
+	 * Returns the time budget shared by all synchronous listeners of a single event.
+	 *
+	 * @param unit the time unit of the returned budget.
+	 * @return the maximum time synchronous listeners may spend on an event.
+	 * @since 2.1
+	 */
+	public static long getSynchronousDispatchBudget(TimeUnit unit) {
+		return unit.convert(synchronousDispatcher.getBudget(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Set the number of events on which a synchronous listener may exceed the
+	 * synchronous dispatch budget before it is demoted to an asynchronous
+	 * listener.  The default limit is three, so that a single slow call caused
+	 * by class loading, JIT compilation or garbage collection does not demote a
+	 * listener.
+	 *
+	 * @param overruns the number of budget overruns, at least one.
+	 * @throws IllegalArgumentException if the limit is less than one.
+	 * @since 2.1
+	 */
+	public static void setSynchronousDispatchOverrunLimit(int overruns) {
+		synchronousDispatcher.setOverrunLimit(overruns);
+	}
+
+	/**
+	 * Returns the number of events on which a synchronous listener may exceed
+	 * the synchronous dispatch budget before it is demoted.
+	 *
+	 * @return the number of budget overruns.
+	 * @since 2.1
+	 */
+	public static int getSynchronousDispatchOverrunLimit() {
+		return synchronousDispatcher.getOverrunLimit();
+	}
+
+	/**
+	 * Returns the number of events for which the synchronous listeners exceeded
+	 * the synchronous dispatch budget.
+	 *
+	 * @return the number of budget overruns.
+	 * @since 2.1
+	 */
+	public static long getSynchronousDispatchOverrunCount() {
+		return synchronousDispatcher.getOverrunCount();
+	}
+
+	/**
+	 * Returns the longest time synchronous listeners have spent on a single event.
+	 *
+	 * @param unit the time unit of the returned time.
+	 * @return the maximum measured synchronous dispatch time.
+	 * @since 2.1
+	 */
+	public static long getSynchronousDispatchMaxTime(TimeUnit unit) {
+		return unit.convert(synchronousDispatcher.getMaxTime(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Adds the specified cursor listener to read all events from the native
+	 * system without creating event objects.  Cursor listeners are only notified
+	 * while an event ring is installed.  If listener is null, no exception is
+	 * thrown and no action is performed.
+	 *
+	 * @param listener a native event cursor listener object
+	 * @see #setEventRing(NativeEventRing)
+	 * @since 2.1
+	 */
+	public static void addNativeEventCursorListener(NativeEventCursorListener listener) {
+		if (listener != null) {
+			eventListeners.add(NativeEventCursorListener.class, listener);
+			updateEventMask();
+		}
+	}
+
+	/**
+	 * Removes the specified cursor listener so that it no longer receives
+	 * events from the native system.  This method performs no function if the
+	 * listener specified by the argument was not previously added.  If listener
+	 * is null, no exception is thrown and no action is performed.
+	 *
+	 * @param listener a native event cursor listener object
+	 * @since 2.1
+	 */
+	public static void removeNativeEventCursorListener(NativeEventCursorListener listener) {
+		if (listener != null) {
+			eventListeners.remove(NativeEventCursorListener.class, listener);
+			updateEventMask();
+		}
+	}
+
+	/**
+	 * Recompute the event categories that have at least one listener and pass
+	 * them to the native library.  Events in other categories are discarded
+	 * before a Java object is created for them.
+	 */
+	static synchronized void updateEventMask() {
+		int mask = 0;
+
+		if (eventListeners.getListenerCount(NativeInputBatch.class) > 0) {
+			mask = EVENT_MASK_ALL;
+		}
+		else {
+			if (hasListeners(NativeKeyListener.class)) {
+				mask |= EVENT_MASK_KEY;
+			}
+
+			if (hasListeners(NativeMouseListener.class)) {
+				mask |= EVENT_MASK_BUTTON;
+			}
+
+			if (hasListeners(NativeMouseMotionListener.class) || eventListeners.getListenerCount(NativeMouseMotionThrottle.class) > 0) {
+				mask |= EVENT_MASK_MOTION;
+			}
+
+			if (hasListeners(NativeMouseWheelListener.class)) {
+				mask |= EVENT_MASK_WHEEL;
+			}
+		}
+
+		objectEventMask = mask;
+
+		int recycleMask = 0;
+		if (eventPool != null && eventListeners.getListenerCount(NativeInputBatch.class) == 0) {
+			if (isNonRetaining(NativeKeyListener.class)) {
+				recycleMask |= EVENT_MASK_KEY;
+			}
+
+			if (isNonRetaining(NativeMouseListener.class)) {
+				recycleMask |= EVENT_MASK_BUTTON;
+			}
+
+			if (isNonRetaining(NativeMouseMotionListener.class) && isNonRetaining(eventListeners.getListeners(NativeMouseMotionThrottle.class))) {
+				recycleMask |= EVENT_MASK_MOTION;
+			}
+
+			if (isNonRetaining(NativeMouseWheelListener.class)) {
+				recycleMask |= EVENT_MASK_WHEEL;
+			}
+		}
+
+		if (eventListeners.getListenerCount(NativeEventCursorListener.class) > 0) {
+			mask = EVENT_MASK_ALL;
+		}
+		else if (inputStateTracking) {
+			// The state needs every key and button transition and the pointer position, but not the wheel.
+			mask |= EVENT_MASK_KEY | EVENT_MASK_BUTTON | EVENT_MASK_MOTION;
+		}
+
+		if (nativeLibraryLoaded) {
+			setNativeEventMask(mask, recycleMask & mask);
+		}
+	}
+
+	/**
+	 * Enable or disable event recycling.  When enabled, the native library
+	 * repopulates a small pool of preallocated event objects instead of
+	 * creating a new object for every native event.  Recycled events are only
+	 * used for the listener types where every registered listener implements
+	 * {@link NonRetainingListener}, and never while a batch listener is
+	 * registered.
+	 * <p>
+	 * A recycled event is reused as soon as it has been delivered, so a
+	 * listener must not keep a reference to it.  Setting the
+	 * <code>jnativehook.recycle.debug</code> system property to true before
+	 * recycling is enabled reports events that are still referenced after
+	 * delivery to the log.
+	 * <p>
+	 * <b>Note:</b> Event recycling relies on a dispatcher that executes tasks
+	 * in order.  Dispatchers that drop or replace events must call
+	 * {@link EventDispatchTask#discard()} for the tasks that are never run.
+	 *
+	 * @param enabled true to recycle event objects.
+	 * @see NonRetainingListener
+	 * @since 2.1
+	 */
+	public static synchronized void setEventRecycling(boolean enabled) {
+		if (enabled && eventPool == null) {
+			eventPool = new NativeEventPool(NativeEventPool.DEFAULT_SIZE, Boolean.getBoolean(NativeEventPool.DEBUG_PROPERTY));
+		}
+		else if (!enabled) {
+			// Events that are still in flight keep a reference to the old pool and are released into it.
+			eventPool = null;
+		}
+
+		updateEventMask();
+	}
+
+	/**
+	 * Returns true if event recycling is enabled.
+	 *
+	 * @return true if event objects are recycled.
+	 * @see #setEventRecycling(boolean)
+	 * @since 2.1
+	 */
+	public static boolean isEventRecycling() {
+		return eventPool != null;
+	}
+
+	/**
+	 * Returns the number of events that were created because every recycled
+	 * event of the same type was still in use.
+	 *
+	 * @return the number of pool misses, or 0 if event recycling is disabled.
+	 * @since 2.1
+	 */
+	public static long getEventRecyclingMissCount() {
+		NativeEventPool pool = eventPool;
+
+		return pool != null ? pool.getMissCount() : 0;
+	}
+
+	/**
+	 * Returns the statistics of the native event pipeline.  The same object
+	 * is registered with the platform <code>MBeanServer</code> under the name
+	 * {@value NativeHookMXBean#OBJECT_NAME} when the native hook is registered.
+	 *
+	 * @return the native hook statistics.
+	 * @since 2.1
+	 */
+	public static NativeHookMXBean getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Returns the current keyboard and mouse state.  The state is updated on
+	 * the native hook thread before each event is dispatched, and can be
+	 * queried from any thread without locking.  It is only maintained while
+	 * input state tracking is enabled.
+	 *
+	 * @return the input state.
+	 * @see #setInputStateTracking(boolean)
+	 * @since 2.1
+	 */
+	public static NativeInputState getInputState() {
+		return inputState;
+	}
+
+	/**
+	 * Enable or disable input state tracking.  While enabled, the native
+	 * hook delivers key, button and motion events even if no listener is
+	 * registered for them, and the state returned by
+	 * {@link #getInputState()} is updated for every event.  Keys and buttons
+	 * are reported as released when tracking is disabled.
+	 *
+	 * @param enabled true to track the input state.
+	 * @since 2.1
+	 */
+	public static synchronized void setInputStateTracking(boolean enabled) {
+		if (inputStateTracking != enabled) {
+			inputStateTracking = enabled;
+			inputState.reset();
+
+			updateEventMask();
+		}
+	}
+
+	/**
+	 * Returns true if input state tracking is enabled.
+	 *
+	 * @return true if the input state is tracked.
+	 * @see #setInputStateTracking(boolean)
+	 * @since 2.1
+	 */
+	public static boolean isInputStateTracking() {
+		return inputStateTracking;
+	}
+
+	/**
+	 * Registers the native hook statistics with the platform
+	 * <code>MBeanServer</code> if they are not already registered.
+	 */
+	private static void registerStatistics() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(NativeHookMXBean.OBJECT_NAME);
+
+			if (!server.isRegistered(name)) {
+				server.registerMBean(statistics, name);
+			}
+		}
+		catch (JMException e) {
+			log.warning("Failed to register the native hook statistics: " + e.getMessage());
+		}
+		catch (SecurityException e) {
+			log.warning("Failed to register the native hook statistics: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the event category of the specified event type.
+	 *
+	 * @param id the event type.
+	 * @return one of the <code>EVENT_MASK_</code> categories, or 0 for unknown event types.
+	 */
+	private static int getEventCategory(int id) {
+		switch (id) {
+			case NativeKeyEvent.NATIVE_KEY_PRESSED:
+			case NativeKeyEvent.NATIVE_KEY_RELEASED:
+			case NativeKeyEvent.NATIVE_KEY_TYPED:
+				return EVENT_MASK_KEY;
+
+			case NativeMouseEvent.NATIVE_MOUSE_PRESSED:
+			case NativeMouseEvent.NATIVE_MOUSE_RELEASED:
+			case NativeMouseEvent.NATIVE_MOUSE_CLICKED:
+				return EVENT_MASK_BUTTON;
+
+			case NativeMouseEvent.NATIVE_MOUSE_MOVED:
+			case NativeMouseEvent.NATIVE_MOUSE_DRAGGED:
+				return EVENT_MASK_MOTION;
+
+			case NativeMouseEvent.NATIVE_MOUSE_WHEEL:
+				return EVENT_MASK_WHEEL;
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Delivers an event read from the event ring.  The event is passed to the
+	 * cursor listeners and, if there are listeners expecting event objects for
+	 * its category, dispatched like an event received from the native hook.
+	 *
+	 * @param cursor the cursor positioned on the event.
+	 */
+	static void dispatchRingEvent(NativeEventCursor cursor) {
+		NativeEventCursorListener[] listeners = eventListeners.getListeners(NativeEventCursorListener.class);
+
+		for (int i = 0; i < listeners.length; i++) {
+			listeners[i].nativeEventAvailable(cursor);
+		}
+
+		if ((objectEventMask & getEventCategory(cursor.getID())) != 0) {
+			NativeInputEvent event = cursor.toEvent();
+			if (event != null) {
+				NativeHookThread.dispatchEvent(event);
+			}
+		}
+		else if (inputStateTracking) {
+			inputState.update(cursor);
+		}
+	}
+
+	/**
+	 * Set the event ring used to transfer events from the native hook to
+	 * Java.  By default, the native hook creates an event object and calls into
+	 * Java for every event.  When an event ring is set, the native hook only
+	 * writes a small record into the ring and returns immediately, and events
+	 * are read from the ring by a separate Java thread.
+	 * <p>
+	 * <b>Note:</b> The event ring takes effect the next time the native hook is
+	 * registered.  Events delivered through an event ring cannot be consumed.
+	 * Using null restores the default transport.
+	 *
+	 * @param ring the <code>NativeEventRing</code> or null.
+	 * @see NativeEventCursorListener
+	 * @since 2.1
+	 */
+	public static synchronized void setEventRing(NativeEventRing ring) {
+		eventRing = ring;
+	}
+
+	/**
+	 * Install the configured event ring before the native hook is started.
+	 */
+	private static synchronized void installEventRing() {
+		if (eventRing != null) {
+			eventRing.start();
+			setNativeEventRing(eventRing.getBuffer(), eventRing.getCapacity());
+		}
+		else {
+			setNativeEventRing(null, 0);
+		}
+
+		activeEventRing = eventRing;
+	}
+
+	/**
+	 * Remove the active event ring after the native hook has stopped.  The
+	 * remaining events in the ring are still delivered.
+	 */
+	private static void uninstallEventRing() {
+		NativeEventRing ring;
+		synchronized (GlobalScreen.class) {
+			ring = activeEventRing;
+			activeEventRing = null;
+
+			if (ring != null) {
+				setNativeEventRing(null, 0);
+			}
+		}
+
+		if (ring != null) {
+			// Wait for the ring thread outside the lock, its listeners may add or remove listeners while draining.
+			ring.stop();
+		}
+	}
+
+	/**
+	 * Removes the last registration of a listener, with or without a filter.
+	 *
+	 * @param type the listener interface.
+	 * @param listener the listener to remove.
+	 */
+	private static <T extends EventListener> void removeListener(Class<T> type, T listener) {
+		synchronized (eventListeners) {
+			T[] current = eventListeners.getListeners(type);
+			for (int i = current.length - 1; i >= 0; i--) {
+				if (current[i].equals(listener) || (current[i] instanceof FilteredListener && ((FilteredListener) current[i]).getListener().equals(listener))) {
+					eventListeners.remove(type, current[i]);
+					break;
+				}
+			}
+		}
+	}
+
+	private static boolean hasListeners(Class<? extends EventListener> type) {
+		return eventListeners.getListenerCount(type) > 0 || synchronousDispatcher.getListenerCount(type) > 0;
+	}
+
+	private static boolean isNonRetaining(Class<? extends EventListener> type) {
+		return isNonRetaining(eventListeners.getListeners(type)) && isNonRetaining(synchronousDispatcher.getListeners(type));
+	}
+
+	private static boolean isNonRetaining(EventListener[] listeners) {
+		for (int i = 0; i < listeners.length; i++) {
+			EventListener listener = listeners[i];
+			if (listener instanceof NativeMouseMotionThrottle) {
+				// Throttles copy the events they withhold, but pass the others on.
+				listener = ((NativeMouseMotionThrottle) listener).getListener();
+			}
+			else if (listener instanceof FilteredListener) {
+				listener = ((FilteredListener) listener).getListener();
+			}
+
+			if (!(listener instanceof NonRetainingListener)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Native implementation to set the event categories delivered to Java.
+	 *
+	 * @param mask the bitwise combination of the <code>EVENT_MASK_</code> categories.
+	 * @param recycleMask the categories delivered with events obtained from the event pool.
+	 */
+	private static native void setNativeEventMask(int mask, int recycleMask);
+
+	/**
+	 * Measure the offset between the native monotonic clock and
+	 * <code>System.nanoTime()</code> and pass it to the native library.  The
+	 * sample with the shortest round trip is used to minimize the error.
+	 */
+	private static void calibrateNativeClock() {
+		long bestRoundTrip = Long.MAX_VALUE;
+		long offset = 0;
+
+		for (int i = 0; i < 16; i++) {
+			long before = System.nanoTime();
+			long nativeTime = getNativeTime();
+			long after = System.nanoTime();
+
+			if (after - before < bestRoundTrip) {
+				bestRoundTrip = after - before;
+				offset = before + (after - before) / 2 - nativeTime;
+			}
+		}
+
+		setNativeClockOffset(offset);
+	}
+
+	/**
+	 * Native implementation to read the monotonic clock used for capture time stamps.
+	 *
+	 * @return the native clock value in nanoseconds.
+	 */
+	private static native long getNativeTime();
+
+	/**
+	 * Native implementation to set the offset added to the native clock for capture time stamps.
+	 *
+	 * @param offset the difference between <code>System.nanoTime()</code> and the native clock.
+	 */
+	private static native void setNativeClockOffset(long offset);
+
+	/**
+	 * Native implementation to set the ring the native hook writes events to.
+	 *
+	 * @param buffer the direct buffer holding the ring, or null to call into Java for every event.
+	 * @param capacity the number of records in the ring.
+	 */
+	private static native void setNativeEventRing(ByteBuffer buffer, int capacity);
+
+	/**
+	 * Get information about the native monitor configuration and layout.
+	 *
+	 * @return an array of <code>NativeMonitorInfo</code> objects.
+	 * @since 2.1
+	 */
+	public static native NativeMonitorInfo[] getNativeMonitors();
+
+	/**
+	 * Retrieves the keyboard auto repeat rate.
+	 *
+	 * @return <code>Integer</code> or null.
+	 * @since 2.1
+ 	 */
+	public static native Integer getAutoRepeatRate();
+
+	/**
+	 * Retrieves the keyboard auto repeat delay.
+	 *
+	 * @return <code>Integer</code> or null.
+	 * @since 2.1
+	 */
+	public static native Integer getAutoRepeatDelay();
+
+	/**
+	 * Retrieves the mouse acceleration multiplier.
+	 *
+	 * @return <code>Integer</code> or null.
+	 * @since 2.1
+	 */
+	public static native Integer getPointerAccelerationMultiplier();
+
+	/**
+	 * Retrieves the mouse acceleration threshold.
+	 *
+	 * @return <code>Integer</code> or null.
+	 * @since 2.1
+	 */
+	public static native Integer getPointerAccelerationThreshold();
+
+	/**
+	 * Retrieves the mouse sensitivity.
+	 *
+	 * @return <code>Integer</code> or null.
+	 * @since 2.1
+	 */
+	public static native Integer getPointerSensitivity();
+
+	/**
+	 * Retrieves the double/triple click interval in milliseconds.
+	 *
+	 * @return <code>Integer</code> or null.
+	 * @since 2.1
+	 */
+	public static native Integer getMultiClickIterval();
+
+	/**
+	 * Specialized thread implementation for the native hook.
+	 */
+	protected static class NativeHookThread extends Thread {
+		/**
+		 * Exception thrown by this thread.
+		 */
+		protected NativeHookException exception;
+
+		/**
+		 * The source run by this thread, or null to run the native hook.
+		 */
+		protected final NativeEventSource source;
+
+		/**
+		 * Completed once the hook reports that it is running, or exceptionally if it failed to start.
+		 */
+		final CompletableFuture<Void> started = new CompletableFuture<Void>();
+
+		/**
+		 * Completed once the hook has stopped and this thread no longer dispatches events.
+		 */
+		final CompletableFuture<Void> stopped = new CompletableFuture<Void>();
+
+		/**
+		 * The unregistration that is stopping this thread, or null if it was not unregistered yet.
+		 */
+		CompletableFuture<Duration> unregistration;
+
+		/**
+		 * Default constructor.
+		 */
+		public NativeHookThread() {
+			this(null);
+		}
+
+		/**
+		 * Instantiates a thread that runs an event source instead of the native hook.
+		 *
+		 * @param source the event source, or null to run the native hook.
+		 * @since 2.1
+		 */
+		public NativeHookThread(NativeEventSource source) {
+			this.source = source;
+
+			this.setName("JNativeHook Hook Thread");
+			this.setDaemon(false);
+			this.setPriority(Thread.MAX_PRIORITY);
+		}
+
+		public void run() {
+			this.exception = null;
+
+			Throwable failure = null;
+			try {
+				if (source != null) {
+					source.enable(new NativeEventSink() {
+						public void started() {
+							hookStateChanged(true);
+						}
+
+						public void dispatchEvent(NativeInputEvent event) {
+							NativeHookThread.dispatchEvent(event);
+						}
+					});
+				}
+				else {
+					// NOTE enable() will call hookStateChanged() after passing exception throwing code.
+					this.enable();
+				}
+			}
+			catch (NativeHookException e) {
+				this.exception = e;
+				failure = e;
+			}
+			catch (RuntimeException e) {
+				failure = e;
+				throw e;
+			}
+			catch (Error e) {
+				failure = e;
+				throw e;
+			}
+			finally {
+				// Release anyone that is still waiting for the hook to start.
+				completeStarted(failure);
+
+				stopped.complete(null);
+			}
+		}
+
+		/**
+		 * Completes the <code>started</code> future on a notifier thread.  Its continuations may block or unregister
+		 * the hook, which must never happen on this thread while it runs the message loop of the hook.
+		 *
+		 * @param failure the reason the hook could not be started, or null if it is running.
+		 */
+		private void completeStarted(final Throwable failure) {
+			HookNotifier.INSTANCE.execute(new Runnable() {
+				public void run() {
+					if (failure != null) {
+						started.completeExceptionally(failure);
+					}
+					else {
+						started.complete(null);
+					}
+				}
+			});
+		}
+
+		/**
+		 * Called on this thread when the hook has been enabled or is about to be disabled.  For the native hook this
+		 * is driven by the <code>EVENT_HOOK_ENABLED</code> and <code>EVENT_HOOK_DISABLED</code> events.
+		 *
+		 * @param enabled true if the hook is now running, false if it is stopping.
+		 * @since 2.1
+		 */
+		protected void hookStateChanged(boolean enabled) {
+			if (enabled) {
+				completeStarted(null);
+			}
+		}
+
+		/**
+		 * Get the exception associated with the current hook, or null of no exception was thrown.
+		 *
+		 * @return the <code>NativeHookException</code> or null.
+		 */
+		public NativeHookException getException() {
+			return this.exception;
+		}
+
+		/**
+		 * Native implementation to start the input hook.  This method blocks and should only be called by this
+		 * specialized thread implementation.  This method will notifyAll() after passing any exception exception
+		 * throwing code.
+		 *
+		 * @throws NativeHookException problem registering the native hook with the underlying operating system.
+		 */
+		protected native void enable() throws NativeHookException;
+
+		/**
+		 * Native implementation to stop the input hook.  There is no other way to stop the hook.
+		 *
+		 * @throws NativeHookException problem un-registering the native hook with the underlying operating system.
+		 */
+		public native void disable() throws NativeHookException;
+
+		/**
+		 * Dispatches an event to the appropriate processor.  This method is
+		 * generally called by the native library but may be used to synthesize
+		 * native events from Java without replaying them on the native system.  If
+		 * you would like to send events to other applications, please use
+		 * {@link #postNativeEvent},
+		 * <p>
+		 *
+		 * <b>Note:</b> This method executes on the native system's event queue.
+		 * It is imperative that all processing be off-loaded to other threads.
+		 * Failure to do so might result in the delay of user input and the automatic
+		 * removal of the native hook.  Listeners added with
+		 * {@link GlobalScreen#addSynchronousListener(Class, EventListener)} are
+		 * notified by this method, within the synchronous dispatch budget.
+		 *
+		 * @param event the <code>NativeInputEvent</code> sent to the registered event listeners.
+		 */
+		protected static void dispatchEvent(NativeInputEvent event) {
+			if (event.getCaptureTime() == 0) {
+				// Events synthesized in Java are captured when they are dispatched.
+				event.setCaptureTime(System.nanoTime());
+			}
+			event.setQueueTime(0);
+			event.setDeliveryTime(0);
+
+			if (inputStateTracking) {
+				inputState.update(event);
+			}
+
+			SynchronousDispatcher.Fallback fallback = synchronousDispatcher.dispatch(event, eventListeners);
+
+			if (eventExecutor != null) {
+				EventDispatchTask task = event.recycledTask;
+				if (task == null) {
+					task = new EventDispatchTask(event);
+				}
+
+				task.recycle = true;
+				task.fallback = fallback;
+
+				event.setQueueTime(System.nanoTime());
+				statistics.eventDispatched(event);
+				try {
+					eventExecutor.execute(task);
+				}
+				catch (RejectedExecutionException e) {
+					task.discard();
+					throw e;
+				}
+			}
+			else {
+				event.recycle();
+			}
+		}
+
+		/**
+		 * Obtains an event object from the event pool.  This method is called
+		 * by the native library for event types that are recycled, which
+		 * populates all fields of the returned event before it is dispatched.
+		 *
+		 * @param id the type of the event.
+		 * @return a recycled event, or null if a new event must be created.
+		 */
+		protected static NativeInputEvent obtainEvent(int id) {
+			NativeEventPool pool = eventPool;
+
+			return pool != null ? pool.obtain(id) : null;
+		}
+	}
+
+	/**
+	 * Specialized thread that passes messages from the native library to the logger.  Native code only formats
+	 * messages into a lock-free ring, so logging never blocks or calls into Java on the native hook thread.  Messages
+	 * below the effective level of the logger are discarded by the native library before they are formatted.
+	 * <p>
+	 *
+	 * The thread polls the ring at a short interval while messages arrive and backs off to a much longer interval
+	 * while the native library is quiet.  The level of the logger is passed to the native library once a second, so a
+	 * level change takes up to a second to affect native messages.
+	 */
+	static class NativeLogThread extends Thread {
+		/** The interval this thread sleeps after messages were delivered. */
+		private static final long MIN_POLL_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+
+		/** The longest interval this thread sleeps while no messages are waiting. */
+		private static final long MAX_POLL_INTERVAL = TimeUnit.MILLISECONDS.toNanos(500);
+
+		/** The interval at which the level of the logger is passed to the native library. */
+		private static final long LEVEL_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+		/** Native log levels, these must match the log_level enum of libuiohook. */
+		private static final int LOG_LEVEL_DEBUG = 1;
+		private static final int LOG_LEVEL_INFO = 2;
+		private static final int LOG_LEVEL_WARN = 3;
+		private static final int LOG_LEVEL_ERROR = 4;
+		private static final int LOG_LEVEL_OFF = 5;
+
+		/** The level last passed to the native library. */
+		private int nativeLevel = 0;
+
+		/** The number of dropped messages that have already been reported. */
+		private long droppedCount = 0;
+
+		/** The interval this thread sleeps the next time no messages are waiting. */
+		private long pollInterval = MIN_POLL_INTERVAL;
+
+		/** The <code>System.nanoTime()</code> the level was last passed to the native library at. */
+		private long levelTime;
+
+		/**
+		 * Default constructor.
+		 */
+		NativeLogThread() {
+			this.setName("JNativeHook Log Thread");
+			this.setDaemon(true);
+
+			// Apply the current level before any native code is started.
+			this.updateLevel();
+			this.levelTime = System.nanoTime();
+		}
+
+		public void run() {
+			while (!this.isInterrupted()) {
+				try {
+					long now = System.nanoTime();
+					if (now - levelTime >= LEVEL_INTERVAL) {
+						this.updateLevel();
+						levelTime = now;
+					}
+
+					if (drain(log) > 0) {
+						pollInterval = MIN_POLL_INTERVAL;
+					}
+					else {
+						this.reportDropped();
+						LockSupport.parkNanos(this, pollInterval);
+
+						// Back off while the native library is quiet.
+						pollInterval = Math.min(pollInterval * 2, MAX_POLL_INTERVAL);
+					}
+				}
+				catch (RuntimeException e) {
+					// A failing log handler must not stop the delivery of later messages.
+					this.getUncaughtExceptionHandler().uncaughtException(this, e);
+				}
+			}
+		}
+
+		/**
+		 * Pass the effective level of the logger to the native library if it has changed.
+		 */
+		private void updateLevel() {
+			int level;
+			if (log.isLoggable(Level.FINE)) {
+				level = LOG_LEVEL_DEBUG;
+			}
+			else if (log.isLoggable(Level.INFO)) {
+				level = LOG_LEVEL_INFO;
+			}
+			else if (log.isLoggable(Level.WARNING)) {
+				level = LOG_LEVEL_WARN;
+			}
+			else if (log.isLoggable(Level.SEVERE)) {
+				level = LOG_LEVEL_ERROR;
+			}
+			else {
+				level = LOG_LEVEL_OFF;
+			}
+
+			if (level != nativeLevel) {
+				setLevel(level);
+				nativeLevel = level;
+			}
+		}
+
+		/**
+		 * Report messages the native library discarded because this thread fell behind.
+		 */
+		private void reportDropped() {
+			long dropped = getDroppedCount();
+
+			if (dropped != droppedCount) {
+				log.warning((dropped - droppedCount) + " native log messages were discarded.");
+				droppedCount = dropped;
+			}
+		}
+
+		/**
+		 * Native implementation to set the lowest level of messages recorded by the native library.
+		 *
+		 * @param level the native log level.
+		 */
+		private static native void setLevel(int level);
+
+		/**
+		 * Native implementation to deliver all recorded messages to the logger on the calling thread.
+		 *
+		 * @param logger the logger receiving the messages.
+		 * @return the number of delivered messages.
+		 */
+		private static native int drain(Logger logger);
+
+		/**
+		 * Native implementation to get the number of messages discarded because the ring was full.
+		 *
+		 * @return the number of discarded messages.
+		 */
+		private static native long getDroppedCount();
+	}
+
+
+	/**
+	 * Enable the native hook. If the hooks is currently enabled, this function has no effect.
+	 * <p>
+	 * <b>Note:</b> This method will throw a <code>NativeHookException</code>
+	 * if specific operating system feature is unavailable or disabled.
+	 * For example: Access for assistive devices is unchecked in the Universal
+	 * Access section of the System Preferences on Apple's OS X platform or
+	 * <code>Load "record"</code> is missing for the xorg.conf file on
+	 * Unix/Linux/Solaris platforms.
+	 *
+	 * @throws NativeHookException problem registering the native hook with the underlying operating system.
+	 * @since 1.1
+	 */
+	public static void registerNativeHook() throws NativeHookException {
+		await(registerNativeHookAsync());
+	}
+
+	/**
+	 * Enable the native hook without waiting for it to start.  The returned
+	 * future completes as soon as the hook thread reports that the hook is
+	 * running, or completes exceptionally with a
+	 * <code>NativeHookException</code> if the hook could not be enabled.  If the
+	 * hook is already enabled, the returned future is already complete.
+	 * <p>
+	 *
+	 * If the event dispatcher of a previous registration is still delivering
+	 * events, the hook is enabled once that dispatcher has terminated so that
+	 * events are never delivered out of order.  The calling thread never waits
+	 * for it.  Concurrent calls return the same future and start a single hook
+	 * thread.  The future is completed on a notifier thread rather than the
+	 * hook thread, so its continuations may block or unregister the hook.
+	 *
+	 * @return a future completed with the time it took to enable the hook.
+	 * @see #registerNativeHook()
+	 * @since 2.1
+	 */
+	public static CompletableFuture<Duration> registerNativeHookAsync() {
+		final long start = System.nanoTime();
+
+		final NativeEventSource source;
+		try {
+			source = getConfiguredEventSource();
+		}
+		catch (NativeHookException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		if (source == null && !nativeLibraryLoaded) {
+			return CompletableFuture.failedFuture(
+					new NativeHookException("The native library was not loaded because jnativehook.lib.load is false."));
+		}
+
+		synchronized (hookLock) {
+			if (pendingRegistration != null && !pendingRegistration.isDone()) {
+				// A registration is already waiting for the previous dispatcher or for the hook to start.
+				return pendingRegistration;
+			}
+
+			if (isNativeHookRegistered()) {
+				return CompletableFuture.completedFuture(Duration.ZERO);
+			}
+
+			// Wait for the previous dispatcher to deliver its remaining events before replacing it.
+			pendingRegistration = dispatcherTermination.thenCompose(new Function<Void, CompletionStage<Duration>>() {
+				public CompletionStage<Duration> apply(Void result) {
+					return startNativeHook(source, start);
+				}
+			});
+
+			return pendingRegistration;
+		}
+	}
+
+	/**
+	 * Starts the hook thread once the previous event dispatcher has terminated.
+	 *
+	 * @param source the event source, or null to run the native hook.
+	 * @param start the <code>System.nanoTime()</code> the registration was requested at.
+	 * @return a future completed once the hook is running.
+	 */
+	private static CompletableFuture<Duration> startNativeHook(NativeEventSource source, final long start) {
+		final NativeHookThread thread;
+		final NativeHookRegistrationEvent registration = new NativeHookRegistrationEvent();
+
+		synchronized (hookLock) {
+			if (isNativeHookRegistered()) {
+				return CompletableFuture.completedFuture(Duration.ZERO);
+			}
+
+			if (eventExecutor == null || eventExecutor.isShutdown()) {
+				eventExecutor = new DefaultDispatchService();
+			}
+
+			registerStatistics();
+
+			// Nothing was observed while the hook was not running.
+			inputState.reset();
+
+			uninstallEventRing();
+			if (source == null) {
+				installEventRing();
+			}
+
+			thread = new NativeHookThread(source);
+			hookThread = thread;
+
+			registration.dispatcher = eventExecutor.getClass().getName();
+			registration.begin();
+
+			thread.start();
+		}
+
+		return thread.started.handle(new BiFunction<Void, Throwable, Duration>() {
+			public Duration apply(Void result, Throwable exception) {
+				registration.end();
+				if (registration.shouldCommit()) {
+					registration.success = exception == null;
+					registration.error = exception != null ? exception.getMessage() : null;
+					registration.commit();
+				}
+
+				if (exception != null) {
+					uninstallEventRing();
+					throw new CompletionException(exception);
+				}
+
+				return Duration.ofNanos(System.nanoTime() - start);
+			}
+		});
+	}
+
+	/**
+	 * Disable the native hook if it is currently registered. If the native
+	 * hook it is not registered the function has no effect.
+	 *
+	 * @throws NativeHookException hook interrupted by Java.
+	 * @since 1.1
+	 */
+	public static void unregisterNativeHook() throws NativeHookException {
+		await(unregisterNativeHookAsync(0, TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Disable the native hook without waiting for it to stop.  The returned
+	 * future completes once the hook thread has stopped and the event
+	 * dispatcher has been shut down.  If the hook is not registered, the
+	 * returned future is already complete.
+	 * <p>
 	 *
-	 * @return <code>Integer</code> or null.
+	 * With a positive drain timeout, the future additionally waits up to that
+	 * long for the dispatcher to deliver the events that were still queued
+	 * when the hook stopped.  Events that are not delivered within the timeout
+	 * are still delivered afterwards, they are never discarded.  The drain
+	 * happens on a separate notifier thread, so neither the calling thread nor
+	 * the hook thread is blocked by this method.
+	 *
+	 * @param drainTimeout the maximum time to wait for queued events to be
+	 * delivered, or 0 to not wait for them.
+	 * @param unit the time unit of the <code>drainTimeout</code> argument.
+	 * @return a future completed with the time it took to stop the hook and
+	 * drain the dispatcher.
+	 * @see #unregisterNativeHook()
 	 * @since 2.1
 	 */
-	public static native Integer getMultiClickIterval();
+	public static CompletableFuture<Duration> unregisterNativeHookAsync(long drainTimeout, TimeUnit unit) {
+		final long start = System.nanoTime();
+		final long drainNanos = unit.toNanos(drainTimeout);
+
+		CompletableFuture<Duration> registration;
+		synchronized (hookLock) {
+			registration = pendingRegistration;
+		}
+
+		if (registration != null && !registration.isDone()) {
+			// Stop the hook once the registration in progress has completed, whatever its outcome.
+			return registration.handle(new BiFunction<Duration, Throwable, Void>() {
+				public Void apply(Duration result, Throwable exception) {
+					return null;
+				}
+			}).thenCompose(new Function<Void, CompletionStage<Duration>>() {
+				public CompletionStage<Duration> apply(Void result) {
+					return stopNativeHook(start, drainNanos);
+				}
+			});
+		}
+
+		return stopNativeHook(start, drainNanos);
+	}
 
 	/**
-	 * Specialized thread implementation for the native hook.
+	 * Stops the hook thread and shuts down the event dispatcher once the hook has stopped.
+	 *
+	 * @param start the <code>System.nanoTime()</code> the unregistration was requested at.
+	 * @param drainNanos the maximum time to wait for queued events to be delivered.
+	 * @return a future completed once the hook has stopped and the dispatcher was drained.
 	 */
-	protected static class NativeHookThread extends Thread {
-		/**
-		 * Exception thrown by this thread.
-		 */
-		protected NativeHookException exception;
+	private static CompletableFuture<Duration> stopNativeHook(final long start, final long drainNanos) {
+		final NativeHookThread thread;
+		final CompletableFuture<Void> terminated = new CompletableFuture<Void>();
+		final CompletableFuture<Duration> stopped = new CompletableFuture<Duration>();
+		final NativeHookUnregistrationEvent unregistration = new NativeHookUnregistrationEvent();
+
+		synchronized (hookLock) {
+			if (!isNativeHookRegistered()) {
+				return CompletableFuture.completedFuture(Duration.ZERO);
+			}
 
-		/**
-		 * Default constructor.
-		 */
-		public NativeHookThread() {
-			this.setName("JNativeHook Hook Thread");
-			this.setDaemon(false);
-			this.setPriority(Thread.MAX_PRIORITY);
-		}
+			thread = hookThread;
+			if (thread.unregistration != null) {
+				// The hook is already stopping.
+				return thread.unregistration;
+			}
 
-		public void run() {
-			this.exception = null;
+			unregistration.begin();
 
 			try {
-				// NOTE enable() will call notifyAll() on this object after passing exception throwing code.
-				this.enable();
+				if (thread.source != null) {
+					thread.source.disable();
+				}
+				else {
+					thread.disable();
+				}
 			}
-			catch (NativeHookException e) {
-				this.exception = e;
+			catch (Exception e) {
+				unregistration.commit();
+				return CompletableFuture.failedFuture(new NativeHookException(e.getCause()));
 			}
 
-			synchronized (this) {
-				// Notify anyone that is still waiting for the hook that it has completed.
-				this.notifyAll();
-			}
+			// Registrations from now on start once the current dispatcher has delivered its remaining events.
+			dispatcherTermination = terminated;
+			thread.unregistration = stopped;
 		}
 
-		/**
-		 * Get the exception associated with the current hook, or null of no exception was thrown.
-		 *
-		 * @return the <code>NativeHookException</code> or null.
-		 */
-		public NativeHookException getException() {
-			return this.exception;
-		}
+		// The drain may block, so it never runs on the caller or on the exiting hook thread.
+		thread.stopped.thenRunAsync(new Runnable() {
+			public void run() {
+				unregistration.success = true;
+				unregistration.commit();
+
+				uninstallEventRing();
+				inputState.reset();
+
+				ExecutorService executor = eventExecutor;
+				if (executor != null) {
+					// Deliver the trailing batches behind the last queued event.
+					submitFinalTask(executor, flushBatchesTask);
+					executor.shutdown();
+
+					if (drainNanos > 0) {
+						try {
+							executor.awaitTermination(drainNanos, TimeUnit.NANOSECONDS);
+						}
+						catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					}
+				}
 
-		/**
-		 * Native implementation to start the input hook.  This method blocks and should only be called by this
-		 * specialized thread implementation.  This method will notifyAll() after passing any exception exception
-		 * throwing code.
-		 *
-		 * @throws NativeHookException problem registering the native hook with the underlying operating system.
-		 */
-		protected native void enable() throws NativeHookException;
+				stopped.complete(Duration.ofNanos(System.nanoTime() - start));
 
-		/**
-		 * Native implementation to stop the input hook.  There is no other way to stop the hook.
-		 *
-		 * @throws NativeHookException problem un-registering the native hook with the underlying operating system.
-		 */
-		public native void disable() throws NativeHookException;
+				completeOnTermination(executor, terminated);
+			}
+		}, HookNotifier.INSTANCE);
 
-		/**
-		 * Dispatches an event to the appropriate processor.  This method is
-		 * generally called by the native library but may be used to synthesize
-		 * native events from Java without replaying them on the native system.  If
-		 * you would like to send events to other applications, please use
-		 * {@link #postNativeEvent},
-		 * <p>
-		 *
-		 * <b>Note:</b> This method executes on the native system's event queue.
-		 * It is imperative that all processing be off-loaded to other threads.
-		 * Failure to do so might result in the delay of user input and the automatic
-		 * removal of the native hook.
-		 *
-		 * @param event the <code>NativeInputEvent</code> sent to the registered event listeners.
-		 */
-		protected static void dispatchEvent(NativeInputEvent event) {
-			if (eventExecutor != null) {
-				eventExecutor.execute(new EventDispatchTask(event));
+		return stopped;
+	}
+
+	/**
+	 * Submits an internal task, such as the delivery of a batch, to the event dispatcher.  Ring buffer dispatchers are
+	 * offered the task directly so that a full ring is detected instead of silently dropping the task.
+	 *
+	 * @param executor the event dispatcher, or null.
+	 * @param task the task to execute on the dispatch thread.
+	 * @return true if the task was accepted, false if there is no dispatcher or it rejected or dropped the task.
+	 */
+	static boolean submitTask(Executor executor, Runnable task) {
+		if (executor == null) {
+			return false;
+		}
+
+		try {
+			if (executor instanceof RingBufferDispatchService) {
+				return ((RingBufferDispatchService) executor).tryExecute(task);
 			}
+
+			executor.execute(task);
+			return true;
+		}
+		catch (RejectedExecutionException e) {
+			return false;
 		}
 	}
 
-
 	/**
-	 * Enable the native hook. If the hooks is currently enabled, this function has no effect.
-	 * <p>
-	 * <b>Note:</b> This method will throw a <code>NativeHookException</code>
-	 * if specific operating system feature is unavailable or disabled.
-	 * For example: Access for assistive devices is unchecked in the Universal
-	 * Access section of the System Preferences on Apple's OS X platform or
-	 * <code>Load "record"</code> is missing for the xorg.conf file on
-	 * Unix/Linux/Solaris platforms.
+	 * Submits an internal task to the event dispatcher from the {@link InternalTimer}.  If a full ring drops the task,
+	 * it is resubmitted by the timer until the dispatch thread catches up.  If there is no running dispatcher, the
+	 * task is abandoned, because the unregistration delivers any pending events and the next event submits a new task.
 	 *
-	 * @throws NativeHookException problem registering the native hook with the underlying operating system.
-	 * @since 1.1
+	 * @param executor the event dispatcher, or null.
+	 * @param task the task to execute on the dispatch thread.
+	 * @param abandoned called on the timer thread if the task is abandoned, or null.
 	 */
-	public static void registerNativeHook() throws NativeHookException {
-		if (eventExecutor != null) {
-			if (! eventExecutor.isShutdown()) {
-				eventExecutor.shutdown();
-			}
+	static void submitWithRetry(final Executor executor, final Runnable task, final Runnable abandoned) {
+		if (submitTask(executor, task)) {
+			return;
+		}
 
-			while (! eventExecutor.isTerminated()) {
-				try {
-					Thread.sleep(250);
-				}
-				catch (InterruptedException e) {
-					log.warning(e.getMessage());
-					break;
+		if (executor == null || (executor instanceof ExecutorService && ((ExecutorService) executor).isShutdown())) {
+			if (abandoned != null) {
+				abandoned.run();
+			}
+		}
+		else {
+			// The ring is full, try again once the dispatch thread had a chance to catch up.
+			InternalTimer.INSTANCE.schedule(new Runnable() {
+				public void run() {
+					submitWithRetry(executor, task, abandoned);
 				}
+			}, TASK_RETRY_INTERVAL, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Submits the last task before the event dispatcher is shut down.  The hook has stopped at this point, so a full
+	 * ring only has to drain before the task is accepted.
+	 *
+	 * @param executor the event dispatcher that is about to be shut down.
+	 * @param task the task to execute on the dispatch thread.
+	 */
+	private static void submitFinalTask(ExecutorService executor, Runnable task) {
+		long deadline = System.nanoTime() + FINAL_TASK_TIMEOUT;
+
+		while (!submitTask(executor, task)) {
+			if (executor.isShutdown() || System.nanoTime() - deadline > 0) {
+				log.warning("Unable to submit the final task to the event dispatcher.");
+				return;
 			}
 
-			eventExecutor = new DefaultDispatchService();
+			LockSupport.parkNanos(TASK_RETRY_INTERVAL);
 		}
+	}
 
-		if (hookThread == null || !hookThread.isAlive()) {
-			hookThread = new NativeHookThread();
-
-			synchronized (hookThread) {
-				hookThread.start();
+	/**
+	 * Completes the future once the executor has terminated.  If the executor is still delivering events, another
+	 * notifier thread waits for it so that the drain of the unregistration is not extended.
+	 *
+	 * @param executor the executor that was shut down, or null.
+	 * @param terminated the future to complete.
+	 */
+	private static void completeOnTermination(final ExecutorService executor, final CompletableFuture<Void> terminated) {
+		if (executor == null || executor.isTerminated()) {
+			terminated.complete(null);
+			return;
+		}
 
+		HookNotifier.INSTANCE.execute(new Runnable() {
+			public void run() {
 				try {
-					hookThread.wait();
+					executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
 				}
 				catch (InterruptedException e) {
-					throw new NativeHookException(e);
+					log.warning(e.getMessage());
 				}
-
-				NativeHookException exception = hookThread.getException();
-				if (exception != null) {
-					throw exception;
+				finally {
+					terminated.complete(null);
 				}
 			}
+		});
+	}
+
+	/**
+	 * Waits for a registration future and rethrows its failure.
+	 *
+	 * @param future the future returned by the asynchronous method.
+	 * @throws NativeHookException the failure of the future, or the interruption of the calling thread.
+	 */
+	private static void await(CompletableFuture<Duration> future) throws NativeHookException {
+		try {
+			future.get();
+		}
+		catch (InterruptedException e) {
+			throw new NativeHookException(e);
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof NativeHookException) {
+				throw (NativeHookException) cause;
+			}
+			else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw new NativeHookException(cause);
 		}
 	}
 
 	/**
-	 * Disable the native hook if it is currently registered. If the native
-	 * hook it is not registered the function has no effect.
+	 * Set the source of events used the next time the native hook is
+	 * registered.  Using null restores the native hook of the operating system,
+	 * or the class named by the <code>jnativehook.source</code> property if it
+	 * is set.
 	 *
-	 * @throws NativeHookException hook interrupted by Java.
-	 * @since 1.1
+	 * @param source the <code>NativeEventSource</code> or null.
+	 * @see SyntheticEventSource
+	 * @since 2.1
 	 */
-	public static void unregisterNativeHook() throws NativeHookException {
-		if (isNativeHookRegistered()) {
+	public static void setEventSource(NativeEventSource source) {
+		eventSource = source;
+	}
+
+	/**
+	 * Returns the source of events set with {@link #setEventSource(NativeEventSource)}.
+	 *
+	 * @return the <code>NativeEventSource</code>, or null if the native hook is used.
+	 * @since 2.1
+	 */
+	public static NativeEventSource getEventSource() {
+		return eventSource;
+	}
+
+	/**
+	 * Returns the event source to run when the native hook is registered,
+	 * creating it from the <code>jnativehook.source</code> property if none was
+	 * set.
+	 *
+	 * @return the event source, or null to run the native hook.
+	 * @throws NativeHookException if the configured source could not be created.
+	 */
+	private static synchronized NativeEventSource getConfiguredEventSource() throws NativeHookException {
+		if (eventSource == null) {
+			String sourceClass = System.getProperty("jnativehook.source");
 
-			synchronized (hookThread) {
+			if (sourceClass != null) {
 				try {
-					hookThread.disable();
-					hookThread.join();
+					eventSource = Class.forName(sourceClass).asSubclass(NativeEventSource.class).getDeclaredConstructor().newInstance();
 				}
 				catch (Exception e) {
-					throw new NativeHookException(e.getCause());
+					throw new NativeHookException("Unable to create the event source " + sourceClass + ".", e);
 				}
 			}
-
-			eventExecutor.shutdown();
 		}
+
+		return eventSource;
 	}
 
 	/**
@@ -468,7 +2018,10 @@ public class GlobalScreen {
 	 * @since 1.1
 	 */
 	public static boolean isNativeHookRegistered() {
-		return hookThread != null && hookThread.isAlive();
+		NativeHookThread thread = hookThread;
+
+		// A thread that has stopped dispatching may still be alive while an unregistration completes.
+		return thread != null && thread.isAlive() && !thread.stopped.isDone();
 	}
 
 
@@ -519,24 +2072,85 @@ public class GlobalScreen {
 	public static native void postNativeEvent(NativeInputEvent nativeEvent);
 
 	/**
-	 * Internal class to handle event dispatching via the executor service.
+	 * Task used to deliver a single event to the registered listeners via the executor service.  Dispatch services
+	 * may inspect the event carried by the task, for example to coalesce events that have not yet been delivered.
+	 *
+	 * @since 2.1
 	 */
-	private static class EventDispatchTask implements Runnable {
+	public static class EventDispatchTask implements Runnable {
 		/**
 		 * The event to dispatch.
 		 */
 		private NativeInputEvent event;
 
+		/**
+		 * True if the event is returned to its pool after this task has run.
+		 */
+		private boolean recycle = false;
+
+		/**
+		 * The synchronous delivery of the event that exceeded the budget, or null.
+		 */
+		private SynchronousDispatcher.Fallback fallback;
+
 		/**
 		 * Single argument constructor for dispatch task.
 		 *
 		 * @param event	the <code>NativeInputEvent</code> to dispatch.
 		 */
-		public EventDispatchTask(NativeInputEvent event) {
+		protected EventDispatchTask(NativeInputEvent event) {
 			this.event = event;
 		}
 
+		/**
+		 * Returns the event delivered by this task.
+		 *
+		 * @return the <code>NativeInputEvent</code> to dispatch.
+		 */
+		public NativeInputEvent getEvent() {
+			return event;
+		}
+
+		/**
+		 * Releases the resources held by this task without delivering the event.  Dispatch services must call this
+		 * method for tasks they accept but never run, for example because the task was dropped or replaced by a more
+		 * recent event, so that recycled events are returned to their pool.
+		 */
+		public void discard() {
+			fallback = null;
+
+			if (recycle) {
+				recycle = false;
+				event.recycle();
+			}
+		}
+
 		public void run() {
+			try {
+				deliver();
+			}
+			finally {
+				fallback = null;
+
+				if (recycle) {
+					recycle = false;
+					event.recycle();
+				}
+			}
+		}
+
+		private void deliver() {
+			NativeEventDeliveryEvent delivery = new NativeEventDeliveryEvent();
+			delivery.begin();
+
+			event.setDeliveryTime(System.nanoTime());
+			statistics.eventDelivered(event);
+
+			if (fallback != null) {
+				// Synchronous listeners that were not called within the budget are still notified first.
+				fallback.deliverPending(event);
+			}
+
 			if (event instanceof NativeKeyEvent) {
 				processKeyEvent((NativeKeyEvent) event);
 			}
@@ -560,6 +2174,17 @@ public class GlobalScreen {
 			else if (event instanceof NativeMouseWheelEvent) {
 				processMouseWheelEvent((NativeMouseWheelEvent) event);
 			}
+
+			processBatchEvent(event);
+
+			delivery.end();
+			if (delivery.shouldCommit()) {
+				delivery.event = event.paramString();
+				if (event.getQueueTime() != 0) {
+					delivery.queueWait = event.getDeliveryTime() - event.getQueueTime();
+				}
+				delivery.commit();
+			}
 		}
 
 
@@ -574,22 +2199,45 @@ public class GlobalScreen {
 		 */
 		private void processKeyEvent(NativeKeyEvent nativeEvent) {
 			NativeKeyListener[] listeners = eventListeners.getListeners(NativeKeyListener.class);
+			int demoted = getDemotedIndex(listeners);
 
 			for (int i = 0; i < listeners.length; i++) {
-				switch (nativeEvent.getID()) {
-					case NativeKeyEvent.NATIVE_KEY_PRESSED:
-						listeners[i].nativeKeyPressed(nativeEvent);
-						break;
+				if (i != demoted && isAccepted(listeners[i], nativeEvent)) {
+					processKeyEvent(listeners[i], nativeEvent);
+				}
+			}
+		}
 
-					case NativeKeyEvent.NATIVE_KEY_TYPED:
-						listeners[i].nativeKeyTyped(nativeEvent);
-						break;
+		/**
+		 * Evaluates the filter of a listener added with a filter.  The filter is evaluated here so that the listener
+		 * is only called, and only counted by the statistics, for the events it asked for.
+		 *
+		 * @param listener the listener about to be notified.
+		 * @param nativeEvent the event to deliver.
+		 * @return true if the listener has no filter or its filter accepts the event.
+		 */
+		private boolean isAccepted(EventListener listener, NativeInputEvent nativeEvent) {
+			return !(listener instanceof FilteredListener) || ((FilteredListener) listener).filter.matches(nativeEvent);
+		}
 
-					case NativeKeyEvent.NATIVE_KEY_RELEASED:
-						listeners[i].nativeKeyReleased(nativeEvent);
-						break;
-				}
+		private void processKeyEvent(NativeKeyListener listener, NativeKeyEvent nativeEvent) {
+			long start = statistics.listenerStarted(nativeEvent);
+
+			switch (nativeEvent.getID()) {
+				case NativeKeyEvent.NATIVE_KEY_PRESSED:
+					listener.nativeKeyPressed(nativeEvent);
+					break;
+
+				case NativeKeyEvent.NATIVE_KEY_TYPED:
+					listener.nativeKeyTyped(nativeEvent);
+					break;
+
+				case NativeKeyEvent.NATIVE_KEY_RELEASED:
+					listener.nativeKeyReleased(nativeEvent);
+					break;
 			}
+
+			statistics.listenerFinished(start);
 		}
 
 		/**
@@ -602,23 +2250,42 @@ public class GlobalScreen {
 		 * @see #addNativeMouseListener(NativeMouseListener)
 		 */
 		private void processButtonEvent(NativeMouseEvent nativeEvent) {
+			if (nativeEvent.getID() != NativeMouseEvent.NATIVE_MOUSE_CLICKED) {
+				// Rate limited motion listeners learn the latest position before the button changes.
+				NativeMouseMotionThrottle[] throttles = eventListeners.getListeners(NativeMouseMotionThrottle.class);
+				for (int i = 0; i < throttles.length; i++) {
+					throttles[i].flush();
+				}
+			}
+
 			NativeMouseListener[] listeners = eventListeners.getListeners(NativeMouseListener.class);
+			int demoted = getDemotedIndex(listeners);
 
 			for (int i = 0; i < listeners.length; i++) {
-				switch (nativeEvent.getID()) {
-					case NativeMouseEvent.NATIVE_MOUSE_CLICKED:
-						listeners[i].nativeMouseClicked(nativeEvent);
-						break;
+				if (i != demoted && isAccepted(listeners[i], nativeEvent)) {
+					processButtonEvent(listeners[i], nativeEvent);
+				}
+			}
+		}
 
-					case NativeMouseEvent.NATIVE_MOUSE_PRESSED:
-						listeners[i].nativeMousePressed(nativeEvent);
-						break;
+		private void processButtonEvent(NativeMouseListener listener, NativeMouseEvent nativeEvent) {
+			long start = statistics.listenerStarted(nativeEvent);
 
-					case NativeMouseEvent.NATIVE_MOUSE_RELEASED:
-						listeners[i].nativeMouseReleased(nativeEvent);
-						break;
-				}
+			switch (nativeEvent.getID()) {
+				case NativeMouseEvent.NATIVE_MOUSE_CLICKED:
+					listener.nativeMouseClicked(nativeEvent);
+					break;
+
+				case NativeMouseEvent.NATIVE_MOUSE_PRESSED:
+					listener.nativeMousePressed(nativeEvent);
+					break;
+
+				case NativeMouseEvent.NATIVE_MOUSE_RELEASED:
+					listener.nativeMouseReleased(nativeEvent);
+					break;
 			}
+
+			statistics.listenerFinished(start);
 		}
 
 		/**
@@ -632,8 +2299,15 @@ public class GlobalScreen {
 		 */
 		private void processMouseEvent(NativeMouseEvent nativeEvent) {
 			NativeMouseMotionListener[] listeners = eventListeners.getListeners(NativeMouseMotionListener.class);
+			int demoted = getDemotedIndex(listeners);
 
 			for (int i = 0; i < listeners.length; i++) {
+				if (i == demoted) {
+					continue;
+				}
+
+				long start = statistics.listenerStarted(nativeEvent);
+
 				switch (nativeEvent.getID()) {
 					case NativeMouseEvent.NATIVE_MOUSE_MOVED:
 						listeners[i].nativeMouseMoved(nativeEvent);
@@ -643,6 +2317,15 @@ public class GlobalScreen {
 						listeners[i].nativeMouseDragged(nativeEvent);
 						break;
 				}
+
+				statistics.listenerFinished(start);
+			}
+
+			NativeMouseMotionThrottle[] throttles = eventListeners.getListeners(NativeMouseMotionThrottle.class);
+			for (int i = 0; i < throttles.length; i++) {
+				if (throttles[i].motion(nativeEvent, eventExecutor)) {
+					statistics.motionThrottled();
+				}
 			}
 		}
 
@@ -658,9 +2341,50 @@ public class GlobalScreen {
 		 */
 		private void processMouseWheelEvent(NativeMouseWheelEvent nativeEvent) {
 			NativeMouseWheelListener[] listeners = eventListeners.getListeners(NativeMouseWheelListener.class);
+			int demoted = getDemotedIndex(listeners);
 
 			for (int i = 0; i < listeners.length; i++) {
-				listeners[i].nativeMouseWheelMoved(nativeEvent);
+				if (i != demoted) {
+					long start = statistics.listenerStarted(nativeEvent);
+					listeners[i].nativeMouseWheelMoved(nativeEvent);
+					statistics.listenerFinished(start);
+				}
+			}
+		}
+
+		/**
+		 * Returns the position of the listener that was demoted to an asynchronous listener while it received this
+		 * event on the native hook thread.  That listener has already been notified and is skipped.
+		 *
+		 * @param listeners the asynchronous listeners of the event.
+		 * @return the index of the last registration of the demoted listener, or -1 if there is none.
+		 */
+		private int getDemotedIndex(EventListener[] listeners) {
+			if (fallback != null && fallback.demoted != null) {
+				for (int i = listeners.length - 1; i >= 0; i--) {
+					if (listeners[i] == fallback.demoted) {
+						return i;
+					}
+				}
+			}
+
+			return -1;
+		}
+
+		/**
+		 * Adds native events to the pending batch of all registered
+		 * <code>NativeInputBatchListener</code> objects.
+		 *
+		 * @param nativeEvent the <code>NativeInputEvent</code> to dispatch.
+		 * @see NativeInputBatchListener
+		 * @see #addNativeInputBatchListener(NativeInputBatchListener, int, long, TimeUnit)
+		 * @since 2.1
+		 */
+		private void processBatchEvent(NativeInputEvent nativeEvent) {
+			NativeInputBatch[] batches = eventListeners.getListeners(NativeInputBatch.class);
+
+			for (int i = 0; i < batches.length; i++) {
+				batches[i].append(nativeEvent, eventExecutor);
 			}
 		}
 	}
@@ -671,13 +2395,21 @@ public class GlobalScreen {
 	 * the native event queue.  You may choose to use an alternative approach
 	 * for event delivery by implementing an <code>ExecutorService</code>.
 	 * <p>
-	 * <b>Note:</b> Using null as an <code>ExecutorService</code> will cause all
-	 * delivered events to be discarded until a valid <code>ExecutorService</code>
-	 * is set.
+	 * <b>Note:</b> Using null as an <code>ExecutorService</code> while the
+	 * native hook is registered will cause all delivered events to be
+	 * discarded until a valid <code>ExecutorService</code> is set.  If no
+	 * dispatcher is set, or the dispatcher has been shutdown, when
+	 * {@link #registerNativeHook()} is called, a new
+	 * <code>DefaultDispatchService</code> is installed.  A dispatcher set
+	 * prior to calling {@link #registerNativeHook()} will be used for the
+	 * lifetime of the hook.
 	 *
 	 * @param dispatcher The <code>ExecutorService</code> used to dispatch native events.
 	 * @see java.util.concurrent.ExecutorService
 	 * @see java.util.concurrent.Executors#newSingleThreadExecutor()
+	 * @see org.jnativehook.dispatcher.DefaultDispatchService
+	 * @see org.jnativehook.dispatcher.RingBufferDispatchService
+	 * @see org.jnativehook.dispatcher.SwingDispatchService
 	 * @since 2.0
 	 */
 	public static void setEventDispatcher(ExecutorService dispatcher) {
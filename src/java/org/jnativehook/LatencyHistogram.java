@@ -0,0 +1,183 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-memory histogram of durations in nanoseconds.  Values are counted in log-linear buckets: every power of two
+ * is divided into {@value #SUB_BUCKET_COUNT} equally sized buckets, so any recorded value is reported with a relative
+ * error of at most 1/{@value #SUB_BUCKET_COUNT}.  Values below {@value #SUB_BUCKET_COUNT} ns are counted exactly and
+ * values above roughly 18 minutes are counted in the last bucket.
+ * <p>
+ *
+ * Recording a value does not lock or allocate and may be done concurrently from any number of threads.  Reading the
+ * histogram takes a snapshot of the buckets, which may be slightly inconsistent with values recorded at the same time.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ */
+final class LatencyHistogram {
+	/** Number of bits used for the linear buckets within each power of two. */
+	private static final int SUB_BUCKET_BITS = 5;
+
+	/** Number of linear buckets within each power of two. */
+	static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/** Values are clamped below 2 to the power of this exponent. */
+	private static final int MAX_EXPONENT = 40;
+
+	/** The largest value that is counted precisely. */
+	static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+	private final AtomicLongArray buckets = new AtomicLongArray((MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT);
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder sum = new LongAdder();
+
+	private final AtomicLong max = new AtomicLong(0);
+
+	/**
+	 * Records a single duration.  Negative durations, which may be caused by clock calibration errors, are counted as
+	 * zero.
+	 *
+	 * @param value the duration in nanoseconds.
+	 */
+	void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+
+		buckets.incrementAndGet(getBucketIndex(value));
+		count.increment();
+		sum.add(value);
+
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	/**
+	 * Clears all recorded values.
+	 */
+	void reset() {
+		for (int i = 0; i < buckets.length(); i++) {
+			buckets.set(i, 0);
+		}
+
+		count.reset();
+		sum.reset();
+		max.set(0);
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return the number of recorded values.
+	 */
+	long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns a snapshot of the recorded values.
+	 *
+	 * @return the count, mean, maximum and percentiles of the recorded values.
+	 */
+	LatencyStatistics getStatistics() {
+		long[] snapshot = new long[buckets.length()];
+		long total = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			snapshot[i] = buckets.get(i);
+			total += snapshot[i];
+		}
+
+		long maximum = max.get();
+
+		return new LatencyStatistics(
+				total,
+				total > 0 ? sum.sum() / total : 0,
+				getPercentile(snapshot, total, 0.50, maximum),
+				getPercentile(snapshot, total, 0.99, maximum),
+				getPercentile(snapshot, total, 0.999, maximum),
+				maximum);
+	}
+
+	/**
+	 * Returns the index of the bucket that counts the specified value.
+	 *
+	 * @param value a non-negative duration.
+	 * @return the bucket index.
+	 */
+	static int getBucketIndex(long value) {
+		if (value > MAX_VALUE) {
+			value = MAX_VALUE;
+		}
+
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+
+		// For values in [2^e, 2^(e + 1)) the bucket width is 2^(e - SUB_BUCKET_BITS).
+		int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+
+		return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+	}
+
+	/**
+	 * Returns the largest value counted by the specified bucket.
+	 *
+	 * @param index the bucket index.
+	 * @return the upper bound of the bucket.
+	 */
+	static long getBucketUpperBound(int index) {
+		if (index < 2 * SUB_BUCKET_COUNT) {
+			// Buckets below 2^(SUB_BUCKET_BITS + 1) count a single value.
+			return index;
+		}
+
+		int shift = (index >>> SUB_BUCKET_BITS) - 1;
+		long lower = (long) ((index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT) << shift;
+
+		return lower + (1L << shift) - 1;
+	}
+
+	private static long getPercentile(long[] snapshot, long total, double percentile, long maximum) {
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(percentile * total);
+		long seen = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			seen += snapshot[i];
+
+			if (seen >= rank) {
+				return Math.min(getBucketUpperBound(i), maximum);
+			}
+		}
+
+		return maximum;
+	}
+}
@@ -0,0 +1,119 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import javax.management.ConstructorParameters;
+
+/**
+ * Immutable summary of the durations recorded for one stage of the event pipeline.  All durations are in
+ * nanoseconds.  Percentiles are accurate to within about three percent.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeHookMXBean
+ */
+public class LatencyStatistics {
+	private final long count;
+	private final long mean;
+	private final long p50;
+	private final long p99;
+	private final long p999;
+	private final long max;
+
+	/**
+	 * Instantiates a new latency summary.
+	 *
+	 * @param count the number of recorded durations.
+	 * @param mean the mean duration.
+	 * @param p50 the median duration.
+	 * @param p99 the 99th percentile.
+	 * @param p999 the 99.9th percentile.
+	 * @param max the largest recorded duration.
+	 */
+	@ConstructorParameters({"count", "mean", "p50", "p99", "p999", "max"})
+	public LatencyStatistics(long count, long mean, long p50, long p99, long p999, long max) {
+		this.count = count;
+		this.mean = mean;
+		this.p50 = p50;
+		this.p99 = p99;
+		this.p999 = p999;
+		this.max = max;
+	}
+
+	/**
+	 * Returns the number of recorded durations.
+	 *
+	 * @return the number of samples.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the mean duration.
+	 *
+	 * @return the mean in nanoseconds.
+	 */
+	public long getMean() {
+		return mean;
+	}
+
+	/**
+	 * Returns the median duration.
+	 *
+	 * @return the 50th percentile in nanoseconds.
+	 */
+	public long getP50() {
+		return p50;
+	}
+
+	/**
+	 * Returns the 99th percentile.
+	 *
+	 * @return the 99th percentile in nanoseconds.
+	 */
+	public long getP99() {
+		return p99;
+	}
+
+	/**
+	 * Returns the 99.9th percentile.
+	 *
+	 * @return the 99.9th percentile in nanoseconds.
+	 */
+	public long getP999() {
+		return p999;
+	}
+
+	/**
+	 * Returns the largest recorded duration.
+	 *
+	 * @return the maximum in nanoseconds.
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	public String toString() {
+		return getClass().getSimpleName() + "[count=" + count + ",mean=" + mean + ",p50=" + p50 + ",p99=" + p99
+				+ ",p999=" + p999 + ",max=" + max + "]";
+	}
+}
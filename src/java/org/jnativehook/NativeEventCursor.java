@@ -0,0 +1,267 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only view of a single event record in a {@link NativeEventRing}.  The cursor is reused for every record, so
+ * reading events through it does not allocate.  A cursor is only valid for the duration of the
+ * {@link NativeEventCursorListener#nativeEventAvailable(NativeEventCursor)} call it was passed to, and must not be
+ * retained.
+ * <p>
+ *
+ * The accessors that do not apply to the current event type return zero.  Use {@link #toEvent()} to obtain a
+ * regular <code>NativeInputEvent</code> for the current record.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeEventRing
+ */
+public final class NativeEventCursor {
+	private final ByteBuffer buffer;
+
+	/** The absolute offset of the current record. */
+	private int offset;
+
+	/**
+	 * Instantiates a new cursor over the records of the ring buffer.
+	 *
+	 * @param buffer the shared ring buffer.
+	 */
+	NativeEventCursor(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Move the cursor to the record at the specified offset.
+	 *
+	 * @param offset the absolute offset of the record.
+	 */
+	void position(int offset) {
+		this.offset = offset;
+	}
+
+	/**
+	 * Gets the event type.
+	 *
+	 * @return the event type
+	 */
+	public int getID() {
+		return buffer.getInt(offset + NativeEventRing.RECORD_ID);
+	}
+
+	/**
+	 * Gets the modifier flags for this event.
+	 *
+	 * @return the modifier flags
+	 */
+	public int getModifiers() {
+		return buffer.getInt(offset + NativeEventRing.RECORD_MODIFIERS);
+	}
+
+	/**
+	 * Gets the platform dependent native interval for chronological event sequencing.
+	 *
+	 * @return the native timestamp
+	 */
+	public long getWhen() {
+		return buffer.getLong(offset + NativeEventRing.RECORD_WHEN);
+	}
+
+	/**
+	 * Gets the time the native hook received this event, in the same domain as <code>System.nanoTime()</code>.
+	 *
+	 * @return the capture time in nanoseconds
+	 * @see NativeInputEvent#getCaptureTime()
+	 */
+	public long getCaptureTime() {
+		return buffer.getLong(offset + NativeEventRing.RECORD_CAPTURE);
+	}
+
+	/**
+	 * Returns true if the current record is a <code>NativeKeyEvent</code>.
+	 *
+	 * @return true for key events.
+	 */
+	public boolean isKeyEvent() {
+		int id = getID();
+
+		return id >= NativeKeyEvent.NATIVE_KEY_FIRST && id <= NativeKeyEvent.NATIVE_KEY_LAST;
+	}
+
+	/**
+	 * Returns true if the current record is a <code>NativeMouseEvent</code>, including wheel events.
+	 *
+	 * @return true for mouse events.
+	 */
+	public boolean isMouseEvent() {
+		int id = getID();
+
+		return id >= NativeMouseEvent.NATIVE_MOUSE_FIRST && id <= NativeMouseEvent.NATIVE_MOUSE_LAST;
+	}
+
+	/**
+	 * Returns the native code associated with the native key of a key event.
+	 *
+	 * @return the native key code
+	 */
+	public int getRawCode() {
+		return isKeyEvent() ? getData(0) : 0;
+	}
+
+	/**
+	 * Returns the virtual key code of a key event.
+	 *
+	 * @return the virtual key code
+	 */
+	public int getKeyCode() {
+		return isKeyEvent() ? getData(1) : 0;
+	}
+
+	/**
+	 * Returns the Unicode character of a key typed event.
+	 *
+	 * @return the Unicode character
+	 */
+	public char getKeyChar() {
+		return isKeyEvent() ? (char) getData(2) : NativeKeyEvent.CHAR_UNDEFINED;
+	}
+
+	/**
+	 * Returns the location of the virtual key of a key event.
+	 *
+	 * @return the location of the virtual key
+	 */
+	public int getKeyLocation() {
+		return isKeyEvent() ? getData(3) : NativeKeyEvent.KEY_LOCATION_UNKNOWN;
+	}
+
+	/**
+	 * Returns the horizontal position of a mouse event.
+	 *
+	 * @return the x coordinate
+	 */
+	public int getX() {
+		return isMouseEvent() ? getData(0) : 0;
+	}
+
+	/**
+	 * Returns the vertical position of a mouse event.
+	 *
+	 * @return the y coordinate
+	 */
+	public int getY() {
+		return isMouseEvent() ? getData(1) : 0;
+	}
+
+	/**
+	 * Returns the number of mouse clicks of a mouse event.
+	 *
+	 * @return the click count
+	 */
+	public int getClickCount() {
+		return isMouseEvent() ? getData(2) : 0;
+	}
+
+	/**
+	 * Returns which mouse button changed state.  Not available for wheel events.
+	 *
+	 * @return the mouse button
+	 */
+	public int getButton() {
+		int id = getID();
+
+		return id >= NativeMouseEvent.NATIVE_MOUSE_FIRST && id < NativeMouseEvent.NATIVE_MOUSE_WHEEL ? getData(3) : 0;
+	}
+
+	/**
+	 * Returns the type of scrolling of a wheel event.
+	 *
+	 * @return the scroll type
+	 */
+	public int getScrollType() {
+		return getID() == NativeMouseEvent.NATIVE_MOUSE_WHEEL ? getData(3) : 0;
+	}
+
+	/**
+	 * Returns the number of units to scroll of a wheel event.
+	 *
+	 * @return the scroll amount
+	 */
+	public int getScrollAmount() {
+		return getID() == NativeMouseEvent.NATIVE_MOUSE_WHEEL ? getData(4) : 0;
+	}
+
+	/**
+	 * Returns the number of "clicks" the mouse wheel was rotated.
+	 *
+	 * @return the wheel rotation
+	 */
+	public int getWheelRotation() {
+		return getID() == NativeMouseEvent.NATIVE_MOUSE_WHEEL ? getData(5) : 0;
+	}
+
+	/**
+	 * Returns the direction of a wheel event.
+	 *
+	 * @return the wheel direction
+	 */
+	public int getWheelDirection() {
+		return getID() == NativeMouseEvent.NATIVE_MOUSE_WHEEL ? getData(6) : 0;
+	}
+
+	/**
+	 * Creates a new <code>NativeInputEvent</code> for the current record.
+	 *
+	 * @return a <code>NativeKeyEvent</code>, <code>NativeMouseEvent</code> or <code>NativeMouseWheelEvent</code>, or
+	 * null if the record holds an unknown event type.
+	 */
+	public NativeInputEvent toEvent() {
+		NativeInputEvent event = null;
+
+		int id = getID();
+		if (id == NativeMouseEvent.NATIVE_MOUSE_WHEEL) {
+			event = new NativeMouseWheelEvent(id, getModifiers(), getX(), getY(), getClickCount(),
+					getScrollType(), getScrollAmount(), getWheelRotation(), getWheelDirection());
+		}
+		else if (isMouseEvent()) {
+			event = new NativeMouseEvent(id, getModifiers(), getX(), getY(), getClickCount(), getButton());
+		}
+		else if (isKeyEvent()) {
+			event = new NativeKeyEvent(id, getModifiers(), getRawCode(), getKeyCode(), getKeyChar(), getKeyLocation());
+		}
+
+		if (event != null) {
+			event.setWhen(getWhen());
+			event.setCaptureTime(getCaptureTime());
+		}
+
+		return event;
+	}
+
+	private int getData(int index) {
+		return buffer.getInt(offset + NativeEventRing.RECORD_DATA + (index << 2));
+	}
+}
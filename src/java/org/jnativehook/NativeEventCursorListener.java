@@ -0,0 +1,47 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import java.util.EventListener;
+
+/**
+ * The listener interface for reading native events directly from a {@link NativeEventRing} without creating event
+ * objects.
+ * <p>
+ *
+ * The class that is interested in reading events as primitives implements this interface, and the object created
+ * with that class is registered with the <code>GlobalScreen</code> using the
+ * {@link GlobalScreen#addNativeEventCursorListener(NativeEventCursorListener)} method.  Cursor listeners are only
+ * notified while an event ring is installed with {@link GlobalScreen#setEventRing(NativeEventRing)}.  They are called
+ * on the event ring thread, before the event is handed to the event dispatcher, and should return quickly.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeEventCursor
+ */
+public interface NativeEventCursorListener extends EventListener {
+	/**
+	 * Invoked for each event read from the ring.  The cursor is reused and must not be retained.
+	 *
+	 * @param cursor the cursor positioned on the event.
+	 */
+	public void nativeEventAvailable(NativeEventCursor cursor);
+}
@@ -0,0 +1,54 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for the delivery of a native input event to its listeners.  The duration covers all listener
+ * callbacks for the event.  Only deliveries exceeding the threshold are recorded, and nothing is allocated or
+ * formatted unless the event is committed.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ */
+@Name("org.jnativehook.NativeEventDelivery")
+@Label("Native Event Delivery")
+@Description("Delivery of a native input event to the registered listeners")
+@Category("JNativeHook")
+@Threshold("10 ms")
+@StackTrace(false)
+final class NativeEventDeliveryEvent extends Event {
+	@Label("Event")
+	@Description("The parameters of the delivered native input event")
+	String event;
+
+	@Label("Queue Wait")
+	@Description("Time from submission to the event dispatcher until it started the delivery")
+	@Timespan(Timespan.NANOSECONDS)
+	long queueWait;
+}
@@ -0,0 +1,290 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import java.awt.Rectangle;
+
+/**
+ * Restricts the events delivered to a listener registered with
+ * {@link GlobalScreen#addNativeKeyListener(org.jnativehook.keyboard.NativeKeyListener, NativeEventFilter)} or
+ * {@link GlobalScreen#addNativeMouseListener(org.jnativehook.mouse.NativeMouseListener, NativeEventFilter)}.  An
+ * event is delivered if it satisfies every criterion that was set.  A new filter has no criteria and accepts every
+ * event.
+ * <p>
+ *
+ * Each setter compiles its criterion immediately.  Event types, key codes and mouse buttons become bit sets,
+ * modifiers become masks and screen areas become range checks, so evaluating a filter on the dispatch thread only
+ * takes a few comparisons and never allocates.  The filter is copied when a listener is registered, so later
+ * changes do not affect existing registrations.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ */
+public final class NativeEventFilter {
+	/** The modifier bits that are satisfied by either of their bits. */
+	private static final int[] MODIFIER_GROUPS = {
+		NativeInputEvent.SHIFT_MASK,
+		NativeInputEvent.CTRL_MASK,
+		NativeInputEvent.META_MASK,
+		NativeInputEvent.ALT_MASK,
+		NativeInputEvent.BUTTON1_MASK,
+		NativeInputEvent.BUTTON2_MASK,
+		NativeInputEvent.BUTTON3_MASK,
+		NativeInputEvent.BUTTON4_MASK,
+		NativeInputEvent.BUTTON5_MASK,
+		NativeInputEvent.NUM_LOCK_MASK,
+		NativeInputEvent.CAPS_LOCK_MASK,
+		NativeInputEvent.SCROLL_LOCK_MASK
+	};
+
+	/** The accepted event types relative to the first type, or null to accept all types. */
+	private long[] eventIds = null;
+	private int eventIdBase = 0;
+
+	/** The accepted virtual key codes, or null to accept all key codes. */
+	private long[] keyCodes = null;
+
+	/** The accepted mouse buttons, or 0 to accept all buttons. */
+	private long buttons = 0;
+
+	/** For each required modifier, the bits of which at least one must be set. */
+	private int[] requiredModifiers = new int[0];
+
+	/** The modifier bits that must not be set. */
+	private int excludedModifiers = 0;
+
+	/** The accepted screen areas as inclusive minimums and exclusive maximums, or null to accept all positions. */
+	private int[] minX = null, minY = null, maxX = null, maxY = null;
+
+	/**
+	 * Instantiates a new filter that accepts every event.
+	 */
+	public NativeEventFilter() {
+	}
+
+	/**
+	 * Instantiates a new filter with the same criteria as another filter.
+	 *
+	 * @param filter the filter to copy.
+	 */
+	public NativeEventFilter(NativeEventFilter filter) {
+		this.eventIds = filter.eventIds != null ? filter.eventIds.clone() : null;
+		this.eventIdBase = filter.eventIdBase;
+		this.keyCodes = filter.keyCodes != null ? filter.keyCodes.clone() : null;
+		this.buttons = filter.buttons;
+		this.requiredModifiers = filter.requiredModifiers.clone();
+		this.excludedModifiers = filter.excludedModifiers;
+
+		if (filter.minX != null) {
+			this.minX = filter.minX.clone();
+			this.minY = filter.minY.clone();
+			this.maxX = filter.maxX.clone();
+			this.maxY = filter.maxY.clone();
+		}
+	}
+
+	/**
+	 * Only accept events of the specified types, for example <code>NativeKeyEvent.NATIVE_KEY_PRESSED</code>.
+	 *
+	 * @param ids the accepted event types, or null to accept all types.
+	 */
+	public void setEventTypes(int... ids) {
+		if (ids == null || ids.length == 0) {
+			eventIds = null;
+		}
+		else {
+			int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+			for (int i = 0; i < ids.length; i++) {
+				min = Math.min(min, ids[i]);
+				max = Math.max(max, ids[i]);
+			}
+
+			eventIdBase = min;
+			eventIds = toBitSet(ids, min, max);
+		}
+	}
+
+	/**
+	 * Only accept key events for the specified virtual key codes.  Key typed events carry no key code and are not
+	 * accepted while this criterion is set.  Mouse events are not affected.
+	 *
+	 * @param codes the accepted <code>NativeKeyEvent.VC_</code> key codes, or null to accept all key codes.
+	 */
+	public void setKeyCodes(int... codes) {
+		if (codes == null || codes.length == 0) {
+			keyCodes = null;
+		}
+		else {
+			int max = 0;
+			for (int i = 0; i < codes.length; i++) {
+				if (codes[i] < 0) {
+					throw new IllegalArgumentException("Invalid key code: " + codes[i]);
+				}
+
+				max = Math.max(max, codes[i]);
+			}
+
+			keyCodes = toBitSet(codes, 0, max);
+		}
+	}
+
+	/**
+	 * Only accept mouse events for the specified buttons.  Key events are not affected.
+	 *
+	 * @param buttons the accepted <code>NativeMouseEvent.BUTTON</code> constants, or null to accept all buttons.
+	 */
+	public void setButtons(int... buttons) {
+		long bits = 0;
+
+		if (buttons != null) {
+			for (int i = 0; i < buttons.length; i++) {
+				if (buttons[i] < 0 || buttons[i] >= Long.SIZE) {
+					throw new IllegalArgumentException("Invalid mouse button: " + buttons[i]);
+				}
+
+				bits |= 1L << buttons[i];
+			}
+		}
+
+		this.buttons = bits;
+	}
+
+	/**
+	 * Only accept events with the specified modifiers.  For each modifier in <code>required</code>, at least one of
+	 * its bits must be set, so <code>NativeInputEvent.CTRL_MASK</code> accepts either control key, while
+	 * <code>NativeInputEvent.CTRL_L_MASK</code> only accepts the left one.  None of the bits in
+	 * <code>excluded</code> may be set.
+	 *
+	 * @param required the modifiers that must be held.
+	 * @param excluded the modifiers that must not be held.
+	 */
+	public void setModifiers(int required, int excluded) {
+		int count = 0;
+		int[] groups = new int[MODIFIER_GROUPS.length];
+
+		for (int i = 0; i < MODIFIER_GROUPS.length; i++) {
+			if ((required & MODIFIER_GROUPS[i]) != 0) {
+				groups[count++] = required & MODIFIER_GROUPS[i];
+			}
+		}
+
+		int[] compiled = new int[count];
+		System.arraycopy(groups, 0, compiled, 0, count);
+
+		this.requiredModifiers = compiled;
+		this.excludedModifiers = excluded;
+	}
+
+	/**
+	 * Only accept mouse events located in one of the specified screen areas.  Key events are not affected.
+	 *
+	 * @param bounds the accepted screen areas, or null to accept all positions.
+	 */
+	public void setBounds(Rectangle... bounds) {
+		if (bounds == null || bounds.length == 0) {
+			minX = minY = maxX = maxY = null;
+		}
+		else {
+			minX = new int[bounds.length];
+			minY = new int[bounds.length];
+			maxX = new int[bounds.length];
+			maxY = new int[bounds.length];
+
+			for (int i = 0; i < bounds.length; i++) {
+				minX[i] = bounds[i].x;
+				minY[i] = bounds[i].y;
+				maxX[i] = bounds[i].x + bounds[i].width;
+				maxY[i] = bounds[i].y + bounds[i].height;
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the event satisfies every criterion of this filter.
+	 *
+	 * @param nativeEvent the event to test.
+	 * @return true if the event is accepted.
+	 */
+	public boolean matches(NativeInputEvent nativeEvent) {
+		if (eventIds != null && !contains(eventIds, nativeEvent.getID() - eventIdBase)) {
+			return false;
+		}
+
+		int modifiers = nativeEvent.getModifiers();
+		if ((modifiers & excludedModifiers) != 0) {
+			return false;
+		}
+
+		for (int i = 0; i < requiredModifiers.length; i++) {
+			if ((modifiers & requiredModifiers[i]) == 0) {
+				return false;
+			}
+		}
+
+		if (nativeEvent instanceof NativeKeyEvent) {
+			if (keyCodes != null && !contains(keyCodes, ((NativeKeyEvent) nativeEvent).getKeyCode())) {
+				return false;
+			}
+		}
+		else if (nativeEvent instanceof NativeMouseEvent) {
+			NativeMouseEvent mouseEvent = (NativeMouseEvent) nativeEvent;
+
+			if (buttons != 0) {
+				int button = mouseEvent.getButton();
+				if (button < 0 || button >= Long.SIZE || (buttons & (1L << button)) == 0) {
+					return false;
+				}
+			}
+
+			if (minX != null && !contains(mouseEvent.getX(), mouseEvent.getY())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private boolean contains(int x, int y) {
+		for (int i = 0; i < minX.length; i++) {
+			if (x >= minX[i] && x < maxX[i] && y >= minY[i] && y < maxY[i]) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean contains(long[] bits, int index) {
+		return index >= 0 && (index >>> 6) < bits.length && (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	private static long[] toBitSet(int[] values, int min, int max) {
+		long[] bits = new long[((max - min) >>> 6) + 1];
+
+		for (int i = 0; i < values.length; i++) {
+			int index = values[i] - min;
+			bits[index >>> 6] |= 1L << index;
+		}
+
+		return bits;
+	}
+}
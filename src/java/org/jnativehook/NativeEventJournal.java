@@ -0,0 +1,132 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * File format of the event journal written by {@link NativeEventRecorder} and read by {@link NativeEventPlayer}.  A
+ * journal consists of a fixed size header followed by one fixed size record per event.  Records use the same layout
+ * as the records of a {@link NativeEventRing}, so they can be read with a <code>NativeEventCursor</code>.  All values
+ * are stored in little endian byte order.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ */
+final class NativeEventJournal {
+	/** The first four bytes of every journal, "JNHJ". */
+	static final int MAGIC = 0x4A4E484A;
+
+	static final int VERSION = 1;
+
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	// Header layout.
+	static final int HEADER_MAGIC = 0;
+	static final int HEADER_VERSION = 4;
+	static final int HEADER_RECORD_SIZE = 8;
+	static final int HEADER_COUNT = 16;
+	static final int HEADER_SIZE = 64;
+
+	static final int RECORD_SIZE = NativeEventRing.RECORD_SIZE;
+
+	private NativeEventJournal() { }
+
+	/**
+	 * Writes an empty header.
+	 *
+	 * @param buffer the buffer positioned at the start of the journal.
+	 */
+	static void writeHeader(ByteBuffer buffer) {
+		buffer.putInt(HEADER_MAGIC, MAGIC);
+		buffer.putInt(HEADER_VERSION, VERSION);
+		buffer.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+		buffer.putLong(HEADER_COUNT, 0);
+	}
+
+	/**
+	 * Validates the header and returns the number of records.
+	 *
+	 * @param buffer the buffer positioned at the start of the journal.
+	 * @return the number of records in the journal.
+	 * @throws IOException if the buffer does not contain a supported journal.
+	 */
+	static long readHeader(ByteBuffer buffer) throws IOException {
+		if (buffer.limit() < HEADER_SIZE || buffer.getInt(HEADER_MAGIC) != MAGIC) {
+			throw new IOException("Not a native event journal.");
+		}
+
+		if (buffer.getInt(HEADER_VERSION) != VERSION || buffer.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+			throw new IOException("Unsupported native event journal version: " + buffer.getInt(HEADER_VERSION));
+		}
+
+		long count = buffer.getLong(HEADER_COUNT);
+		if (count < 0 || HEADER_SIZE + count * RECORD_SIZE > buffer.limit()) {
+			throw new IOException("Truncated native event journal.");
+		}
+
+		return count;
+	}
+
+	/**
+	 * Writes the record for an event.
+	 *
+	 * @param buffer the destination buffer.
+	 * @param offset the absolute offset of the record.
+	 * @param event the event to write.
+	 */
+	static void writeRecord(ByteBuffer buffer, int offset, NativeInputEvent event) {
+		buffer.putInt(offset + NativeEventRing.RECORD_ID, event.getID());
+		buffer.putInt(offset + NativeEventRing.RECORD_MODIFIERS, event.getModifiers());
+		buffer.putLong(offset + NativeEventRing.RECORD_WHEN, event.getWhen());
+		buffer.putLong(offset + NativeEventRing.RECORD_CAPTURE, event.getCaptureTime());
+
+		int data = offset + NativeEventRing.RECORD_DATA;
+		if (event instanceof NativeMouseWheelEvent) {
+			NativeMouseWheelEvent wheelEvent = (NativeMouseWheelEvent) event;
+			buffer.putInt(data, wheelEvent.getX());
+			buffer.putInt(data + 4, wheelEvent.getY());
+			buffer.putInt(data + 8, wheelEvent.getClickCount());
+			buffer.putInt(data + 12, wheelEvent.getScrollType());
+			buffer.putInt(data + 16, wheelEvent.getScrollAmount());
+			buffer.putInt(data + 20, wheelEvent.getWheelRotation());
+			buffer.putInt(data + 24, wheelEvent.getWheelDirection());
+		}
+		else if (event instanceof NativeMouseEvent) {
+			NativeMouseEvent mouseEvent = (NativeMouseEvent) event;
+			buffer.putInt(data, mouseEvent.getX());
+			buffer.putInt(data + 4, mouseEvent.getY());
+			buffer.putInt(data + 8, mouseEvent.getClickCount());
+			buffer.putInt(data + 12, mouseEvent.getButton());
+		}
+		else if (event instanceof NativeKeyEvent) {
+			NativeKeyEvent keyEvent = (NativeKeyEvent) event;
+			buffer.putInt(data, keyEvent.getRawCode());
+			buffer.putInt(data + 4, keyEvent.getKeyCode());
+			buffer.putInt(data + 8, keyEvent.getKeyChar());
+			buffer.putInt(data + 12, keyEvent.getKeyLocation());
+		}
+	}
+}
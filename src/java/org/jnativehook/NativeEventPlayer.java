@@ -0,0 +1,238 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Replays a journal written by a {@link NativeEventRecorder}.  The player is an event source, so the recorded events
+ * are delivered through the same path as events captured by the native hook, including the synchronous listeners and
+ * the configured event dispatcher:
+ * <pre>
+ * NativeEventPlayer player = new NativeEventPlayer(file);
+ * player.setSpeed(10);
+ * GlobalScreen.setEventSource(player);
+ * GlobalScreen.registerNativeHook();
+ * player.awaitCompletion(1, TimeUnit.MINUTES);
+ * System.out.println(player.getThroughput() + " events/s");
+ * </pre>
+ *
+ * Events are replayed with the original timing scaled by the speed, or as fast as possible.  Replayed events are
+ * stamped with a new capture time when they are dispatched.  The native hook thread terminates once all events have
+ * been replayed.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see GlobalScreen#setEventSource(NativeEventSource)
+ */
+public class NativeEventPlayer implements NativeEventSource {
+	/** Remaining time at which the player stops parking and starts spinning. */
+	private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private static final Logger log = Logger.getLogger(GlobalScreen.class.getPackage().getName());
+
+	/** The mapped journal. */
+	private final ByteBuffer buffer;
+
+	private final long eventCount;
+
+	private volatile double speed = 1.0;
+
+	private volatile boolean running = false;
+
+	private volatile Thread thread;
+
+	private volatile long playedEvents = 0;
+
+	private volatile double throughput = 0;
+
+	private volatile CountDownLatch completion = new CountDownLatch(1);
+
+	/**
+	 * Instantiates a new player for the specified journal.
+	 *
+	 * @param file the journal file.
+	 * @throws IOException if the file cannot be read or is not a valid journal.
+	 */
+	public NativeEventPlayer(File file) throws IOException {
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Native event journal is too large: " + channel.size());
+			}
+
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(NativeEventJournal.BYTE_ORDER);
+		}
+		finally {
+			// The mapping remains valid after the channel is closed.
+			channel.close();
+		}
+
+		eventCount = NativeEventJournal.readHeader(buffer);
+	}
+
+	/**
+	 * Returns the number of events in the journal.
+	 *
+	 * @return the number of events.
+	 */
+	public long getEventCount() {
+		return eventCount;
+	}
+
+	/**
+	 * Set the playback speed.  A speed of 1 replays the events with their original timing, a speed of 10 replays
+	 * them ten times faster and a speed of 0 replays them as fast as possible.
+	 *
+	 * @param speed the factor applied to the original timing, or 0 for no delay.
+	 */
+	public void setSpeed(double speed) {
+		if (speed < 0 || Double.isNaN(speed) || Double.isInfinite(speed)) {
+			throw new IllegalArgumentException("Invalid playback speed: " + speed);
+		}
+
+		this.speed = speed;
+	}
+
+	/**
+	 * Returns the playback speed.
+	 *
+	 * @return the factor applied to the original timing, or 0 for no delay.
+	 */
+	public double getSpeed() {
+		return speed;
+	}
+
+	/**
+	 * Returns the number of events replayed by the current or last playback.
+	 *
+	 * @return the number of replayed events.
+	 */
+	public long getPlayedEventCount() {
+		return playedEvents;
+	}
+
+	/**
+	 * Returns the number of events per second the last completed playback reached, measured from the first to the
+	 * last dispatched event.
+	 *
+	 * @return the events per second.
+	 */
+	public double getThroughput() {
+		return throughput;
+	}
+
+	/**
+	 * Waits for the current playback to complete.
+	 *
+	 * @param timeout the maximum time to wait.
+	 * @param unit the time unit of the timeout argument.
+	 * @return true if the playback completed, false if the timeout elapsed.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+		return completion.await(timeout, unit);
+	}
+
+	public void enable(NativeEventSink sink) throws NativeHookException {
+		CountDownLatch done = new CountDownLatch(1);
+		completion = done;
+
+		NativeEventCursor cursor = new NativeEventCursor(buffer);
+		double factor = speed;
+		long played = 0;
+
+		playedEvents = 0;
+		thread = Thread.currentThread();
+		running = true;
+		sink.started();
+
+		long start = System.nanoTime();
+		long first = 0;
+		for (long i = 0; i < eventCount && running; i++) {
+			cursor.position(NativeEventJournal.HEADER_SIZE + (int) i * NativeEventJournal.RECORD_SIZE);
+
+			if (factor > 0) {
+				long time = getTime(cursor);
+				if (i == 0) {
+					first = time;
+				}
+
+				long due = (long) ((time - first) / factor);
+				long remaining;
+				while (running && (remaining = due - (System.nanoTime() - start)) > 0) {
+					if (remaining > SPIN_NANOS) {
+						LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+					}
+					else {
+						Thread.onSpinWait();
+					}
+				}
+			}
+
+			NativeInputEvent event = cursor.toEvent();
+			if (event != null && running) {
+				// Measure the latency of the replay rather than the recording.
+				event.setCaptureTime(0);
+				sink.dispatchEvent(event);
+
+				playedEvents = ++played;
+			}
+		}
+
+		long elapsed = Math.max(System.nanoTime() - start, 1);
+		throughput = played * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+		log.info("Replayed " + played + " native events at " + Math.round(throughput) + " events/s.\n");
+
+		running = false;
+		thread = null;
+		done.countDown();
+	}
+
+	public void disable() {
+		running = false;
+
+		Thread current = thread;
+		if (current != null) {
+			LockSupport.unpark(current);
+		}
+	}
+
+	/**
+	 * Returns the time the current record was captured in nanoseconds.
+	 *
+	 * @param cursor the cursor positioned on the record.
+	 * @return the capture time, or the event time if no capture time was recorded.
+	 */
+	private static long getTime(NativeEventCursor cursor) {
+		long time = cursor.getCaptureTime();
+
+		return time != 0 ? time : TimeUnit.MILLISECONDS.toNanos(cursor.getWhen());
+	}
+}
@@ -0,0 +1,294 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * A pool of preallocated event objects that are repopulated by the native library when event recycling is enabled.
+ * Each event type has its own set of instances, and each instance carries a preallocated dispatch task, so that
+ * delivering an event to {@link NonRetainingListener}s does not allocate in steady state.
+ * <p>
+ *
+ * Events are only acquired by the native hook thread and released by the thread that delivered them.  If all
+ * instances of a type are in use, {@link #obtain(int)} returns null and the native library creates a new event
+ * instead.
+ * <p>
+ *
+ * In debug mode, enabled by setting the <code>jnativehook.recycle.debug</code> system property to true, the pool hands
+ * out new instances and keeps track of the released events with weak references.  Released events that are still
+ * reachable after the next garbage collection were most likely retained by a listener and are reported to the log.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ */
+final class NativeEventPool {
+	/** The default number of instances for each event type. */
+	static final int DEFAULT_SIZE = 256;
+
+	/** The system property used to enable leak detection. */
+	static final String DEBUG_PROPERTY = "jnativehook.recycle.debug";
+
+	private static final Logger log = Logger.getLogger(GlobalScreen.class.getPackage().getName());
+
+	private final Slots keyEvents;
+	private final Slots mouseEvents;
+	private final Slots wheelEvents;
+
+	/** Tracks released events in debug mode, null otherwise. */
+	private final LeakDetector leakDetector;
+
+	/** The number of events that could not be taken from the pool. */
+	private final AtomicLong missCount = new AtomicLong(0);
+
+	/**
+	 * The instances of a single event type and their in use flags.
+	 */
+	private final class Slots {
+		private final NativeInputEvent[] events;
+		private final AtomicIntegerArray inUse;
+
+		/** The next slot to check, only accessed by the native hook thread. */
+		private int next = 0;
+
+		private Slots(NativeInputEvent[] events) {
+			this.events = events;
+			this.inUse = new AtomicIntegerArray(events.length);
+
+			for (int i = 0; i < events.length; i++) {
+				events[i].pool = NativeEventPool.this;
+				events[i].poolIndex = i;
+				events[i].recycledTask = new GlobalScreen.EventDispatchTask(events[i]);
+			}
+		}
+
+		private NativeInputEvent acquire() {
+			for (int n = 0; n < events.length; n++) {
+				int i = next;
+				next = i + 1 < events.length ? i + 1 : 0;
+
+				if (inUse.get(i) == 0) {
+					inUse.lazySet(i, 1);
+					return events[i];
+				}
+			}
+
+			return null;
+		}
+
+		private void release(int index) {
+			inUse.set(index, 0);
+		}
+	}
+
+	/**
+	 * Instantiates a new event pool.
+	 *
+	 * @param size the number of instances for each event type.
+	 * @param debug true to hand out new instances and report released events that are still referenced.
+	 */
+	NativeEventPool(int size, boolean debug) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Invalid event pool size: " + size);
+		}
+
+		NativeInputEvent[] keys = new NativeInputEvent[size];
+		NativeInputEvent[] mice = new NativeInputEvent[size];
+		NativeInputEvent[] wheels = new NativeInputEvent[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = create(NativeKeyEvent.NATIVE_KEY_PRESSED);
+			mice[i] = create(NativeMouseEvent.NATIVE_MOUSE_MOVED);
+			wheels[i] = create(NativeMouseEvent.NATIVE_MOUSE_WHEEL);
+		}
+
+		this.keyEvents = new Slots(keys);
+		this.mouseEvents = new Slots(mice);
+		this.wheelEvents = new Slots(wheels);
+		this.leakDetector = debug ? new LeakDetector() : null;
+	}
+
+	/**
+	 * Takes an unused event of the specified type from the pool.  The fields of the returned event still hold the
+	 * values of its previous use and must be populated by the caller.  This method must only be called by the native
+	 * hook thread.
+	 *
+	 * @param id the event type.
+	 * @return a pooled event of the class used for the event type, or null if the type is not supported or all
+	 * instances are in use.
+	 */
+	NativeInputEvent obtain(int id) {
+		Slots slots = getSlots(id);
+		if (slots == null) {
+			return null;
+		}
+
+		NativeInputEvent event;
+		if (leakDetector != null) {
+			event = create(id);
+			event.pool = this;
+			event.poolIndex = -1;
+		}
+		else {
+			event = slots.acquire();
+			if (event == null) {
+				missCount.incrementAndGet();
+			}
+		}
+
+		return event;
+	}
+
+	/**
+	 * Returns an event to the pool once it has been delivered to all listeners.  Each event obtained from the pool
+	 * must be released exactly once.
+	 *
+	 * @param event the event to release.
+	 */
+	void release(NativeInputEvent event) {
+		if (event.poolIndex < 0) {
+			if (leakDetector != null) {
+				leakDetector.track(event);
+			}
+		}
+		else if (event instanceof NativeMouseWheelEvent) {
+			wheelEvents.release(event.poolIndex);
+		}
+		else if (event instanceof NativeMouseEvent) {
+			mouseEvents.release(event.poolIndex);
+		}
+		else if (event instanceof NativeKeyEvent) {
+			keyEvents.release(event.poolIndex);
+		}
+	}
+
+	/**
+	 * Returns true if this pool reports retained events instead of reusing them.
+	 *
+	 * @return true in debug mode.
+	 */
+	boolean isDebug() {
+		return leakDetector != null;
+	}
+
+	/**
+	 * Returns the number of events that were created because all pooled instances of their type were in use.
+	 *
+	 * @return the number of pool misses.
+	 */
+	long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Returns the number of released events that were still referenced after a garbage collection.  Always 0 unless
+	 * the pool is in debug mode.
+	 *
+	 * @return the number of reported leaks.
+	 */
+	long getLeakCount() {
+		return leakDetector != null ? leakDetector.leakCount.get() : 0;
+	}
+
+	private Slots getSlots(int id) {
+		switch (id) {
+			case NativeKeyEvent.NATIVE_KEY_PRESSED:
+			case NativeKeyEvent.NATIVE_KEY_RELEASED:
+			case NativeKeyEvent.NATIVE_KEY_TYPED:
+				return keyEvents;
+
+			case NativeMouseEvent.NATIVE_MOUSE_PRESSED:
+			case NativeMouseEvent.NATIVE_MOUSE_RELEASED:
+			case NativeMouseEvent.NATIVE_MOUSE_CLICKED:
+			case NativeMouseEvent.NATIVE_MOUSE_MOVED:
+			case NativeMouseEvent.NATIVE_MOUSE_DRAGGED:
+				return mouseEvents;
+
+			case NativeMouseEvent.NATIVE_MOUSE_WHEEL:
+				return wheelEvents;
+		}
+
+		return null;
+	}
+
+	private static NativeInputEvent create(int id) {
+		switch (id) {
+			case NativeKeyEvent.NATIVE_KEY_PRESSED:
+			case NativeKeyEvent.NATIVE_KEY_RELEASED:
+			case NativeKeyEvent.NATIVE_KEY_TYPED:
+				return new NativeKeyEvent(id, 0, 0, NativeKeyEvent.VC_UNDEFINED, NativeKeyEvent.CHAR_UNDEFINED);
+
+			case NativeMouseEvent.NATIVE_MOUSE_WHEEL:
+				return new NativeMouseWheelEvent(id, 0, 0, 0, 0, NativeMouseWheelEvent.WHEEL_UNIT_SCROLL, 0, 0);
+		}
+
+		return new NativeMouseEvent(id, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Reports released events that survive a garbage collection.  A weak reference to a sentinel object is used to
+	 * detect that a collection happened after a generation of events was released.  Events promoted to an older
+	 * generation while they were being delivered may only be collected later, so reports are possible leaks.
+	 */
+	private static final class LeakDetector {
+		/** The maximum number of events tracked per generation. */
+		private static final int MAX_TRACKED = 4096;
+
+		private final AtomicLong leakCount = new AtomicLong(0);
+
+		/** Events released before the current sentinel was created. */
+		private List<WeakReference<NativeInputEvent>> previous = new ArrayList<WeakReference<NativeInputEvent>>();
+
+		/** Events released after the current sentinel was created. */
+		private List<WeakReference<NativeInputEvent>> current = new ArrayList<WeakReference<NativeInputEvent>>();
+
+		private WeakReference<Object> sentinel = new WeakReference<Object>(new Object());
+
+		private synchronized void track(NativeInputEvent event) {
+			if (sentinel.get() == null) {
+				// A collection has run since every event in the previous generation was released.
+				for (WeakReference<NativeInputEvent> reference : previous) {
+					NativeInputEvent leaked = reference.get();
+
+					if (leaked != null) {
+						leakCount.incrementAndGet();
+						log.warning("Recycled event is still referenced after it was delivered: " + leaked.paramString()
+								+ ".  A NonRetainingListener may be keeping a reference to it.");
+					}
+				}
+
+				previous = current;
+				current = new ArrayList<WeakReference<NativeInputEvent>>();
+				sentinel = new WeakReference<Object>(new Object());
+			}
+
+			if (current.size() < MAX_TRACKED) {
+				current.add(new WeakReference<NativeInputEvent>(event));
+			}
+		}
+	}
+}
@@ -0,0 +1,338 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.keyboard.NativeKeyListener;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseInputListener;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import org.jnativehook.mouse.NativeMouseWheelListener;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Records native input events to a journal file that can be replayed with a {@link NativeEventPlayer}.  The recorder
+ * is a listener for key, mouse, motion and wheel events and may be registered with the <code>GlobalScreen</code> like
+ * any other listener, or fed directly with {@link #record(NativeInputEvent)}.
+ * <p>
+ *
+ * Recording never blocks the calling thread.  Each event is copied into a fixed size record in a preallocated staging
+ * ring, and a background writer thread appends the records to a memory-mapped file.  If the writer falls behind and
+ * the staging ring is full, the event is discarded.  The number of discarded events is available via
+ * {@link #getDroppedEventCount()}.
+ * <p>
+ *
+ * Because events are copied when they are recorded, the recorder is a <code>NonRetainingListener</code> and does not
+ * prevent event recycling.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeEventPlayer
+ */
+public class NativeEventRecorder implements NativeKeyListener, NativeMouseInputListener, NativeMouseWheelListener,
+		NonRetainingListener, Closeable {
+	/** The default number of records in the staging ring. */
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	/** The number of records mapped at a time when the file grows. */
+	private static final int MAP_RECORDS = 64 * 1024;
+
+	/** The interval the writer thread sleeps when there is nothing to write. */
+	private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private static final Logger log = Logger.getLogger(GlobalScreen.class.getPackage().getName());
+
+	private final FileChannel channel;
+
+	/** The staging ring written by the recording threads. */
+	private final ByteBuffer staging;
+
+	/** The sequence number plus one of the record published in each slot of the staging ring. */
+	private final AtomicLongArray published;
+
+	/** Mask used to convert a sequence number into a slot index. */
+	private final int mask;
+
+	/** The next sequence number to be claimed by a recording thread. */
+	private final AtomicLong producerSequence = new AtomicLong(0);
+
+	/** The next sequence number to be written to the file. */
+	private final AtomicLong consumerSequence = new AtomicLong(0);
+
+	private final AtomicLong droppedEvents = new AtomicLong(0);
+
+	private final Thread writerThread;
+
+	private volatile boolean running = true;
+
+	private boolean closed = false;
+
+	/** The error that stopped the writer thread, if any. */
+	private volatile IOException writeError;
+
+	/** The mapped region of the file, only used by the writer thread. */
+	private MappedByteBuffer region;
+
+	/** The number of records written to the file, only used by the writer thread. */
+	private long written = 0;
+
+	/**
+	 * Instantiates a new recorder writing to the specified file with the default staging capacity.  An existing file
+	 * is replaced.
+	 *
+	 * @param file the journal file.
+	 * @throws IOException if the file cannot be created.
+	 */
+	public NativeEventRecorder(File file) throws IOException {
+		this(file, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Instantiates a new recorder writing to the specified file.  An existing file is replaced.
+	 *
+	 * @param file the journal file.
+	 * @param capacity the maximum number of events waiting to be written.  This value is rounded up to the next power
+	 * of two.
+	 * @throws IOException if the file cannot be created.
+	 */
+	public NativeEventRecorder(File file, int capacity) throws IOException {
+		if (capacity < 1 || capacity > (1 << 24)) {
+			throw new IllegalArgumentException("Invalid staging capacity: " + capacity);
+		}
+
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+
+		this.staging = ByteBuffer.allocateDirect(size * NativeEventJournal.RECORD_SIZE).order(NativeEventJournal.BYTE_ORDER);
+		this.published = new AtomicLongArray(size);
+		this.mask = size - 1;
+
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, NativeEventJournal.HEADER_SIZE);
+		header.order(NativeEventJournal.BYTE_ORDER);
+		NativeEventJournal.writeHeader(header);
+
+		this.writerThread = new Thread(new Runnable() {
+			public void run() {
+				write();
+			}
+		});
+		this.writerThread.setName("JNativeHook Recorder Thread");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Records an event.  This method copies the event and returns immediately.
+	 *
+	 * @param event the event to record.
+	 * @return true if the event was recorded, false if it was discarded because the staging ring was full or the
+	 * recorder was closed.
+	 */
+	public boolean record(NativeInputEvent event) {
+		if (!running) {
+			return false;
+		}
+
+		long sequence;
+		do {
+			sequence = producerSequence.get();
+
+			if (sequence - consumerSequence.get() > mask) {
+				droppedEvents.incrementAndGet();
+				return false;
+			}
+		} while (!producerSequence.compareAndSet(sequence, sequence + 1));
+
+		int index = (int) sequence & mask;
+		NativeEventJournal.writeRecord(staging, index * NativeEventJournal.RECORD_SIZE, event);
+		published.set(index, sequence + 1);
+
+		return true;
+	}
+
+	public void nativeKeyTyped(NativeKeyEvent nativeEvent) {
+		record(nativeEvent);
+	}
+
+	public void nativeKeyPressed(NativeKeyEvent nativeEvent) {
+		record(nativeEvent);
+	}
+
+	public void nativeKeyReleased(NativeKeyEvent nativeEvent) {
+		record(nativeEvent);
+	}
+
+	public void nativeMouseClicked(NativeMouseEvent nativeEvent) {
+		record(nativeEvent);
+	}
+
+	public void nativeMousePressed(NativeMouseEvent nativeEvent) {
+		record(nativeEvent);
+	}
+
+	public void nativeMouseReleased(NativeMouseEvent nativeEvent) {
+		record(nativeEvent);
+	}
+
+	public void nativeMouseMoved(NativeMouseEvent nativeEvent) {
+		record(nativeEvent);
+	}
+
+	public void nativeMouseDragged(NativeMouseEvent nativeEvent) {
+		record(nativeEvent);
+	}
+
+	public void nativeMouseWheelMoved(NativeMouseWheelEvent nativeEvent) {
+		record(nativeEvent);
+	}
+
+	/**
+	 * Returns the number of events recorded so far, including events not yet written to the file.
+	 *
+	 * @return the number of recorded events.
+	 */
+	public long getRecordedEventCount() {
+		return producerSequence.get();
+	}
+
+	/**
+	 * Returns the number of events that were discarded because the staging ring was full.
+	 *
+	 * @return the number of discarded events.
+	 */
+	public long getDroppedEventCount() {
+		return droppedEvents.get();
+	}
+
+	/**
+	 * Stops recording, writes the remaining events and closes the file.  Events recorded after this method was
+	 * called are discarded.
+	 *
+	 * @throws IOException if the journal could not be written.
+	 */
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		running = false;
+		LockSupport.unpark(writerThread);
+
+		try {
+			writerThread.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		try {
+			if (writeError != null) {
+				throw writeError;
+			}
+
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, NativeEventJournal.HEADER_SIZE);
+			header.order(NativeEventJournal.BYTE_ORDER);
+			header.putLong(NativeEventJournal.HEADER_COUNT, written);
+			header.force();
+
+			if (region != null) {
+				region.force();
+				region = null;
+			}
+
+			try {
+				// Remove the unused part of the last mapped region.
+				channel.truncate(NativeEventJournal.HEADER_SIZE + written * NativeEventJournal.RECORD_SIZE);
+			}
+			catch (IOException e) {
+				// Some platforms cannot truncate a file that is still mapped.  The header holds the record count.
+				log.fine("Unable to truncate the event journal: " + e.getMessage());
+			}
+		}
+		finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Main loop of the writer thread.
+	 */
+	private void write() {
+		try {
+			long sequence = consumerSequence.get();
+
+			while (true) {
+				int index = (int) sequence & mask;
+
+				if (published.get(index) == sequence + 1) {
+					append(index * NativeEventJournal.RECORD_SIZE);
+					consumerSequence.lazySet(++sequence);
+				}
+				else if (!running && producerSequence.get() == sequence) {
+					break;
+				}
+				else {
+					LockSupport.parkNanos(this, IDLE_NANOS);
+				}
+			}
+		}
+		catch (IOException e) {
+			writeError = e;
+			running = false;
+		}
+	}
+
+	/**
+	 * Append a record from the staging ring to the file, mapping the next region of the file if necessary.
+	 *
+	 * @param offset the offset of the record in the staging ring.
+	 * @throws IOException if the file could not be mapped.
+	 */
+	private void append(int offset) throws IOException {
+		int position = (int) (written % MAP_RECORDS) * NativeEventJournal.RECORD_SIZE;
+
+		if (position == 0) {
+			long start = NativeEventJournal.HEADER_SIZE + written * NativeEventJournal.RECORD_SIZE;
+			region = channel.map(FileChannel.MapMode.READ_WRITE, start, (long) MAP_RECORDS * NativeEventJournal.RECORD_SIZE);
+			region.order(NativeEventJournal.BYTE_ORDER);
+		}
+
+		region.put(position, staging, offset, NativeEventJournal.RECORD_SIZE);
+		written++;
+	}
+}
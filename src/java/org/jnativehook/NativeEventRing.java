@@ -0,0 +1,321 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.dispatcher.RingBufferDispatchService.WaitStrategy;
+import java.lang.annotation.Native;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Off-heap ring buffer shared between the native hook and Java.  When a ring is installed with
+ * {@link GlobalScreen#setEventRing(NativeEventRing)}, the native hook writes a fixed size record for each event into
+ * the ring instead of creating a Java object and calling into the virtual machine.  A dedicated Java thread reads the
+ * records, passes them to the {@link NativeEventCursorListener}s and creates event objects only for event types that
+ * have regular listeners.
+ * <p>
+ *
+ * Because the native hook no longer waits for Java, events delivered through the ring cannot be consumed and
+ * synchronous listeners are called on the event ring thread.  If the ring is full when the native hook receives an
+ * event, the event is discarded.  The number of discarded events is available via {@link #getDroppedEventCount()}.
+ * <p>
+ *
+ * The native hook thread is the only producer and the event ring thread is the only consumer.  Both sequence numbers
+ * are published with release semantics and read with acquire semantics.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeEventCursor
+ * @see GlobalScreen#setEventRing(NativeEventRing)
+ */
+public class NativeEventRing {
+	/** The default number of records in the ring. */
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	// Ring header layout, shared with the native library.  The producer and consumer sequence numbers are kept on
+	// separate cache lines.
+	@Native static final int HEADER_PRODUCER = 0;
+	@Native static final int HEADER_DROPPED = 8;
+	@Native static final int HEADER_CONSUMER = 64;
+	@Native static final int HEADER_SIZE = 128;
+
+	// Event record layout, shared with the native library.
+	@Native static final int RECORD_ID = 0;
+	@Native static final int RECORD_MODIFIERS = 4;
+	@Native static final int RECORD_WHEN = 8;
+	@Native static final int RECORD_DATA = 16;
+	@Native static final int RECORD_CAPTURE = 48;
+	@Native static final int RECORD_SIZE = 64;
+
+	/** Alignment of the shared buffer. */
+	private static final int ALIGNMENT = 64;
+
+	/** Number of empty polls the ring thread will spin before backing off. */
+	private static final int SPIN_TRIES = 100;
+
+	/** Number of empty polls the ring thread will yield before sleeping. */
+	private static final int YIELD_TRIES = 200;
+
+	/** The interval the ring thread will sleep when using the sleeping strategy. */
+	private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private static final VarHandle SEQUENCE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+	/** The memory shared with the native library. */
+	private final ByteBuffer buffer;
+
+	/** Mask used to convert a sequence number into a record index. */
+	private final int mask;
+
+	private final WaitStrategy waitStrategy;
+
+	/** The cursor passed to listeners, only used by the ring thread. */
+	private final NativeEventCursor cursor;
+
+	/** The next sequence number to be read, only used by the ring thread. */
+	private long sequence = 0;
+
+	private Thread ringThread;
+
+	private volatile boolean running = false;
+
+	/**
+	 * Instantiates a new event ring with the default capacity and the sleeping wait strategy.
+	 */
+	public NativeEventRing() {
+		this(DEFAULT_CAPACITY, WaitStrategy.SLEEPING);
+	}
+
+	/**
+	 * Instantiates a new event ring.
+	 *
+	 * @param capacity the maximum number of pending events.  This value is rounded up to the next power of two.
+	 * @param waitStrategy the strategy the ring thread uses while waiting for events.  The native hook cannot wake a
+	 * parked thread, so <code>BLOCKING</code> is not supported.
+	 */
+	public NativeEventRing(int capacity, WaitStrategy waitStrategy) {
+		if (capacity < 1 || capacity > (1 << 24)) {
+			throw new IllegalArgumentException("Invalid event ring capacity: " + capacity);
+		}
+
+		if (waitStrategy == null) {
+			throw new NullPointerException("Wait strategy cannot be null");
+		}
+		else if (waitStrategy == WaitStrategy.BLOCKING) {
+			throw new IllegalArgumentException("The blocking wait strategy is not supported by the event ring");
+		}
+
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+
+		int length = HEADER_SIZE + size * RECORD_SIZE;
+		ByteBuffer aligned = ByteBuffer.allocateDirect(length + ALIGNMENT).alignedSlice(ALIGNMENT);
+		aligned.limit(length);
+
+		this.buffer = aligned.slice().order(ByteOrder.nativeOrder());
+		this.mask = size - 1;
+		this.waitStrategy = waitStrategy;
+		this.cursor = new NativeEventCursor(buffer);
+	}
+
+	/**
+	 * Returns the memory shared with the native library.
+	 *
+	 * @return the direct buffer holding the ring.
+	 */
+	ByteBuffer getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * Returns the number of records in the ring.
+	 *
+	 * @return the maximum number of pending events.
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Returns the approximate number of events waiting to be read.
+	 *
+	 * @return the number of pending events.
+	 */
+	public int getQueueSize() {
+		long size = (long) SEQUENCE.getAcquire(buffer, HEADER_PRODUCER) - (long) SEQUENCE.getAcquire(buffer, HEADER_CONSUMER);
+
+		return (int) Math.max(0, Math.min(size, mask + 1));
+	}
+
+	/**
+	 * Returns the number of events the native hook discarded because the ring was full.
+	 *
+	 * @return the number of discarded events.
+	 */
+	public long getDroppedEventCount() {
+		return (long) SEQUENCE.getOpaque(buffer, HEADER_DROPPED);
+	}
+
+	/**
+	 * Returns the wait strategy used by the ring thread.
+	 *
+	 * @return the wait strategy.
+	 */
+	public WaitStrategy getWaitStrategy() {
+		return waitStrategy;
+	}
+
+	/**
+	 * Start the ring thread.
+	 */
+	synchronized void start() {
+		if (running) {
+			return;
+		}
+
+		running = true;
+		ringThread = new Thread(new Runnable() {
+			public void run() {
+				consume();
+			}
+		});
+		ringThread.setName("JNativeHook Event Ring Thread");
+		ringThread.setDaemon(true);
+		ringThread.start();
+	}
+
+	/**
+	 * Stop the ring thread and wait for it to deliver the events already written to the ring.  The native library
+	 * must no longer write to the ring when this method is called.
+	 */
+	synchronized void stop() {
+		running = false;
+
+		if (ringThread != null && ringThread != Thread.currentThread()) {
+			LockSupport.unpark(ringThread);
+
+			try {
+				ringThread.join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the ring thread is running.
+	 *
+	 * @return true if events are being read from the ring.
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Delivers a single event read from the ring.  By default, the event is passed to the registered cursor listeners
+	 * and, if there are regular listeners for its type, to the event dispatcher as a <code>NativeInputEvent</code>.
+	 *
+	 * @param cursor the cursor positioned on the event.
+	 */
+	protected void dispatch(NativeEventCursor cursor) {
+		GlobalScreen.dispatchRingEvent(cursor);
+	}
+
+	/**
+	 * Main loop of the ring thread.
+	 */
+	private void consume() {
+		int idleCount = 0;
+
+		while (true) {
+			long available = (long) SEQUENCE.getAcquire(buffer, HEADER_PRODUCER);
+
+			if (sequence < available) {
+				do {
+					cursor.position(HEADER_SIZE + ((int) sequence & mask) * RECORD_SIZE);
+
+					try {
+						dispatch(cursor);
+					}
+					catch (Throwable t) {
+						Thread thread = Thread.currentThread();
+						thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+					}
+
+					// Release the record back to the native hook.
+					SEQUENCE.setRelease(buffer, HEADER_CONSUMER, ++sequence);
+				} while (sequence < available);
+
+				idleCount = 0;
+			}
+			else if (!running) {
+				break;
+			}
+			else {
+				idleCount = idle(idleCount);
+			}
+		}
+	}
+
+	/**
+	 * Wait for the next event according to the configured wait strategy.
+	 *
+	 * @param idleCount the number of consecutive empty polls.
+	 * @return the updated number of consecutive empty polls.
+	 */
+	private int idle(int idleCount) {
+		switch (waitStrategy) {
+			case BUSY_SPIN:
+				Thread.onSpinWait();
+				break;
+
+			case YIELDING:
+				if (idleCount < SPIN_TRIES) {
+					Thread.onSpinWait();
+				}
+				else {
+					Thread.yield();
+				}
+				break;
+
+			default:
+				if (idleCount < SPIN_TRIES) {
+					Thread.onSpinWait();
+				}
+				else if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+					Thread.yield();
+				}
+				else {
+					LockSupport.parkNanos(this, SLEEP_NANOS);
+				}
+				break;
+		}
+
+		return idleCount < Integer.MAX_VALUE ? idleCount + 1 : idleCount;
+	}
+}
@@ -0,0 +1,44 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+/**
+ * Receiver of the events produced by a <code>NativeEventSource</code>.  The sink is provided by the
+ * <code>GlobalScreen</code> and may only be used on the native hook thread.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeEventSource
+ */
+public interface NativeEventSink {
+	/**
+	 * Signal that the source is running.  {@link GlobalScreen#registerNativeHook()} returns once this method is
+	 * called or the source has stopped.
+	 */
+	public void started();
+
+	/**
+	 * Dispatches an event to the registered listeners.  Events without a capture time are stamped with the current
+	 * time.
+	 *
+	 * @param event the produced event.
+	 */
+	public void dispatchEvent(NativeInputEvent event);
+}
@@ -0,0 +1,56 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+/**
+ * Interface for sources of native input events.  By default, events are captured by the native hook of the operating
+ * system.  An event source may be used instead to feed events into the <code>GlobalScreen</code> from Java, for
+ * example to stress test listeners on machines without a display.  The source is set with
+ * {@link GlobalScreen#setEventSource(NativeEventSource)} or the <code>jnativehook.source</code> property may be set
+ * to the implementing class prior to registering the native hook.
+ * <p>
+ *
+ * Events produced by a source are delivered exactly like events captured by the native hook, including the
+ * synchronous listeners and the configured event dispatcher.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see SyntheticEventSource
+ */
+public interface NativeEventSource {
+	/**
+	 * Start producing events.  This method is called on the native hook thread when the native hook is registered.
+	 * It must call {@link NativeEventSink#started()} once it is running and block until {@link #disable()} is called
+	 * or no more events are available.  Events are passed to {@link NativeEventSink#dispatchEvent(NativeInputEvent)}
+	 * on the calling thread.
+	 *
+	 * @param sink the receiver of the produced events.
+	 * @throws NativeHookException if the source could not be started.
+	 */
+	public void enable(NativeEventSink sink) throws NativeHookException;
+
+	/**
+	 * Stop producing events.  This method is called from the thread unregistering the native hook and causes
+	 * {@link #enable(NativeEventSink)} to return.
+	 *
+	 * @throws NativeHookException if the source could not be stopped.
+	 */
+	public void disable() throws NativeHookException;
+}
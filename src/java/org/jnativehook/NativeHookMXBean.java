@@ -0,0 +1,131 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import java.util.Map;
+
+/**
+ * Management interface for the native hook event pipeline.  An instance is registered with the platform
+ * <code>MBeanServer</code> under the name {@value #OBJECT_NAME} when the native hook is first registered.
+ * <p>
+ *
+ * Statistics are collected with striped counters and fixed-memory histograms that never lock on the native hook
+ * thread, and are enabled by default.  The pipeline consists of the following stages:
+ * <ul>
+ *   <li>queue latency: from the capture of the event by the native hook until it is handed to the event dispatcher,
+ *   including the creation of the event object and the synchronous listeners.</li>
+ *   <li>dispatch latency: from the event dispatcher receiving the event until it starts delivering it.</li>
+ *   <li>listener time: the time spent in a single listener callback.</li>
+ *   <li>hook to listener latency: from the capture of the event until a listener is called.</li>
+ * </ul>
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see GlobalScreen#getStatistics()
+ */
+public interface NativeHookMXBean {
+	/** The object name the native hook is registered under. */
+	public static final String OBJECT_NAME = "org.jnativehook:type=NativeHook";
+
+	/**
+	 * Returns true if statistics are being collected.
+	 *
+	 * @return true if enabled.
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Enable or disable the collection of statistics.
+	 *
+	 * @param enabled true to collect statistics.
+	 */
+	public void setEnabled(boolean enabled);
+
+	/**
+	 * Returns the total number of events dispatched.
+	 *
+	 * @return the number of events.
+	 */
+	public long getEventCount();
+
+	/**
+	 * Returns the number of events dispatched for each event type, keyed by the name of the event id constant.
+	 *
+	 * @return the number of events per type.
+	 */
+	public Map<String, Long> getEventCounts();
+
+	/**
+	 * Returns the number of events per second for each event type, measured over the last complete one second
+	 * sampling interval.  Sampling starts with the first call of this method, which therefore reports no events.
+	 *
+	 * @return the event rate per type.
+	 */
+	public Map<String, Double> getEventRates();
+
+	/**
+	 * Returns the number of events waiting in the active event dispatcher.
+	 *
+	 * @return the queue depth, or -1 if it is not known for the event dispatcher.
+	 */
+	public int getQueueDepth();
+
+	/**
+	 * Returns the number of mouse motion events that were not delivered to a rate limited listener because a more
+	 * recent position replaced them.
+	 *
+	 * @return the number of skipped deliveries.
+	 */
+	public long getThrottledEventCount();
+
+	/**
+	 * Returns the time from capture until the event was handed to the event dispatcher.
+	 *
+	 * @return the queue latency.
+	 */
+	public LatencyStatistics getQueueLatency();
+
+	/**
+	 * Returns the time events waited in the event dispatcher.
+	 *
+	 * @return the dispatch latency.
+	 */
+	public LatencyStatistics getDispatchLatency();
+
+	/**
+	 * Returns the time spent in each listener callback.
+	 *
+	 * @return the listener time.
+	 */
+	public LatencyStatistics getListenerTime();
+
+	/**
+	 * Returns the time from capture until a listener was called.
+	 *
+	 * @return the hook to listener latency.
+	 */
+	public LatencyStatistics getHookToListenerLatency();
+
+	/**
+	 * Clears all collected statistics.
+	 */
+	public void reset();
+}
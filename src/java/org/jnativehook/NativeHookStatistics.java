@@ -0,0 +1,324 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.dispatcher.RingBufferDispatchService;
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the statistics exposed by {@link NativeHookMXBean}.  The recording methods are called on the native hook
+ * thread and the event dispatch threads.  They only update striped counters and lock-free histograms.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ */
+final class NativeHookStatistics implements NativeHookMXBean {
+	/** The event types that are counted, in the order used by the counters. */
+	private static final int[] EVENT_IDS = {
+		NativeKeyEvent.NATIVE_KEY_TYPED,
+		NativeKeyEvent.NATIVE_KEY_PRESSED,
+		NativeKeyEvent.NATIVE_KEY_RELEASED,
+		NativeMouseEvent.NATIVE_MOUSE_CLICKED,
+		NativeMouseEvent.NATIVE_MOUSE_PRESSED,
+		NativeMouseEvent.NATIVE_MOUSE_RELEASED,
+		NativeMouseEvent.NATIVE_MOUSE_MOVED,
+		NativeMouseEvent.NATIVE_MOUSE_DRAGGED,
+		NativeMouseEvent.NATIVE_MOUSE_WHEEL
+	};
+
+	private static final String[] EVENT_NAMES = {
+		"NATIVE_KEY_TYPED",
+		"NATIVE_KEY_PRESSED",
+		"NATIVE_KEY_RELEASED",
+		"NATIVE_MOUSE_CLICKED",
+		"NATIVE_MOUSE_PRESSED",
+		"NATIVE_MOUSE_RELEASED",
+		"NATIVE_MOUSE_MOVED",
+		"NATIVE_MOUSE_DRAGGED",
+		"NATIVE_MOUSE_WHEEL"
+	};
+
+	/** The interval in nanoseconds over which event rates are measured. */
+	static final long RATE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+	private final LongAdder[] eventCounts = new LongAdder[EVENT_IDS.length];
+
+	private final LongAdder throttledEvents = new LongAdder();
+
+	private final LatencyHistogram queueLatency = new LatencyHistogram();
+	private final LatencyHistogram dispatchLatency = new LatencyHistogram();
+	private final LatencyHistogram listenerTime = new LatencyHistogram();
+	private final LatencyHistogram hookToListenerLatency = new LatencyHistogram();
+
+	private volatile boolean enabled = true;
+
+	/** The event counts and time of the previous rate sample, guarded by this. */
+	private final long[] rateCounts = new long[EVENT_IDS.length];
+	private long rateTime = System.nanoTime();
+
+	/** True once the internal timer samples this instance, guarded by this. */
+	private boolean sampling = false;
+
+	/** The event rates of the last complete sampling interval. */
+	private volatile Map<String, Double> eventRates = createRates(null, 1);
+
+	NativeHookStatistics() {
+		for (int i = 0; i < eventCounts.length; i++) {
+			eventCounts[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records an event handed to the event dispatcher by the native hook thread.
+	 *
+	 * @param event the dispatched event.
+	 */
+	void eventDispatched(NativeInputEvent event) {
+		if (enabled) {
+			int index = getEventIndex(event.getID());
+			if (index >= 0) {
+				eventCounts[index].increment();
+			}
+
+			if (event.getQueueTime() != 0) {
+				queueLatency.record(event.getQueueTime() - event.getCaptureTime());
+			}
+		}
+	}
+
+	/**
+	 * Records the start of the delivery of an event by the event dispatcher.
+	 *
+	 * @param event the delivered event.
+	 */
+	void eventDelivered(NativeInputEvent event) {
+		if (enabled && event.getQueueTime() != 0) {
+			dispatchLatency.record(event.getDeliveryTime() - event.getQueueTime());
+		}
+	}
+
+	/**
+	 * Records the call of a listener.
+	 *
+	 * @param event the delivered event.
+	 * @return the start time to pass to {@link #listenerFinished(long)}, or 0 if statistics are disabled.
+	 */
+	long listenerStarted(NativeInputEvent event) {
+		if (!enabled) {
+			return 0;
+		}
+
+		long start = System.nanoTime();
+		hookToListenerLatency.record(start - event.getCaptureTime());
+
+		return start;
+	}
+
+	/**
+	 * Records the return of a listener.
+	 *
+	 * @param start the value returned by {@link #listenerStarted(NativeInputEvent)}.
+	 */
+	void listenerFinished(long start) {
+		if (start != 0) {
+			listenerTime.record(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Records a motion event that was skipped for a rate limited listener.
+	 */
+	void motionThrottled() {
+		if (enabled) {
+			throttledEvents.increment();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public long getEventCount() {
+		long total = 0;
+		for (int i = 0; i < eventCounts.length; i++) {
+			total += eventCounts[i].sum();
+		}
+
+		return total;
+	}
+
+	public Map<String, Long> getEventCounts() {
+		Map<String, Long> counts = new LinkedHashMap<String, Long>();
+		for (int i = 0; i < eventCounts.length; i++) {
+			counts.put(EVENT_NAMES[i], eventCounts[i].sum());
+		}
+
+		return counts;
+	}
+
+	public Map<String, Double> getEventRates() {
+		synchronized (this) {
+			if (!sampling) {
+				sampling = true;
+				rateTime = System.nanoTime();
+				for (int i = 0; i < eventCounts.length; i++) {
+					rateCounts[i] = eventCounts[i].sum();
+				}
+
+				GlobalScreen.InternalTimer.INSTANCE.scheduleAtFixedRate(new Runnable() {
+					public void run() {
+						sampleRates();
+					}
+				}, RATE_INTERVAL, RATE_INTERVAL, TimeUnit.NANOSECONDS);
+			}
+		}
+
+		// Reading the rates has no side effects, so any number of clients can poll them.
+		return eventRates;
+	}
+
+	/**
+	 * Measures the event rates since the previous sample.  Called by the internal timer once per interval.
+	 */
+	synchronized void sampleRates() {
+		long now = System.nanoTime();
+
+		long[] deltas = new long[eventCounts.length];
+		for (int i = 0; i < eventCounts.length; i++) {
+			long count = eventCounts[i].sum();
+			deltas[i] = count - rateCounts[i];
+			rateCounts[i] = count;
+		}
+
+		eventRates = createRates(deltas, Math.max(now - rateTime, 1));
+		rateTime = now;
+	}
+
+	/**
+	 * Builds the rate map returned by {@link #getEventRates()}.
+	 *
+	 * @param deltas the number of events per type during the interval, or null if no interval has completed yet.
+	 * @param nanos the length of the interval in nanoseconds.
+	 * @return an unmodifiable map of the rates keyed by the name of the event id constant.
+	 */
+	private static Map<String, Double> createRates(long[] deltas, long nanos) {
+		double seconds = nanos / 1e9;
+
+		Map<String, Double> rates = new LinkedHashMap<String, Double>();
+		for (int i = 0; i < EVENT_NAMES.length; i++) {
+			rates.put(EVENT_NAMES[i], deltas != null ? Math.max(deltas[i], 0) / seconds : 0.0);
+		}
+
+		return Collections.unmodifiableMap(rates);
+	}
+
+	public int getQueueDepth() {
+		return getQueueDepth(GlobalScreen.eventExecutor);
+	}
+
+	public long getThrottledEventCount() {
+		return throttledEvents.sum();
+	}
+
+	public LatencyStatistics getQueueLatency() {
+		return queueLatency.getStatistics();
+	}
+
+	public LatencyStatistics getDispatchLatency() {
+		return dispatchLatency.getStatistics();
+	}
+
+	public LatencyStatistics getListenerTime() {
+		return listenerTime.getStatistics();
+	}
+
+	public LatencyStatistics getHookToListenerLatency() {
+		return hookToListenerLatency.getStatistics();
+	}
+
+	public synchronized void reset() {
+		for (int i = 0; i < eventCounts.length; i++) {
+			eventCounts[i].reset();
+			rateCounts[i] = 0;
+		}
+		rateTime = System.nanoTime();
+		eventRates = createRates(null, 1);
+		throttledEvents.reset();
+
+		queueLatency.reset();
+		dispatchLatency.reset();
+		listenerTime.reset();
+		hookToListenerLatency.reset();
+	}
+
+	/**
+	 * Returns the number of tasks waiting in an executor.
+	 *
+	 * @param executor the executor to inspect.
+	 * @return the number of waiting tasks, or -1 if it cannot be determined.
+	 */
+	static int getQueueDepth(ExecutorService executor) {
+		if (executor instanceof RingBufferDispatchService) {
+			return ((RingBufferDispatchService) executor).getQueueSize();
+		}
+		else if (executor instanceof ThreadPoolExecutor) {
+			return ((ThreadPoolExecutor) executor).getQueue().size();
+		}
+
+		return -1;
+	}
+
+	private static int getEventIndex(int id) {
+		switch (id) {
+			case NativeKeyEvent.NATIVE_KEY_TYPED:
+				return 0;
+			case NativeKeyEvent.NATIVE_KEY_PRESSED:
+				return 1;
+			case NativeKeyEvent.NATIVE_KEY_RELEASED:
+				return 2;
+			case NativeMouseEvent.NATIVE_MOUSE_CLICKED:
+				return 3;
+			case NativeMouseEvent.NATIVE_MOUSE_PRESSED:
+				return 4;
+			case NativeMouseEvent.NATIVE_MOUSE_RELEASED:
+				return 5;
+			case NativeMouseEvent.NATIVE_MOUSE_MOVED:
+				return 6;
+			case NativeMouseEvent.NATIVE_MOUSE_DRAGGED:
+				return 7;
+			case NativeMouseEvent.NATIVE_MOUSE_WHEEL:
+				return 8;
+		}
+
+		return -1;
+	}
+}
@@ -0,0 +1,181 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import java.util.Arrays;
+import java.util.EventListener;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Collects events for a single {@link NativeInputBatchListener}.  Events are appended by the dispatch thread and the
+ * batch is handed to the listener when it is full, or when a flush task submitted to the dispatcher behind the first
+ * event of the batch is executed.  Without a linger time, that task is submitted immediately and therefore runs once
+ * the events that were queued ahead of it have been drained.  With a linger time, it is submitted once the linger
+ * time has elapsed.
+ * <p>
+ *
+ * A flush task that the dispatcher rejects or drops because its ring is full is never lost.  Without a linger time,
+ * the batch is delivered immediately instead; with a linger time, the timer resubmits the task until it is accepted
+ * or the dispatcher is shut down.  The batches still collecting events when the hook is unregistered are delivered
+ * before the dispatcher is shut down.
+ * <p>
+ *
+ * Appending and flushing both happen on the dispatch thread, so the batch itself is not synchronized.  This requires
+ * a dispatcher that executes tasks in order on a single thread, like all the dispatchers in
+ * <code>org.jnativehook.dispatcher</code>.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ */
+final class NativeInputBatch implements EventListener {
+	/** The default maximum number of events in a single batch. */
+	static final int DEFAULT_BATCH_SIZE = 256;
+
+	private static final Logger log = Logger.getLogger(GlobalScreen.class.getPackage().getName());
+
+	private final NativeInputBatchListener listener;
+
+	/** The reusable buffer handed to the listener. */
+	private final NativeInputEvent[] buffer;
+
+	/** The maximum time in nanoseconds an event may wait for its batch to be delivered. */
+	private final long maxLinger;
+
+	/** The number of events in the current batch. */
+	private int length = 0;
+
+	/** Incremented for every delivered batch so that stale flush tasks can be ignored. */
+	private volatile long generation = 0;
+
+	/** The generation of the batch a flush task has been scheduled for, or -1 if none is scheduled. */
+	private volatile long flushGeneration = -1;
+
+	/**
+	 * Instantiates a new batch for the specified listener.
+	 *
+	 * @param listener the listener receiving the batches.
+	 * @param maxBatchSize the maximum number of events in a batch.
+	 * @param maxLinger the maximum time in nanoseconds to wait for more events before the batch is delivered.
+	 */
+	NativeInputBatch(NativeInputBatchListener listener, int maxBatchSize, long maxLinger) {
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size: " + maxBatchSize);
+		}
+
+		if (maxLinger < 0) {
+			throw new IllegalArgumentException("Invalid linger time: " + maxLinger);
+		}
+
+		this.listener = listener;
+		this.buffer = new NativeInputEvent[maxBatchSize];
+		this.maxLinger = maxLinger;
+	}
+
+	/**
+	 * Returns the listener receiving the batches.
+	 *
+	 * @return the batch listener.
+	 */
+	NativeInputBatchListener getListener() {
+		return listener;
+	}
+
+	/**
+	 * Adds an event to the current batch.  This method must be called on the dispatch thread.
+	 *
+	 * @param nativeEvent the event to add.
+	 * @param executor the dispatcher used to schedule the delivery of the batch.
+	 */
+	void append(NativeInputEvent nativeEvent, Executor executor) {
+		buffer[length++] = nativeEvent;
+
+		if (length == buffer.length) {
+			flush();
+		}
+		else if (flushGeneration != generation) {
+			// The first event of the batch, or the flush task for this batch could not be submitted.
+			scheduleFlush(executor);
+		}
+	}
+
+	/**
+	 * Delivers the current batch to the listener.  This method must be called on the dispatch thread.
+	 */
+	void flush() {
+		int count = length;
+
+		if (count > 0) {
+			length = 0;
+			generation++;
+
+			try {
+				listener.nativeInputBatch(buffer, count);
+			}
+			finally {
+				// Do not keep the delivered events reachable until they are overwritten.
+				Arrays.fill(buffer, 0, count, null);
+			}
+		}
+	}
+
+	/**
+	 * Schedule the delivery of the current batch.
+	 *
+	 * @param executor the dispatcher that will execute the flush task.
+	 */
+	private void scheduleFlush(final Executor executor) {
+		final long expected = generation;
+		flushGeneration = expected;
+
+		final Runnable flushTask = new Runnable() {
+			public void run() {
+				// The batch may have been delivered already because it filled up.
+				if (generation == expected) {
+					flush();
+				}
+			}
+		};
+
+		if (maxLinger > 0) {
+			final Runnable abandonedTask = new Runnable() {
+				public void run() {
+					if (flushGeneration == expected) {
+						flushGeneration = -1;
+					}
+					log.fine("Flush task not submitted: the event dispatcher is not running.");
+				}
+			};
+
+			GlobalScreen.InternalTimer.INSTANCE.schedule(new Runnable() {
+				public void run() {
+					if (generation == expected) {
+						GlobalScreen.submitWithRetry(executor, flushTask, abandonedTask);
+					}
+				}
+			}, maxLinger, TimeUnit.NANOSECONDS);
+		}
+		else if (!GlobalScreen.submitTask(executor, flushTask)) {
+			// We are on the dispatch thread, so deliver the batch now rather than leaving it behind.
+			flush();
+		}
+	}
+}
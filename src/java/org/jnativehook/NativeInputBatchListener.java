@@ -0,0 +1,48 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import java.util.EventListener;
+
+/**
+ * The listener interface for receiving global <code>NativeInputEvents</code> in bulk.
+ * <p>
+ *
+ * The class that is interested in processing many events at once implements this interface, and the object created
+ * with that class is registered with the <code>GlobalScreen</code> using the
+ * {@link GlobalScreen#addNativeInputBatchListener(NativeInputBatchListener, int, long, java.util.concurrent.TimeUnit)}
+ * method.  Events are collected on the dispatch thread, in delivery order, and handed to the listener once the
+ * dispatcher has drained its queue, the batch is full or the maximum linger time has elapsed.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeInputEvent
+ */
+public interface NativeInputBatchListener extends EventListener {
+	/**
+	 * Invoked with the events delivered since the previous batch.  The array is reused for the next batch and its
+	 * contents must not be retained after this method returns.  Only the first <code>length</code> elements are valid.
+	 *
+	 * @param nativeEvents the buffer holding the native events in delivery order.
+	 * @param length the number of events in the batch.
+	 */
+	public void nativeInputBatch(NativeInputEvent[] nativeEvents, int length);
+}
@@ -20,6 +20,8 @@ package org.jnativehook;
 // Imports.
 import java.awt.Toolkit;
 import java.util.EventObject;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The root event class for all native-level input events.  Input events are
@@ -50,6 +52,21 @@ public class NativeInputEvent extends EventObject {
 
 	/** The modifier keys down during event. */
 	private int modifiers;
+
+	/** The <code>System.nanoTime()</code> the native hook received the event at.
+	 * @since 2.1
+	 */
+	private long captureTime;
+
+	/** The <code>System.nanoTime()</code> the event was handed to the event dispatcher at.
+	 * @since 2.1
+	 */
+	private long queueTime;
+
+	/** The <code>System.nanoTime()</code> the event dispatcher started delivering the event at.
+	 * @since 2.1
+	 */
+	private long deliveryTime;
 	
 	/** Mask for undocumented behavior.
 	 * More information available at:
@@ -59,6 +76,15 @@ public class NativeInputEvent extends EventObject {
 	@SuppressWarnings("unused")
 	private short reserved;
 
+	/** The pool this event is returned to after delivery, or null if the event is not recycled. */
+	transient NativeEventPool pool;
+
+	/** The index of this event in its pool, or -1 if it was not preallocated. */
+	transient int poolIndex = -1;
+
+	/** The preallocated task used to dispatch this event while it is pooled. */
+	transient GlobalScreen.EventDispatchTask recycledTask;
+
 	/** The left shift key modifier constant.
 	 * @since 2.0
 	 */
@@ -135,6 +161,23 @@ public class NativeInputEvent extends EventObject {
 	/** The Scroll Lock modifier constant. */
 	public static final int SCROLL_LOCK_MASK	= 1 << 15;
 
+	/** The rendered modifier text for the current default locale. */
+	private static volatile ModifiersTextCache modifiersTextCache;
+
+	/**
+	 * Interned modifier text indexed by the 16-bit modifier mask.  The strings are stored in pages of 256 masks that
+	 * are allocated the first time a mask in the page is rendered.  Strings are immutable, so a racing thread can at
+	 * worst render the same text twice.
+	 */
+	private static final class ModifiersTextCache {
+		private final Locale locale;
+
+		private final String[][] pages = new String[256][];
+
+		private ModifiersTextCache(Locale locale) {
+			this.locale = locale;
+		}
+	}
 
 	/**
 	 * Instantiates a new native input event.
@@ -173,6 +216,131 @@ public class NativeInputEvent extends EventObject {
 		return when;
 	}
 
+	/**
+	 * Sets the native timestamp for events that were not created by the native library.
+	 *
+	 * @param when the native timestamp
+	 * @since 2.1
+	 */
+	void setWhen(long when) {
+		this.when = when;
+	}
+
+	/**
+	 * Gets the time the native hook received this event.  The value is in the
+	 * same domain as <code>System.nanoTime()</code>, so unlike
+	 * {@link #getWhen()} it may be compared with other nano time stamps.  For
+	 * events created in Java, this is the time the event was dispatched.
+	 *
+	 * @return the capture time in nanoseconds, or 0 if the event was not dispatched.
+	 * @since 2.1
+	 */
+	public long getCaptureTime() {
+		return captureTime;
+	}
+
+	/**
+	 * Gets the time this event was handed to the event dispatcher, in the same
+	 * domain as <code>System.nanoTime()</code>.
+	 *
+	 * @return the queue time in nanoseconds, or 0 if the event was not queued.
+	 * @since 2.1
+	 */
+	public long getQueueTime() {
+		return queueTime;
+	}
+
+	/**
+	 * Gets the time the event dispatcher started delivering this event to the
+	 * listeners, in the same domain as <code>System.nanoTime()</code>.
+	 *
+	 * @return the delivery time in nanoseconds, or 0 if delivery has not started.
+	 * @since 2.1
+	 */
+	public long getDeliveryTime() {
+		return deliveryTime;
+	}
+
+	/**
+	 * Gets the time from the capture of this event by the native hook until it
+	 * was handed to the event dispatcher.  This includes the creation of the
+	 * event object and the synchronous listeners.
+	 *
+	 * @param unit the time unit of the returned latency.
+	 * @return the capture to queue latency, or 0 if the event was not queued.
+	 * @since 2.1
+	 */
+	public long getQueueLatency(TimeUnit unit) {
+		return queueTime != 0 ? unit.convert(queueTime - captureTime, TimeUnit.NANOSECONDS) : 0;
+	}
+
+	/**
+	 * Gets the time this event waited in the event dispatcher before it was
+	 * delivered to the listeners.
+	 *
+	 * @param unit the time unit of the returned latency.
+	 * @return the queue to listener latency, or 0 if delivery has not started.
+	 * @since 2.1
+	 */
+	public long getDispatchLatency(TimeUnit unit) {
+		return deliveryTime != 0 && queueTime != 0 ? unit.convert(deliveryTime - queueTime, TimeUnit.NANOSECONDS) : 0;
+	}
+
+	/**
+	 * Gets the time elapsed since the native hook received this event.  When
+	 * called from a listener, this is the capture to listener latency of the
+	 * event for that listener.
+	 *
+	 * @param unit the time unit of the returned latency.
+	 * @return the time elapsed since the event was captured, or 0 if the event was not dispatched.
+	 * @since 2.1
+	 */
+	public long getLatency(TimeUnit unit) {
+		return captureTime != 0 ? unit.convert(System.nanoTime() - captureTime, TimeUnit.NANOSECONDS) : 0;
+	}
+
+	/**
+	 * Sets the capture time for events that were not created by the native hook.
+	 *
+	 * @param captureTime the capture time in nanoseconds.
+	 * @since 2.1
+	 */
+	void setCaptureTime(long captureTime) {
+		this.captureTime = captureTime;
+	}
+
+	/**
+	 * Sets the time the event was handed to the event dispatcher.
+	 *
+	 * @param queueTime the queue time in nanoseconds.
+	 * @since 2.1
+	 */
+	void setQueueTime(long queueTime) {
+		this.queueTime = queueTime;
+	}
+
+	/**
+	 * Sets the time the event dispatcher started delivering the event.
+	 *
+	 * @param deliveryTime the delivery time in nanoseconds.
+	 * @since 2.1
+	 */
+	void setDeliveryTime(long deliveryTime) {
+		this.deliveryTime = deliveryTime;
+	}
+
+	/**
+	 * Returns this event to its pool after it has been delivered.  This method performs no function if the event was
+	 * not obtained from a pool.
+	 *
+	 * @since 2.1
+	 */
+	void recycle() {
+		if (pool != null) {
+			pool.release(this);
+		}
+	}
+
 
 	/**
 	 * Gets the modifier flags for this event.
@@ -215,14 +383,48 @@ public class NativeInputEvent extends EventObject {
 	/**
 	 * Gets a <code>String</code> describing the modifier flags, such as
 	 * "Button1", or "Ctrl+Alt". These strings can be localized by changing the
-	 * awt.properties file.
+	 * awt.properties file.  The text for each mask is rendered once and the same
+	 * interned string is returned until the default locale changes.
 	 *
 	 * @param modifiers a modifier mask describing the modifier keys and mouse
 	 * buttons of an event.
 	 * @return the modifier mask's textual representation.
 	 */
 	public static String getModifiersText(int modifiers) {
-		StringBuilder param = new StringBuilder(255);
+		modifiers &= 0xFFFF;
+
+		Locale locale = Locale.getDefault();
+		ModifiersTextCache cache = modifiersTextCache;
+		if (cache == null || cache.locale != locale) {
+			// The default locale changed, discard everything rendered for the previous locale.
+			cache = new ModifiersTextCache(locale);
+			modifiersTextCache = cache;
+		}
+
+		String[] page = cache.pages[modifiers >>> 8];
+		if (page == null) {
+			page = new String[256];
+			cache.pages[modifiers >>> 8] = page;
+		}
+
+		String text = page[modifiers & 0xFF];
+		if (text == null) {
+			text = renderModifiersText(modifiers).intern();
+			page[modifiers & 0xFF] = text;
+		}
+
+		return text;
+	}
+
+	/**
+	 * Builds the text for a modifier mask.
+	 *
+	 * @param modifiers a modifier mask describing the modifier keys and mouse
+	 * buttons of an event.
+	 * @return the modifier mask's textual representation.
+	 */
+	private static String renderModifiersText(int modifiers) {
+		StringBuilder param = new StringBuilder(64);
 
 		if ((modifiers & NativeInputEvent.SHIFT_MASK) != 0) {
 			param.append(Toolkit.getProperty("AWT.shift", "Shift"));
@@ -301,8 +503,20 @@ public class NativeInputEvent extends EventObject {
 	 * @return a string identifying the event and its attributes
 	 */
 	public String paramString() {
-		StringBuilder param = new StringBuilder(255);
+		return appendParamString(new StringBuilder(255)).toString();
+	}
 
+	/**
+	 * Appends the <code>String</code> representation of this event returned by
+	 * {@link #paramString()} to the supplied builder.  Nothing is allocated as
+	 * long as the builder has enough capacity, which makes this method
+	 * suitable for high rate event logging with a reused builder.
+	 *
+	 * @param param the builder to append to.
+	 * @return the supplied builder.
+	 * @since 2.1
+	 */
+	public StringBuilder appendParamString(StringBuilder param) {
 		param.append("id=");
 		param.append(getID());
 		param.append(',');
@@ -312,12 +526,26 @@ public class NativeInputEvent extends EventObject {
 		param.append(',');
 
 		param.append("mask=");
-		param.append(Integer.toBinaryString(getModifiers()));
+		appendBinaryString(param, getModifiers());
 		param.append(',');
 
 		param.append("modifiers=");
 		param.append(getModifiersText(getModifiers()));
 
-		return param.toString();
+		return param;
+	}
+
+	/**
+	 * Appends the same digits as <code>Integer.toBinaryString</code> without
+	 * creating an intermediate string.
+	 *
+	 * @param param the builder to append to.
+	 * @param value the value to append.
+	 */
+	private static void appendBinaryString(StringBuilder param, int value) {
+		int bit = Math.max(31 - Integer.numberOfLeadingZeros(value), 0);
+		for (; bit >= 0; bit--) {
+			param.append((value >>> bit & 1) != 0 ? '1' : '0');
+		}
 	}
 }
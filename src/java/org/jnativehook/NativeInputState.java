@@ -0,0 +1,293 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import java.awt.Point;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The current state of the keyboard and mouse as observed by the native hook.  The state is updated on the native
+ * hook thread before an event is handed to the dispatcher, so it never lags behind the events that are waiting to be
+ * delivered, and it does not depend on the order in which an asynchronous dispatcher runs listeners.
+ * <p>
+ *
+ * Pressed keys and mouse buttons are kept in atomic bit sets indexed by the virtual key code and button number.  All
+ * queries are constant time, do not lock and do not allocate, and may be called from any thread.  The state only
+ * reflects events received while the native hook was registered.  Keys that were already held when the hook was
+ * registered are reported as released until they are pressed again.
+ * <p>
+ *
+ * The state is only maintained while tracking is enabled, see {@link GlobalScreen#setInputStateTracking(boolean)}.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see GlobalScreen#getInputState()
+ */
+public final class NativeInputState {
+	/** The number of distinct virtual key codes. */
+	private static final int KEY_CODE_COUNT = 1 << 16;
+
+	/** The highest mouse button that can be tracked. */
+	private static final int MAX_BUTTON = Long.SIZE - 1;
+
+	/** One bit for each virtual key code that is currently held down. */
+	private final AtomicLongArray keys = new AtomicLongArray(KEY_CODE_COUNT / Long.SIZE);
+
+	/** One bit for each mouse button that is currently held down. */
+	private final AtomicLong buttons = new AtomicLong(0);
+
+	/** The last pointer position, with x in the high and y in the low 32 bits so both are read atomically. */
+	private final AtomicLong pointer = new AtomicLong(0);
+
+	/** The modifier mask of the last event. */
+	private volatile int modifiers = 0;
+
+	/**
+	 * Instantiates the input state.  Only one instance exists, see {@link GlobalScreen#getInputState()}.
+	 */
+	NativeInputState() {
+	}
+
+	/**
+	 * Returns true if the key with the specified virtual key code is currently held down.
+	 *
+	 * @param keyCode one of the <code>NativeKeyEvent.VC_</code> key codes.
+	 * @return true if the key is pressed.
+	 */
+	public boolean isKeyDown(int keyCode) {
+		if (keyCode <= NativeKeyEvent.VC_UNDEFINED || keyCode >= KEY_CODE_COUNT) {
+			return false;
+		}
+
+		return (keys.get(keyCode >>> 6) & (1L << keyCode)) != 0;
+	}
+
+	/**
+	 * Returns true if the specified mouse button is currently held down.
+	 *
+	 * @param button one of the <code>NativeMouseEvent.BUTTON</code> constants.
+	 * @return true if the button is pressed.
+	 */
+	public boolean isButtonDown(int button) {
+		if (button <= NativeMouseEvent.NOBUTTON || button > MAX_BUTTON) {
+			return false;
+		}
+
+		return (buttons.get() & (1L << button)) != 0;
+	}
+
+	/**
+	 * Returns true if any key is currently held down.  Unlike the other queries, this method scans the key set and
+	 * is linear in the number of key codes.
+	 *
+	 * @return true if at least one key is pressed.
+	 */
+	public boolean isAnyKeyDown() {
+		for (int i = 0; i < keys.length(); i++) {
+			if (keys.get(i) != 0) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns true if any mouse button is currently held down.
+	 *
+	 * @return true if at least one button is pressed.
+	 */
+	public boolean isAnyButtonDown() {
+		return buttons.get() != 0;
+	}
+
+	/**
+	 * Returns the modifier mask of the most recent event.
+	 *
+	 * @return the <code>NativeInputEvent</code> modifier mask.
+	 */
+	public int getModifiers() {
+		return modifiers;
+	}
+
+	/**
+	 * Returns the horizontal position of the pointer reported by the most recent mouse event.
+	 *
+	 * @return the last pointer x coordinate.
+	 */
+	public int getX() {
+		return (int) (pointer.get() >> 32);
+	}
+
+	/**
+	 * Returns the vertical position of the pointer reported by the most recent mouse event.
+	 *
+	 * @return the last pointer y coordinate.
+	 */
+	public int getY() {
+		return (int) pointer.get();
+	}
+
+	/**
+	 * Stores the position of the pointer reported by the most recent mouse event in <code>rv</code> and returns
+	 * <code>rv</code>.  Both coordinates are read atomically.  If <code>rv</code> is null, a new <code>Point</code> is
+	 * allocated.
+	 *
+	 * @param rv the return value, modified to contain the pointer position.
+	 * @return the pointer position.
+	 */
+	public Point getPointerLocation(Point rv) {
+		long position = pointer.get();
+
+		if (rv == null) {
+			rv = new Point();
+		}
+		rv.x = (int) (position >> 32);
+		rv.y = (int) position;
+
+		return rv;
+	}
+
+	/**
+	 * Update the state with an event received from the native hook.
+	 *
+	 * @param event the event about to be dispatched.
+	 */
+	void update(NativeInputEvent event) {
+		modifiers = event.getModifiers();
+
+		switch (event.getID()) {
+			case NativeKeyEvent.NATIVE_KEY_PRESSED:
+				setKey(((NativeKeyEvent) event).getKeyCode(), true);
+				break;
+
+			case NativeKeyEvent.NATIVE_KEY_RELEASED:
+				setKey(((NativeKeyEvent) event).getKeyCode(), false);
+				break;
+
+			case NativeMouseEvent.NATIVE_MOUSE_PRESSED:
+				setButton(((NativeMouseEvent) event).getButton(), true);
+				setPointer(((NativeMouseEvent) event).getX(), ((NativeMouseEvent) event).getY());
+				break;
+
+			case NativeMouseEvent.NATIVE_MOUSE_RELEASED:
+				setButton(((NativeMouseEvent) event).getButton(), false);
+				setPointer(((NativeMouseEvent) event).getX(), ((NativeMouseEvent) event).getY());
+				break;
+
+			case NativeMouseEvent.NATIVE_MOUSE_CLICKED:
+			case NativeMouseEvent.NATIVE_MOUSE_MOVED:
+			case NativeMouseEvent.NATIVE_MOUSE_DRAGGED:
+			case NativeMouseEvent.NATIVE_MOUSE_WHEEL:
+				setPointer(((NativeMouseEvent) event).getX(), ((NativeMouseEvent) event).getY());
+				break;
+		}
+	}
+
+	/**
+	 * Update the state with an event read from the event ring.
+	 *
+	 * @param cursor the cursor positioned on the event.
+	 */
+	void update(NativeEventCursor cursor) {
+		modifiers = cursor.getModifiers();
+
+		switch (cursor.getID()) {
+			case NativeKeyEvent.NATIVE_KEY_PRESSED:
+				setKey(cursor.getKeyCode(), true);
+				break;
+
+			case NativeKeyEvent.NATIVE_KEY_RELEASED:
+				setKey(cursor.getKeyCode(), false);
+				break;
+
+			case NativeMouseEvent.NATIVE_MOUSE_PRESSED:
+				setButton(cursor.getButton(), true);
+				setPointer(cursor.getX(), cursor.getY());
+				break;
+
+			case NativeMouseEvent.NATIVE_MOUSE_RELEASED:
+				setButton(cursor.getButton(), false);
+				setPointer(cursor.getX(), cursor.getY());
+				break;
+
+			case NativeMouseEvent.NATIVE_MOUSE_CLICKED:
+			case NativeMouseEvent.NATIVE_MOUSE_MOVED:
+			case NativeMouseEvent.NATIVE_MOUSE_DRAGGED:
+			case NativeMouseEvent.NATIVE_MOUSE_WHEEL:
+				setPointer(cursor.getX(), cursor.getY());
+				break;
+		}
+	}
+
+	/**
+	 * Release all keys and buttons.  Called when the native hook is registered or unregistered, because key and
+	 * button releases are not observed while the hook is not running.
+	 */
+	void reset() {
+		for (int i = 0; i < keys.length(); i++) {
+			keys.set(i, 0);
+		}
+
+		buttons.set(0);
+		modifiers = 0;
+	}
+
+	private void setKey(int keyCode, boolean down) {
+		if (keyCode <= NativeKeyEvent.VC_UNDEFINED || keyCode >= KEY_CODE_COUNT) {
+			return;
+		}
+
+		int index = keyCode >>> 6;
+		long bit = 1L << keyCode;
+
+		// NOTE The hook thread is normally the only writer, so this loop rarely retries.  Auto-repeated key presses
+		// find the bit already set and return without a write.
+		long current;
+		long updated;
+		do {
+			current = keys.get(index);
+			updated = down ? current | bit : current & ~bit;
+		} while (current != updated && !keys.compareAndSet(index, current, updated));
+	}
+
+	private void setButton(int button, boolean down) {
+		if (button <= NativeMouseEvent.NOBUTTON || button > MAX_BUTTON) {
+			return;
+		}
+
+		long bit = 1L << button;
+
+		long current;
+		long updated;
+		do {
+			current = buttons.get();
+			updated = down ? current | bit : current & ~bit;
+		} while (current != updated && !buttons.compareAndSet(current, updated));
+	}
+
+	private void setPointer(int x, int y) {
+		pointer.set(((long) x << 32) | (y & 0xFFFFFFFFL));
+	}
+}
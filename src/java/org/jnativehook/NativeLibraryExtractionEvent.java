@@ -0,0 +1,56 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the extraction of the native library from the jar.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see DefaultLibraryLocator
+ */
+@Name("org.jnativehook.NativeLibraryExtraction")
+@Label("Native Library Extraction")
+@Description("Extraction of the native library to the library cache")
+@Category("JNativeHook")
+final class NativeLibraryExtractionEvent extends Event {
+	@Label("Path")
+	String path;
+
+	@Label("Size")
+	@DataAmount
+	long size;
+
+	@Label("Checksum")
+	@Description("The content key of the extracted library")
+	String checksum;
+
+	@Label("Reused")
+	@Description("True if a previously extracted library was found")
+	boolean reused;
+}
@@ -0,0 +1,223 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseMotionListener;
+import java.util.EventListener;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the mouse motion events delivered to a single {@link NativeMouseMotionListener}.  An event is delivered
+ * immediately if the minimum interval has elapsed since the previous delivery and the pointer moved at least the
+ * minimum distance.  Otherwise the event is withheld, and replaces any event that was withheld before it.
+ * <p>
+ *
+ * A withheld event is never lost if it is the most recent position.  It is delivered before the next button press
+ * or release, and once the pointer has not moved for the minimum interval, or for {@link #SETTLE_TIME} if only a
+ * minimum distance is set.  If the dispatcher is full when the check for a settled pointer is due, the check is
+ * resubmitted until the dispatcher accepts it.  The values of a withheld event are copied, so the throttle is
+ * compatible with event recycling.
+ * <p>
+ *
+ * All methods except the constructor are called on the dispatch thread, so the throttle itself is not
+ * synchronized.  Like {@link NativeInputBatch}, this requires a dispatcher that executes tasks in order on a single
+ * thread.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ */
+final class NativeMouseMotionThrottle implements EventListener {
+	/** The time the pointer must rest before a withheld event is delivered if there is no minimum interval. */
+	static final long SETTLE_TIME = TimeUnit.MILLISECONDS.toNanos(50);
+
+	private final NativeMouseMotionListener listener;
+
+	/** The minimum time in nanoseconds between two deliveries. */
+	private final long minInterval;
+
+	/** The square of the minimum distance in pixels between two delivered positions. */
+	private final long minDistanceSquared;
+
+	/** The time the withheld event must rest before it is delivered. */
+	private final long settleTime;
+
+	/** True once the first event was delivered. */
+	private boolean started = false;
+
+	/** The capture time and position of the last delivered event. */
+	private long lastTime;
+	private int lastX, lastY;
+
+	/** True if an event is withheld. */
+	private boolean pending = false;
+
+	/** True while a settle task is scheduled or queued. */
+	private volatile boolean scheduled = false;
+
+	/** A copy of the withheld event. */
+	private int pendingId, pendingModifiers, pendingX, pendingY, pendingClickCount;
+	private long pendingWhen, pendingCaptureTime;
+
+	/** The time the withheld event was received by the throttle. */
+	private long pendingArrival;
+
+	/**
+	 * Instantiates a new throttle for the specified listener.
+	 *
+	 * @param listener the listener receiving the motion events.
+	 * @param maxRate the maximum number of events per second, or 0 for no limit.
+	 * @param minDistance the minimum distance in pixels between two delivered positions, or 0 for no limit.
+	 */
+	NativeMouseMotionThrottle(NativeMouseMotionListener listener, int maxRate, int minDistance) {
+		if (maxRate < 0) {
+			throw new IllegalArgumentException("Invalid maximum rate: " + maxRate);
+		}
+
+		if (minDistance < 0) {
+			throw new IllegalArgumentException("Invalid minimum distance: " + minDistance);
+		}
+
+		this.listener = listener;
+		this.minInterval = maxRate > 0 ? TimeUnit.SECONDS.toNanos(1) / maxRate : 0;
+		this.minDistanceSquared = (long) minDistance * minDistance;
+		this.settleTime = minInterval > 0 ? minInterval : SETTLE_TIME;
+	}
+
+	/**
+	 * Returns the listener receiving the motion events.
+	 *
+	 * @return the motion listener.
+	 */
+	NativeMouseMotionListener getListener() {
+		return listener;
+	}
+
+	/**
+	 * Delivers or withholds a motion event.
+	 *
+	 * @param nativeEvent the moved or dragged event.
+	 * @param executor the dispatcher used to schedule the delivery of a withheld event.
+	 * @return true if an event that was withheld before is superseded and will never be delivered.
+	 */
+	boolean motion(NativeMouseEvent nativeEvent, Executor executor) {
+		long time = nativeEvent.getCaptureTime();
+		long dx = nativeEvent.getX() - lastX;
+		long dy = nativeEvent.getY() - lastY;
+		boolean skipped = pending;
+
+		if (!started || (time - lastTime >= minInterval && dx * dx + dy * dy >= minDistanceSquared)) {
+			pending = false;
+			deliver(nativeEvent);
+
+			return skipped;
+		}
+
+		pending = true;
+		pendingId = nativeEvent.getID();
+		pendingModifiers = nativeEvent.getModifiers();
+		pendingX = nativeEvent.getX();
+		pendingY = nativeEvent.getY();
+		pendingClickCount = nativeEvent.getClickCount();
+		pendingWhen = nativeEvent.getWhen();
+		pendingCaptureTime = time;
+		pendingArrival = System.nanoTime();
+
+		if (!scheduled) {
+			scheduled = true;
+			schedule(executor, settleTime);
+		}
+
+		return skipped;
+	}
+
+	/**
+	 * Delivers the withheld event, if any.  Called before button events so that the listener knows the position of
+	 * the pointer when the button changed.
+	 */
+	void flush() {
+		if (pending) {
+			pending = false;
+
+			NativeInputEvent event = new NativeMouseEvent(pendingId, pendingModifiers, pendingX, pendingY, pendingClickCount);
+			event.setWhen(pendingWhen);
+			event.setCaptureTime(pendingCaptureTime);
+
+			deliver((NativeMouseEvent) event);
+		}
+	}
+
+	private void deliver(NativeMouseEvent nativeEvent) {
+		started = true;
+		lastTime = nativeEvent.getCaptureTime();
+		lastX = nativeEvent.getX();
+		lastY = nativeEvent.getY();
+
+		switch (nativeEvent.getID()) {
+			case NativeMouseEvent.NATIVE_MOUSE_MOVED:
+				listener.nativeMouseMoved(nativeEvent);
+				break;
+
+			case NativeMouseEvent.NATIVE_MOUSE_DRAGGED:
+				listener.nativeMouseDragged(nativeEvent);
+				break;
+		}
+	}
+
+	/**
+	 * Schedule a check for a withheld event that has settled.  The check runs on the dispatch thread and reschedules
+	 * itself while the pointer keeps moving.
+	 *
+	 * @param executor the dispatcher that will execute the check.
+	 * @param delay the delay in nanoseconds.
+	 */
+	private void schedule(final Executor executor, long delay) {
+		final Runnable settleTask = new Runnable() {
+			public void run() {
+				long remaining = settleTime - (System.nanoTime() - pendingArrival);
+
+				if (!pending) {
+					scheduled = false;
+				}
+				else if (remaining > 0) {
+					schedule(executor, remaining);
+				}
+				else {
+					scheduled = false;
+					flush();
+				}
+			}
+		};
+
+		final Runnable abandonedTask = new Runnable() {
+			public void run() {
+				// The dispatcher was shut down.  Allow the next dispatcher to schedule a new check.
+				scheduled = false;
+			}
+		};
+
+		GlobalScreen.InternalTimer.INSTANCE.schedule(new Runnable() {
+			public void run() {
+				GlobalScreen.submitWithRetry(executor, settleTask, abandonedTask);
+			}
+		}, delay, TimeUnit.NANOSECONDS);
+	}
+}
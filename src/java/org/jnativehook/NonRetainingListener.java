@@ -0,0 +1,44 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import java.util.EventListener;
+
+/**
+ * Marker interface for listeners that never keep a reference to the events they receive.
+ * <p>
+ *
+ * When event recycling is enabled with {@link GlobalScreen#setEventRecycling(boolean)}, events are taken from a small
+ * pool of preallocated instances that the native library repopulates, instead of being allocated for every native
+ * event.  An event is returned to the pool as soon as it has been delivered to all listeners, so a listener receiving
+ * recycled events must not store the event, pass it to another thread or access it after its listener method has
+ * returned.  Copy the values that are needed instead.
+ * <p>
+ *
+ * Recycling is only used for the events of a listener type when every listener of that type, asynchronous and
+ * synchronous, implements this interface in addition to the listener interface it is registered as.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see GlobalScreen#setEventRecycling(boolean)
+ */
+public interface NonRetainingListener extends EventListener {
+}
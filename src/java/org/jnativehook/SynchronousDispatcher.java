@@ -0,0 +1,416 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.keyboard.NativeKeyListener;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseListener;
+import org.jnativehook.mouse.NativeMouseMotionListener;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import org.jnativehook.mouse.NativeMouseWheelListener;
+import javax.swing.event.EventListenerList;
+import java.util.EventListener;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Delivers events to synchronous listeners directly on the native hook thread, before the event is returned to the
+ * native system.  Because the native library reads the reserved flags of the event after dispatch, a synchronous
+ * listener is able to consume events.
+ * <p>
+ *
+ * All synchronous listeners of an event share a time budget.  A listener cannot be interrupted, so the budget is
+ * enforced after each listener returns.  When the elapsed time exceeds the budget, the listeners that have not yet
+ * been called receive the event from the event dispatcher instead.  A listener that exceeded the budget on a number of
+ * events is demoted to an ordinary asynchronous listener, so that a single slow call caused by class loading, JIT
+ * compilation or garbage collection does not demote it.  Demoted listeners are not promoted again automatically.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ */
+final class SynchronousDispatcher {
+	/** The default time budget for the synchronous listeners of a single event. */
+	static final long DEFAULT_BUDGET = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/** The default number of budget overruns after which a listener is demoted. */
+	static final int DEFAULT_OVERRUN_LIMIT = 3;
+
+	private static final Logger log = Logger.getLogger(GlobalScreen.class.getPackage().getName());
+
+	/** The synchronous listeners. */
+	private final EventListenerRegistry listeners = new EventListenerRegistry();
+
+	/** Notified after a listener has been demoted. */
+	private final Runnable demotionCallback;
+
+	/** The time budget in nanoseconds. */
+	private volatile long budget = DEFAULT_BUDGET;
+
+	/** The number of budget overruns after which a listener is demoted. */
+	private volatile int overrunLimit = DEFAULT_OVERRUN_LIMIT;
+
+	/** The number of budget overruns of each listener that has not been demoted yet. */
+	private final Map<EventListener, Integer> listenerOverruns = new HashMap<EventListener, Integer>();
+
+	/** The number of events delivered to at least one synchronous listener. */
+	private final AtomicLong eventCount = new AtomicLong(0);
+
+	/** The number of events that exceeded the time budget. */
+	private final AtomicLong overrunCount = new AtomicLong(0);
+
+	/** The total time in nanoseconds spent in synchronous listeners. */
+	private final AtomicLong totalTime = new AtomicLong(0);
+
+	/** The longest time in nanoseconds spent in synchronous listeners for a single event. */
+	private final AtomicLong maxTime = new AtomicLong(0);
+
+	/**
+	 * Instantiates a new synchronous dispatcher.
+	 *
+	 * @param demotionCallback notified on the calling thread of {@link #dispatch} after a demoted listener was
+	 * registered as an asynchronous listener.
+	 */
+	SynchronousDispatcher(Runnable demotionCallback) {
+		this.demotionCallback = demotionCallback;
+	}
+
+	/**
+	 * The remainder of the delivery of an event that exceeded the time budget.  The regular dispatch task of the
+	 * event completes the delivery on the event dispatcher, so nothing is lost if the dispatcher drops the task.
+	 */
+	static final class Fallback {
+		/** The synchronous listeners that were not called within the budget. */
+		final EventListener[] pending;
+
+		/** The listener that was demoted after it received the event, or null if no listener was demoted. */
+		final EventListener demoted;
+
+		private Fallback(EventListener[] pending, EventListener demoted) {
+			this.pending = pending;
+			this.demoted = demoted;
+		}
+
+		/**
+		 * Delivers the event to the synchronous listeners that were not called within the budget.
+		 *
+		 * @param event the event that exceeded the budget.
+		 */
+		void deliverPending(NativeInputEvent event) {
+			for (int i = 0; i < pending.length; i++) {
+				deliver(pending[i], event);
+			}
+		}
+	}
+
+	/**
+	 * Adds a synchronous listener.
+	 *
+	 * @param type the type of the listener to be added.
+	 * @param listener the listener to be added.
+	 * @param <T> the listener interface.
+	 */
+	<T extends EventListener> void add(Class<T> type, T listener) {
+		if (type != NativeKeyListener.class && type != NativeMouseListener.class
+				&& type != NativeMouseMotionListener.class && type != NativeMouseWheelListener.class) {
+			throw new IllegalArgumentException("Unsupported synchronous listener type: " + type);
+		}
+
+		listeners.add(type, listener);
+	}
+
+	/**
+	 * Removes a synchronous listener.
+	 *
+	 * @param type the type of the listener to be removed.
+	 * @param listener the listener to be removed.
+	 * @param <T> the listener interface.
+	 */
+	<T extends EventListener> void remove(Class<T> type, T listener) {
+		listeners.remove(type, listener);
+
+		synchronized (listenerOverruns) {
+			listenerOverruns.remove(listener);
+		}
+	}
+
+	/**
+	 * Returns the number of synchronous listeners of the specified type.
+	 *
+	 * @param type the type of listeners to count.
+	 * @return the number of synchronous listeners.
+	 */
+	int getListenerCount(Class<? extends EventListener> type) {
+		return listeners.getListenerCount(type);
+	}
+
+	/**
+	 * Returns the synchronous listeners of the specified type.  The returned array is shared and must not be modified.
+	 *
+	 * @param type the type of listeners to return.
+	 * @param <T> the listener interface.
+	 * @return the synchronous listeners.
+	 */
+	<T extends EventListener> T[] getListeners(Class<T> type) {
+		return listeners.getListeners(type);
+	}
+
+	/**
+	 * Set the time budget shared by all synchronous listeners of an event.
+	 *
+	 * @param budget the budget in nanoseconds.
+	 */
+	void setBudget(long budget) {
+		if (budget < 0) {
+			throw new IllegalArgumentException("Invalid synchronous dispatch budget: " + budget);
+		}
+
+		this.budget = budget;
+	}
+
+	long getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Set the number of events on which a listener may exceed the time budget before it is demoted.
+	 *
+	 * @param overrunLimit the number of budget overruns, at least one.
+	 */
+	void setOverrunLimit(int overrunLimit) {
+		if (overrunLimit < 1) {
+			throw new IllegalArgumentException("Invalid synchronous dispatch overrun limit: " + overrunLimit);
+		}
+
+		this.overrunLimit = overrunLimit;
+	}
+
+	int getOverrunLimit() {
+		return overrunLimit;
+	}
+
+	long getEventCount() {
+		return eventCount.get();
+	}
+
+	long getOverrunCount() {
+		return overrunCount.get();
+	}
+
+	long getTotalTime() {
+		return totalTime.get();
+	}
+
+	long getMaxTime() {
+		return maxTime.get();
+	}
+
+	/**
+	 * Delivers the event to the synchronous listeners on the calling thread.
+	 *
+	 * @param event the event to deliver.
+	 * @param asyncListeners the list listeners are demoted to when they exceed the budget.
+	 * @return the remainder of the delivery that must be completed by the regular dispatch task of the event, or null
+	 * if all listeners completed within the budget.
+	 */
+	Fallback dispatch(NativeInputEvent event, EventListenerList asyncListeners) {
+		Class<? extends EventListener> type = getListenerType(event);
+		if (type == null) {
+			return null;
+		}
+
+		EventListener[] current = listeners.getListeners(type);
+		if (current.length == 0) {
+			return null;
+		}
+
+		Fallback fallback = null;
+		long limit = budget;
+		long start = System.nanoTime();
+		long elapsed = 0;
+
+		for (int i = 0; i < current.length; i++) {
+			deliver(current[i], event);
+
+			elapsed = System.nanoTime() - start;
+			if (elapsed > limit) {
+				// Stop calling listeners on the hook thread.
+				EventListener[] pending = new EventListener[current.length - i - 1];
+				System.arraycopy(current, i + 1, pending, 0, pending.length);
+
+				overrunCount.incrementAndGet();
+
+				EventListener demoted = null;
+				if (isOverrunLimitReached(current[i])) {
+					demote(type, current[i], asyncListeners);
+					demoted = current[i];
+
+					log.warning("Synchronous listener " + current[i] + " exceeded the dispatch budget of " + limit
+							+ " ns by " + (elapsed - limit) + " ns and will be called asynchronously.");
+				}
+				else {
+					log.fine("Synchronous listener " + current[i] + " exceeded the dispatch budget of " + limit
+							+ " ns by " + (elapsed - limit) + " ns.");
+				}
+
+				if (pending.length > 0 || demoted != null) {
+					fallback = new Fallback(pending, demoted);
+				}
+				break;
+			}
+		}
+
+		eventCount.incrementAndGet();
+		totalTime.addAndGet(elapsed);
+
+		long max = maxTime.get();
+		while (elapsed > max && !maxTime.compareAndSet(max, elapsed)) {
+			max = maxTime.get();
+		}
+
+		return fallback;
+	}
+
+	/**
+	 * Counts a budget overrun of the listener.
+	 *
+	 * @param listener the listener that exceeded the budget.
+	 * @return true if the listener must be demoted.
+	 */
+	private boolean isOverrunLimitReached(EventListener listener) {
+		synchronized (listenerOverruns) {
+			Integer count = listenerOverruns.get(listener);
+			int overruns = count != null ? count + 1 : 1;
+
+			if (overruns >= overrunLimit) {
+				listenerOverruns.remove(listener);
+				return true;
+			}
+
+			listenerOverruns.put(listener, overruns);
+			return false;
+		}
+	}
+
+	/**
+	 * Moves a listener from the synchronous listeners to the asynchronous listeners.  This happens on the calling
+	 * thread, before the event is handed to the event dispatcher, so the listener neither depends on the dispatcher
+	 * running a task nor misses any of the events that follow.
+	 *
+	 * @param type the listener interface.
+	 * @param listener the listener to demote.
+	 * @param asyncListeners the list of asynchronous listeners.
+	 */
+	@SuppressWarnings("unchecked")
+	private void demote(Class<? extends EventListener> type, EventListener listener, EventListenerList asyncListeners) {
+		// Register the asynchronous listener first so that the listener is never missing from both registries.
+		asyncListeners.add((Class<EventListener>) type, listener);
+		listeners.remove((Class<EventListener>) type, listener);
+
+		if (demotionCallback != null) {
+			demotionCallback.run();
+		}
+	}
+
+	/**
+	 * Returns the listener interface that receives the event.
+	 *
+	 * @param event the event.
+	 * @return the listener interface or null if the event is not delivered to any listener interface.
+	 */
+	static Class<? extends EventListener> getListenerType(NativeInputEvent event) {
+		if (event instanceof NativeKeyEvent) {
+			return NativeKeyListener.class;
+		}
+		else if (event instanceof NativeMouseWheelEvent) {
+			return NativeMouseWheelListener.class;
+		}
+		else if (event instanceof NativeMouseEvent) {
+			switch (event.getID()) {
+				case NativeMouseEvent.NATIVE_MOUSE_PRESSED:
+				case NativeMouseEvent.NATIVE_MOUSE_CLICKED:
+				case NativeMouseEvent.NATIVE_MOUSE_RELEASED:
+					return NativeMouseListener.class;
+
+				case NativeMouseEvent.NATIVE_MOUSE_MOVED:
+				case NativeMouseEvent.NATIVE_MOUSE_DRAGGED:
+					return NativeMouseMotionListener.class;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Delivers the event to a single listener.  Exceptions thrown by the listener are passed to the uncaught
+	 * exception handler of the current thread so that they never propagate into the native library.
+	 *
+	 * @param listener the listener, which must implement the interface returned by {@link #getListenerType}.
+	 * @param event the event to deliver.
+	 */
+	static void deliver(EventListener listener, NativeInputEvent event) {
+		try {
+			switch (event.getID()) {
+				case NativeKeyEvent.NATIVE_KEY_PRESSED:
+					((NativeKeyListener) listener).nativeKeyPressed((NativeKeyEvent) event);
+					break;
+
+				case NativeKeyEvent.NATIVE_KEY_TYPED:
+					((NativeKeyListener) listener).nativeKeyTyped((NativeKeyEvent) event);
+					break;
+
+				case NativeKeyEvent.NATIVE_KEY_RELEASED:
+					((NativeKeyListener) listener).nativeKeyReleased((NativeKeyEvent) event);
+					break;
+
+				case NativeMouseEvent.NATIVE_MOUSE_CLICKED:
+					((NativeMouseListener) listener).nativeMouseClicked((NativeMouseEvent) event);
+					break;
+
+				case NativeMouseEvent.NATIVE_MOUSE_PRESSED:
+					((NativeMouseListener) listener).nativeMousePressed((NativeMouseEvent) event);
+					break;
+
+				case NativeMouseEvent.NATIVE_MOUSE_RELEASED:
+					((NativeMouseListener) listener).nativeMouseReleased((NativeMouseEvent) event);
+					break;
+
+				case NativeMouseEvent.NATIVE_MOUSE_MOVED:
+					((NativeMouseMotionListener) listener).nativeMouseMoved((NativeMouseEvent) event);
+					break;
+
+				case NativeMouseEvent.NATIVE_MOUSE_DRAGGED:
+					((NativeMouseMotionListener) listener).nativeMouseDragged((NativeMouseEvent) event);
+					break;
+
+				case NativeMouseEvent.NATIVE_MOUSE_WHEEL:
+					((NativeMouseWheelListener) listener).nativeMouseWheelMoved((NativeMouseWheelEvent) event);
+					break;
+			}
+		}
+		catch (Throwable t) {
+			Thread thread = Thread.currentThread();
+			thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+		}
+	}
+}
@@ -0,0 +1,397 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Event source that generates synthetic input at configurable rates.  Each pattern added to the source produces an
+ * independent stream of events, and the streams are merged in order of their scheduled time.  The content and order
+ * of the generated events only depend on the seed and the configured patterns, so a run can be repeated exactly.
+ * <p>
+ *
+ * The source can be configured with the following properties when it is created by the <code>GlobalScreen</code>
+ * using the <code>jnativehook.source</code> property:
+ * <ul>
+ *   <li><code>jnativehook.synthetic.seed</code>: the random seed, 0 by default.</li>
+ *   <li><code>jnativehook.synthetic.patterns</code>: a comma separated list of <code>PATTERN:rate</code> pairs, for
+ *   example <code>TYPING:50,MOUSE_MOTION:1000,WHEEL_STORM:200</code>.  Defaults to <code>MOUSE_MOTION:1000</code>.</li>
+ *   <li><code>jnativehook.synthetic.limit</code>: the number of events after which the source stops, 0 for no limit.</li>
+ * </ul>
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see GlobalScreen#setEventSource(NativeEventSource)
+ */
+public class SyntheticEventSource implements NativeEventSource {
+	/**
+	 * The kinds of input a synthetic event source can generate.
+	 */
+	public enum Pattern {
+		/**
+		 * Bursts of typed words.  Every key produces a pressed, typed and released event.
+		 */
+		TYPING,
+
+		/**
+		 * Continuous mouse motion, like a 1000 Hz gaming mouse.
+		 */
+		MOUSE_MOTION,
+
+		/**
+		 * Bursts of wheel events in a single direction, like a free spinning wheel.
+		 */
+		WHEEL_STORM
+	}
+
+	/** Remaining time at which the generator stops parking and starts spinning. */
+	private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private static final int SCREEN_WIDTH = 1920;
+	private static final int SCREEN_HEIGHT = 1080;
+
+	private static final int[] KEY_CODES = {
+		NativeKeyEvent.VC_A, NativeKeyEvent.VC_B, NativeKeyEvent.VC_C, NativeKeyEvent.VC_D, NativeKeyEvent.VC_E,
+		NativeKeyEvent.VC_F, NativeKeyEvent.VC_G, NativeKeyEvent.VC_H, NativeKeyEvent.VC_I, NativeKeyEvent.VC_J,
+		NativeKeyEvent.VC_K, NativeKeyEvent.VC_L, NativeKeyEvent.VC_M, NativeKeyEvent.VC_N, NativeKeyEvent.VC_O,
+		NativeKeyEvent.VC_P, NativeKeyEvent.VC_Q, NativeKeyEvent.VC_R, NativeKeyEvent.VC_S, NativeKeyEvent.VC_T,
+		NativeKeyEvent.VC_U, NativeKeyEvent.VC_V, NativeKeyEvent.VC_W, NativeKeyEvent.VC_X, NativeKeyEvent.VC_Y,
+		NativeKeyEvent.VC_Z
+	};
+
+	private final long seed;
+
+	private final List<Pattern> patterns = new ArrayList<Pattern>();
+
+	private final List<Double> rates = new ArrayList<Double>();
+
+	private volatile long eventLimit = 0;
+
+	private final AtomicLong eventCount = new AtomicLong(0);
+
+	private volatile boolean running = false;
+
+	private volatile Thread thread;
+
+	/**
+	 * Instantiates a new synthetic event source configured by the <code>jnativehook.synthetic</code> properties.
+	 */
+	public SyntheticEventSource() {
+		this(Long.getLong("jnativehook.synthetic.seed", 0));
+
+		String config = System.getProperty("jnativehook.synthetic.patterns", Pattern.MOUSE_MOTION + ":1000");
+		for (String entry : config.split(",")) {
+			String[] pair = entry.trim().split(":");
+			if (pair.length != 2) {
+				throw new IllegalArgumentException("Invalid synthetic event pattern: " + entry);
+			}
+
+			addPattern(Pattern.valueOf(pair[0].trim().toUpperCase()), Double.parseDouble(pair[1].trim()));
+		}
+
+		setEventLimit(Long.getLong("jnativehook.synthetic.limit", 0));
+	}
+
+	/**
+	 * Instantiates a new synthetic event source without any patterns.
+	 *
+	 * @param seed the seed used to generate the events.
+	 */
+	public SyntheticEventSource(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Adds a stream of events to this source.  The same pattern may be added more than once.  Changes take effect the
+	 * next time the source is enabled.
+	 *
+	 * @param pattern the kind of input to generate.
+	 * @param rate the number of events per second while the pattern is active, or 0 to generate events as fast as
+	 * possible.
+	 */
+	public synchronized void addPattern(Pattern pattern, double rate) {
+		if (pattern == null) {
+			throw new NullPointerException("Pattern cannot be null");
+		}
+
+		if (rate < 0 || Double.isNaN(rate)) {
+			throw new IllegalArgumentException("Invalid event rate: " + rate);
+		}
+
+		patterns.add(pattern);
+		rates.add(rate);
+	}
+
+	/**
+	 * Set the number of events after which the source stops.  The native hook thread terminates at that point.
+	 *
+	 * @param limit the number of events, or 0 for no limit.
+	 */
+	public void setEventLimit(long limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Invalid event limit: " + limit);
+		}
+
+		this.eventLimit = limit;
+	}
+
+	/**
+	 * Returns the number of events generated since the source was last enabled.
+	 *
+	 * @return the number of events.
+	 */
+	public long getEventCount() {
+		return eventCount.get();
+	}
+
+	public void enable(NativeEventSink sink) throws NativeHookException {
+		Generator[] generators;
+		synchronized (this) {
+			if (patterns.isEmpty()) {
+				throw new NativeHookException("No synthetic event patterns were added.");
+			}
+
+			generators = new Generator[patterns.size()];
+			for (int i = 0; i < generators.length; i++) {
+				// Every stream has its own random sequence so that it does not depend on the other streams.
+				Random random = new Random(seed + i);
+				long interval = rates.get(i) > 0 ? Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rates.get(i))) : 0;
+
+				switch (patterns.get(i)) {
+					case TYPING:
+						generators[i] = new TypingGenerator(random, interval);
+						break;
+
+					case MOUSE_MOTION:
+						generators[i] = new MotionGenerator(random, interval);
+						break;
+
+					case WHEEL_STORM:
+						generators[i] = new WheelGenerator(random, interval);
+						break;
+				}
+			}
+		}
+
+		eventCount.set(0);
+		thread = Thread.currentThread();
+		running = true;
+		sink.started();
+
+		long start = System.nanoTime();
+		long limit = eventLimit;
+		while (running && (limit == 0 || eventCount.get() < limit)) {
+			Generator generator = generators[0];
+			for (int i = 1; i < generators.length; i++) {
+				if (generators[i].time < generator.time) {
+					generator = generators[i];
+				}
+			}
+
+			long remaining = generator.time - (System.nanoTime() - start);
+			if (remaining > 0) {
+				if (remaining > SPIN_NANOS) {
+					LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+				}
+				else {
+					Thread.onSpinWait();
+				}
+
+				// Check again, the source may have been disabled or another stream may be due.
+				continue;
+			}
+
+			NativeInputEvent event = generator.next();
+			eventCount.incrementAndGet();
+			sink.dispatchEvent(event);
+		}
+
+		running = false;
+		thread = null;
+	}
+
+	public void disable() {
+		running = false;
+
+		Thread current = thread;
+		if (current != null) {
+			LockSupport.unpark(current);
+		}
+	}
+
+	/**
+	 * Stream of events for a single pattern.  Times are virtual and relative to the start of the source, so the order
+	 * of the merged streams does not depend on the timing of the dispatch.
+	 */
+	private abstract static class Generator {
+		protected final Random random;
+
+		/** The interval between events in nanoseconds, or 0 when unthrottled. */
+		protected final long interval;
+
+		/** The scheduled time of the next event. */
+		protected long time = 0;
+
+		protected Generator(Random random, long interval) {
+			this.random = random;
+			this.interval = interval;
+		}
+
+		/**
+		 * Create the next event and schedule the one after it.
+		 *
+		 * @return the next event.
+		 */
+		protected abstract NativeInputEvent next();
+
+		/**
+		 * Advance the schedule by a number of intervals.  Unthrottled streams advance by a single nanosecond so that
+		 * they are interleaved with each other.
+		 *
+		 * @param intervals the number of intervals.
+		 */
+		protected void advance(int intervals) {
+			time += interval > 0 ? interval * intervals : 1;
+		}
+	}
+
+	/**
+	 * Types random words, each followed by a space and a pause.
+	 */
+	private static class TypingGenerator extends Generator {
+		private int remaining = 0;
+		private int keyCode;
+		private char keyChar;
+		private int state = 0;
+
+		TypingGenerator(Random random, long interval) {
+			super(random, interval);
+		}
+
+		protected NativeInputEvent next() {
+			if (state == 0) {
+				if (remaining == 0) {
+					// Start a new word.
+					remaining = 2 + random.nextInt(9);
+				}
+
+				if (--remaining == 0) {
+					keyCode = NativeKeyEvent.VC_SPACE;
+					keyChar = ' ';
+				}
+				else {
+					int index = random.nextInt(KEY_CODES.length);
+					keyCode = KEY_CODES[index];
+					keyChar = (char) ('a' + index);
+				}
+			}
+
+			NativeKeyEvent event;
+			switch (state) {
+				case 0:
+					event = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, keyChar, keyCode, NativeKeyEvent.CHAR_UNDEFINED);
+					break;
+
+				case 1:
+					event = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_TYPED, 0, keyChar, NativeKeyEvent.VC_UNDEFINED, keyChar);
+					break;
+
+				default:
+					event = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_RELEASED, 0, keyChar, keyCode, NativeKeyEvent.CHAR_UNDEFINED);
+					break;
+			}
+
+			state = (state + 1) % 3;
+			if (state == 0 && remaining == 0) {
+				// Pause between words.
+				advance(10 + random.nextInt(30));
+			}
+			else {
+				advance(1);
+			}
+
+			return event;
+		}
+	}
+
+	/**
+	 * Moves the pointer in a random walk across the screen.
+	 */
+	private static class MotionGenerator extends Generator {
+		private int x = SCREEN_WIDTH / 2;
+		private int y = SCREEN_HEIGHT / 2;
+
+		MotionGenerator(Random random, long interval) {
+			super(random, interval);
+		}
+
+		protected NativeInputEvent next() {
+			x = Math.max(0, Math.min(SCREEN_WIDTH - 1, x + random.nextInt(11) - 5));
+			y = Math.max(0, Math.min(SCREEN_HEIGHT - 1, y + random.nextInt(11) - 5));
+			advance(1);
+
+			return new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, x, y, 0);
+		}
+	}
+
+	/**
+	 * Scrolls in bursts at a random position.
+	 */
+	private static class WheelGenerator extends Generator {
+		private int remaining = 0;
+		private int x;
+		private int y;
+		private int rotation;
+
+		WheelGenerator(Random random, long interval) {
+			super(random, interval);
+		}
+
+		protected NativeInputEvent next() {
+			if (remaining == 0) {
+				// Start a new storm.
+				remaining = 20 + random.nextInt(81);
+				x = random.nextInt(SCREEN_WIDTH);
+				y = random.nextInt(SCREEN_HEIGHT);
+				rotation = random.nextBoolean() ? 1 : -1;
+			}
+
+			remaining--;
+			if (remaining == 0) {
+				// Pause between storms.
+				advance(200 + random.nextInt(800));
+			}
+			else {
+				advance(1);
+			}
+
+			return new NativeMouseWheelEvent(NativeMouseEvent.NATIVE_MOUSE_WHEEL, 0, x, y, 0, NativeMouseWheelEvent.WHEEL_UNIT_SCROLL, 3, rotation);
+		}
+	}
+}
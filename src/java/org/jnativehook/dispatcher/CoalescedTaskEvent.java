@@ -0,0 +1,49 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.dispatcher;
+
+// Imports.
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a motion event that was replaced by a more recent one.  Coalescing is routine while a
+ * listener is slow, so this event is disabled by default.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see CoalescingDispatchService
+ */
+@Name("org.jnativehook.CoalescedTask")
+@Label("Coalesced Task")
+@Description("Mouse motion event replaced by a more recent event before it was delivered")
+@Category("JNativeHook")
+@Enabled(false)
+@StackTrace(false)
+final class CoalescedTaskEvent extends Event {
+	@Label("Event")
+	@Description("The parameters of the replaced native input event")
+	String event;
+}
@@ -0,0 +1,142 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.dispatcher;
+
+// Imports.
+import org.jnativehook.GlobalScreen;
+import org.jnativehook.NativeInputEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ring buffer implementation of the <code>ExecutorService</code> that coalesces mouse motion.  When a
+ * <code>NATIVE_MOUSE_MOVED</code> or <code>NATIVE_MOUSE_DRAGGED</code> event is submitted while the previous event of
+ * the same type is still waiting to be delivered, and nothing else was submitted in between, the waiting event is
+ * replaced by the new one.  Listeners therefore always receive the most recent pointer position, and a stalled
+ * listener cannot fill the ring with stale motion events.
+ * <p>
+ *
+ * Key, button and wheel events are never coalesced or reordered.  Motion events are only ever merged with the
+ * motion event immediately preceding them, so the relative order of all delivered events is preserved.  The number of
+ * merged events is available via {@link #getCoalescedEventCount()}.
+ * <p>
+ *
+ * The coalescing state is confined to the thread that delivers native events, which must be the only caller of
+ * {@link #execute(Runnable)}.  Internal tasks submitted from other threads, like the flush of a batch or the delivery
+ * of a throttled motion event, use {@link #tryExecute(Runnable)}.  It places the task in the ring without reading or
+ * writing the coalescing state.  A motion event is never merged with one queued ahead of such a task.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see  RingBufferDispatchService
+ * @see  org.jnativehook.GlobalScreen#setEventDispatcher
+ */
+public class CoalescingDispatchService extends RingBufferDispatchService {
+	/** The number of motion events that were merged into a later event. */
+	private final AtomicLong coalescedEvents = new AtomicLong(0);
+
+	/**
+	 * The most recently submitted motion task, or null if the last task was not a motion event.  This and the
+	 * following fields are only accessed by the thread calling <code>execute</code>.
+	 */
+	private Runnable lastMotionTask = null;
+
+	/** The event type of the most recently submitted motion task. */
+	private int lastMotionType;
+
+	/** The ring sequence of the most recently submitted motion task. */
+	private long lastMotionSequence = -1;
+
+	/**
+	 * Instantiates a new coalescing dispatch service with the default capacity and the blocking wait strategy.
+	 */
+	public CoalescingDispatchService() {
+		super();
+	}
+
+	/**
+	 * Instantiates a new coalescing dispatch service.
+	 *
+	 * @param capacity the maximum number of pending events.  This value is rounded up to the next power of two.
+	 * @param waitStrategy the strategy the dispatch thread uses while waiting for events.
+	 */
+	public CoalescingDispatchService(int capacity, WaitStrategy waitStrategy) {
+		super(capacity, waitStrategy);
+	}
+
+	public void execute(Runnable task) {
+		int type = getMotionType(task);
+
+		if (type != 0) {
+			if (lastMotionTask != null && lastMotionType == type && replace(lastMotionSequence, lastMotionTask, task)) {
+				coalescedEvents.incrementAndGet();
+
+				CoalescedTaskEvent event = new CoalescedTaskEvent();
+				if (event.shouldCommit()) {
+					event.event = DroppedTaskEvent.describe(lastMotionTask);
+					event.commit();
+				}
+
+				discard(lastMotionTask);
+			}
+			else {
+				lastMotionSequence = offer(task);
+				lastMotionType = type;
+			}
+
+			lastMotionTask = lastMotionSequence >= 0 ? task : null;
+		}
+		else {
+			lastMotionTask = null;
+			offer(task);
+		}
+	}
+
+	/**
+	 * Returns the number of motion events that were replaced by a more recent event before they were delivered.
+	 *
+	 * @return the number of coalesced events.
+	 */
+	public long getCoalescedEventCount() {
+		return coalescedEvents.get();
+	}
+
+	/**
+	 * Determine if the task delivers a mouse motion event.
+	 *
+	 * @param task the submitted task.
+	 * @return the motion event type, or 0 if the task does not deliver a motion event.
+	 */
+	static int getMotionType(Runnable task) {
+		if (task instanceof GlobalScreen.EventDispatchTask) {
+			NativeInputEvent event = ((GlobalScreen.EventDispatchTask) task).getEvent();
+
+			if (event != null) {
+				switch (event.getID()) {
+					case NativeMouseEvent.NATIVE_MOUSE_MOVED:
+					case NativeMouseEvent.NATIVE_MOUSE_DRAGGED:
+						return event.getID();
+				}
+			}
+		}
+
+		return 0;
+	}
+}
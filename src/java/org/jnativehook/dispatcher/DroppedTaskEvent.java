@@ -0,0 +1,64 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.dispatcher;
+
+// Imports.
+import org.jnativehook.GlobalScreen;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a task that was discarded because the ring buffer was full.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see RingBufferDispatchService
+ */
+@Name("org.jnativehook.DroppedTask")
+@Label("Dropped Task")
+@Description("Native input event discarded because the event dispatcher was full")
+@Category("JNativeHook")
+@StackTrace(false)
+final class DroppedTaskEvent extends Event {
+	@Label("Event")
+	String event;
+
+	@Label("Capacity")
+	@Description("The capacity of the event dispatcher")
+	int capacity;
+
+	/**
+	 * Describes the event delivered by a task.
+	 *
+	 * @param task the dispatch task.
+	 * @return the parameters of the native input event.
+	 */
+	static String describe(Runnable task) {
+		if (task instanceof GlobalScreen.EventDispatchTask) {
+			return ((GlobalScreen.EventDispatchTask) task).getEvent().paramString();
+		}
+
+		return task.toString();
+	}
+}
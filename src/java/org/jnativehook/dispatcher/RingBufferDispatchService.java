@@ -0,0 +1,458 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.dispatcher;
+
+// Imports.
+import org.jnativehook.GlobalScreen;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free implementation of the <code>ExecutorService</code> used to dispatch native events.  Tasks are stored in a
+ * preallocated ring buffer and executed in order by a single dispatch thread.  Unlike the
+ * {@link DefaultDispatchService}, no lock is acquired and no queue node is allocated when the hook thread submits an
+ * event, and the number of pending events can never exceed the capacity of the ring.
+ * <p>
+ *
+ * The ring is optimized for a single producer, the native hook thread, but concurrent producers are tolerated.  If
+ * the ring is full when a task is submitted, the task is discarded rather than blocking the native hook thread.  The
+ * number of discarded tasks is available via {@link #getDroppedTaskCount()}.
+ * <p>
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see  java.util.concurrent.ExecutorService
+ * @see  org.jnativehook.GlobalScreen#setEventDispatcher
+ */
+public class RingBufferDispatchService extends AbstractExecutorService {
+	/**
+	 * The strategy used by the dispatch thread while it waits for new events.
+	 */
+	public enum WaitStrategy {
+		/**
+		 * Spin continuously.  Lowest latency, but occupies an entire processor core.
+		 */
+		BUSY_SPIN,
+
+		/**
+		 * Spin briefly and then yield the processor to other threads.
+		 */
+		YIELDING,
+
+		/**
+		 * Spin briefly, yield and then sleep for short intervals.
+		 */
+		SLEEPING,
+
+		/**
+		 * Spin briefly and then park until the producer signals a new event.
+		 */
+		BLOCKING
+	}
+
+	/** The default number of slots in the ring buffer. */
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	/** Number of empty polls the dispatch thread will spin before backing off. */
+	private static final int SPIN_TRIES = 100;
+
+	/** Number of empty polls the dispatch thread will yield before sleeping. */
+	private static final int YIELD_TRIES = 200;
+
+	/** The interval the dispatch thread will sleep when using the sleeping strategy. */
+	private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private static final int RUNNING = 0;
+	private static final int SHUTDOWN = 1;
+	private static final int STOP = 2;
+
+	/** The producer sequence after the dispatch thread has exited, which rejects any further claims. */
+	private static final long CLOSED = -1;
+
+	/** The producer sequence while the most recently submitted task is replaced, which holds off any claims. */
+	private static final long LOCKED = -2;
+
+	/** The preallocated task slots.  A null slot has not been published or was already consumed. */
+	private final AtomicReferenceArray<Runnable> buffer;
+
+	/** Mask used to convert a sequence number into a slot index. */
+	private final int mask;
+
+	/**
+	 * The next sequence number to be claimed by a producer, {@link #LOCKED} while a task is replaced, or
+	 * {@link #CLOSED} once the dispatch thread has exited.
+	 */
+	private final AtomicLong producerSequence = new AtomicLong(0);
+
+	/** The next sequence number to be consumed by the dispatch thread. */
+	private final AtomicLong consumerSequence = new AtomicLong(0);
+
+	/** The number of tasks discarded because the ring was full. */
+	private final AtomicLong droppedTasks = new AtomicLong(0);
+
+	private final WaitStrategy waitStrategy;
+
+	private final Thread dispatchThread;
+
+	private final CountDownLatch termination = new CountDownLatch(1);
+
+	private volatile int state = RUNNING;
+
+	/** Set by the dispatch thread prior to parking when using the blocking strategy. */
+	private volatile boolean dispatchThreadParked = false;
+
+	/**
+	 * Instantiates a new ring buffer dispatch service with the default capacity and the blocking wait strategy.
+	 */
+	public RingBufferDispatchService() {
+		this(DEFAULT_CAPACITY, WaitStrategy.BLOCKING);
+	}
+
+	/**
+	 * Instantiates a new ring buffer dispatch service.
+	 *
+	 * @param capacity the maximum number of pending events.  This value is rounded up to the next power of two.
+	 * @param waitStrategy the strategy the dispatch thread uses while waiting for events.
+	 */
+	public RingBufferDispatchService(int capacity, WaitStrategy waitStrategy) {
+		if (capacity < 1 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("Invalid ring buffer capacity: " + capacity);
+		}
+
+		if (waitStrategy == null) {
+			throw new NullPointerException("Wait strategy cannot be null");
+		}
+
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+
+		this.buffer = new AtomicReferenceArray<Runnable>(size);
+		this.mask = size - 1;
+		this.waitStrategy = waitStrategy;
+
+		this.dispatchThread = new Thread(new Runnable() {
+			public void run() {
+				dispatch();
+			}
+		});
+		this.dispatchThread.setName("JNativeHook Dispatch Thread");
+		this.dispatchThread.setDaemon(true);
+		this.dispatchThread.start();
+	}
+
+	/**
+	 * Places the task in the next free slot of the ring buffer.  This method never blocks.  If the ring is full, the
+	 * task is discarded and the dropped task count is incremented.
+	 *
+	 * @param task the task to execute on the dispatch thread.
+	 * @throws RejectedExecutionException if this service has been shutdown.
+	 */
+	public void execute(Runnable task) {
+		offer(task);
+	}
+
+	/**
+	 * Places the task in the next free slot of the ring buffer and reports whether it was accepted.  Unlike
+	 * {@link #execute(Runnable)}, this method bypasses any processing a subclass applies to submitted events, which
+	 * makes it suitable for internal tasks submitted from threads other than the native hook thread.
+	 *
+	 * @param task the task to execute on the dispatch thread.
+	 * @return true if the task was accepted, false if it was discarded because the ring was full.
+	 * @throws RejectedExecutionException if this service has been shutdown.
+	 *
+	 * @since 2.1
+	 */
+	public boolean tryExecute(Runnable task) {
+		return offer(task) >= 0;
+	}
+
+	/**
+	 * Places the task in the next free slot of the ring buffer and returns the sequence number of that slot.
+	 *
+	 * @param task the task to execute on the dispatch thread.
+	 * @return the sequence number assigned to the task, or -1 if the task was discarded because the ring was full.
+	 * @throws RejectedExecutionException if this service has been shutdown.
+	 */
+	protected long offer(Runnable task) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+
+		if (state != RUNNING) {
+			throw new RejectedExecutionException("Dispatch service has been shutdown");
+		}
+
+		long sequence;
+		while (true) {
+			sequence = producerSequence.get();
+
+			if (sequence == CLOSED) {
+				throw new RejectedExecutionException("Dispatch service has been shutdown");
+			}
+			else if (sequence == LOCKED) {
+				// The most recent task is being replaced, which only takes a few instructions.
+				Thread.onSpinWait();
+			}
+			else if (sequence - consumerSequence.get() > mask) {
+				droppedTasks.incrementAndGet();
+
+				DroppedTaskEvent event = new DroppedTaskEvent();
+				if (event.shouldCommit()) {
+					event.event = DroppedTaskEvent.describe(task);
+					event.capacity = mask + 1;
+					event.commit();
+				}
+
+				discard(task);
+				return -1;
+			}
+			else if (producerSequence.compareAndSet(sequence, sequence + 1)) {
+				break;
+			}
+		}
+
+		// NOTE A full volatile store is required so that the parked flag read below cannot be reordered before it.
+		buffer.set((int) sequence & mask, task);
+
+		if (dispatchThreadParked) {
+			LockSupport.unpark(dispatchThread);
+		}
+
+		// A task published after shutdownNow() is only dispatched if it was already picked up.
+		if (state == STOP && buffer.compareAndSet((int) sequence & mask, task, null)) {
+			throw new RejectedExecutionException("Dispatch service has been shutdown");
+		}
+
+		return sequence;
+	}
+
+	/**
+	 * Atomically replaces a task that has not yet been picked up by the dispatch thread.  The replacement only
+	 * succeeds if the task is still waiting in its slot and no other task has been submitted after it.  Producers
+	 * cannot claim a slot while the replacement is in progress, so a task submitted concurrently from another thread
+	 * is never overtaken by the replacement.
+	 *
+	 * @param sequence the sequence number returned by {@link #offer(Runnable)} for the expected task.
+	 * @param expected the task currently occupying the slot.
+	 * @param task the task that should take its place.
+	 * @return true if the task was replaced, false if the expected task was already dispatched or is no longer the
+	 * most recently submitted task.
+	 */
+	protected boolean replace(long sequence, Runnable expected, Runnable task) {
+		if (sequence < 0 || !producerSequence.compareAndSet(sequence + 1, LOCKED)) {
+			return false;
+		}
+
+		try {
+			return buffer.compareAndSet((int) sequence & mask, expected, task);
+		}
+		finally {
+			producerSequence.set(sequence + 1);
+		}
+	}
+
+	/**
+	 * Releases a task that was accepted but will never be executed.
+	 *
+	 * @param task the discarded task.
+	 * @see GlobalScreen.EventDispatchTask#discard()
+	 */
+	protected static void discard(Runnable task) {
+		if (task instanceof GlobalScreen.EventDispatchTask) {
+			((GlobalScreen.EventDispatchTask) task).discard();
+		}
+	}
+
+	/**
+	 * Main loop of the dispatch thread.
+	 */
+	private void dispatch() {
+		long sequence = consumerSequence.get();
+		int idleCount = 0;
+
+		while (state != STOP) {
+			Runnable task = buffer.getAndSet((int) sequence & mask, null);
+
+			if (task != null) {
+				consumerSequence.lazySet(++sequence);
+				idleCount = 0;
+
+				try {
+					task.run();
+				}
+				catch (Throwable t) {
+					Thread thread = Thread.currentThread();
+					thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+				}
+			}
+			else if (state != RUNNING && producerSequence.compareAndSet(sequence, CLOSED)) {
+				// Shutdown was requested and all claimed tasks have been executed.  Closing the producer sequence
+				// in the same step ensures a producer that passed the state check cannot claim a slot nobody runs.
+				break;
+			}
+			else {
+				idleCount = idle(sequence, idleCount);
+			}
+		}
+
+		termination.countDown();
+	}
+
+	/**
+	 * Wait for the next event according to the configured wait strategy.
+	 *
+	 * @param sequence the sequence number the dispatch thread is waiting on.
+	 * @param idleCount the number of consecutive empty polls.
+	 * @return the updated number of consecutive empty polls.
+	 */
+	private int idle(long sequence, int idleCount) {
+		switch (waitStrategy) {
+			case BUSY_SPIN:
+				Thread.onSpinWait();
+				break;
+
+			case YIELDING:
+				if (idleCount < SPIN_TRIES) {
+					Thread.onSpinWait();
+				}
+				else {
+					Thread.yield();
+				}
+				break;
+
+			case SLEEPING:
+				if (idleCount < SPIN_TRIES) {
+					Thread.onSpinWait();
+				}
+				else if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+					Thread.yield();
+				}
+				else {
+					LockSupport.parkNanos(this, SLEEP_NANOS);
+				}
+				break;
+
+			case BLOCKING:
+				if (idleCount < SPIN_TRIES) {
+					Thread.onSpinWait();
+				}
+				else {
+					dispatchThreadParked = true;
+
+					// Check again after announcing that we are about to park to avoid a lost wake up.
+					if (buffer.get((int) sequence & mask) == null && state == RUNNING) {
+						LockSupport.park(this);
+					}
+
+					dispatchThreadParked = false;
+				}
+				break;
+		}
+
+		return idleCount < Integer.MAX_VALUE ? idleCount + 1 : idleCount;
+	}
+
+	/**
+	 * Returns the number of slots in the ring buffer.
+	 *
+	 * @return the maximum number of pending events.
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Returns the approximate number of events waiting to be dispatched.
+	 *
+	 * @return the number of pending events.
+	 */
+	public int getQueueSize() {
+		long size = producerSequence.get() - consumerSequence.get();
+
+		return (int) Math.max(0, Math.min(size, mask + 1));
+	}
+
+	/**
+	 * Returns the number of tasks that were discarded because the ring buffer was full.
+	 *
+	 * @return the number of discarded tasks.
+	 */
+	public long getDroppedTaskCount() {
+		return droppedTasks.get();
+	}
+
+	/**
+	 * Returns the wait strategy used by the dispatch thread.
+	 *
+	 * @return the wait strategy.
+	 */
+	public WaitStrategy getWaitStrategy() {
+		return waitStrategy;
+	}
+
+	public void shutdown() {
+		if (state == RUNNING) {
+			state = SHUTDOWN;
+		}
+
+		LockSupport.unpark(dispatchThread);
+	}
+
+	public List<Runnable> shutdownNow() {
+		state = STOP;
+		LockSupport.unpark(dispatchThread);
+
+		List<Runnable> pending = new ArrayList<Runnable>();
+		long sequence = consumerSequence.get();
+		long limit;
+		while ((limit = producerSequence.get()) == LOCKED) {
+			Thread.onSpinWait();
+		}
+		for (; sequence < limit; sequence++) {
+			Runnable task = buffer.getAndSet((int) sequence & mask, null);
+			if (task != null) {
+				pending.add(task);
+			}
+		}
+
+		return pending;
+	}
+
+	public boolean isShutdown() {
+		return state != RUNNING;
+	}
+
+	public boolean isTerminated() {
+		return termination.getCount() == 0;
+	}
+
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return termination.await(timeout, unit);
+	}
+}
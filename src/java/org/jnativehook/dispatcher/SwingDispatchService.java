@@ -22,48 +22,233 @@ import javax.swing.SwingUtilities;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Swing compatible implementation of the <code>ExecutorService</code> used to dispatch native events.  This wraps
- * event dispatching with {@link java.awt.EventQueue#invokeLater}.
+ * Swing compatible implementation of the <code>ExecutorService</code> used to dispatch native events.  Events are
+ * delivered on the AWT event dispatch thread.
+ * <p>
+ *
+ * Submitted tasks are collected in a lock-free queue and at most one drain task is posted with
+ * {@link java.awt.EventQueue#invokeLater} at a time.  The drain task delivers everything that is pending, so a flood
+ * of native events results in a handful of runnables on the AWT event queue rather than one per event, and repaints
+ * are not starved.  Optionally, the drain task can be limited to a time budget per run, after which the remaining
+ * events are delivered by a new drain task queued behind any pending repaints.  Consecutive pending
+ * <code>NATIVE_MOUSE_MOVED</code> or <code>NATIVE_MOUSE_DRAGGED</code> events can also be coalesced the same way
+ * {@link CoalescingDispatchService} does.
+ * <p>
+ *
+ * After {@link #shutdown()} all previously submitted events are still delivered, and
+ * {@link #awaitTermination(long, TimeUnit)} returns once they have been.  When called on the event dispatch thread,
+ * <code>awaitTermination</code> delivers the pending events itself.
  *
  * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
- * @version	2.0
+ * @version	2.1
  * @since	2.0
  *
  * @see  java.util.concurrent.ExecutorService
  * @see  org.jnativehook.GlobalScreen#setEventDispatcher
  */
 public class SwingDispatchService extends AbstractExecutorService {
-	private boolean running = false;
+	private static final int RUNNING = 0;
+	private static final int SHUTDOWN = 1;
+	private static final int STOP = 2;
+
+	/** Tasks waiting to be delivered on the event dispatch thread. */
+	private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<Runnable>();
+
+	/** True while a drain task is posted to, or running on, the event dispatch thread. */
+	private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+	/** The number of motion events that were merged into a later event. */
+	private final AtomicLong coalescedEvents = new AtomicLong(0);
+
+	private final CountDownLatch termination = new CountDownLatch(1);
+
+	/** The maximum time in nanoseconds a single drain task may deliver events for, or 0 for no limit. */
+	private final long timeBudget;
+
+	private final boolean coalesceMotion;
+
+	private volatile int state = RUNNING;
+
+	private final Runnable drainTask = new Runnable() {
+		public void run() {
+			drain(timeBudget);
+		}
+	};
 
+	/**
+	 * Instantiates a new Swing dispatch service that delivers all pending events in a single drain task and does not
+	 * coalesce motion events.
+	 */
 	public SwingDispatchService() {
-		running = true;
+		this(0, TimeUnit.NANOSECONDS, false);
+	}
+
+	/**
+	 * Instantiates a new Swing dispatch service.
+	 *
+	 * @param timeBudget the maximum time a single drain task may spend delivering events before yielding the event
+	 * dispatch thread, or 0 to deliver all pending events at once.  At least one event is delivered per drain task.
+	 * @param unit the time unit of the <code>timeBudget</code> argument.
+	 * @param coalesceMotion true if a pending motion event should be replaced by a more recent motion event of the
+	 * same type that directly follows it.
+	 * @since 2.1
+	 */
+	public SwingDispatchService(long timeBudget, TimeUnit unit, boolean coalesceMotion) {
+		if (timeBudget < 0) {
+			throw new IllegalArgumentException("Invalid time budget: " + timeBudget);
+		}
+
+		this.timeBudget = unit.toNanos(timeBudget);
+		this.coalesceMotion = coalesceMotion;
+	}
+
+	public void execute(Runnable task) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+
+		if (state != RUNNING) {
+			throw new RejectedExecutionException("Dispatch service has been shutdown");
+		}
+
+		queue.offer(task);
+		schedule();
+	}
+
+	/**
+	 * Posts a drain task to the event dispatch thread unless one is already pending.
+	 */
+	private void schedule() {
+		if (drainScheduled.compareAndSet(false, true)) {
+			SwingUtilities.invokeLater(drainTask);
+		}
+	}
+
+	/**
+	 * Delivers pending tasks.  This method must be called on the event dispatch thread.
+	 *
+	 * @param budget the maximum time in nanoseconds to spend delivering tasks, or 0 for no limit.
+	 */
+	private void drain(long budget) {
+		long deadline = System.nanoTime() + budget;
+
+		Runnable task;
+		while (state != STOP && (task = queue.poll()) != null) {
+			if (coalesceMotion && isReplaced(task)) {
+				coalescedEvents.incrementAndGet();
+
+				CoalescedTaskEvent event = new CoalescedTaskEvent();
+				if (event.shouldCommit()) {
+					event.event = DroppedTaskEvent.describe(task);
+					event.commit();
+				}
+
+				RingBufferDispatchService.discard(task);
+				continue;
+			}
+
+			try {
+				task.run();
+			}
+			catch (Throwable t) {
+				Thread thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+			}
+
+			if (budget > 0 && System.nanoTime() - deadline >= 0) {
+				// Let the event dispatch thread process repaints before delivering the rest.
+				break;
+			}
+		}
+
+		// Anything submitted after the poll above either scheduled its own drain or is picked up here.
+		drainScheduled.set(false);
+		if (state != STOP && !queue.isEmpty()) {
+			schedule();
+		}
+
+		tryTerminate();
+	}
+
+	/**
+	 * Determine if a pending motion task is superseded by the task queued directly after it.
+	 *
+	 * @param task the task that was removed from the head of the queue.
+	 * @return true if the next task delivers a motion event of the same type.
+	 */
+	private boolean isReplaced(Runnable task) {
+		int type = CoalescingDispatchService.getMotionType(task);
+		if (type == 0) {
+			return false;
+		}
+
+		Runnable next = queue.peek();
+		return next != null && CoalescingDispatchService.getMotionType(next) == type;
+	}
+
+	/**
+	 * Marks this service as terminated once it has been shutdown and no task is pending.
+	 */
+	private void tryTerminate() {
+		if (state != RUNNING && !drainScheduled.get() && (state == STOP || queue.isEmpty())) {
+			termination.countDown();
+		}
+	}
+
+	/**
+	 * Returns the number of motion events that were replaced by a more recent event before they were delivered.
+	 *
+	 * @return the number of coalesced events.
+	 * @since 2.1
+	 */
+	public long getCoalescedEventCount() {
+		return coalescedEvents.get();
 	}
 
 	public void shutdown() {
-		running = false;
+		if (state == RUNNING) {
+			state = SHUTDOWN;
+		}
+
+		tryTerminate();
 	}
 
 	public List<Runnable> shutdownNow() {
-		running = false;
-		return new ArrayList<Runnable>(0);
+		state = STOP;
+
+		List<Runnable> pending = new ArrayList<Runnable>();
+		Runnable task;
+		while ((task = queue.poll()) != null) {
+			pending.add(task);
+		}
+
+		tryTerminate();
+
+		return pending;
 	}
 
 	public boolean isShutdown() {
-		return !running;
+		return state != RUNNING;
 	}
 
 	public boolean isTerminated() {
-		return !running;
+		return termination.getCount() == 0;
 	}
 
 	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
-		return true;
-	}
+		if (SwingUtilities.isEventDispatchThread() && state != RUNNING) {
+			// A posted drain task cannot run while we block the event dispatch thread, so deliver everything now.
+			drain(0);
+		}
 
-	public void execute(Runnable r) {
-		SwingUtilities.invokeLater(r);
+		return termination.await(timeout, unit);
 	}
 }
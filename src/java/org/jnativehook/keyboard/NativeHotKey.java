@@ -0,0 +1,239 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.keyboard;
+
+// Imports.
+import org.jnativehook.NativeInputEvent;
+import java.util.Arrays;
+
+/**
+ * An immutable sequence of one or more key strokes that triggers a hotkey.  Each stroke is a virtual key code
+ * together with the modifier keys that must be held while it is pressed, for example <code>Ctrl+K</code>.  A hotkey
+ * with more than one stroke is a chord, such as <code>Ctrl+K, Ctrl+C</code>, and matches when its strokes are pressed
+ * one after another.
+ * <p>
+ *
+ * Only the shift, control, meta and alt modifiers are significant, and the left and right variants of a modifier are
+ * not distinguished.  Mouse button and lock key modifiers are ignored.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeHotKeyManager
+ */
+public final class NativeHotKey {
+	/** The normalized modifier mask of each stroke. */
+	private final int[] modifiers;
+
+	/** The virtual key code of each stroke. */
+	private final int[] keyCodes;
+
+	/**
+	 * Instantiates a new hotkey with a single stroke.
+	 *
+	 * @param modifiers the modifier mask that must be held, for example <code>NativeInputEvent.CTRL_MASK</code>.
+	 * @param keyCode the virtual key code of the key that completes the stroke.
+	 * @throws IllegalArgumentException if the key code is undefined or a modifier key.
+	 */
+	public NativeHotKey(int modifiers, int keyCode) {
+		this(null, modifiers, keyCode);
+	}
+
+	/**
+	 * Instantiates a new hotkey that adds a stroke to the end of another hotkey.
+	 *
+	 * @param prefix the strokes that must be pressed first, or null.
+	 * @param modifiers the modifier mask that must be held, for example <code>NativeInputEvent.CTRL_MASK</code>.
+	 * @param keyCode the virtual key code of the key that completes the stroke.
+	 * @throws IllegalArgumentException if the key code is undefined or a modifier key.
+	 */
+	public NativeHotKey(NativeHotKey prefix, int modifiers, int keyCode) {
+		if (keyCode <= NativeKeyEvent.VC_UNDEFINED || keyCode > 0xFFFF || isModifierKey(keyCode)) {
+			throw new IllegalArgumentException("Invalid hotkey key code: " + keyCode);
+		}
+
+		int length = prefix != null ? prefix.keyCodes.length : 0;
+
+		this.modifiers = new int[length + 1];
+		this.keyCodes = new int[length + 1];
+
+		if (prefix != null) {
+			System.arraycopy(prefix.modifiers, 0, this.modifiers, 0, length);
+			System.arraycopy(prefix.keyCodes, 0, this.keyCodes, 0, length);
+		}
+
+		this.modifiers[length] = normalize(modifiers);
+		this.keyCodes[length] = keyCode;
+	}
+
+	/**
+	 * Returns the number of strokes of this hotkey.
+	 *
+	 * @return the number of strokes.
+	 */
+	public int getLength() {
+		return keyCodes.length;
+	}
+
+	/**
+	 * Returns the normalized modifier mask of the specified stroke.
+	 *
+	 * @param index the index of the stroke.
+	 * @return the modifier mask.
+	 */
+	public int getModifiers(int index) {
+		return modifiers[index];
+	}
+
+	/**
+	 * Returns the virtual key code of the specified stroke.
+	 *
+	 * @param index the index of the stroke.
+	 * @return the virtual key code.
+	 */
+	public int getKeyCode(int index) {
+		return keyCodes[index];
+	}
+
+	/**
+	 * Returns the stroke at the specified index encoded as a single integer.  The key code is stored in the low 16
+	 * bits and the significant modifiers above it.
+	 *
+	 * @param index the index of the stroke.
+	 * @return the encoded stroke.
+	 */
+	int getStroke(int index) {
+		return getStroke(modifiers[index], keyCodes[index]);
+	}
+
+	/**
+	 * Encodes a stroke as a single integer.
+	 *
+	 * @param modifiers the event modifier mask.
+	 * @param keyCode the virtual key code.
+	 * @return the encoded stroke.
+	 */
+	static int getStroke(int modifiers, int keyCode) {
+		int stroke = keyCode & 0xFFFF;
+
+		if ((modifiers & NativeInputEvent.SHIFT_MASK) != 0) {
+			stroke |= 1 << 16;
+		}
+
+		if ((modifiers & NativeInputEvent.CTRL_MASK) != 0) {
+			stroke |= 1 << 17;
+		}
+
+		if ((modifiers & NativeInputEvent.META_MASK) != 0) {
+			stroke |= 1 << 18;
+		}
+
+		if ((modifiers & NativeInputEvent.ALT_MASK) != 0) {
+			stroke |= 1 << 19;
+		}
+
+		return stroke;
+	}
+
+	/**
+	 * Returns true if the key code is one of the modifier keys.  Pressing a modifier key never advances or cancels a
+	 * hotkey sequence.
+	 *
+	 * @param keyCode the virtual key code.
+	 * @return true for the shift, control, alt and meta keys.
+	 */
+	static boolean isModifierKey(int keyCode) {
+		switch (keyCode) {
+			case NativeKeyEvent.VC_SHIFT:
+			case NativeKeyEvent.VC_CONTROL:
+			case NativeKeyEvent.VC_ALT:
+			case NativeKeyEvent.VC_META:
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Expand the left and right variants of each modifier to the combined mask and drop all other modifiers.
+	 */
+	private static int normalize(int modifiers) {
+		int normalized = 0;
+
+		if ((modifiers & NativeInputEvent.SHIFT_MASK) != 0) {
+			normalized |= NativeInputEvent.SHIFT_MASK;
+		}
+
+		if ((modifiers & NativeInputEvent.CTRL_MASK) != 0) {
+			normalized |= NativeInputEvent.CTRL_MASK;
+		}
+
+		if ((modifiers & NativeInputEvent.META_MASK) != 0) {
+			normalized |= NativeInputEvent.META_MASK;
+		}
+
+		if ((modifiers & NativeInputEvent.ALT_MASK) != 0) {
+			normalized |= NativeInputEvent.ALT_MASK;
+		}
+
+		return normalized;
+	}
+
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof NativeHotKey)) {
+			return false;
+		}
+
+		NativeHotKey other = (NativeHotKey) obj;
+
+		return Arrays.equals(modifiers, other.modifiers) && Arrays.equals(keyCodes, other.keyCodes);
+	}
+
+	public int hashCode() {
+		return 31 * Arrays.hashCode(modifiers) + Arrays.hashCode(keyCodes);
+	}
+
+	/**
+	 * Returns a <code>String</code> describing the strokes of this hotkey, such as "Ctrl+K, Ctrl+C".
+	 *
+	 * @return the hotkey's textual representation.
+	 */
+	public String toString() {
+		StringBuilder param = new StringBuilder(32);
+
+		for (int i = 0; i < keyCodes.length; i++) {
+			if (i > 0) {
+				param.append(", ");
+			}
+
+			if (modifiers[i] != 0) {
+				param.append(NativeInputEvent.getModifiersText(modifiers[i]));
+				param.append('+');
+			}
+
+			param.append(NativeKeyEvent.getKeyText(keyCodes[i]));
+		}
+
+		return param.toString();
+	}
+}
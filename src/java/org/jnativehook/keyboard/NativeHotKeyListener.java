@@ -0,0 +1,41 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.keyboard;
+
+// Imports.
+import java.util.EventListener;
+
+/**
+ * The listener interface for receiving hotkey matches from a {@link NativeHotKeyManager}.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeHotKeyManager#addHotKey(NativeHotKey, NativeHotKeyListener)
+ */
+public interface NativeHotKeyListener extends EventListener {
+	/**
+	 * Invoked when the last stroke of a hotkey has been pressed.
+	 *
+	 * @param hotKey the hotkey that matched.
+	 * @param nativeEvent the key pressed event that completed the hotkey.  The event must not be retained after
+	 * this method returns.
+	 */
+	public void nativeHotKeyPressed(NativeHotKey hotKey, NativeKeyEvent nativeEvent);
+}
@@ -0,0 +1,312 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.keyboard;
+
+// Imports.
+import org.jnativehook.NonRetainingListener;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches key pressed events against a set of registered hotkeys.  All hotkeys are compiled into a single
+ * automaton whose states are the strokes typed so far.  Each key pressed event performs one hash lookup to advance
+ * the automaton, so the cost of matching does not depend on the number of registered hotkeys.
+ * <p>
+ *
+ * A chord that is not completed within the sequence timeout is abandoned.  A stroke that does not continue the
+ * current chord abandons it and is matched again as the first stroke of a new one.  Presses of the modifier keys
+ * themselves and auto-repeated presses of a key that is still held are ignored.
+ * <p>
+ *
+ * A hotkey may not be a prefix of another hotkey, because it would be impossible to tell whether to report the
+ * shorter hotkey or wait for the longer one.
+ * <p>
+ *
+ * The manager is registered like any other key listener, for example with
+ * {@link org.jnativehook.GlobalScreen#addNativeKeyListener(NativeKeyListener)}, and must only be registered once.
+ * Hotkeys may be added and removed from any thread.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeHotKey
+ */
+public class NativeHotKeyManager implements NativeKeyListener, NonRetainingListener {
+	/** The default time allowed between the strokes of a chord. */
+	public static final long DEFAULT_SEQUENCE_TIMEOUT = TimeUnit.SECONDS.toNanos(2);
+
+	/** The registered hotkeys in registration order. */
+	private final Map<NativeHotKey, NativeHotKeyListener> hotKeys = new LinkedHashMap<NativeHotKey, NativeHotKeyListener>();
+
+	/** The automaton compiled from the registered hotkeys. */
+	private volatile Automaton automaton = new Automaton(new LinkedHashMap<NativeHotKey, NativeHotKeyListener>());
+
+	/** The time allowed between the strokes of a chord in nanoseconds. */
+	private volatile long sequenceTimeout = DEFAULT_SEQUENCE_TIMEOUT;
+
+	// The following fields are only accessed by the thread delivering key events.
+
+	/** The automaton the current state belongs to. */
+	private Automaton current = automaton;
+
+	/** The current state of the automaton, 0 if no chord is in progress. */
+	private int state = 0;
+
+	/** The capture time of the last stroke that advanced the automaton. */
+	private long lastStrokeTime = 0;
+
+	/** The key code of the last pressed key that has not been released. */
+	private int heldKeyCode = NativeKeyEvent.VC_UNDEFINED;
+
+	/**
+	 * Registers a hotkey.  If the hotkey is already registered, its listener is replaced.
+	 *
+	 * @param hotKey the hotkey to match.
+	 * @param listener the listener to notify when the hotkey is pressed.
+	 * @throws IllegalArgumentException if the hotkey is a prefix of a registered hotkey or the other way around.
+	 */
+	public synchronized void addHotKey(NativeHotKey hotKey, NativeHotKeyListener listener) {
+		if (hotKey == null || listener == null) {
+			throw new NullPointerException();
+		}
+
+		Map<NativeHotKey, NativeHotKeyListener> updated = new LinkedHashMap<NativeHotKey, NativeHotKeyListener>(hotKeys);
+		updated.put(hotKey, listener);
+
+		// Compile before the hotkey is added so that a conflict leaves the manager unchanged.
+		automaton = new Automaton(updated);
+		hotKeys.put(hotKey, listener);
+	}
+
+	/**
+	 * Unregisters a hotkey.  This method performs no function if the hotkey was not registered.
+	 *
+	 * @param hotKey the hotkey to remove.
+	 */
+	public synchronized void removeHotKey(NativeHotKey hotKey) {
+		if (hotKeys.remove(hotKey) != null) {
+			automaton = new Automaton(hotKeys);
+		}
+	}
+
+	/**
+	 * Returns the registered hotkeys in registration order.
+	 *
+	 * @return a new list containing the registered hotkeys.
+	 */
+	public synchronized List<NativeHotKey> getHotKeys() {
+		return new ArrayList<NativeHotKey>(hotKeys.keySet());
+	}
+
+	/**
+	 * Set the maximum time allowed between two strokes of a chord.
+	 *
+	 * @param timeout the maximum time between strokes.
+	 * @param unit the time unit of the timeout argument.
+	 */
+	public void setSequenceTimeout(long timeout, TimeUnit unit) {
+		if (timeout <= 0) {
+			throw new IllegalArgumentException("Invalid sequence timeout: " + timeout);
+		}
+
+		sequenceTimeout = unit.toNanos(timeout);
+	}
+
+	/**
+	 * Returns the maximum time allowed between two strokes of a chord.
+	 *
+	 * @param unit the time unit of the result.
+	 * @return the sequence timeout.
+	 */
+	public long getSequenceTimeout(TimeUnit unit) {
+		return unit.convert(sequenceTimeout, TimeUnit.NANOSECONDS);
+	}
+
+	public void nativeKeyTyped(NativeKeyEvent nativeEvent) {
+		// Do Nothing.
+	}
+
+	public void nativeKeyPressed(NativeKeyEvent nativeEvent) {
+		int keyCode = nativeEvent.getKeyCode();
+		if (NativeHotKey.isModifierKey(keyCode) || keyCode == heldKeyCode) {
+			return;
+		}
+		heldKeyCode = keyCode;
+
+		Automaton compiled = automaton;
+		if (compiled != current) {
+			// The hotkeys changed, any chord in progress refers to states that no longer exist.
+			current = compiled;
+			state = 0;
+		}
+
+		long time = nativeEvent.getCaptureTime();
+		if (time == 0) {
+			time = System.nanoTime();
+		}
+
+		if (state != 0 && time - lastStrokeTime > sequenceTimeout) {
+			state = 0;
+		}
+
+		int stroke = NativeHotKey.getStroke(nativeEvent.getModifiers(), keyCode);
+		int next = compiled.next(state, stroke);
+		if (next < 0 && state != 0) {
+			next = compiled.next(0, stroke);
+		}
+
+		if (next < 0) {
+			state = 0;
+		}
+		else if (compiled.listeners[next] != null) {
+			state = 0;
+			compiled.listeners[next].nativeHotKeyPressed(compiled.hotKeys[next], nativeEvent);
+		}
+		else {
+			state = next;
+			lastStrokeTime = time;
+		}
+	}
+
+	public void nativeKeyReleased(NativeKeyEvent nativeEvent) {
+		if (nativeEvent.getKeyCode() == heldKeyCode) {
+			heldKeyCode = NativeKeyEvent.VC_UNDEFINED;
+		}
+	}
+
+	/**
+	 * Immutable trie of hotkey strokes.  State 0 is the root and every other state is reached by exactly one
+	 * sequence of strokes.  The transitions of all states are stored in a single open addressing hash table keyed by
+	 * the source state and the stroke.
+	 */
+	private static final class Automaton {
+		/** The transition keys, 0 for an empty slot. */
+		private final long[] keys;
+
+		/** The target state of each transition. */
+		private final int[] targets;
+
+		private final int mask;
+
+		/** The hotkey completed by each state, or null for the root and the intermediate states of a chord. */
+		private final NativeHotKey[] hotKeys;
+
+		/** The listener of the hotkey completed by each state. */
+		private final NativeHotKeyListener[] listeners;
+
+		private Automaton(Map<NativeHotKey, NativeHotKeyListener> hotKeys) {
+			Map<Long, Integer> transitions = new HashMap<Long, Integer>();
+			List<NativeHotKey> terminals = new ArrayList<NativeHotKey>();
+			List<NativeHotKeyListener> callbacks = new ArrayList<NativeHotKeyListener>();
+			List<Boolean> parents = new ArrayList<Boolean>();
+
+			// The root state.
+			terminals.add(null);
+			callbacks.add(null);
+			parents.add(Boolean.FALSE);
+
+			for (Map.Entry<NativeHotKey, NativeHotKeyListener> entry : hotKeys.entrySet()) {
+				NativeHotKey hotKey = entry.getKey();
+				int state = 0;
+
+				for (int i = 0; i < hotKey.getLength(); i++) {
+					if (terminals.get(state) != null) {
+						throw new IllegalArgumentException("Hotkey " + hotKey + " conflicts with " + terminals.get(state));
+					}
+
+					Long key = key(state, hotKey.getStroke(i));
+					Integer target = transitions.get(key);
+					if (target == null) {
+						target = terminals.size();
+						transitions.put(key, target);
+						terminals.add(null);
+						callbacks.add(null);
+						parents.add(Boolean.FALSE);
+					}
+
+					parents.set(state, Boolean.TRUE);
+					state = target;
+				}
+
+				if (parents.get(state)) {
+					throw new IllegalArgumentException("Hotkey " + hotKey + " is a prefix of another hotkey");
+				}
+
+				terminals.set(state, hotKey);
+				callbacks.set(state, entry.getValue());
+			}
+
+			int size = Integer.highestOneBit(Math.max(transitions.size() * 2, 8) - 1) << 1;
+			this.keys = new long[size];
+			this.targets = new int[size];
+			this.mask = size - 1;
+
+			for (Map.Entry<Long, Integer> entry : transitions.entrySet()) {
+				long key = entry.getKey();
+
+				int index = index(key);
+				while (keys[index] != 0) {
+					index = (index + 1) & mask;
+				}
+
+				keys[index] = key;
+				targets[index] = entry.getValue();
+			}
+
+			this.hotKeys = terminals.toArray(new NativeHotKey[terminals.size()]);
+			this.listeners = callbacks.toArray(new NativeHotKeyListener[callbacks.size()]);
+		}
+
+		/**
+		 * Returns the state reached from the specified state with the stroke.
+		 *
+		 * @param state the current state.
+		 * @param stroke the encoded stroke.
+		 * @return the next state, or -1 if there is no transition.
+		 */
+		private int next(int state, int stroke) {
+			long key = key(state, stroke);
+
+			for (int index = index(key); keys[index] != 0; index = (index + 1) & mask) {
+				if (keys[index] == key) {
+					return targets[index];
+				}
+			}
+
+			return -1;
+		}
+
+		private int index(long key) {
+			key *= 0x9E3779B97F4A7C15L;
+
+			return (int) (key ^ (key >>> 32)) & mask;
+		}
+
+		/**
+		 * Strokes always contain a key code, so a transition key is never 0.
+		 */
+		private static long key(int state, int stroke) {
+			return ((long) state << 32) | (stroke & 0xFFFFFFFFL);
+		}
+	}
+}
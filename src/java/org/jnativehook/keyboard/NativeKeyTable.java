@@ -0,0 +1,362 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.keyboard;
+
+// Imports.
+import java.awt.Toolkit;
+import java.awt.event.KeyEvent;
+
+/**
+ * Precomputed translation table for native virtual key codes.  Each known key is described once by its
+ * <code>VC_</code> code, the matching AWT <code>VK_</code> code, its display text and whether it is an action key.
+ * Lookups in either direction are two array indexes into pages of 256 keys, and pages that contain no known keys are
+ * never allocated.
+ * <p>
+ *
+ * The display text is resolved with <code>Toolkit.getProperty</code> the first time it is requested and cached for
+ * all later calls.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeKeyEvent#getKeyText(int)
+ * @see NativeKeyEvent#isActionKey()
+ * @see SwingKeyAdapter
+ */
+final class NativeKeyTable {
+	/** The number of low order key code bits used to index a page. */
+	private static final int PAGE_BITS = 8;
+
+	private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+	/** Known keys indexed by native virtual key code. */
+	private static final Key[][] nativeKeys = new Key[PAGE_SIZE][];
+
+	/** Known keys indexed by AWT virtual key code. */
+	private static final Key[][] javaKeys = new Key[PAGE_SIZE][];
+
+	/**
+	 * A single row of the key table.
+	 */
+	private static final class Key {
+		private final int keyCode;
+		private final int javaKeyCode;
+		private final String property;
+		private final String defaultText;
+		private final boolean actionKey;
+
+		/**
+		 * The resolved display text.  Strings are immutable, so racing threads can at worst resolve the same text
+		 * twice.
+		 */
+		private String text;
+
+		private Key(int keyCode, int javaKeyCode, String property, String defaultText, boolean actionKey) {
+			this.keyCode = keyCode;
+			this.javaKeyCode = javaKeyCode;
+			this.property = property;
+			this.defaultText = defaultText;
+			this.actionKey = actionKey;
+		}
+	}
+
+	static {
+		add(NativeKeyEvent.VC_ESCAPE, KeyEvent.VK_ESCAPE, "AWT.escape", "Escape", false);
+
+		// Begin Function Keys
+		add(NativeKeyEvent.VC_F1, KeyEvent.VK_F1, "AWT.f1", "F1", true);
+		add(NativeKeyEvent.VC_F2, KeyEvent.VK_F2, "AWT.f2", "F2", true);
+		add(NativeKeyEvent.VC_F3, KeyEvent.VK_F3, "AWT.f3", "F3", true);
+		add(NativeKeyEvent.VC_F4, KeyEvent.VK_F4, "AWT.f4", "F4", true);
+		add(NativeKeyEvent.VC_F5, KeyEvent.VK_F5, "AWT.f5", "F5", true);
+		add(NativeKeyEvent.VC_F6, KeyEvent.VK_F6, "AWT.f6", "F6", true);
+		add(NativeKeyEvent.VC_F7, KeyEvent.VK_F7, "AWT.f7", "F7", true);
+		add(NativeKeyEvent.VC_F8, KeyEvent.VK_F8, "AWT.f8", "F8", true);
+		add(NativeKeyEvent.VC_F9, KeyEvent.VK_F9, "AWT.f9", "F9", true);
+		add(NativeKeyEvent.VC_F10, KeyEvent.VK_F10, "AWT.f10", "F10", true);
+		add(NativeKeyEvent.VC_F11, KeyEvent.VK_F11, "AWT.f11", "F11", true);
+		add(NativeKeyEvent.VC_F12, KeyEvent.VK_F12, "AWT.f12", "F12", true);
+		add(NativeKeyEvent.VC_F13, KeyEvent.VK_F13, "AWT.f13", "F13", true);
+		add(NativeKeyEvent.VC_F14, KeyEvent.VK_F14, "AWT.f14", "F14", true);
+		add(NativeKeyEvent.VC_F15, KeyEvent.VK_F15, "AWT.f15", "F15", true);
+		add(NativeKeyEvent.VC_F16, KeyEvent.VK_F16, "AWT.f16", "F16", true);
+		add(NativeKeyEvent.VC_F17, KeyEvent.VK_F17, "AWT.f17", "F17", true);
+		add(NativeKeyEvent.VC_F18, KeyEvent.VK_F18, "AWT.f18", "F18", true);
+		add(NativeKeyEvent.VC_F19, KeyEvent.VK_F19, "AWT.f19", "F19", true);
+		add(NativeKeyEvent.VC_F20, KeyEvent.VK_F20, "AWT.f20", "F20", true);
+		add(NativeKeyEvent.VC_F21, KeyEvent.VK_F21, "AWT.f21", "F21", true);
+		add(NativeKeyEvent.VC_F22, KeyEvent.VK_F22, "AWT.f22", "F22", true);
+		add(NativeKeyEvent.VC_F23, KeyEvent.VK_F23, "AWT.f23", "F23", true);
+		add(NativeKeyEvent.VC_F24, KeyEvent.VK_F24, "AWT.f24", "F24", true);
+		// End Function Keys
+
+		// Begin Alphanumeric Zone
+		add(NativeKeyEvent.VC_BACKQUOTE, KeyEvent.VK_BACK_QUOTE, "AWT.backQuote", "Back Quote", false);
+		add(NativeKeyEvent.VC_1, KeyEvent.VK_1, null, "1", false);
+		add(NativeKeyEvent.VC_2, KeyEvent.VK_2, null, "2", false);
+		add(NativeKeyEvent.VC_3, KeyEvent.VK_3, null, "3", false);
+		add(NativeKeyEvent.VC_4, KeyEvent.VK_4, null, "4", false);
+		add(NativeKeyEvent.VC_5, KeyEvent.VK_5, null, "5", false);
+		add(NativeKeyEvent.VC_6, KeyEvent.VK_6, null, "6", false);
+		add(NativeKeyEvent.VC_7, KeyEvent.VK_7, null, "7", false);
+		add(NativeKeyEvent.VC_8, KeyEvent.VK_8, null, "8", false);
+		add(NativeKeyEvent.VC_9, KeyEvent.VK_9, null, "9", false);
+		add(NativeKeyEvent.VC_0, KeyEvent.VK_0, null, "0", false);
+		add(NativeKeyEvent.VC_MINUS, KeyEvent.VK_MINUS, "AWT.minus", "Minus", false);
+		add(NativeKeyEvent.VC_EQUALS, KeyEvent.VK_EQUALS, "AWT.equals", "Equals", false);
+		add(NativeKeyEvent.VC_BACKSPACE, KeyEvent.VK_BACK_SPACE, "AWT.backSpace", "Backspace", false);
+		add(NativeKeyEvent.VC_TAB, KeyEvent.VK_TAB, "AWT.tab", "Tab", false);
+		add(NativeKeyEvent.VC_CAPS_LOCK, KeyEvent.VK_CAPS_LOCK, "AWT.capsLock", "Caps Lock", true);
+		add(NativeKeyEvent.VC_A, KeyEvent.VK_A, null, "A", false);
+		add(NativeKeyEvent.VC_B, KeyEvent.VK_B, null, "B", false);
+		add(NativeKeyEvent.VC_C, KeyEvent.VK_C, null, "C", false);
+		add(NativeKeyEvent.VC_D, KeyEvent.VK_D, null, "D", false);
+		add(NativeKeyEvent.VC_E, KeyEvent.VK_E, null, "E", false);
+		add(NativeKeyEvent.VC_F, KeyEvent.VK_F, null, "F", false);
+		add(NativeKeyEvent.VC_G, KeyEvent.VK_G, null, "G", false);
+		add(NativeKeyEvent.VC_H, KeyEvent.VK_H, null, "H", false);
+		add(NativeKeyEvent.VC_I, KeyEvent.VK_I, null, "I", false);
+		add(NativeKeyEvent.VC_J, KeyEvent.VK_J, null, "J", false);
+		add(NativeKeyEvent.VC_K, KeyEvent.VK_K, null, "K", false);
+		add(NativeKeyEvent.VC_L, KeyEvent.VK_L, null, "L", false);
+		add(NativeKeyEvent.VC_M, KeyEvent.VK_M, null, "M", false);
+		add(NativeKeyEvent.VC_N, KeyEvent.VK_N, null, "N", false);
+		add(NativeKeyEvent.VC_O, KeyEvent.VK_O, null, "O", false);
+		add(NativeKeyEvent.VC_P, KeyEvent.VK_P, null, "P", false);
+		add(NativeKeyEvent.VC_Q, KeyEvent.VK_Q, null, "Q", false);
+		add(NativeKeyEvent.VC_R, KeyEvent.VK_R, null, "R", false);
+		add(NativeKeyEvent.VC_S, KeyEvent.VK_S, null, "S", false);
+		add(NativeKeyEvent.VC_T, KeyEvent.VK_T, null, "T", false);
+		add(NativeKeyEvent.VC_U, KeyEvent.VK_U, null, "U", false);
+		add(NativeKeyEvent.VC_V, KeyEvent.VK_V, null, "V", false);
+		add(NativeKeyEvent.VC_W, KeyEvent.VK_W, null, "W", false);
+		add(NativeKeyEvent.VC_X, KeyEvent.VK_X, null, "X", false);
+		add(NativeKeyEvent.VC_Y, KeyEvent.VK_Y, null, "Y", false);
+		add(NativeKeyEvent.VC_Z, KeyEvent.VK_Z, null, "Z", false);
+		add(NativeKeyEvent.VC_OPEN_BRACKET, KeyEvent.VK_OPEN_BRACKET, "AWT.openBracket", "Open Bracket", false);
+		add(NativeKeyEvent.VC_CLOSE_BRACKET, KeyEvent.VK_CLOSE_BRACKET, "AWT.closeBracket", "Close Bracket", false);
+		add(NativeKeyEvent.VC_BACK_SLASH, KeyEvent.VK_BACK_SLASH, "AWT.backSlash", "Back Slash", false);
+		add(NativeKeyEvent.VC_SEMICOLON, KeyEvent.VK_SEMICOLON, "AWT.semicolon", "Semicolon", false);
+		add(NativeKeyEvent.VC_QUOTE, KeyEvent.VK_QUOTE, "AWT.quote", "Quote", false);
+		add(NativeKeyEvent.VC_ENTER, KeyEvent.VK_ENTER, "AWT.enter", "Enter", false);
+		add(NativeKeyEvent.VC_COMMA, KeyEvent.VK_COMMA, "AWT.comma", "Comma", false);
+		add(NativeKeyEvent.VC_PERIOD, KeyEvent.VK_PERIOD, "AWT.period", "Period", false);
+		add(NativeKeyEvent.VC_SLASH, KeyEvent.VK_SLASH, "AWT.slash", "Slash", false);
+		add(NativeKeyEvent.VC_SPACE, KeyEvent.VK_SPACE, "AWT.space", "Space", false);
+		// End Alphanumeric Zone
+
+		add(NativeKeyEvent.VC_PRINTSCREEN, KeyEvent.VK_PRINTSCREEN, "AWT.printScreen", "Print Screen", true);
+		add(NativeKeyEvent.VC_SCROLL_LOCK, KeyEvent.VK_SCROLL_LOCK, "AWT.scrollLock", "Scroll Lock", true);
+		add(NativeKeyEvent.VC_PAUSE, KeyEvent.VK_PAUSE, "AWT.pause", "Pause", false);
+
+		// Begin Edit Key Zone
+		add(NativeKeyEvent.VC_INSERT, KeyEvent.VK_INSERT, "AWT.insert", "Insert", true);
+		add(NativeKeyEvent.VC_DELETE, KeyEvent.VK_DELETE, "AWT.delete", "Delete", false);
+		add(NativeKeyEvent.VC_HOME, KeyEvent.VK_HOME, "AWT.home", "Home", true);
+		add(NativeKeyEvent.VC_END, KeyEvent.VK_END, "AWT.end", "End", true);
+		add(NativeKeyEvent.VC_PAGE_UP, KeyEvent.VK_PAGE_UP, "AWT.pgup", "Page Up", true);
+		add(NativeKeyEvent.VC_PAGE_DOWN, KeyEvent.VK_PAGE_DOWN, "AWT.pgdn", "Page Down", true);
+		// End Edit Key Zone
+
+		// Begin Cursor Key Zone
+		add(NativeKeyEvent.VC_UP, KeyEvent.VK_UP, "AWT.up", "Up", true);
+		add(NativeKeyEvent.VC_LEFT, KeyEvent.VK_LEFT, "AWT.left", "Left", true);
+		add(NativeKeyEvent.VC_CLEAR, KeyEvent.VK_CLEAR, "AWT.clear", "Clear", true);
+		add(NativeKeyEvent.VC_RIGHT, KeyEvent.VK_RIGHT, "AWT.right", "Right", true);
+		add(NativeKeyEvent.VC_DOWN, KeyEvent.VK_DOWN, "AWT.down", "Down", true);
+		// End Cursor Key Zone
+
+		// Begin Numeric Zone
+		add(NativeKeyEvent.VC_NUM_LOCK, KeyEvent.VK_NUM_LOCK, "AWT.numLock", "Num Lock", true);
+		add(NativeKeyEvent.VC_SEPARATOR, KeyEvent.VK_SEPARATOR, "AWT.separator", "NumPad ,", false);
+		// End Numeric Zone
+
+		// Begin Modifier and Control Keys
+		add(NativeKeyEvent.VC_SHIFT, KeyEvent.VK_SHIFT, "AWT.shift", "Shift", true);
+		add(NativeKeyEvent.VC_CONTROL, KeyEvent.VK_CONTROL, "AWT.control", "Control", true);
+		add(NativeKeyEvent.VC_ALT, KeyEvent.VK_ALT, "AWT.alt", "Alt", true);
+		add(NativeKeyEvent.VC_META, KeyEvent.VK_META, "AWT.meta", "Meta", true);
+		add(NativeKeyEvent.VC_CONTEXT_MENU, KeyEvent.VK_CONTEXT_MENU, "AWT.context", "Context Menu", true);
+		// End Modifier and Control Keys
+
+		// Begin Media Control Keys
+		add(NativeKeyEvent.VC_POWER, KeyEvent.VK_UNDEFINED, "AWT.power", "Power", true);
+		add(NativeKeyEvent.VC_SLEEP, KeyEvent.VK_UNDEFINED, "AWT.sleep", "Sleep", true);
+		add(NativeKeyEvent.VC_WAKE, KeyEvent.VK_UNDEFINED, "AWT.wake", "Wake", true);
+		add(NativeKeyEvent.VC_MEDIA_PLAY, KeyEvent.VK_UNDEFINED, "AWT.play", "Play", true);
+		add(NativeKeyEvent.VC_MEDIA_STOP, KeyEvent.VK_UNDEFINED, "AWT.stop", "Stop", true);
+		add(NativeKeyEvent.VC_MEDIA_PREVIOUS, KeyEvent.VK_UNDEFINED, "AWT.previous", "Previous", true);
+		add(NativeKeyEvent.VC_MEDIA_NEXT, KeyEvent.VK_UNDEFINED, "AWT.next", "Next", true);
+		add(NativeKeyEvent.VC_MEDIA_SELECT, KeyEvent.VK_UNDEFINED, "AWT.select", "Select", true);
+		add(NativeKeyEvent.VC_MEDIA_EJECT, KeyEvent.VK_UNDEFINED, "AWT.eject", "Eject", true);
+		add(NativeKeyEvent.VC_VOLUME_MUTE, KeyEvent.VK_UNDEFINED, "AWT.mute", "Mute", true);
+		add(NativeKeyEvent.VC_VOLUME_UP, KeyEvent.VK_UNDEFINED, "AWT.volup", "Volume Up", true);
+		add(NativeKeyEvent.VC_VOLUME_DOWN, KeyEvent.VK_UNDEFINED, "AWT.voldn", "Volume Down", true);
+		add(NativeKeyEvent.VC_APP_MAIL, KeyEvent.VK_UNDEFINED, "AWT.app_mail", "App Mail", true);
+		add(NativeKeyEvent.VC_APP_CALCULATOR, KeyEvent.VK_UNDEFINED, "AWT.app_calculator", "App Calculator", true);
+		add(NativeKeyEvent.VC_APP_MUSIC, KeyEvent.VK_UNDEFINED, "AWT.app_music", "App Music", true);
+		add(NativeKeyEvent.VC_APP_PICTURES, KeyEvent.VK_UNDEFINED, "AWT.app_pictures", "App Pictures", true);
+		add(NativeKeyEvent.VC_BROWSER_SEARCH, KeyEvent.VK_UNDEFINED, "AWT.search", "Browser Search", true);
+		add(NativeKeyEvent.VC_BROWSER_HOME, KeyEvent.VK_UNDEFINED, "AWT.homepage", "Browser Home", true);
+		add(NativeKeyEvent.VC_BROWSER_BACK, KeyEvent.VK_UNDEFINED, "AWT.back", "Browser Back", true);
+		add(NativeKeyEvent.VC_BROWSER_FORWARD, KeyEvent.VK_UNDEFINED, "AWT.forward", "Browser Forward", true);
+		add(NativeKeyEvent.VC_BROWSER_STOP, KeyEvent.VK_UNDEFINED, "AWT.stop", "Browser Stop", true);
+		add(NativeKeyEvent.VC_BROWSER_REFRESH, KeyEvent.VK_UNDEFINED, "AWT.refresh", "Browser Refresh", true);
+		add(NativeKeyEvent.VC_BROWSER_FAVORITES, KeyEvent.VK_UNDEFINED, "AWT.favorites", "Browser Favorites", true);
+		// End Media Control Keys
+
+		// Begin Japanese Language Keys
+		add(NativeKeyEvent.VC_KATAKANA, KeyEvent.VK_KATAKANA, "AWT.katakana", "Katakana", true);
+		add(NativeKeyEvent.VC_UNDERSCORE, KeyEvent.VK_UNDERSCORE, "AWT.underscore", "Underscore", false);
+		add(NativeKeyEvent.VC_FURIGANA, KeyEvent.VK_UNDEFINED, "AWT.furigana", "Furigana", true);
+		add(NativeKeyEvent.VC_KANJI, KeyEvent.VK_KANJI, "AWT.kanji", "Kanji", true);
+		add(NativeKeyEvent.VC_HIRAGANA, KeyEvent.VK_HIRAGANA, "AWT.hiragana", "Hiragana", true);
+		add(NativeKeyEvent.VC_YEN, KeyEvent.VK_UNDEFINED, "AWT.yen", Character.toString((char) 0x00A5), false);
+		// End Japanese Language Keys
+
+		// Begin Sun keyboards
+		add(NativeKeyEvent.VC_SUN_HELP, KeyEvent.VK_HELP, "AWT.sun_help", "Sun Help", true);
+		add(NativeKeyEvent.VC_SUN_STOP, KeyEvent.VK_STOP, "AWT.sun_stop", "Sun Stop", true);
+		add(NativeKeyEvent.VC_SUN_PROPS, KeyEvent.VK_PROPS, "AWT.sun_props", "Sun Props", true);
+		add(NativeKeyEvent.VC_SUN_FRONT, KeyEvent.VK_UNDEFINED, "AWT.sun_front", "Sun Front", true);
+		add(NativeKeyEvent.VC_SUN_OPEN, KeyEvent.VK_UNDEFINED, "AWT.sun_open", "Sun Open", true);
+		add(NativeKeyEvent.VC_SUN_FIND, KeyEvent.VK_FIND, "AWT.sun_find", "Sun Find", true);
+		add(NativeKeyEvent.VC_SUN_AGAIN, KeyEvent.VK_AGAIN, "AWT.sun_again", "Sun Again", true);
+		add(NativeKeyEvent.VC_SUN_UNDO, KeyEvent.VK_UNDEFINED, null, null, true);
+		add(NativeKeyEvent.VC_SUN_COPY, KeyEvent.VK_COPY, "AWT.sun_copy", "Sun Copy", true);
+		add(NativeKeyEvent.VC_SUN_INSERT, KeyEvent.VK_UNDEFINED, "AWT.sun_insert", "Sun Insert", true);
+		add(NativeKeyEvent.VC_SUN_CUT, KeyEvent.VK_CUT, "AWT.sun_cut", "Sun Cut", true);
+		// End Sun keyboards
+
+		add(NativeKeyEvent.VC_UNDEFINED, KeyEvent.VK_UNDEFINED, "AWT.undefined", "Undefined", false);
+	}
+
+	private NativeKeyTable() {
+	}
+
+	/**
+	 * Adds a key to the table.
+	 *
+	 * @param keyCode the native virtual key code.
+	 * @param javaKeyCode the AWT virtual key code, or <code>VK_UNDEFINED</code> if there is none.
+	 * @param property the awt.properties key of the display text, or null if the text is not localized.
+	 * @param defaultText the display text used when the property is not set, or null if the key has no text.
+	 * @param actionKey true if the key is an action key.
+	 */
+	private static void add(int keyCode, int javaKeyCode, String property, String defaultText, boolean actionKey) {
+		Key key = new Key(keyCode, javaKeyCode, property, defaultText, actionKey);
+		put(nativeKeys, keyCode, key);
+
+		if (javaKeyCode != KeyEvent.VK_UNDEFINED && get(javaKeys, javaKeyCode) == null) {
+			put(javaKeys, javaKeyCode, key);
+		}
+	}
+
+	private static void put(Key[][] table, int code, Key key) {
+		Key[] page = table[code >>> PAGE_BITS];
+		if (page == null) {
+			page = new Key[PAGE_SIZE];
+			table[code >>> PAGE_BITS] = page;
+		}
+
+		page[code & (PAGE_SIZE - 1)] = key;
+	}
+
+	private static Key get(Key[][] table, int code) {
+		if (code < 0 || code >= PAGE_SIZE * PAGE_SIZE) {
+			return null;
+		}
+
+		Key[] page = table[code >>> PAGE_BITS];
+		return page != null ? page[code & (PAGE_SIZE - 1)] : null;
+	}
+
+	/**
+	 * Returns the display text for a native virtual key code.
+	 *
+	 * @param keyCode the native virtual key code.
+	 * @return the display text of the key.
+	 * @see NativeKeyEvent#getKeyText(int)
+	 */
+	static String getKeyText(int keyCode) {
+		Key key = get(nativeKeys, keyCode);
+		if (key == null) {
+			return getUnknownText(keyCode);
+		}
+
+		String text = key.text;
+		if (text == null) {
+			if (key.defaultText == null) {
+				text = getUnknownText(keyCode);
+			}
+			else if (key.property == null) {
+				text = key.defaultText;
+			}
+			else {
+				text = Toolkit.getProperty(key.property, key.defaultText);
+			}
+
+			key.text = text;
+		}
+
+		return text;
+	}
+
+	private static String getUnknownText(int keyCode) {
+		return Toolkit.getProperty("AWT.unknown", "Unknown") +
+				" keyCode: 0x" + Integer.toString(keyCode, 16);
+	}
+
+	/**
+	 * Determine if a native virtual key code is an action key.
+	 *
+	 * @param keyCode the native virtual key code.
+	 * @return true if the key is an action key.
+	 * @see NativeKeyEvent#isActionKey()
+	 */
+	static boolean isActionKey(int keyCode) {
+		Key key = get(nativeKeys, keyCode);
+
+		return key != null && key.actionKey;
+	}
+
+	/**
+	 * Converts a native virtual key code to the matching AWT virtual key code.
+	 *
+	 * @param keyCode the native virtual key code.
+	 * @return the AWT virtual key code, or <code>KeyEvent.VK_UNDEFINED</code> if there is none.
+	 */
+	static int getJavaKeyCode(int keyCode) {
+		Key key = get(nativeKeys, keyCode);
+
+		return key != null ? key.javaKeyCode : KeyEvent.VK_UNDEFINED;
+	}
+
+	/**
+	 * Converts an AWT virtual key code to the matching native virtual key code.
+	 *
+	 * @param javaKeyCode the AWT virtual key code.
+	 * @return the native virtual key code, or <code>NativeKeyEvent.VC_UNDEFINED</code> if there is none.
+	 */
+	static int getNativeKeyCode(int javaKeyCode) {
+		Key key = get(javaKeys, javaKeyCode);
+
+		return key != null ? key.keyCode : NativeKeyEvent.VC_UNDEFINED;
+	}
+}
@@ -0,0 +1,224 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.mouse;
+
+/**
+ * A named mouse gesture template.  The path of a template is resampled to a fixed number of equidistant points,
+ * translated so that its centroid is at the origin and scaled uniformly so that its larger dimension is one.  The
+ * orientation and direction of the path are kept, so a swipe to the left does not match a swipe to the right.
+ * <p>
+ *
+ * Templates are immutable and may be shared between recognizers.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeGestureRecognizer
+ */
+public final class NativeGesture {
+	/** The number of points every path is resampled to before it is compared. */
+	static final int POINT_COUNT = 32;
+
+	/** A horizontal stroke to the left. */
+	public static final NativeGesture SWIPE_LEFT = new NativeGesture("Swipe Left", new int[] { 100, 0 }, new int[] { 0, 0 });
+
+	/** A horizontal stroke to the right. */
+	public static final NativeGesture SWIPE_RIGHT = new NativeGesture("Swipe Right", new int[] { 0, 100 }, new int[] { 0, 0 });
+
+	/** A vertical stroke towards the top of the screen. */
+	public static final NativeGesture SWIPE_UP = new NativeGesture("Swipe Up", new int[] { 0, 0 }, new int[] { 100, 0 });
+
+	/** A vertical stroke towards the bottom of the screen. */
+	public static final NativeGesture SWIPE_DOWN = new NativeGesture("Swipe Down", new int[] { 0, 0 }, new int[] { 0, 100 });
+
+	/** A full circle drawn clockwise on the screen, starting at the top. */
+	public static final NativeGesture CIRCLE_CLOCKWISE = createCircle("Circle Clockwise", 1);
+
+	/** A full circle drawn counterclockwise on the screen, starting at the top. */
+	public static final NativeGesture CIRCLE_COUNTERCLOCKWISE = createCircle("Circle Counterclockwise", -1);
+
+	private final String name;
+
+	/** The normalized template points. */
+	private final float[] x = new float[POINT_COUNT];
+	private final float[] y = new float[POINT_COUNT];
+
+	/**
+	 * Instantiates a new gesture template from the points of a path in screen coordinates.
+	 *
+	 * @param name the name of the gesture.
+	 * @param x the horizontal coordinates of the path.
+	 * @param y the vertical coordinates of the path.
+	 * @throws IllegalArgumentException if the path has less than two points or no length.
+	 */
+	public NativeGesture(String name, int[] x, int[] y) {
+		if (name == null) {
+			throw new NullPointerException("Gesture name cannot be null");
+		}
+
+		if (x.length != y.length || x.length < 2) {
+			throw new IllegalArgumentException("A gesture requires at least two points");
+		}
+
+		float[] pathX = new float[x.length];
+		float[] pathY = new float[y.length];
+		for (int i = 0; i < x.length; i++) {
+			pathX[i] = x[i];
+			pathY[i] = y[i];
+		}
+
+		if (!resample(pathX, pathY, pathX.length, this.x, this.y)) {
+			throw new IllegalArgumentException("A gesture path must have a length");
+		}
+		normalize(this.x, this.y);
+
+		this.name = name;
+	}
+
+	/**
+	 * Returns the name of the gesture.
+	 *
+	 * @return the gesture name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns how closely the normalized points match this template.
+	 *
+	 * @param pointX the normalized horizontal coordinates.
+	 * @param pointY the normalized vertical coordinates.
+	 * @return a score between 0 for no similarity and 1 for an exact match.
+	 */
+	float score(float[] pointX, float[] pointY) {
+		double distance = 0;
+
+		for (int i = 0; i < POINT_COUNT; i++) {
+			float dx = pointX[i] - x[i];
+			float dy = pointY[i] - y[i];
+
+			distance += Math.sqrt(dx * dx + dy * dy);
+		}
+
+		// Half the diagonal of the unit square is the largest meaningful average distance.
+		return (float) Math.max(0, 1 - (distance / POINT_COUNT) / (0.5 * Math.sqrt(2)));
+	}
+
+	/**
+	 * Resample a polyline to {@link #POINT_COUNT} points spaced equally along its length.
+	 *
+	 * @param pathX the horizontal coordinates of the polyline.
+	 * @param pathY the vertical coordinates of the polyline.
+	 * @param count the number of polyline points.
+	 * @param pointX receives the horizontal coordinates of the resampled points.
+	 * @param pointY receives the vertical coordinates of the resampled points.
+	 * @return false if the polyline has no length.
+	 */
+	static boolean resample(float[] pathX, float[] pathY, int count, float[] pointX, float[] pointY) {
+		double length = 0;
+		for (int i = 1; i < count; i++) {
+			length += Math.hypot(pathX[i] - pathX[i - 1], pathY[i] - pathY[i - 1]);
+		}
+
+		if (length <= 0) {
+			return false;
+		}
+
+		double interval = length / (POINT_COUNT - 1);
+		double walked = 0;
+		int segment = 1;
+		double segmentStart = 0;
+		double segmentLength = Math.hypot(pathX[1] - pathX[0], pathY[1] - pathY[0]);
+
+		for (int i = 0; i < POINT_COUNT - 1; i++) {
+			while (segment < count - 1 && segmentStart + segmentLength < walked) {
+				segmentStart += segmentLength;
+				segment++;
+				segmentLength = Math.hypot(pathX[segment] - pathX[segment - 1], pathY[segment] - pathY[segment - 1]);
+			}
+
+			double t = segmentLength > 0 ? Math.min(1, (walked - segmentStart) / segmentLength) : 0;
+			pointX[i] = (float) (pathX[segment - 1] + t * (pathX[segment] - pathX[segment - 1]));
+			pointY[i] = (float) (pathY[segment - 1] + t * (pathY[segment] - pathY[segment - 1]));
+
+			walked += interval;
+		}
+
+		// Rounding must not move the end of the path.
+		pointX[POINT_COUNT - 1] = pathX[count - 1];
+		pointY[POINT_COUNT - 1] = pathY[count - 1];
+
+		return true;
+	}
+
+	/**
+	 * Move the centroid of the points to the origin and scale them uniformly to a unit bounding box.
+	 *
+	 * @param pointX the horizontal coordinates.
+	 * @param pointY the vertical coordinates.
+	 */
+	static void normalize(float[] pointX, float[] pointY) {
+		float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE;
+		float minY = Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+		float centerX = 0, centerY = 0;
+
+		for (int i = 0; i < POINT_COUNT; i++) {
+			minX = Math.min(minX, pointX[i]);
+			maxX = Math.max(maxX, pointX[i]);
+			minY = Math.min(minY, pointY[i]);
+			maxY = Math.max(maxY, pointY[i]);
+
+			centerX += pointX[i];
+			centerY += pointY[i];
+		}
+
+		centerX /= POINT_COUNT;
+		centerY /= POINT_COUNT;
+
+		float size = Math.max(maxX - minX, maxY - minY);
+		if (size <= 0) {
+			size = 1;
+		}
+
+		for (int i = 0; i < POINT_COUNT; i++) {
+			pointX[i] = (pointX[i] - centerX) / size;
+			pointY[i] = (pointY[i] - centerY) / size;
+		}
+	}
+
+	private static NativeGesture createCircle(String name, int direction) {
+		int[] x = new int[65];
+		int[] y = new int[65];
+
+		for (int i = 0; i < x.length; i++) {
+			double angle = direction * 2 * Math.PI * i / (x.length - 1);
+
+			// Screen coordinates grow downwards, so a positive angle turns clockwise.
+			x[i] = (int) Math.round(1000 * Math.sin(angle));
+			y[i] = (int) Math.round(-1000 * Math.cos(angle));
+		}
+
+		return new NativeGesture(name, x, y);
+	}
+
+	public String toString() {
+		return name;
+	}
+}
@@ -0,0 +1,324 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.mouse;
+
+// Imports.
+import org.jnativehook.EventListenerRegistry;
+import org.jnativehook.NonRetainingListener;
+
+/**
+ * Recognizes mouse gestures drawn while a mouse button is held down.  The recognizer is registered as a mouse and
+ * mouse motion listener and compares the path of every drag with the registered gesture templates when the button
+ * is released.  The best matching template is reported to the gesture listeners if its score reaches the
+ * recognition threshold.
+ * <p>
+ *
+ * The path is resampled while it is drawn.  Each dragged event only appends the points that fall on a fixed
+ * spacing along the path into a small preallocated buffer.  When the buffer is full, every other point is dropped
+ * and the spacing is doubled, so the memory used does not depend on the length of the drag or the polling rate of
+ * the mouse.  Neither drawing nor recognizing a gesture allocates.
+ * <p>
+ *
+ * The recognizer keeps the state of the current drag and must only be registered once.  Templates and listeners
+ * may be added and removed from any thread.
+ *
+ * @author	Alexander Barker (<a href="mailto:alex@1stleg.com">alex@1stleg.com</a>)
+ * @version	2.1
+ * @since	2.1
+ *
+ * @see NativeGesture
+ */
+public class NativeGestureRecognizer implements NativeMouseInputListener, NonRetainingListener {
+	/** The default minimum length of a gesture in pixels. */
+	public static final int DEFAULT_MINIMUM_LENGTH = 30;
+
+	/** The default minimum score of a recognized gesture. */
+	public static final float DEFAULT_THRESHOLD = 0.8f;
+
+	/** The number of path points kept while the gesture is drawn. */
+	private static final int PATH_CAPACITY = 64;
+
+	/** The initial distance between path points in pixels. */
+	private static final float INITIAL_SPACING = 2;
+
+	/** The mouse button used to draw gestures. */
+	private final int button;
+
+	private final EventListenerRegistry listeners = new EventListenerRegistry();
+
+	/** The registered gesture templates. */
+	private volatile NativeGesture[] gestures = new NativeGesture[0];
+
+	private volatile int minimumLength = DEFAULT_MINIMUM_LENGTH;
+
+	private volatile float threshold = DEFAULT_THRESHOLD;
+
+	// The following fields are only accessed by the thread delivering mouse events.
+
+	/** True while the gesture button is held down. */
+	private boolean drawing = false;
+
+	/** The resampled path points. */
+	private final float[] pathX = new float[PATH_CAPACITY];
+	private final float[] pathY = new float[PATH_CAPACITY];
+	private int pathCount = 0;
+
+	/** The current distance between path points. */
+	private float spacing;
+
+	/** The distance travelled since the last path point. */
+	private float residual;
+
+	/** The total length of the drag. */
+	private double length;
+
+	/** The last reported pointer position. */
+	private float lastX, lastY;
+
+	/** The normalized points compared with the templates. */
+	private final float[] pointX = new float[NativeGesture.POINT_COUNT];
+	private final float[] pointY = new float[NativeGesture.POINT_COUNT];
+
+	/**
+	 * Instantiates a new gesture recognizer.
+	 *
+	 * @param button the mouse button that is held down to draw a gesture, one of the
+	 * <code>NativeMouseEvent.BUTTON</code> constants.
+	 */
+	public NativeGestureRecognizer(int button) {
+		if (button <= NativeMouseEvent.NOBUTTON) {
+			throw new IllegalArgumentException("Invalid gesture button: " + button);
+		}
+
+		this.button = button;
+	}
+
+	/**
+	 * Adds a gesture template.
+	 *
+	 * @param gesture the gesture to recognize.
+	 */
+	public synchronized void addGesture(NativeGesture gesture) {
+		if (gesture == null) {
+			throw new NullPointerException();
+		}
+
+		NativeGesture[] updated = new NativeGesture[gestures.length + 1];
+		System.arraycopy(gestures, 0, updated, 0, gestures.length);
+		updated[gestures.length] = gesture;
+
+		gestures = updated;
+	}
+
+	/**
+	 * Removes a gesture template.  This method performs no function if the gesture was not added.
+	 *
+	 * @param gesture the gesture to remove.
+	 */
+	public synchronized void removeGesture(NativeGesture gesture) {
+		for (int i = 0; i < gestures.length; i++) {
+			if (gestures[i].equals(gesture)) {
+				NativeGesture[] updated = new NativeGesture[gestures.length - 1];
+				System.arraycopy(gestures, 0, updated, 0, i);
+				System.arraycopy(gestures, i + 1, updated, i, gestures.length - i - 1);
+
+				gestures = updated;
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Adds the specified gesture listener to receive recognized gestures.
+	 *
+	 * @param listener a gesture listener object.
+	 */
+	public void addNativeGestureListener(NativeGestureListener listener) {
+		listeners.add(NativeGestureListener.class, listener);
+	}
+
+	/**
+	 * Removes the specified gesture listener so that it no longer receives recognized gestures.
+	 *
+	 * @param listener a gesture listener object.
+	 */
+	public void removeNativeGestureListener(NativeGestureListener listener) {
+		listeners.remove(NativeGestureListener.class, listener);
+	}
+
+	/**
+	 * Set the minimum length of a drag in pixels.  Shorter drags are never recognized as a gesture.
+	 *
+	 * @param minimumLength the minimum path length.
+	 */
+	public void setMinimumLength(int minimumLength) {
+		this.minimumLength = minimumLength;
+	}
+
+	/**
+	 * Returns the minimum length of a drag in pixels.
+	 *
+	 * @return the minimum path length.
+	 */
+	public int getMinimumLength() {
+		return minimumLength;
+	}
+
+	/**
+	 * Set the minimum score a template must reach to be reported.
+	 *
+	 * @param threshold the minimum score, between 0 and 1.
+	 */
+	public void setThreshold(float threshold) {
+		if (threshold < 0 || threshold > 1) {
+			throw new IllegalArgumentException("Invalid recognition threshold: " + threshold);
+		}
+
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Returns the minimum score a template must reach to be reported.
+	 *
+	 * @return the minimum score.
+	 */
+	public float getThreshold() {
+		return threshold;
+	}
+
+	public void nativeMousePressed(NativeMouseEvent nativeEvent) {
+		if (nativeEvent.getButton() == button) {
+			drawing = true;
+			pathCount = 0;
+			spacing = INITIAL_SPACING;
+			residual = 0;
+			length = 0;
+
+			lastX = nativeEvent.getX();
+			lastY = nativeEvent.getY();
+			append(lastX, lastY);
+		}
+	}
+
+	public void nativeMouseDragged(NativeMouseEvent nativeEvent) {
+		if (drawing) {
+			moveTo(nativeEvent.getX(), nativeEvent.getY());
+		}
+	}
+
+	public void nativeMouseReleased(NativeMouseEvent nativeEvent) {
+		if (drawing && nativeEvent.getButton() == button) {
+			drawing = false;
+
+			moveTo(nativeEvent.getX(), nativeEvent.getY());
+			if (residual > 0) {
+				// The end of the path rarely falls on the spacing.
+				append(lastX, lastY);
+			}
+
+			if (length >= minimumLength) {
+				recognize(nativeEvent);
+			}
+		}
+	}
+
+	public void nativeMouseClicked(NativeMouseEvent nativeEvent) {
+		// Do Nothing.
+	}
+
+	public void nativeMouseMoved(NativeMouseEvent nativeEvent) {
+		// Do Nothing.
+	}
+
+	/**
+	 * Extend the path to the specified position, appending a point every time the path grows by the spacing.
+	 */
+	private void moveTo(float x, float y) {
+		float dx = x - lastX;
+		float dy = y - lastY;
+		float segment = (float) Math.sqrt(dx * dx + dy * dy);
+
+		if (segment <= 0) {
+			return;
+		}
+
+		length += segment;
+
+		float fromX = lastX, fromY = lastY;
+		float walked = spacing - residual;
+		while (walked <= segment) {
+			append(fromX + dx * walked / segment, fromY + dy * walked / segment);
+			walked += spacing;
+		}
+
+		residual = segment - (walked - spacing);
+		lastX = x;
+		lastY = y;
+	}
+
+	/**
+	 * Append a point to the path, halving the resolution of the path first if the buffer is full.
+	 */
+	private void append(float x, float y) {
+		if (pathCount == PATH_CAPACITY) {
+			// Keep the even points.  The dropped last point was one spacing away from the new point, so the new
+			// point is exactly one doubled spacing away from the last point kept.
+			for (int i = 1; i < PATH_CAPACITY / 2; i++) {
+				pathX[i] = pathX[i * 2];
+				pathY[i] = pathY[i * 2];
+			}
+
+			pathCount = PATH_CAPACITY / 2;
+			spacing *= 2;
+		}
+
+		pathX[pathCount] = x;
+		pathY[pathCount] = y;
+		pathCount++;
+	}
+
+	/**
+	 * Compare the completed path with every template and notify the listeners of the best match.
+	 */
+	private void recognize(NativeMouseEvent nativeEvent) {
+		if (pathCount < 2 || !NativeGesture.resample(pathX, pathY, pathCount, pointX, pointY)) {
+			return;
+		}
+		NativeGesture.normalize(pointX, pointY);
+
+		NativeGesture[] gestures = this.gestures;
+		NativeGesture best = null;
+		float bestScore = threshold;
+
+		for (int i = 0; i < gestures.length; i++) {
+			float score = gestures[i].score(pointX, pointY);
+
+			if (score >= bestScore) {
+				best = gestures[i];
+				bestScore = score;
+			}
+		}
+
+		if (best != null) {
+			NativeGestureListener[] current = listeners.getListeners(NativeGestureListener.class);
+			for (int i = 0; i < current.length; i++) {
+				current[i].nativeGestureRecognized(best, bestScore, nativeEvent);
+			}
+		}
+	}
+}
@@ -280,15 +280,14 @@ public class NativeMouseEvent extends NativeInputEvent {
 	}
 
 	/**
-	 * Returns a parameter string identifying the native event.
-	 * This method is useful for event-logging and debugging.
+	 * Appends a parameter string identifying the native event to the supplied
+	 * builder. This method is useful for event-logging and debugging.
 	 *
-	 * @return a string identifying the native event and its attributes.
+	 * @param param the builder to append to.
+	 * @return the supplied builder.
 	 */
 	@Override
-	public String paramString() {
-		StringBuilder param = new StringBuilder(255);
-
+	public StringBuilder appendParamString(StringBuilder param) {
 		switch(getID()) {
 			case NATIVE_MOUSE_CLICKED:
 				 param.append("NATIVE_MOUSE_CLICKED");
@@ -337,6 +336,6 @@ public class NativeMouseEvent extends NativeInputEvent {
 		param.append(",clickCount=");
 		param.append(getClickCount());
 
-		return param.toString();
+		return param;
 	}
 }
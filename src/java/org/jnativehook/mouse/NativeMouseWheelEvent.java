@@ -242,14 +242,15 @@ public class NativeMouseWheelEvent extends NativeMouseEvent {
 
 
 	/**
-	 * Returns a parameter string identifying the native event.
-	 * This method is useful for event-logging and debugging.
+	 * Appends a parameter string identifying the native event to the supplied
+	 * builder. This method is useful for event-logging and debugging.
 	 *
-	 * @return a string identifying the native event and its attributes.
+	 * @param param the builder to append to.
+	 * @return the supplied builder.
 	 */
 	@Override
-	public String  paramString() {
-		StringBuilder param = new StringBuilder(super.paramString());
+	public StringBuilder appendParamString(StringBuilder param) {
+		super.appendParamString(param);
 		param.append(",scrollType=");
 
 		switch(getScrollType()) {
@@ -287,6 +288,6 @@ public class NativeMouseWheelEvent extends NativeMouseEvent {
 				break;
 		}
 
-		return param.toString();
+		return param;
 	}
 }
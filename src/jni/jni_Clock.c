@@ -0,0 +1,69 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+#include <jni.h>
+
+#if defined(_WIN32)
+#include <windows.h>
+#elif defined(__APPLE__) && defined(__MACH__)
+#include <mach/mach_time.h>
+#else
+#include <time.h>
+#endif
+
+#include "jni_Clock.h"
+
+// Difference between System.nanoTime() and the native monotonic clock, calibrated by GlobalScreen.
+static jlong clock_offset = 0;
+
+jlong jni_GetNativeTime() {
+#if defined(_WIN32)
+	static LARGE_INTEGER frequency = { .QuadPart = 0 };
+	LARGE_INTEGER counter;
+
+	if (frequency.QuadPart == 0) {
+		QueryPerformanceFrequency(&frequency);
+	}
+	QueryPerformanceCounter(&counter);
+
+	// Split the conversion to avoid overflowing the intermediate result.
+	return (jlong) ((counter.QuadPart / frequency.QuadPart) * 1000000000LL
+			+ ((counter.QuadPart % frequency.QuadPart) * 1000000000LL) / frequency.QuadPart);
+#elif defined(__APPLE__) && defined(__MACH__)
+	static mach_timebase_info_data_t timebase = { .numer = 0, .denom = 0 };
+
+	if (timebase.denom == 0) {
+		mach_timebase_info(&timebase);
+	}
+
+	return (jlong) (mach_absolute_time() * timebase.numer / timebase.denom);
+#else
+	struct timespec now;
+	clock_gettime(CLOCK_MONOTONIC, &now);
+
+	return (jlong) now.tv_sec * 1000000000LL + (jlong) now.tv_nsec;
+#endif
+}
+
+void jni_SetClockOffset(jlong offset) {
+	__atomic_store_n(&clock_offset, offset, __ATOMIC_RELAXED);
+}
+
+jlong jni_GetCaptureTime() {
+	return jni_GetNativeTime() + __atomic_load_n(&clock_offset, __ATOMIC_RELAXED);
+}
@@ -20,43 +20,270 @@
 #include <stdbool.h>
 #include <uiohook.h>
 
+#include "jni_Clock.h"
 #include "jni_Converter.h"
 #include "jni_Errors.h"
+#include "jni_EventRing.h"
 #include "jni_Globals.h"
 #include "jni_Logger.h"
+#include "org_jnativehook_GlobalScreen.h"
 #include "org_jnativehook_NativeInputEvent.h"
 #include "org_jnativehook_keyboard_NativeKeyEvent.h"
 #include "org_jnativehook_mouse_NativeMouseEvent.h"
 #include "org_jnativehook_mouse_NativeMouseWheelEvent.h"
 
-// Simple function to notify() the hook thread.
-static inline void notifyHookThread(JNIEnv *env) {
+// Categories of events with at least one Java listener, set by GlobalScreen.
+static volatile jint event_mask = org_jnativehook_GlobalScreen_EVENT_MASK_ALL;
+
+// Categories of events delivered with event objects obtained from the Java event pool.
+static volatile jint recycle_mask = 0;
+
+void jni_SetEventMask(jint mask, jint recycle_mask_value) {
+	event_mask = mask;
+	recycle_mask = recycle_mask_value;
+}
+
+// Get the listener category of an event type, or 0 for hook control and unknown events.
+static inline jint getEventCategory(event_type type) {
+	switch (type) {
+		case EVENT_KEY_PRESSED:
+		case EVENT_KEY_RELEASED:
+		case EVENT_KEY_TYPED:
+			return org_jnativehook_GlobalScreen_EVENT_MASK_KEY;
+
+		case EVENT_MOUSE_PRESSED:
+		case EVENT_MOUSE_RELEASED:
+		case EVENT_MOUSE_CLICKED:
+			return org_jnativehook_GlobalScreen_EVENT_MASK_BUTTON;
+
+		case EVENT_MOUSE_MOVED:
+		case EVENT_MOUSE_DRAGGED:
+			return org_jnativehook_GlobalScreen_EVENT_MASK_MOTION;
+
+		case EVENT_MOUSE_WHEEL:
+			return org_jnativehook_GlobalScreen_EVENT_MASK_WHEEL;
+
+		default:
+			return 0;
+	}
+}
+
+// Check if anyone in Java is interested in events of this type.
+static inline bool isEventSubscribed(event_type type) {
+	jint category = getEventCategory(type);
+
+	// Hook control and unknown events are always handled.
+	return category == 0 || (event_mask & category) != 0;
+}
+
+// Take a recycled event object from the Java event pool and populate all of its fields.  Returns NULL if the event
+// type is not recycled or the pool is exhausted, in which case a new object must be created.
+static jobject obtainRecycledEvent(JNIEnv *env, uiohook_event * const event) {
+	jobject NativeInputEvent_obj;
+	jint id;
+	jint keycode = org_jnativehook_keyboard_NativeKeyEvent_VC_UNDEFINED;
+	jint location = org_jnativehook_keyboard_NativeKeyEvent_LOCATION_UNKNOWN;
+	switch (event->type) {
+		case EVENT_KEY_PRESSED:
+			id = org_jnativehook_keyboard_NativeKeyEvent_NATIVE_KEY_PRESSED;
+			break;
+
+		case EVENT_KEY_RELEASED:
+			id = org_jnativehook_keyboard_NativeKeyEvent_NATIVE_KEY_RELEASED;
+			break;
+
+		case EVENT_KEY_TYPED:
+			id = org_jnativehook_keyboard_NativeKeyEvent_NATIVE_KEY_TYPED;
+			break;
+
+		case EVENT_MOUSE_PRESSED:
+			id = org_jnativehook_mouse_NativeMouseEvent_NATIVE_MOUSE_PRESSED;
+			break;
+
+		case EVENT_MOUSE_RELEASED:
+			id = org_jnativehook_mouse_NativeMouseEvent_NATIVE_MOUSE_RELEASED;
+			break;
+
+		case EVENT_MOUSE_CLICKED:
+			id = org_jnativehook_mouse_NativeMouseEvent_NATIVE_MOUSE_CLICKED;
+			break;
+
+		case EVENT_MOUSE_MOVED:
+			id = org_jnativehook_mouse_NativeMouseEvent_NATIVE_MOUSE_MOVED;
+			break;
+
+		case EVENT_MOUSE_DRAGGED:
+			id = org_jnativehook_mouse_NativeMouseEvent_NATIVE_MOUSE_DRAGGED;
+			break;
+
+		case EVENT_MOUSE_WHEEL:
+			id = org_jnativehook_mouse_NativeMouseEvent_NATIVE_MOUSE_WHEEL;
+			break;
+
+		default:
+			return NULL;
+	}
+
+	if ((recycle_mask & getEventCategory(event->type)) == 0) {
+		return NULL;
+	}
+
+	if (event->type == EVENT_KEY_PRESSED || event->type == EVENT_KEY_RELEASED) {
+		// Convert a copy so the event passed back to the native hook is left untouched.  Keys that cannot be converted
+		// are checked before a pooled object is taken, and the allocation path drops them like any other event.
+		unsigned short int native_keycode = event->data.keyboard.keycode;
+		if (jni_ConvertToJavaLocation(&native_keycode, &location) != JNI_OK) {
+			return NULL;
+		}
+
+		keycode = (jint) native_keycode;
+	}
+
+	NativeInputEvent_obj = (*env)->CallStaticObjectMethod(
+			env,
+			org_jnativehook_GlobalScreen$NativeHookThread->cls,
+			org_jnativehook_GlobalScreen$NativeHookThread->obtainEvent,
+			id);
+
+	if ((*env)->ExceptionCheck(env) == JNI_TRUE) {
+		// Fall back to a new event object rather than dispatching with a pending exception.
+		(*env)->ExceptionDescribe(env);
+		(*env)->ExceptionClear(env);
+		return NULL;
+	}
+	else if (NativeInputEvent_obj == NULL) {
+		return NULL;
+	}
+
+	// The pooled object still holds the values of its previous use, so every field must be written.
+	(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_NativeInputEvent->id, id);
+	(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_NativeInputEvent->modifiers, (jint) event->mask);
+	(*env)->SetShortField(env, NativeInputEvent_obj, org_jnativehook_NativeInputEvent->reserved, (jshort) 0x00);
+
+	switch (event->type) {
+		case EVENT_KEY_PRESSED:
+		case EVENT_KEY_RELEASED:
+		case EVENT_KEY_TYPED: {
+			jchar keychar = org_jnativehook_keyboard_NativeKeyEvent_CHAR_UNDEFINED;
+			if (event->type == EVENT_KEY_TYPED) {
+				keychar = (jchar) event->data.keyboard.keychar;
+			}
+
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_keyboard_NativeKeyEvent->rawCode, (jint) event->data.keyboard.rawcode);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_keyboard_NativeKeyEvent->keyCode, keycode);
+			(*env)->SetCharField(env, NativeInputEvent_obj, org_jnativehook_keyboard_NativeKeyEvent->keyChar, keychar);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_keyboard_NativeKeyEvent->keyLocation, location);
+			break;
+		}
+
+		case EVENT_MOUSE_WHEEL:
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseEvent->x, (jint) event->data.wheel.x);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseEvent->y, (jint) event->data.wheel.y);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseEvent->clickCount, (jint) event->data.wheel.clicks);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseEvent->button, org_jnativehook_mouse_NativeMouseEvent_NOBUTTON);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseWheelEvent->scrollType, (jint) event->data.wheel.type);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseWheelEvent->scrollAmount, (jint) event->data.wheel.amount);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseWheelEvent->wheelRotation, (jint) event->data.wheel.rotation);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseWheelEvent->wheelDirection, (jint) event->data.wheel.direction);
+			break;
+
+		default:
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseEvent->x, (jint) event->data.mouse.x);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseEvent->y, (jint) event->data.mouse.y);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseEvent->clickCount, (jint) event->data.mouse.clicks);
+			(*env)->SetIntField(env, NativeInputEvent_obj, org_jnativehook_mouse_NativeMouseEvent->button, (jint) event->data.mouse.button);
+			break;
+	}
+
+	return NativeInputEvent_obj;
+}
+
+// Simple function to tell the hook thread that the hook was enabled or disabled.
+static inline void notifyHookThread(JNIEnv *env, jboolean enabled) {
 	jobject hookThread_obj = (*env)->GetStaticObjectField(
 			env,
-			java_lang_Object->cls,
+			org_jnativehook_GlobalScreen->cls,
 			org_jnativehook_GlobalScreen->hookThread);
 
 	if (hookThread_obj != NULL) {
-		(*env)->MonitorEnter(env, hookThread_obj);
+		// Completes the future returned by GlobalScreen.registerNativeHookAsync() without any polling.
 		(*env)->CallVoidMethod(
 				env,
 				hookThread_obj,
-				java_lang_Object->notify);
-		(*env)->MonitorExit(env, hookThread_obj);
+				org_jnativehook_GlobalScreen$NativeHookThread->hookStateChanged,
+				enabled);
+		(*env)->DeleteLocalRef(env, hookThread_obj);
 	}
 }
 
+// Stamp a populated event object, pass it to Java and copy the propagate flag back to the native event.
+static inline void dispatchNativeEvent(JNIEnv *env, uiohook_event * const event, jobject NativeInputEvent_obj, jlong capture_time) {
+	// Set the private when field to the native event time.
+	(*env)->SetLongField(
+			env,
+			NativeInputEvent_obj,
+			org_jnativehook_NativeInputEvent->when,
+			(jlong)	event->time);
+
+	// Set the private captureTime field used for latency tracking.
+	(*env)->SetLongField(
+			env,
+			NativeInputEvent_obj,
+			org_jnativehook_NativeInputEvent->captureTime,
+			capture_time);
+
+	// Dispatch the event.
+	(*env)->CallStaticVoidMethod(
+			env,
+			org_jnativehook_GlobalScreen$NativeHookThread->cls,
+			org_jnativehook_GlobalScreen$NativeHookThread->dispatchEvent,
+			NativeInputEvent_obj);
+
+	// Set the propagate flag from java.
+	event->reserved = (unsigned short) (*env)->GetShortField(
+			env,
+			NativeInputEvent_obj,
+			org_jnativehook_NativeInputEvent->reserved);
+
+	// Make sure our object is garbage collected.
+	(*env)->DeleteLocalRef(env, NativeInputEvent_obj);
+}
+
 // NOTE: This function executes on the hook thread!  If you need to block
 // please do so on another thread via your own event dispatcher.
 void jni_EventDispatcher(uiohook_event * const event) {
 	JNIEnv *env;
+	jlong capture_time;
+
+	// Drop events without listeners before doing any work in the JVM.
+	if (!isEventSubscribed(event->type)) {
+		return;
+	}
+
+	// Stamp the event as early as possible, in the System.nanoTime() domain.
+	capture_time = jni_GetCaptureTime();
+
+	// Events written to the shared ring never call into the JVM.
+	if (jni_WriteEventRing(event, capture_time)) {
+		return;
+	}
+
 	if ((*jvm)->GetEnv(jvm, (void **)(&env), jvm_attach_args.version) == JNI_OK) {
-		jobject NativeInputEvent_obj = NULL;
+		// Recycled event objects are fully populated and skip the allocation below.
+		jobject NativeInputEvent_obj = obtainRecycledEvent(env, event);
 		jint location = org_jnativehook_keyboard_NativeKeyEvent_LOCATION_UNKNOWN;
+		if (NativeInputEvent_obj != NULL) {
+			dispatchNativeEvent(env, event, NativeInputEvent_obj, capture_time);
+			return;
+		}
+
 		switch (event->type) {
 			case EVENT_HOOK_DISABLED:
+				notifyHookThread(env, JNI_FALSE);
+				return;
+
 			case EVENT_HOOK_ENABLED:
-				notifyHookThread(env);
+				notifyHookThread(env, JNI_TRUE);
 				return;
 
 
@@ -194,28 +421,7 @@ void jni_EventDispatcher(uiohook_event * const event) {
 		}
 
 		if (NativeInputEvent_obj != NULL) {
-			// Set the private when field to the native event time.
-			(*env)->SetShortField(
-					env,
-					NativeInputEvent_obj,
-					org_jnativehook_NativeInputEvent->when,
-					(jlong)	event->time);
-
-			// Dispatch the event.
-			(*env)->CallStaticVoidMethod(
-					env,
-					org_jnativehook_GlobalScreen$NativeHookThread->cls,
-					org_jnativehook_GlobalScreen$NativeHookThread->dispatchEvent,
-					NativeInputEvent_obj);
-
-			// Set the propagate flag from java.
-			event->reserved = (unsigned short) (*env)->GetShortField(
-					env,
-					NativeInputEvent_obj,
-					org_jnativehook_NativeInputEvent->reserved);
-
-			// Make sure our object is garbage collected.
-			(*env)->DeleteLocalRef(env, NativeInputEvent_obj);
+			dispatchNativeEvent(env, event, NativeInputEvent_obj, capture_time);
 		}
 	}
 }
@@ -19,9 +19,14 @@
 #ifndef _Included_jni_EventDispathcer_h
 #define _Included_jni_EventDispathcer_h
 
+#include <jni.h>
 #include <uiohook.h>
 
 // This is a simple forwarding function to the Java event dispatcher.
 extern void jni_EventDispatcher(uiohook_event * const event);
 
+// Set the categories of events that have at least one Java listener and the
+// categories that are delivered with recycled event objects.
+extern void jni_SetEventMask(jint mask, jint recycle_mask);
+
 #endif
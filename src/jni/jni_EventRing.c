@@ -0,0 +1,155 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+#include <jni.h>
+#include <stdbool.h>
+#include <stdint.h>
+#include <uiohook.h>
+
+#include "jni_Converter.h"
+#include "jni_EventRing.h"
+#include "org_jnativehook_NativeEventRing.h"
+#include "org_jnativehook_keyboard_NativeKeyEvent.h"
+#include "org_jnativehook_mouse_NativeMouseEvent.h"
+
+#define RING_HEADER_PRODUCER	org_jnativehook_NativeEventRing_HEADER_PRODUCER
+#define RING_HEADER_DROPPED		org_jnativehook_NativeEventRing_HEADER_DROPPED
+#define RING_HEADER_CONSUMER	org_jnativehook_NativeEventRing_HEADER_CONSUMER
+#define RING_HEADER_SIZE		org_jnativehook_NativeEventRing_HEADER_SIZE
+
+#define RING_RECORD_ID			org_jnativehook_NativeEventRing_RECORD_ID
+#define RING_RECORD_MODIFIERS	org_jnativehook_NativeEventRing_RECORD_MODIFIERS
+#define RING_RECORD_WHEN		org_jnativehook_NativeEventRing_RECORD_WHEN
+#define RING_RECORD_DATA		org_jnativehook_NativeEventRing_RECORD_DATA
+#define RING_RECORD_CAPTURE		org_jnativehook_NativeEventRing_RECORD_CAPTURE
+#define RING_RECORD_SIZE		org_jnativehook_NativeEventRing_RECORD_SIZE
+
+// The ring shared with org.jnativehook.NativeEventRing, or NULL if events are
+// delivered with a JNI upcall.  The ring is only changed while the hook is not
+// running, the hook thread is the only writer of the producer sequence and the
+// dropped counter, and the Java ring thread is the only writer of the consumer
+// sequence.
+static uint8_t *ring_base = NULL;
+static int64_t ring_mask = 0;
+
+jint jni_SetEventRing(JNIEnv *env, jobject buffer, jint capacity) {
+	if (buffer == NULL) {
+		__atomic_store_n(&ring_base, NULL, __ATOMIC_RELEASE);
+		return JNI_OK;
+	}
+
+	uint8_t *address = (uint8_t *) (*env)->GetDirectBufferAddress(env, buffer);
+	jlong size = (*env)->GetDirectBufferCapacity(env, buffer);
+
+	if (address == NULL || capacity <= 0 || (capacity & (capacity - 1)) != 0
+			|| size < RING_HEADER_SIZE + ((jlong) capacity * RING_RECORD_SIZE)) {
+		return JNI_ERR;
+	}
+
+	ring_mask = capacity - 1;
+	__atomic_store_n(&ring_base, address, __ATOMIC_RELEASE);
+
+	return JNI_OK;
+}
+
+// NOTE: This function executes on the hook thread!
+bool jni_WriteEventRing(uiohook_event * const event, jlong capture_time) {
+	uint8_t *base = __atomic_load_n(&ring_base, __ATOMIC_ACQUIRE);
+	if (base == NULL) {
+		return false;
+	}
+
+	jint id;
+	if (jni_ConvertToJavaType(event->type, &id) != JNI_OK) {
+		// Hook control and unknown events still go through the JNI dispatcher.
+		return false;
+	}
+
+	int64_t *producer = (int64_t *) (base + RING_HEADER_PRODUCER);
+	int64_t *dropped = (int64_t *) (base + RING_HEADER_DROPPED);
+	int64_t *consumer = (int64_t *) (base + RING_HEADER_CONSUMER);
+
+	int64_t sequence = __atomic_load_n(producer, __ATOMIC_RELAXED);
+	if (sequence - __atomic_load_n(consumer, __ATOMIC_ACQUIRE) > ring_mask) {
+		// The ring is full, never block the hook thread.
+		__atomic_store_n(dropped, __atomic_load_n(dropped, __ATOMIC_RELAXED) + 1, __ATOMIC_RELAXED);
+		return true;
+	}
+
+	uint8_t *record = base + RING_HEADER_SIZE + ((sequence & ring_mask) * RING_RECORD_SIZE);
+	jint *data = (jint *) (record + RING_RECORD_DATA);
+
+	switch (event->type) {
+		case EVENT_KEY_PRESSED:
+		case EVENT_KEY_RELEASED: {
+			unsigned short int keycode = event->data.keyboard.keycode;
+			jint location = org_jnativehook_keyboard_NativeKeyEvent_LOCATION_UNKNOWN;
+			if (jni_ConvertToJavaLocation(&keycode, &location) != JNI_OK) {
+				// Same as the JNI dispatcher, events without a location are not delivered.
+				return true;
+			}
+
+			data[0] = (jint) event->data.keyboard.rawcode;
+			data[1] = (jint) keycode;
+			data[2] = (jint) org_jnativehook_keyboard_NativeKeyEvent_CHAR_UNDEFINED;
+			data[3] = location;
+			break;
+		}
+
+		case EVENT_KEY_TYPED:
+			data[0] = (jint) event->data.keyboard.rawcode;
+			data[1] = (jint) org_jnativehook_keyboard_NativeKeyEvent_VC_UNDEFINED;
+			data[2] = (jint) event->data.keyboard.keychar;
+			data[3] = (jint) org_jnativehook_keyboard_NativeKeyEvent_LOCATION_UNKNOWN;
+			break;
+
+		case EVENT_MOUSE_PRESSED:
+		case EVENT_MOUSE_RELEASED:
+		case EVENT_MOUSE_CLICKED:
+		case EVENT_MOUSE_MOVED:
+		case EVENT_MOUSE_DRAGGED:
+			data[0] = (jint) event->data.mouse.x;
+			data[1] = (jint) event->data.mouse.y;
+			data[2] = (jint) event->data.mouse.clicks;
+			data[3] = (jint) event->data.mouse.button;
+			break;
+
+		case EVENT_MOUSE_WHEEL:
+			data[0] = (jint) event->data.wheel.x;
+			data[1] = (jint) event->data.wheel.y;
+			data[2] = (jint) event->data.wheel.clicks;
+			data[3] = (jint) event->data.wheel.type;
+			data[4] = (jint) event->data.wheel.amount;
+			data[5] = (jint) event->data.wheel.rotation;
+			data[6] = (jint) event->data.wheel.direction;
+			break;
+
+		default:
+			return false;
+	}
+
+	*((jint *) (record + RING_RECORD_ID)) = id;
+	*((jint *) (record + RING_RECORD_MODIFIERS)) = (jint) event->mask;
+	*((jlong *) (record + RING_RECORD_WHEN)) = (jlong) event->time;
+	*((jlong *) (record + RING_RECORD_CAPTURE)) = capture_time;
+
+	// Publish the record to the Java ring thread.
+	__atomic_store_n(producer, sequence + 1, __ATOMIC_RELEASE);
+
+	return true;
+}
@@ -0,0 +1,33 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+#ifndef _Included_jni_EventRing_h
+#define _Included_jni_EventRing_h
+
+#include <jni.h>
+#include <stdbool.h>
+#include <uiohook.h>
+
+// Install the shared event ring, or remove it if buffer is NULL.
+extern jint jni_SetEventRing(JNIEnv *env, jobject buffer, jint capacity);
+
+// Write the event to the shared event ring.  Returns false if no ring is
+// installed or the event must be delivered with a JNI upcall.
+extern bool jni_WriteEventRing(uiohook_event * const event, jlong capture_time);
+
+#endif
@@ -31,7 +31,6 @@ NativeInputEvent *org_jnativehook_NativeInputEvent = NULL;
 NativeKeyEvent *org_jnativehook_keyboard_NativeKeyEvent = NULL;
 NativeMouseEvent *org_jnativehook_mouse_NativeMouseEvent = NULL;
 NativeMouseWheelEvent *org_jnativehook_mouse_NativeMouseWheelEvent = NULL;
-Object *java_lang_Object = NULL;
 Integer *java_lang_Integer = NULL;
 System *java_lang_System = NULL;
 Logger *java_util_logging_Logger = NULL;
@@ -87,12 +86,20 @@ static int create_NativeHookThread(JNIEnv *env) {
 		// Get the method ID for GlobalScreen.dispatchEvent().
 		jmethodID dispatchEvent = (*env)->GetStaticMethodID(env, NativeHookThread_class, "dispatchEvent", "(Lorg/jnativehook/NativeInputEvent;)V");
 
+		// Get the method ID for GlobalScreen.NativeHookThread.obtainEvent().
+		jmethodID obtainEvent = (*env)->GetStaticMethodID(env, NativeHookThread_class, "obtainEvent", "(I)Lorg/jnativehook/NativeInputEvent;");
+
+		// Get the method ID for GlobalScreen.NativeHookThread.hookStateChanged().
+		jmethodID hookStateChanged = (*env)->GetMethodID(env, NativeHookThread_class, "hookStateChanged", "(Z)V");
+
 		if ((*env)->ExceptionCheck(env) == JNI_FALSE) {
 			org_jnativehook_GlobalScreen$NativeHookThread = malloc(sizeof(NativeHookThread));
 			if (org_jnativehook_GlobalScreen$NativeHookThread != NULL) {
 				// Populate our structure for later use.
 				org_jnativehook_GlobalScreen$NativeHookThread->cls = (jclass) (*env)->NewGlobalRef(env, NativeHookThread_class);
 				org_jnativehook_GlobalScreen$NativeHookThread->dispatchEvent = dispatchEvent;
+				org_jnativehook_GlobalScreen$NativeHookThread->obtainEvent = obtainEvent;
+				org_jnativehook_GlobalScreen$NativeHookThread->hookStateChanged = hookStateChanged;
 
 				status = JNI_OK;
 			}
@@ -209,9 +216,18 @@ static int create_NativeInputEvent(JNIEnv *env) {
 	// Class and Constructor for the NativeInputEvent Object.
 	jclass NativeInputEvent_class = (*env)->FindClass(env, "org/jnativehook/NativeInputEvent");
 	if (NativeInputEvent_class != NULL) {
+		// Get the field ID for NativeInputEvent.id.
+		jfieldID id = (*env)->GetFieldID(env, NativeInputEvent_class, "id", "I");
+
 		// Get the field ID for NativeInputEvent.when.
 		jfieldID when = (*env)->GetFieldID(env, NativeInputEvent_class, "when", "J");
 
+		// Get the field ID for NativeInputEvent.modifiers.
+		jfieldID modifiers = (*env)->GetFieldID(env, NativeInputEvent_class, "modifiers", "I");
+
+		// Get the field ID for NativeInputEvent.captureTime.
+		jfieldID captureTime = (*env)->GetFieldID(env, NativeInputEvent_class, "captureTime", "J");
+
 		// Get the field ID for NativeInputEvent.reserved.
 		jfieldID reserved = (*env)->GetFieldID(env, NativeInputEvent_class, "reserved", "S");
 
@@ -229,7 +245,10 @@ static int create_NativeInputEvent(JNIEnv *env) {
 			if (org_jnativehook_NativeInputEvent != NULL) {
 				// Populate our structure for later use.
 				org_jnativehook_NativeInputEvent->cls = (jclass) (*env)->NewGlobalRef(env, NativeInputEvent_class);
+				org_jnativehook_NativeInputEvent->id = id;
 				org_jnativehook_NativeInputEvent->when = when;
+				org_jnativehook_NativeInputEvent->modifiers = modifiers;
+				org_jnativehook_NativeInputEvent->captureTime = captureTime;
 				org_jnativehook_NativeInputEvent->reserved = reserved;
 				org_jnativehook_NativeInputEvent->init = init;
 				org_jnativehook_NativeInputEvent->getID = getID;
@@ -270,6 +289,12 @@ static int create_NativeKeyEvent(JNIEnv *env) {
 		// Get the method ID for NativeKeyEvent constructor.
 		jmethodID init = (*env)->GetMethodID(env, NativeKeyEvent_class, "<init>", "(IIIICI)V");
 
+		// Get the field IDs for NativeKeyEvent.rawCode, keyCode, keyChar and keyLocation.
+		jfieldID rawCode = (*env)->GetFieldID(env, NativeKeyEvent_class, "rawCode", "I");
+		jfieldID keyCode = (*env)->GetFieldID(env, NativeKeyEvent_class, "keyCode", "I");
+		jfieldID keyChar = (*env)->GetFieldID(env, NativeKeyEvent_class, "keyChar", "C");
+		jfieldID keyLocation = (*env)->GetFieldID(env, NativeKeyEvent_class, "keyLocation", "I");
+
 		// Get the method ID for NativeKeyEvent.getKeyCode().
 		jmethodID getKeyCode = (*env)->GetMethodID(env, NativeKeyEvent_class, "getKeyCode", "()I");
 
@@ -286,6 +311,10 @@ static int create_NativeKeyEvent(JNIEnv *env) {
 				org_jnativehook_keyboard_NativeKeyEvent->cls = (jclass) (*env)->NewGlobalRef(env, NativeKeyEvent_class);
 				org_jnativehook_keyboard_NativeKeyEvent->parent = org_jnativehook_NativeInputEvent;
 				org_jnativehook_keyboard_NativeKeyEvent->init = init;
+				org_jnativehook_keyboard_NativeKeyEvent->rawCode = rawCode;
+				org_jnativehook_keyboard_NativeKeyEvent->keyCode = keyCode;
+				org_jnativehook_keyboard_NativeKeyEvent->keyChar = keyChar;
+				org_jnativehook_keyboard_NativeKeyEvent->keyLocation = keyLocation;
 				org_jnativehook_keyboard_NativeKeyEvent->getKeyCode = getKeyCode;
 				org_jnativehook_keyboard_NativeKeyEvent->getKeyLocation = getKeyLocation;
 				org_jnativehook_keyboard_NativeKeyEvent->getKeyChar = getKeyChar;
@@ -325,6 +354,12 @@ static int create_NativeMouseEvent(JNIEnv *env) {
 		// Get the method ID for NativeMouseEvent constructor.
 		jmethodID init = (*env)->GetMethodID(env, NativeMouseEvent_class, "<init>", "(IIIIII)V");
 
+		// Get the field IDs for NativeMouseEvent.x, y, clickCount and button.
+		jfieldID x = (*env)->GetFieldID(env, NativeMouseEvent_class, "x", "I");
+		jfieldID y = (*env)->GetFieldID(env, NativeMouseEvent_class, "y", "I");
+		jfieldID clickCount = (*env)->GetFieldID(env, NativeMouseEvent_class, "clickCount", "I");
+		jfieldID button = (*env)->GetFieldID(env, NativeMouseEvent_class, "button", "I");
+
 		// Get the method ID for NativeMouseEvent.getButton().
 		jmethodID getButton = (*env)->GetMethodID(env, NativeMouseEvent_class, "getButton", "()I");
 
@@ -344,6 +379,10 @@ static int create_NativeMouseEvent(JNIEnv *env) {
 				org_jnativehook_mouse_NativeMouseEvent->cls = (jclass) (*env)->NewGlobalRef(env, NativeMouseEvent_class);
 				org_jnativehook_mouse_NativeMouseEvent->parent = org_jnativehook_NativeInputEvent;
 				org_jnativehook_mouse_NativeMouseEvent->init = init;
+				org_jnativehook_mouse_NativeMouseEvent->x = x;
+				org_jnativehook_mouse_NativeMouseEvent->y = y;
+				org_jnativehook_mouse_NativeMouseEvent->clickCount = clickCount;
+				org_jnativehook_mouse_NativeMouseEvent->button = button;
 				org_jnativehook_mouse_NativeMouseEvent->getButton = getButton;
 				org_jnativehook_mouse_NativeMouseEvent->getClickCount = getClickCount;
 				org_jnativehook_mouse_NativeMouseEvent->getX = getX;
@@ -384,6 +423,12 @@ static int create_NativeMouseWheelEvent(JNIEnv *env) {
 		// Get the method ID for NativeMouseWheelEvent constructor.
 		jmethodID init = (*env)->GetMethodID(env, NativeMouseWheelEvent_class, "<init>", "(IIIIIIIII)V");
 
+		// Get the field IDs for NativeMouseWheelEvent.scrollType, scrollAmount, wheelRotation and wheelDirection.
+		jfieldID scrollType = (*env)->GetFieldID(env, NativeMouseWheelEvent_class, "scrollType", "I");
+		jfieldID scrollAmount = (*env)->GetFieldID(env, NativeMouseWheelEvent_class, "scrollAmount", "I");
+		jfieldID wheelRotation = (*env)->GetFieldID(env, NativeMouseWheelEvent_class, "wheelRotation", "I");
+		jfieldID wheelDirection = (*env)->GetFieldID(env, NativeMouseWheelEvent_class, "wheelDirection", "I");
+
 		// Get the method ID for NativeMouseWheelEvent.getScrollAmount().
 		jmethodID getScrollAmount = (*env)->GetMethodID(env, NativeMouseWheelEvent_class, "getScrollAmount", "()I");
 
@@ -400,6 +445,10 @@ static int create_NativeMouseWheelEvent(JNIEnv *env) {
 				org_jnativehook_mouse_NativeMouseWheelEvent->cls = (jclass) (*env)->NewGlobalRef(env, NativeMouseWheelEvent_class);
 				org_jnativehook_mouse_NativeMouseWheelEvent->parent = org_jnativehook_mouse_NativeMouseEvent;
 				org_jnativehook_mouse_NativeMouseWheelEvent->init = init;
+				org_jnativehook_mouse_NativeMouseWheelEvent->scrollType = scrollType;
+				org_jnativehook_mouse_NativeMouseWheelEvent->scrollAmount = scrollAmount;
+				org_jnativehook_mouse_NativeMouseWheelEvent->wheelRotation = wheelRotation;
+				org_jnativehook_mouse_NativeMouseWheelEvent->wheelDirection = wheelDirection;
 				org_jnativehook_mouse_NativeMouseWheelEvent->getScrollAmount = getScrollAmount;
 				org_jnativehook_mouse_NativeMouseWheelEvent->getScrollType = getScrollType;
 				org_jnativehook_mouse_NativeMouseWheelEvent->getWheelRotation = getWheelRotation;
@@ -430,47 +479,6 @@ static void destroy_NativeMouseWheelEvent(JNIEnv *env) {
 }
 
 
-static int create_Object(JNIEnv *env) {
-	int status = JNI_ERR;
-
-	// Class and Constructor for the Object object.
-	jclass Object_class = (*env)->FindClass(env, "java/lang/Object");
-	if (Object_class != NULL) {
-		// Get the method ID for Object.notify().
-		jmethodID notify = (*env)->GetMethodID(env, Object_class, "notify", "()V");
-
-		if ((*env)->ExceptionCheck(env) == JNI_FALSE) {
-			java_lang_Object = malloc(sizeof(Object));
-			if (java_lang_Object != NULL) {
-				// Populate our structure for later use.
-				java_lang_Object->cls = (jclass) (*env)->NewGlobalRef(env, Object_class);
-				java_lang_Object->notify = notify;
-
-				status = JNI_OK;
-			}
-			else {
-				jni_ThrowException(env, "java/lang/OutOfMemoryError", "Failed to allocate native memory.");
-				status = JNI_ENOMEM;
-			}
-		}
-	}
-
-	return status;
-}
-
-static void destroy_Object(JNIEnv *env) {
-	if (java_lang_Object != NULL) {
-		// The class *should* never be null if the struct was allocated, but we will check anyway.
-		if (java_lang_Object->cls != NULL) {
-			(*env)->DeleteGlobalRef(env, java_lang_Object->cls);
-		}
-
-		// Free struct memory.
-		free(java_lang_Object);
-		java_lang_Object = NULL;
-	}
-}
-
 static int create_Integer(JNIEnv *env) {
 	int status = JNI_ERR;
 
@@ -648,10 +656,6 @@ int jni_CreateGlobals(JNIEnv *env) {
 		status = create_NativeMouseWheelEvent(env);
 	}
 
-	if (status == JNI_OK && (*env)->ExceptionCheck(env) == JNI_FALSE) {
-		status = create_Object(env);
-	}
-
 	if (status == JNI_OK && (*env)->ExceptionCheck(env) == JNI_FALSE) {
 		status = create_Integer(env);
 	}
@@ -681,7 +685,6 @@ int jni_DestroyGlobals(JNIEnv *env) {
 	destroy_NativeKeyEvent(env);
 	destroy_NativeMouseEvent(env);
 	destroy_NativeMouseWheelEvent(env);
-	destroy_Object(env);
 	destroy_Integer(env);
 	destroy_System(env);
 	destroy_Logger(env);
@@ -40,6 +40,8 @@ typedef struct _org_jnativehook_GlobalScreen {
 typedef struct org_jnativehook_GlobalScreen$NativeHookThread {
 	jclass cls;
 	jmethodID dispatchEvent;
+	jmethodID obtainEvent;
+	jmethodID hookStateChanged;
 } NativeHookThread;
 
 typedef struct _org_jnativehook_NativeHookException {
@@ -54,7 +56,10 @@ typedef struct _org_jnativehook_NativeMonitorInfo {
 
 typedef struct _org_jnativehook_NativeInputEvent {
 	jclass cls;
+	jfieldID id;
 	jfieldID when;
+	jfieldID modifiers;
+	jfieldID captureTime;
 	jfieldID reserved;
 	jmethodID init;
 	jmethodID getID;
@@ -65,6 +70,10 @@ typedef struct _org_jnativehook_keyboard_NativeKeyEvent {
 	jclass cls;
 	jmethodID init;
 	NativeInputEvent *parent;
+	jfieldID rawCode;
+	jfieldID keyCode;
+	jfieldID keyChar;
+	jfieldID keyLocation;
 	jmethodID getKeyCode;
 	jmethodID getKeyLocation;
 	jmethodID getKeyChar;
@@ -74,6 +83,10 @@ typedef struct _org_jnativehook_mouse_NativeMouseEvent {
 	jclass cls;
 	jmethodID init;
 	NativeInputEvent *parent;
+	jfieldID x;
+	jfieldID y;
+	jfieldID clickCount;
+	jfieldID button;
 	jmethodID getButton;
 	jmethodID getClickCount;
 	jmethodID getX;
@@ -84,16 +97,15 @@ typedef struct _org_jnativehook_mouse_NativeMouseWheelEvent {
 	jclass cls;
 	jmethodID init;
 	NativeMouseEvent *parent;
+	jfieldID scrollType;
+	jfieldID scrollAmount;
+	jfieldID wheelRotation;
+	jfieldID wheelDirection;
 	jmethodID getScrollAmount;
 	jmethodID getScrollType;
 	jmethodID getWheelRotation;
 } NativeMouseWheelEvent;
 
-typedef struct _java_lang_Object {
-	jclass cls;
-	jmethodID notify;
-} Object;
-
 typedef struct _java_lang_Integer {
 	jclass cls;
 	jmethodID init;
@@ -123,7 +135,6 @@ extern NativeInputEvent *org_jnativehook_NativeInputEvent;
 extern NativeKeyEvent *org_jnativehook_keyboard_NativeKeyEvent;
 extern NativeMouseEvent *org_jnativehook_mouse_NativeMouseEvent;
 extern NativeMouseWheelEvent *org_jnativehook_mouse_NativeMouseWheelEvent;
-extern Object *java_lang_Object;
 extern Integer *java_lang_Integer;
 extern System *java_lang_System;
 extern Logger *java_util_logging_Logger;
@@ -19,67 +19,87 @@
 #include <jni.h>
 #include <stdarg.h>
 #include <stdbool.h>
+#include <stdint.h>
+#include <stdio.h>
 #include <stdlib.h>
 #include <uiohook.h>
 
 #include "jni_Errors.h"
 #include "jni_Globals.h"
 
-static char log_buffer[1024];
-static bool logger(JNIEnv *env, unsigned int level, const char *format, va_list args) {
-	bool status = false;
+// Number of messages that can wait for the Java log thread, must be a power of two.
+#define LOG_RING_SIZE 64
 
-	int log_size = vsnprintf(log_buffer, sizeof(log_buffer), format, args);
-
-	if (log_size >= 0) {
-		jstring name = (*env)->NewStringUTF(env, "org.jnativehook");
-		jstring message = (*env)->NewStringUTF(env, log_buffer);
-
-		jobject Logger_object = (*env)->CallStaticObjectMethod(
-				env,
-				java_util_logging_Logger->cls,
-				java_util_logging_Logger->getLogger,
-				name);
-
-		switch (level) {
-			case LOG_LEVEL_DEBUG:
-				(*env)->CallVoidMethod(
-					env,
-					Logger_object,
-					java_util_logging_Logger->fine,
-					message);
-				break;
+// Maximum length of a single formatted message, including the terminating null.
+#define LOG_MESSAGE_SIZE 1024
 
-			case LOG_LEVEL_INFO:
-				(*env)->CallVoidMethod(
-					env,
-					Logger_object,
-					java_util_logging_Logger->info,
-					message);
-				break;
+/* Messages are passed to Java through a bounded lock-free ring with any
+ * number of producers and a single consumer, the Java log thread.  Each record
+ * carries a turn counter: for the n-th pass over the ring, the record is free
+ * when its turn is 2n and holds an unread message when its turn is 2n + 1.
+ * Because every turn starts at 0, the ring does not need to be initialized.
+ */
+typedef struct _log_record {
+	uint64_t turn;
+	unsigned int level;
+	char message[LOG_MESSAGE_SIZE];
+} log_record;
 
-			case LOG_LEVEL_WARN:
-				(*env)->CallVoidMethod(
-					env,
-					Logger_object,
-					java_util_logging_Logger->warning,
-					message);
-				break;
+static log_record log_ring[LOG_RING_SIZE];
+
+// Next position claimed by a producer.
+static uint64_t log_tail = 0;
+
+// Next position read by the consumer.
+static uint64_t log_head = 0;
+
+// Number of messages discarded because the ring was full.
+static uint64_t log_dropped = 0;
 
-			case LOG_LEVEL_ERROR:
-				(*env)->CallVoidMethod(
-					env,
-					Logger_object,
-					java_util_logging_Logger->severe,
-					message);
+// Lowest level of messages that are recorded, set by the Java log thread.
+static unsigned int min_log_level = LOG_LEVEL_DEBUG;
+
+static bool logger(unsigned int level, const char *format, va_list args) {
+	bool status = false;
+
+	// Return immediately if Java would discard the message anyway.
+	if (level >= __atomic_load_n(&min_log_level, __ATOMIC_RELAXED)) {
+		uint64_t position = __atomic_load_n(&log_tail, __ATOMIC_RELAXED);
+		log_record *record = NULL;
+
+		while (record == NULL) {
+			log_record *candidate = &log_ring[position & (LOG_RING_SIZE - 1)];
+			uint64_t free_turn = (position / LOG_RING_SIZE) * 2;
+			uint64_t turn = __atomic_load_n(&candidate->turn, __ATOMIC_ACQUIRE);
+
+			if (turn == free_turn) {
+				// Claim the record, on failure position is updated to the current tail.
+				if (__atomic_compare_exchange_n(&log_tail, &position, position + 1, true, __ATOMIC_RELAXED, __ATOMIC_RELAXED)) {
+					record = candidate;
+				}
+			}
+			else if (turn < free_turn) {
+				// The record still holds a message from the previous pass, the ring is full.
+				__atomic_fetch_add(&log_dropped, 1, __ATOMIC_RELAXED);
 				break;
+			}
+			else {
+				// Another producer claimed this position.
+				position = __atomic_load_n(&log_tail, __ATOMIC_RELAXED);
+			}
 		}
 
-		(*env)->DeleteLocalRef(env, name);
-		(*env)->DeleteLocalRef(env, message);
-		(*env)->DeleteLocalRef(env, Logger_object);
+		if (record != NULL) {
+			if (vsnprintf(record->message, sizeof(record->message), format, args) < 0) {
+				record->message[0] = '\0';
+			}
+			record->level = level;
+
+			// Publish the message to the consumer.
+			__atomic_store_n(&record->turn, (position / LOG_RING_SIZE) * 2 + 1, __ATOMIC_RELEASE);
 
-		status = true;
+			status = true;
+		}
 	}
 
 	va_end(args);
@@ -91,22 +111,87 @@ bool jni_Logger(JNIEnv *env, unsigned int level, const char *format, ...) {
 	va_list args;
 	va_start(args, format);
 
-	return logger(env, level, format, args);
+	return logger(level, format, args);
 }
 
 bool uiohook_LoggerCallback(unsigned int level, const char *format, ...) {
-	bool status = false;
+	va_list args;
+	va_start(args, format);
 
-	JNIEnv *env = NULL;
-	if ((*jvm)->GetEnv(jvm, (void **)(&env), jvm_attach_args.version) == JNI_OK) {
-		va_list args;
-		va_start(args, format);
-		status = logger(env, level, format, args);
-	}
-	else {
-		jni_Logger(env, LOG_LEVEL_ERROR, "%s [%u]: GetEnv failed!\n",
-				__FUNCTION__, __LINE__);
+	// No JNI calls are made, so this is safe on threads that are not attached to the JVM.
+	return logger(level, format, args);
+}
+
+void jni_SetLogLevel(unsigned int level) {
+	__atomic_store_n(&min_log_level, level, __ATOMIC_RELAXED);
+}
+
+jlong jni_GetLogDroppedCount() {
+	return (jlong) __atomic_load_n(&log_dropped, __ATOMIC_RELAXED);
+}
+
+// NOTE: This function must only be called by a single thread at a time.
+jint jni_DrainLog(JNIEnv *env, jobject Logger_obj) {
+	jint count = 0;
+
+	while ((*env)->ExceptionCheck(env) == JNI_FALSE) {
+		log_record *record = &log_ring[log_head & (LOG_RING_SIZE - 1)];
+		uint64_t full_turn = (log_head / LOG_RING_SIZE) * 2 + 1;
+		unsigned int level;
+		jstring message;
+
+		if (__atomic_load_n(&record->turn, __ATOMIC_ACQUIRE) != full_turn) {
+			// The next message has not been published yet.
+			break;
+		}
+
+		level = record->level;
+		message = (*env)->NewStringUTF(env, record->message);
+
+		// Hand the record back to the producers before calling into Java.
+		__atomic_store_n(&record->turn, full_turn + 1, __ATOMIC_RELEASE);
+		log_head++;
+
+		if (message != NULL) {
+			switch (level) {
+				case LOG_LEVEL_DEBUG:
+					(*env)->CallVoidMethod(
+						env,
+						Logger_obj,
+						java_util_logging_Logger->fine,
+						message);
+					break;
+
+				case LOG_LEVEL_INFO:
+					(*env)->CallVoidMethod(
+						env,
+						Logger_obj,
+						java_util_logging_Logger->info,
+						message);
+					break;
+
+				case LOG_LEVEL_WARN:
+					(*env)->CallVoidMethod(
+						env,
+						Logger_obj,
+						java_util_logging_Logger->warning,
+						message);
+					break;
+
+				case LOG_LEVEL_ERROR:
+					(*env)->CallVoidMethod(
+						env,
+						Logger_obj,
+						java_util_logging_Logger->severe,
+						message);
+					break;
+			}
+
+			(*env)->DeleteLocalRef(env, message);
+		}
+
+		count++;
 	}
 
-	return status;
+	return count;
 }
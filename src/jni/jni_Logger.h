@@ -19,6 +19,7 @@
 #ifndef _Included_jni_Logger_h
 #define _Included_jni_Logger_h
 
+#include <jni.h>
 #include <stdarg.h>
 #include <stdbool.h>
 #include <uiohook.h>
@@ -27,4 +28,14 @@ extern bool jni_Logger(JNIEnv *env, unsigned int level, const char *format, ...)
 
 extern bool uiohook_LoggerCallback(unsigned int level, const char *format, ...);
 
+// Set the lowest level of messages that are recorded.  Messages below this
+// level are discarded before they are formatted.
+extern void jni_SetLogLevel(unsigned int level);
+
+// Get the number of messages discarded because the Java log thread fell behind.
+extern jlong jni_GetLogDroppedCount();
+
+// Deliver all recorded messages to the Java logger on the calling thread.
+extern jint jni_DrainLog(JNIEnv *env, jobject Logger_obj);
+
 #endif
@@ -19,7 +19,10 @@
 #include <stdlib.h>
 #include <uiohook.h>
 
+#include "jni_Clock.h"
 #include "jni_Converter.h"
+#include "jni_EventDispathcer.h"
+#include "jni_EventRing.h"
 #include "jni_Globals.h"
 #include "jni_Logger.h"
 #include "jni_Errors.h"
@@ -126,6 +129,33 @@ JNIEXPORT void JNICALL Java_org_jnativehook_GlobalScreen_00024NativeHookThread_d
 	}
 }
 
+/*
+ * Class:     org_jnativehook_GlobalScreen_NativeLogThread
+ * Method:    setLevel
+ * Signature: (I)V
+ */
+JNIEXPORT void JNICALL Java_org_jnativehook_GlobalScreen_00024NativeLogThread_setLevel(JNIEnv *env, jclass NativeLogThread_cls, jint level) {
+	jni_SetLogLevel((unsigned int) level);
+}
+
+/*
+ * Class:     org_jnativehook_GlobalScreen_NativeLogThread
+ * Method:    drain
+ * Signature: (Ljava/util/logging/Logger;)I
+ */
+JNIEXPORT jint JNICALL Java_org_jnativehook_GlobalScreen_00024NativeLogThread_drain(JNIEnv *env, jclass NativeLogThread_cls, jobject Logger_obj) {
+	return jni_DrainLog(env, Logger_obj);
+}
+
+/*
+ * Class:     org_jnativehook_GlobalScreen_NativeLogThread
+ * Method:    getDroppedCount
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_org_jnativehook_GlobalScreen_00024NativeLogThread_getDroppedCount(JNIEnv *env, jclass NativeLogThread_cls) {
+	return jni_GetLogDroppedCount();
+}
+
 /*
  * Class:     org_jnativehook_GlobalScreen
  * Method:    postNativeEvent
@@ -369,3 +399,41 @@ JNIEXPORT jobject JNICALL Java_org_jnativehook_GlobalScreen_getMultiClickIterval
 
 	return result;
 }
+
+/*
+ * Class:     org_jnativehook_GlobalScreen
+ * Method:    setNativeEventMask
+ * Signature: (II)V
+ */
+JNIEXPORT void JNICALL Java_org_jnativehook_GlobalScreen_setNativeEventMask(JNIEnv *env, jclass GlobalScreen_cls, jint mask, jint recycleMask) {
+	jni_SetEventMask(mask, recycleMask);
+}
+
+/*
+ * Class:     org_jnativehook_GlobalScreen
+ * Method:    getNativeTime
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_org_jnativehook_GlobalScreen_getNativeTime(JNIEnv *env, jclass GlobalScreen_cls) {
+	return jni_GetNativeTime();
+}
+
+/*
+ * Class:     org_jnativehook_GlobalScreen
+ * Method:    setNativeClockOffset
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_org_jnativehook_GlobalScreen_setNativeClockOffset(JNIEnv *env, jclass GlobalScreen_cls, jlong offset) {
+	jni_SetClockOffset(offset);
+}
+
+/*
+ * Class:     org_jnativehook_GlobalScreen
+ * Method:    setNativeEventRing
+ * Signature: (Ljava/nio/ByteBuffer;I)V
+ */
+JNIEXPORT void JNICALL Java_org_jnativehook_GlobalScreen_setNativeEventRing(JNIEnv *env, jclass GlobalScreen_cls, jobject buffer, jint capacity) {
+	if (jni_SetEventRing(env, buffer, capacity) != JNI_OK) {
+		jni_ThrowException(env, "java/lang/IllegalArgumentException", "Invalid native event ring buffer.");
+	}
+}
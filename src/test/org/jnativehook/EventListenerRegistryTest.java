@@ -0,0 +1,136 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyListener;
+import org.jnativehook.keyboard.listeners.NativeKeyListenerImpl;
+import org.jnativehook.mouse.NativeMouseListener;
+import org.jnativehook.mouse.NativeMouseMotionListener;
+import org.jnativehook.mouse.listeners.NativeMouseInputListenerImpl;
+import org.junit.Test;
+import javax.swing.event.EventListenerList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class EventListenerRegistryTest {
+	/**
+	 * Test of add method, of class EventListenerRegistry.
+	 */
+	@Test
+	public void testAdd() {
+		System.out.println("add");
+
+		EventListenerRegistry registry = new EventListenerRegistry();
+		assertEquals(0, registry.getListeners(NativeKeyListener.class).length);
+
+		NativeKeyListenerImpl first = new NativeKeyListenerImpl();
+		NativeKeyListenerImpl second = new NativeKeyListenerImpl();
+		registry.add(NativeKeyListener.class, first);
+		registry.add(NativeKeyListener.class, second);
+		registry.add(NativeKeyListener.class, first);
+		registry.add(NativeKeyListener.class, null);
+
+		NativeKeyListener[] listeners = registry.getListeners(NativeKeyListener.class);
+		assertEquals(3, listeners.length);
+		assertSame(first, listeners[0]);
+		assertSame(second, listeners[1]);
+		assertSame(first, listeners[2]);
+		assertEquals(3, registry.getListenerCount(NativeKeyListener.class));
+
+		// Listener types are kept separately.
+		NativeMouseInputListenerImpl mouse = new NativeMouseInputListenerImpl();
+		registry.add(NativeMouseListener.class, mouse);
+		assertEquals(1, registry.getListeners(NativeMouseListener.class).length);
+		assertEquals(0, registry.getListeners(NativeMouseMotionListener.class).length);
+	}
+
+	/**
+	 * Test of remove method, of class EventListenerRegistry.
+	 */
+	@Test
+	public void testRemove() {
+		System.out.println("remove");
+
+		EventListenerRegistry registry = new EventListenerRegistry();
+
+		NativeKeyListenerImpl first = new NativeKeyListenerImpl();
+		NativeKeyListenerImpl second = new NativeKeyListenerImpl();
+		registry.add(NativeKeyListener.class, first);
+		registry.add(NativeKeyListener.class, second);
+		registry.add(NativeKeyListener.class, first);
+
+		NativeKeyListener[] snapshot = registry.getListeners(NativeKeyListener.class);
+
+		registry.remove(NativeKeyListener.class, first);
+		NativeKeyListener[] listeners = registry.getListeners(NativeKeyListener.class);
+		assertEquals(2, listeners.length);
+		assertSame(first, listeners[0]);
+		assertSame(second, listeners[1]);
+
+		// Previously returned arrays are never modified.
+		assertEquals(3, snapshot.length);
+		assertSame(first, snapshot[2]);
+
+		registry.remove(NativeKeyListener.class, new NativeKeyListenerImpl());
+		assertEquals(2, registry.getListenerCount(NativeKeyListener.class));
+
+		registry.remove(NativeKeyListener.class, first);
+		registry.remove(NativeKeyListener.class, second);
+		assertEquals(0, registry.getListeners(NativeKeyListener.class).length);
+	}
+
+	/**
+	 * Test that getListeners does not copy when nothing has changed.
+	 */
+	@Test
+	public void testGetListeners() {
+		System.out.println("getListeners");
+
+		EventListenerRegistry registry = new EventListenerRegistry();
+		registry.add(NativeKeyListener.class, new NativeKeyListenerImpl());
+
+		assertSame(registry.getListeners(NativeKeyListener.class), registry.getListeners(NativeKeyListener.class));
+		assertSame(registry.getListeners(NativeMouseListener.class), registry.getListeners(NativeMouseListener.class));
+	}
+
+	/**
+	 * Test that the registrations are kept in the inherited EventListenerList.
+	 */
+	@Test
+	public void testEventListenerList() {
+		System.out.println("eventListenerList");
+
+		EventListenerList list = new EventListenerRegistry();
+		NativeKeyListenerImpl keyListener = new NativeKeyListenerImpl();
+		NativeMouseInputListenerImpl mouseListener = new NativeMouseInputListenerImpl();
+		list.add(NativeKeyListener.class, keyListener);
+		list.add(NativeMouseListener.class, mouseListener);
+
+		assertEquals(2, list.getListenerCount());
+		Object[] registrations = list.getListenerList();
+		assertEquals(4, registrations.length);
+		assertSame(NativeKeyListener.class, registrations[0]);
+		assertSame(keyListener, registrations[1]);
+
+		list.remove(NativeKeyListener.class, keyListener);
+		assertEquals(1, list.getListenerCount());
+		assertEquals(0, list.getListeners(NativeKeyListener.class).length);
+		assertSame(mouseListener, list.getListeners(NativeMouseListener.class)[0]);
+	}
+}
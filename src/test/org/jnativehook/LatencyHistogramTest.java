@@ -0,0 +1,128 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+	/**
+	 * Test of getBucketIndex method, of class LatencyHistogram.
+	 */
+	@Test
+	public void testGetBucketIndex() {
+		System.out.println("getBucketIndex");
+
+		long previous = -1;
+		for (long value = 0; value < LatencyHistogram.MAX_VALUE; value = value * 3 / 2 + 1) {
+			int index = LatencyHistogram.getBucketIndex(value);
+			long upper = LatencyHistogram.getBucketUpperBound(index);
+
+			// The value lies within its bucket and the relative error is bounded.
+			assertTrue(value <= upper);
+			assertTrue(upper - value <= value / LatencyHistogram.SUB_BUCKET_COUNT);
+			assertTrue(upper > previous);
+			previous = upper;
+		}
+
+		// Values below the sub bucket count are exact.
+		for (int value = 0; value < LatencyHistogram.SUB_BUCKET_COUNT; value++) {
+			assertEquals(value, LatencyHistogram.getBucketUpperBound(LatencyHistogram.getBucketIndex(value)));
+		}
+
+		assertEquals(LatencyHistogram.getBucketIndex(LatencyHistogram.MAX_VALUE), LatencyHistogram.getBucketIndex(Long.MAX_VALUE));
+	}
+
+	/**
+	 * Test of getStatistics method, of class LatencyHistogram.
+	 */
+	@Test
+	public void testGetStatistics() {
+		System.out.println("getStatistics");
+
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getStatistics().getCount());
+
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+
+		LatencyStatistics statistics = histogram.getStatistics();
+		assertEquals(1000, statistics.getCount());
+		assertEquals(500500, statistics.getMean());
+		assertEquals(1000000, statistics.getMax());
+		assertEquals(500000, statistics.getP50(), 500000 / LatencyHistogram.SUB_BUCKET_COUNT);
+		assertEquals(990000, statistics.getP99(), 990000 / LatencyHistogram.SUB_BUCKET_COUNT);
+		assertTrue(statistics.getP999() <= statistics.getMax());
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+	}
+
+	/**
+	 * Test of the event counters, of class NativeHookStatistics.
+	 */
+	@Test
+	public void testEventCounts() {
+		System.out.println("eventCounts");
+
+		NativeHookStatistics statistics = new NativeHookStatistics();
+		NativeKeyEvent event = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, 0, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED);
+
+		statistics.eventDispatched(event);
+		statistics.eventDispatched(event);
+		assertEquals(2, statistics.getEventCount());
+		assertEquals(Long.valueOf(2), statistics.getEventCounts().get("NATIVE_KEY_PRESSED"));
+
+		statistics.setEnabled(false);
+		statistics.eventDispatched(event);
+		assertEquals(0, statistics.listenerStarted(event));
+		assertEquals(2, statistics.getEventCount());
+
+		statistics.reset();
+		assertEquals(0, statistics.getEventCount());
+	}
+
+	/**
+	 * Test that reading the event rates does not reset the sampling interval, of class NativeHookStatistics.
+	 */
+	@Test
+	public void testEventRates() {
+		System.out.println("eventRates");
+
+		NativeHookStatistics statistics = new NativeHookStatistics();
+		NativeKeyEvent event = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, 0, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED);
+
+		assertEquals(0.0, statistics.getEventRates().get("NATIVE_KEY_PRESSED"), 0.0);
+
+		statistics.eventDispatched(event);
+		statistics.eventDispatched(event);
+		assertEquals(0.0, statistics.getEventRates().get("NATIVE_KEY_PRESSED"), 0.0);
+
+		statistics.sampleRates();
+		double rate = statistics.getEventRates().get("NATIVE_KEY_PRESSED");
+		assertTrue(rate > 0);
+		assertEquals(0.0, statistics.getEventRates().get("NATIVE_KEY_RELEASED"), 0.0);
+
+		// Every client sees the same rates until the next sample.
+		assertEquals(rate, statistics.getEventRates().get("NATIVE_KEY_PRESSED"), 0.0);
+	}
+}
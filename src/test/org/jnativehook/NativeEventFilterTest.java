@@ -0,0 +1,118 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import java.awt.Rectangle;
+import org.junit.Test;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NativeEventFilterTest {
+	private static NativeKeyEvent key(int id, int modifiers, int keyCode) {
+		return new NativeKeyEvent(id, modifiers, 0x00, keyCode, NativeKeyEvent.CHAR_UNDEFINED);
+	}
+
+	private static NativeMouseEvent button(int id, int x, int y, int button) {
+		return new NativeMouseEvent(id, 0x00, x, y, 1, button);
+	}
+
+	/**
+	 * Test of setEventTypes method, of class NativeEventFilter.
+	 */
+	@Test
+	public void testSetEventTypes() {
+		System.out.println("setEventTypes");
+
+		NativeEventFilter filter = new NativeEventFilter();
+		assertTrue(filter.matches(key(NativeKeyEvent.NATIVE_KEY_RELEASED, 0x00, NativeKeyEvent.VC_A)));
+
+		filter.setEventTypes(NativeKeyEvent.NATIVE_KEY_PRESSED, NativeMouseEvent.NATIVE_MOUSE_RELEASED);
+		assertTrue(filter.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, 0x00, NativeKeyEvent.VC_A)));
+		assertFalse(filter.matches(key(NativeKeyEvent.NATIVE_KEY_RELEASED, 0x00, NativeKeyEvent.VC_A)));
+		assertTrue(filter.matches(button(NativeMouseEvent.NATIVE_MOUSE_RELEASED, 0, 0, NativeMouseEvent.BUTTON1)));
+		assertFalse(filter.matches(button(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 0, 0, NativeMouseEvent.BUTTON1)));
+
+		filter.setEventTypes();
+		assertTrue(filter.matches(key(NativeKeyEvent.NATIVE_KEY_RELEASED, 0x00, NativeKeyEvent.VC_A)));
+	}
+
+	/**
+	 * Test of setKeyCodes method, of class NativeEventFilter.
+	 */
+	@Test
+	public void testSetKeyCodes() {
+		System.out.println("setKeyCodes");
+
+		NativeEventFilter filter = new NativeEventFilter();
+		filter.setKeyCodes(NativeKeyEvent.VC_ESCAPE, NativeKeyEvent.VC_MEDIA_PLAY);
+
+		assertTrue(filter.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, 0x00, NativeKeyEvent.VC_ESCAPE)));
+		assertTrue(filter.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, 0x00, NativeKeyEvent.VC_MEDIA_PLAY)));
+		assertFalse(filter.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, 0x00, NativeKeyEvent.VC_A)));
+		assertFalse(filter.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, 0x00, 0xFFFF)));
+
+		// Mouse events are not restricted by key codes.
+		assertTrue(filter.matches(button(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 0, 0, NativeMouseEvent.BUTTON1)));
+	}
+
+	/**
+	 * Test of setModifiers method, of class NativeEventFilter.
+	 */
+	@Test
+	public void testSetModifiers() {
+		System.out.println("setModifiers");
+
+		NativeEventFilter filter = new NativeEventFilter();
+		filter.setModifiers(NativeInputEvent.CTRL_MASK | NativeInputEvent.SHIFT_L_MASK, NativeInputEvent.ALT_MASK);
+
+		assertTrue(filter.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, NativeInputEvent.CTRL_R_MASK | NativeInputEvent.SHIFT_L_MASK, NativeKeyEvent.VC_A)));
+		assertTrue(filter.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, NativeInputEvent.CTRL_L_MASK | NativeInputEvent.SHIFT_L_MASK | NativeInputEvent.NUM_LOCK_MASK, NativeKeyEvent.VC_A)));
+		assertFalse(filter.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, NativeInputEvent.CTRL_L_MASK | NativeInputEvent.SHIFT_R_MASK, NativeKeyEvent.VC_A)));
+		assertFalse(filter.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, NativeInputEvent.SHIFT_L_MASK, NativeKeyEvent.VC_A)));
+		assertFalse(filter.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, NativeInputEvent.CTRL_L_MASK | NativeInputEvent.SHIFT_L_MASK | NativeInputEvent.ALT_R_MASK, NativeKeyEvent.VC_A)));
+	}
+
+	/**
+	 * Test of setButtons and setBounds methods, of class NativeEventFilter.
+	 */
+	@Test
+	public void testSetBounds() {
+		System.out.println("setBounds");
+
+		NativeEventFilter filter = new NativeEventFilter();
+		filter.setButtons(NativeMouseEvent.BUTTON1, NativeMouseEvent.BUTTON3);
+		filter.setBounds(new Rectangle(0, 0, 100, 50), new Rectangle(-1920, 0, 1920, 1080));
+
+		assertTrue(filter.matches(button(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 99, 49, NativeMouseEvent.BUTTON1)));
+		assertTrue(filter.matches(button(NativeMouseEvent.NATIVE_MOUSE_PRESSED, -1920, 1079, NativeMouseEvent.BUTTON3)));
+		assertFalse(filter.matches(button(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 100, 49, NativeMouseEvent.BUTTON1)));
+		assertFalse(filter.matches(button(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 50, 25, NativeMouseEvent.BUTTON2)));
+
+		// Registrations keep a copy of the filter.
+		NativeEventFilter copy = new NativeEventFilter(filter);
+		filter.setBounds((Rectangle[]) null);
+		assertTrue(filter.matches(button(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 500, 500, NativeMouseEvent.BUTTON1)));
+		assertFalse(copy.matches(button(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 500, 500, NativeMouseEvent.BUTTON1)));
+
+		// Key events are not restricted by buttons or bounds.
+		assertTrue(copy.matches(key(NativeKeyEvent.NATIVE_KEY_PRESSED, 0x00, NativeKeyEvent.VC_A)));
+	}
+}
@@ -0,0 +1,141 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import org.junit.Test;
+import java.lang.management.ManagementFactory;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NativeEventPoolTest {
+	/**
+	 * Test of obtain method, of class NativeEventPool.
+	 */
+	@Test
+	public void testObtain() {
+		System.out.println("obtain");
+
+		NativeEventPool pool = new NativeEventPool(2, false);
+
+		NativeInputEvent key = pool.obtain(NativeKeyEvent.NATIVE_KEY_TYPED);
+		assertTrue(key instanceof NativeKeyEvent);
+		assertSame(key, key.recycledTask.getEvent());
+
+		NativeInputEvent wheel = pool.obtain(NativeMouseEvent.NATIVE_MOUSE_WHEEL);
+		assertTrue(wheel instanceof NativeMouseWheelEvent);
+
+		NativeInputEvent first = pool.obtain(NativeMouseEvent.NATIVE_MOUSE_MOVED);
+		NativeInputEvent second = pool.obtain(NativeMouseEvent.NATIVE_MOUSE_PRESSED);
+		assertTrue(first instanceof NativeMouseEvent && !(first instanceof NativeMouseWheelEvent));
+		assertTrue(first != second);
+
+		// All mouse events are in use.
+		assertNull(pool.obtain(NativeMouseEvent.NATIVE_MOUSE_DRAGGED));
+		assertEquals(1, pool.getMissCount());
+
+		first.recycle();
+		assertSame(first, pool.obtain(NativeMouseEvent.NATIVE_MOUSE_DRAGGED));
+
+		assertNull(pool.obtain(0));
+	}
+
+	/**
+	 * Test that recycling events does not allocate once the pool is warmed up.
+	 */
+	@Test
+	public void testZeroAllocation() {
+		System.out.println("zeroAllocation");
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		NativeEventPool pool = new NativeEventPool(NativeEventPool.DEFAULT_SIZE, false);
+
+		// Warm up so that class loading and compilation are not measured.
+		cycle(pool, 200000);
+
+		// Account for anything allocated by the measurement itself.
+		long overhead = threads.getThreadAllocatedBytes(thread);
+		overhead = threads.getThreadAllocatedBytes(thread) - overhead;
+
+		long start = threads.getThreadAllocatedBytes(thread);
+		cycle(pool, 100000);
+		long allocated = threads.getThreadAllocatedBytes(thread) - start - overhead;
+
+		assertEquals(0, allocated);
+		assertEquals(0, pool.getMissCount());
+	}
+
+	/**
+	 * Test that retained events are reported in debug mode.
+	 */
+	@Test
+	public void testLeakDetection() throws InterruptedException {
+		System.out.println("leakDetection");
+
+		NativeEventPool pool = new NativeEventPool(1, true);
+		assertTrue(pool.isDebug());
+
+		NativeInputEvent retained = pool.obtain(NativeKeyEvent.NATIVE_KEY_PRESSED);
+		assertNotNull(retained);
+		retained.recycle();
+
+		for (int i = 0; i < 50 && pool.getLeakCount() == 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+			cycle(pool, 1);
+		}
+		assertEquals(1, pool.getLeakCount());
+
+		// Events that were released and dropped are not reported.
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(10);
+			cycle(pool, 1);
+		}
+		assertEquals(1, pool.getLeakCount());
+		assertNotNull(retained);
+	}
+
+	/**
+	 * Obtain, populate and release events the way the native hook and the dispatch thread do.
+	 */
+	private static void cycle(NativeEventPool pool, int count) {
+		for (int i = 0; i < count; i++) {
+			NativeInputEvent key = pool.obtain(NativeKeyEvent.NATIVE_KEY_PRESSED);
+			key.setModifiers(i);
+			key.setWhen(i);
+
+			NativeInputEvent motion = pool.obtain(NativeMouseEvent.NATIVE_MOUSE_MOVED);
+			motion.setModifiers(i);
+
+			NativeInputEvent wheel = pool.obtain(NativeMouseEvent.NATIVE_MOUSE_WHEEL);
+			wheel.setModifiers(i);
+
+			key.recycle();
+			motion.recycle();
+			wheel.recycle();
+		}
+	}
+}
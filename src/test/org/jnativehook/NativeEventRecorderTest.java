@@ -0,0 +1,131 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import org.junit.Test;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NativeEventRecorderTest {
+	private static class CollectingSink implements NativeEventSink {
+		private final List<String> events = new ArrayList<String>();
+
+		public void started() { }
+
+		public void dispatchEvent(NativeInputEvent event) {
+			events.add(event.paramString());
+		}
+	}
+
+	/**
+	 * Test that recorded events are replayed unchanged.
+	 */
+	@Test
+	public void testRecordAndPlay() throws IOException, NativeHookException {
+		System.out.println("recordAndPlay");
+
+		File file = File.createTempFile("jnativehook", ".journal");
+		try {
+			// Use a small staging ring and more events than fit in one mapped region.
+			List<String> expected = new ArrayList<String>();
+			NativeEventRecorder recorder = new NativeEventRecorder(file, 64);
+			for (int i = 0; i < 100000; i++) {
+				NativeInputEvent event;
+				switch (i % 3) {
+					case 0:
+						event = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_TYPED, NativeInputEvent.SHIFT_L_MASK, i, NativeKeyEvent.VC_UNDEFINED, (char) ('a' + i % 26), NativeKeyEvent.KEY_LOCATION_STANDARD);
+						break;
+
+					case 1:
+						event = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 0, i, -i, 2, NativeMouseEvent.BUTTON2);
+						break;
+
+					default:
+						event = new NativeMouseWheelEvent(NativeMouseEvent.NATIVE_MOUSE_WHEEL, 0, i, i, 0, NativeMouseWheelEvent.WHEEL_BLOCK_SCROLL, 3, -1, NativeMouseWheelEvent.WHEEL_HORIZONTAL_DIRECTION);
+						break;
+				}
+				event.setCaptureTime(i + 1);
+
+				// Recording never blocks, so retry until the writer has made room.
+				while (!recorder.record(event)) {
+					Thread.yield();
+				}
+				expected.add(event.paramString());
+			}
+			recorder.close();
+
+			assertEquals(file.length(), NativeEventJournal.HEADER_SIZE + 100000L * NativeEventJournal.RECORD_SIZE);
+
+			NativeEventPlayer player = new NativeEventPlayer(file);
+			assertEquals(100000, player.getEventCount());
+			player.setSpeed(0);
+
+			CollectingSink sink = new CollectingSink();
+			player.enable(sink);
+			assertEquals(expected, sink.events);
+			assertEquals(100000, player.getPlayedEventCount());
+			assertTrue(player.getThroughput() > 0);
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Test that the playback speed scales the recorded timing.
+	 */
+	@Test
+	public void testSpeed() throws IOException, NativeHookException, InterruptedException {
+		System.out.println("speed");
+
+		File file = File.createTempFile("jnativehook", ".journal");
+		try {
+			NativeEventRecorder recorder = new NativeEventRecorder(file);
+			for (int i = 0; i <= 10; i++) {
+				NativeInputEvent event = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, i, i, 0);
+				event.setCaptureTime(TimeUnit.MILLISECONDS.toNanos(i * 20));
+				recorder.record(event);
+			}
+			recorder.close();
+
+			NativeEventPlayer player = new NativeEventPlayer(file);
+			player.setSpeed(4);
+
+			long start = System.nanoTime();
+			player.enable(new CollectingSink());
+			long elapsed = System.nanoTime() - start;
+
+			// 200 ms of input replayed four times faster.
+			assertEquals(11, player.getPlayedEventCount());
+			assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(50));
+			assertTrue(player.awaitCompletion(0, TimeUnit.SECONDS));
+		}
+		finally {
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,189 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.dispatcher.RingBufferDispatchService.WaitStrategy;
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import org.junit.Test;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NativeEventRingTest {
+	private static final VarHandle SEQUENCE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+	/**
+	 * Event ring that decodes every record instead of notifying the global listeners.
+	 */
+	private static class RecordingEventRing extends NativeEventRing {
+		private final List<NativeInputEvent> events = new ArrayList<NativeInputEvent>();
+		private final CountDownLatch received;
+
+		public RecordingEventRing(int expected) {
+			super(4, WaitStrategy.YIELDING);
+			this.received = new CountDownLatch(expected);
+		}
+
+		protected void dispatch(NativeEventCursor cursor) {
+			events.add(cursor.toEvent());
+			received.countDown();
+		}
+	}
+
+	/**
+	 * Write a record the same way the native library does.
+	 */
+	private static void write(NativeEventRing ring, int id, int modifiers, long when, int... data) {
+		ByteBuffer buffer = ring.getBuffer();
+		long sequence = (long) SEQUENCE.getAcquire(buffer, NativeEventRing.HEADER_PRODUCER);
+		int offset = NativeEventRing.HEADER_SIZE + (int) (sequence & (ring.getCapacity() - 1)) * NativeEventRing.RECORD_SIZE;
+
+		buffer.putInt(offset + NativeEventRing.RECORD_ID, id);
+		buffer.putInt(offset + NativeEventRing.RECORD_MODIFIERS, modifiers);
+		buffer.putLong(offset + NativeEventRing.RECORD_WHEN, when);
+		buffer.putLong(offset + NativeEventRing.RECORD_CAPTURE, when * 1000);
+		for (int i = 0; i < data.length; i++) {
+			buffer.putInt(offset + NativeEventRing.RECORD_DATA + i * 4, data[i]);
+		}
+
+		SEQUENCE.setRelease(buffer, NativeEventRing.HEADER_PRODUCER, sequence + 1);
+	}
+
+	/**
+	 * Test that records are decoded into the matching event objects.
+	 */
+	@Test
+	public void testDecode() throws InterruptedException {
+		System.out.println("decode");
+
+		RecordingEventRing ring = new RecordingEventRing(3);
+		ring.start();
+
+		write(ring, NativeKeyEvent.NATIVE_KEY_PRESSED, NativeInputEvent.SHIFT_L_MASK, 10L,
+				0x41, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED, NativeKeyEvent.KEY_LOCATION_STANDARD);
+		write(ring, NativeMouseEvent.NATIVE_MOUSE_PRESSED, NativeInputEvent.BUTTON1_MASK, 20L,
+				100, 200, 1, NativeMouseEvent.BUTTON1);
+		write(ring, NativeMouseEvent.NATIVE_MOUSE_WHEEL, 0, 30L,
+				5, 6, 1, NativeMouseWheelEvent.WHEEL_UNIT_SCROLL, 3, -1, NativeMouseWheelEvent.WHEEL_VERTICAL_DIRECTION);
+
+		assertTrue(ring.received.await(5, TimeUnit.SECONDS));
+		ring.stop();
+
+		NativeKeyEvent key = (NativeKeyEvent) ring.events.get(0);
+		assertEquals(NativeKeyEvent.NATIVE_KEY_PRESSED, key.getID());
+		assertEquals(NativeInputEvent.SHIFT_L_MASK, key.getModifiers());
+		assertEquals(10L, key.getWhen());
+		assertEquals(10000L, key.getCaptureTime());
+		assertEquals(0x41, key.getRawCode());
+		assertEquals(NativeKeyEvent.VC_A, key.getKeyCode());
+		assertEquals(NativeKeyEvent.CHAR_UNDEFINED, key.getKeyChar());
+		assertEquals(NativeKeyEvent.KEY_LOCATION_STANDARD, key.getKeyLocation());
+
+		NativeMouseEvent button = (NativeMouseEvent) ring.events.get(1);
+		assertEquals(NativeMouseEvent.NATIVE_MOUSE_PRESSED, button.getID());
+		assertEquals(100, button.getX());
+		assertEquals(200, button.getY());
+		assertEquals(1, button.getClickCount());
+		assertEquals(NativeMouseEvent.BUTTON1, button.getButton());
+
+		NativeMouseWheelEvent wheel = (NativeMouseWheelEvent) ring.events.get(2);
+		assertEquals(NativeMouseEvent.NATIVE_MOUSE_WHEEL, wheel.getID());
+		assertEquals(30L, wheel.getWhen());
+		assertEquals(5, wheel.getX());
+		assertEquals(NativeMouseWheelEvent.WHEEL_UNIT_SCROLL, wheel.getScrollType());
+		assertEquals(3, wheel.getScrollAmount());
+		assertEquals(-1, wheel.getWheelRotation());
+		assertEquals(NativeMouseWheelEvent.WHEEL_VERTICAL_DIRECTION, wheel.getWheelDirection());
+	}
+
+	/**
+	 * Test that more events than the capacity are delivered in order as long as the consumer keeps up.
+	 */
+	@Test
+	public void testWrapAround() throws InterruptedException {
+		System.out.println("wrapAround");
+
+		int count = 1000;
+		RecordingEventRing ring = new RecordingEventRing(count);
+		ring.start();
+
+		for (int i = 0; i < count; i++) {
+			while (ring.getQueueSize() >= ring.getCapacity()) {
+				Thread.yield();
+			}
+
+			write(ring, NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, i, i, i, 0, 0);
+		}
+
+		assertTrue(ring.received.await(5, TimeUnit.SECONDS));
+		ring.stop();
+
+		assertEquals(count, ring.events.size());
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, ((NativeMouseEvent) ring.events.get(i)).getX());
+		}
+		assertEquals(0, ring.getQueueSize());
+	}
+
+	/**
+	 * Test that stopping the ring delivers the events that were already written.
+	 */
+	@Test
+	public void testStop() {
+		System.out.println("stop");
+
+		RecordingEventRing ring = new RecordingEventRing(2);
+		write(ring, NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 1L, 1, 1, 0, 0);
+		write(ring, NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 2L, 2, 2, 0, 0);
+
+		ring.start();
+		ring.stop();
+
+		assertEquals(2, ring.events.size());
+		assertTrue(!ring.isRunning());
+	}
+
+	/**
+	 * Test that the blocking wait strategy is rejected.
+	 */
+	@Test
+	public void testBlockingWaitStrategy() {
+		System.out.println("blockingWaitStrategy");
+
+		try {
+			new NativeEventRing(16, WaitStrategy.BLOCKING);
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException e) {
+			// Expected.
+		}
+
+		assertEquals(16, new NativeEventRing(9, WaitStrategy.SLEEPING).getCapacity());
+	}
+}
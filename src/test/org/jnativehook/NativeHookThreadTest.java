@@ -0,0 +1,444 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.dispatcher.RingBufferDispatchService;
+import org.jnativehook.keyboard.NativeKeyAdapter;
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.keyboard.NativeKeyListener;
+import org.junit.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NativeHookThreadTest {
+	static {
+		// Events are produced in Java, so the native library is not required.
+		System.setProperty("jnativehook.lib.load", "false");
+	}
+
+	/**
+	 * Key listener that records the events it receives on any thread.
+	 */
+	private static class RecordingKeyListener implements NativeKeyListener {
+		private final List<NativeKeyEvent> received = new ArrayList<NativeKeyEvent>();
+
+		public synchronized void nativeKeyPressed(NativeKeyEvent nativeEvent) {
+			received.add(nativeEvent);
+		}
+
+		public void nativeKeyReleased(NativeKeyEvent nativeEvent) { }
+
+		public void nativeKeyTyped(NativeKeyEvent nativeEvent) { }
+
+		public synchronized List<NativeKeyEvent> getReceived() {
+			return new ArrayList<NativeKeyEvent>(received);
+		}
+	}
+
+	/**
+	 * Event source that produces no events and runs until it is disabled.
+	 */
+	private static class IdleEventSource implements NativeEventSource {
+		private int enableCount = 0;
+		private boolean running = false;
+
+		public synchronized void enable(NativeEventSink sink) {
+			enableCount++;
+			running = true;
+			sink.started();
+
+			while (running) {
+				try {
+					wait();
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+			}
+		}
+
+		public synchronized void disable() {
+			running = false;
+			notifyAll();
+		}
+
+		public synchronized int getEnableCount() {
+			return enableCount;
+		}
+	}
+
+	private static NativeKeyEvent createKeyEvent() {
+		return new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, 0x41, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED);
+	}
+
+	/**
+	 * Test that a synchronous listener exceeding the budget is demoted even if the event dispatcher drops the task of
+	 * the event, and that it receives every following event exactly once.
+	 */
+	@Test
+	public void testSynchronousOverrunWithFullDispatcher() throws InterruptedException {
+		System.out.println("synchronousOverrunWithFullDispatcher");
+
+		final CountDownLatch running = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		RingBufferDispatchService dispatcher = new RingBufferDispatchService(1, RingBufferDispatchService.WaitStrategy.BLOCKING);
+		dispatcher.execute(new Runnable() {
+			public void run() {
+				running.countDown();
+
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		running.await();
+
+		// Occupy the only slot of the ring while the dispatch thread is blocked.
+		dispatcher.execute(new Runnable() {
+			public void run() { }
+		});
+
+		long budget = GlobalScreen.getSynchronousDispatchBudget(TimeUnit.NANOSECONDS);
+		int overrunLimit = GlobalScreen.getSynchronousDispatchOverrunLimit();
+		RecordingKeyListener listener = new RecordingKeyListener();
+
+		GlobalScreen.setEventDispatcher(dispatcher);
+		GlobalScreen.setSynchronousDispatchBudget(0, TimeUnit.NANOSECONDS);
+		GlobalScreen.setSynchronousDispatchOverrunLimit(1);
+		GlobalScreen.addSynchronousListener(NativeKeyListener.class, listener);
+		try {
+			NativeKeyEvent first = createKeyEvent();
+			GlobalScreen.NativeHookThread.dispatchEvent(first);
+			assertEquals(1, dispatcher.getDroppedTaskCount());
+			assertEquals(1, listener.getReceived().size());
+
+			// The listener was demoted without waiting for the dispatcher.
+			NativeKeyListener[] listeners = GlobalScreen.eventListeners.getListeners(NativeKeyListener.class);
+			assertSame(listener, listeners[listeners.length - 1]);
+			assertEquals(0, GlobalScreen.synchronousDispatcher.getListenerCount(NativeKeyListener.class));
+
+			release.countDown();
+			while (dispatcher.getQueueSize() > 0) {
+				Thread.yield();
+			}
+
+			NativeKeyEvent second = createKeyEvent();
+			GlobalScreen.NativeHookThread.dispatchEvent(second);
+
+			dispatcher.shutdown();
+			assertTrue(dispatcher.awaitTermination(5, TimeUnit.SECONDS));
+
+			List<NativeKeyEvent> received = listener.getReceived();
+			assertEquals(2, received.size());
+			assertSame(first, received.get(0));
+			assertSame(second, received.get(1));
+		}
+		finally {
+			release.countDown();
+
+			GlobalScreen.removeSynchronousListener(NativeKeyListener.class, listener);
+			GlobalScreen.removeNativeKeyListener(listener);
+			GlobalScreen.setSynchronousDispatchBudget(budget, TimeUnit.NANOSECONDS);
+			GlobalScreen.setSynchronousDispatchOverrunLimit(overrunLimit);
+			GlobalScreen.setEventDispatcher(null);
+		}
+	}
+
+	/**
+	 * Test of registerNativeHookAsync and unregisterNativeHookAsync methods, of class GlobalScreen.
+	 */
+	@Test
+	public void testNativeHookAsync() throws Exception {
+		System.out.println("nativeHookAsync");
+
+		IdleEventSource source = new IdleEventSource();
+		GlobalScreen.setEventSource(source);
+		try {
+			Duration started = GlobalScreen.registerNativeHookAsync().get(5, TimeUnit.SECONDS);
+			assertTrue(GlobalScreen.isNativeHookRegistered());
+			assertFalse(started.isNegative());
+
+			// Registering again completes immediately.
+			assertEquals(Duration.ZERO, GlobalScreen.registerNativeHookAsync().get());
+
+			Duration stopped = GlobalScreen.unregisterNativeHookAsync(1, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			assertFalse(GlobalScreen.isNativeHookRegistered());
+			assertFalse(stopped.isNegative());
+
+			// The hook can be restarted right away.
+			GlobalScreen.registerNativeHookAsync().get(5, TimeUnit.SECONDS);
+			assertTrue(GlobalScreen.isNativeHookRegistered());
+
+			GlobalScreen.unregisterNativeHookAsync(0, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			assertFalse(GlobalScreen.isNativeHookRegistered());
+			assertEquals(2, source.getEnableCount());
+		}
+		finally {
+			GlobalScreen.unregisterNativeHookAsync(0, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			GlobalScreen.setEventSource(null);
+		}
+	}
+
+	/**
+	 * Test that concurrent registrations start a single hook thread.
+	 */
+	@Test
+	public void testConcurrentRegistration() throws Exception {
+		System.out.println("concurrentRegistration");
+
+		IdleEventSource source = new IdleEventSource();
+		GlobalScreen.setEventSource(source);
+		try {
+			final CountDownLatch start = new CountDownLatch(1);
+			final List<CompletableFuture<Duration>> registrations = Collections.synchronizedList(new ArrayList<CompletableFuture<Duration>>());
+
+			Thread[] threads = new Thread[8];
+			for (int i = 0; i < threads.length; i++) {
+				threads[i] = new Thread(new Runnable() {
+					public void run() {
+						try {
+							start.await();
+						}
+						catch (InterruptedException e) {
+							return;
+						}
+
+						registrations.add(GlobalScreen.registerNativeHookAsync());
+					}
+				});
+				threads[i].start();
+			}
+
+			start.countDown();
+			for (int i = 0; i < threads.length; i++) {
+				threads[i].join();
+			}
+
+			assertEquals(threads.length, registrations.size());
+			for (CompletableFuture<Duration> registration : registrations) {
+				registration.get(5, TimeUnit.SECONDS);
+			}
+
+			assertTrue(GlobalScreen.isNativeHookRegistered());
+			assertEquals(1, source.getEnableCount());
+		}
+		finally {
+			GlobalScreen.unregisterNativeHookAsync(0, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			GlobalScreen.setEventSource(null);
+		}
+	}
+
+	/**
+	 * Test that a registration waits for the dispatcher of the previous registration without blocking the caller.
+	 */
+	@Test
+	public void testRegistrationAfterUnregistration() throws Exception {
+		System.out.println("registrationAfterUnregistration");
+
+		final CountDownLatch release = new CountDownLatch(1);
+		IdleEventSource source = new IdleEventSource();
+		GlobalScreen.setEventSource(source);
+		try {
+			GlobalScreen.registerNativeHookAsync().get(5, TimeUnit.SECONDS);
+
+			// Keep the dispatcher busy after the hook has stopped.
+			ExecutorService previous = GlobalScreen.eventExecutor;
+			previous.execute(new Runnable() {
+				public void run() {
+					try {
+						release.await();
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+
+			GlobalScreen.unregisterNativeHookAsync(0, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			assertFalse(previous.isTerminated());
+
+			CompletableFuture<Duration> registration = GlobalScreen.registerNativeHookAsync();
+			assertFalse(registration.isDone());
+			assertFalse(GlobalScreen.isNativeHookRegistered());
+			assertSame(registration, GlobalScreen.registerNativeHookAsync());
+
+			release.countDown();
+			registration.get(5, TimeUnit.SECONDS);
+			assertTrue(GlobalScreen.isNativeHookRegistered());
+			assertTrue(previous.isTerminated());
+			assertNotSame(previous, GlobalScreen.eventExecutor);
+			assertEquals(2, source.getEnableCount());
+		}
+		finally {
+			release.countDown();
+
+			GlobalScreen.unregisterNativeHookAsync(0, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			GlobalScreen.setEventSource(null);
+		}
+	}
+
+	/**
+	 * Test that the batch still collecting events is delivered when the native hook is unregistered.
+	 */
+	@Test
+	public void testBatchFlushOnUnregistration() throws Exception {
+		System.out.println("batchFlushOnUnregistration");
+
+		final List<NativeInputEvent> delivered = Collections.synchronizedList(new ArrayList<NativeInputEvent>());
+		NativeInputBatchListener listener = new NativeInputBatchListener() {
+			public void nativeInputBatch(NativeInputEvent[] nativeEvents, int length) {
+				for (int i = 0; i < length; i++) {
+					delivered.add(nativeEvents[i]);
+				}
+			}
+		};
+
+		IdleEventSource source = new IdleEventSource();
+		GlobalScreen.setEventSource(source);
+		GlobalScreen.addNativeInputBatchListener(listener, 16, 1, TimeUnit.HOURS);
+		try {
+			GlobalScreen.registerNativeHookAsync().get(5, TimeUnit.SECONDS);
+
+			NativeKeyEvent event = createKeyEvent();
+			GlobalScreen.NativeHookThread.dispatchEvent(event);
+
+			GlobalScreen.unregisterNativeHookAsync(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			assertEquals(1, delivered.size());
+			assertSame(event, delivered.get(0));
+		}
+		finally {
+			GlobalScreen.removeNativeInputBatchListener(listener);
+			GlobalScreen.unregisterNativeHookAsync(0, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			GlobalScreen.setEventSource(null);
+		}
+	}
+
+	/**
+	 * Test that listeners added with and without a filter are notified in the order they were added.
+	 */
+	@Test
+	public void testFilteredListenerOrder() throws InterruptedException {
+		System.out.println("filteredListenerOrder");
+
+		final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+		NativeKeyListener pressed = new NativeKeyAdapter() {
+			public void nativeKeyPressed(NativeKeyEvent nativeEvent) {
+				order.add("pressed");
+			}
+		};
+		NativeKeyListener all = new NativeKeyAdapter() {
+			public void nativeKeyPressed(NativeKeyEvent nativeEvent) {
+				order.add("all");
+			}
+
+			public void nativeKeyReleased(NativeKeyEvent nativeEvent) {
+				order.add("all");
+			}
+		};
+		NativeKeyListener released = new NativeKeyAdapter() {
+			public void nativeKeyReleased(NativeKeyEvent nativeEvent) {
+				order.add("released");
+			}
+		};
+
+		NativeEventFilter pressedFilter = new NativeEventFilter();
+		pressedFilter.setEventTypes(NativeKeyEvent.NATIVE_KEY_PRESSED);
+		NativeEventFilter releasedFilter = new NativeEventFilter();
+		releasedFilter.setEventTypes(NativeKeyEvent.NATIVE_KEY_RELEASED);
+
+		RingBufferDispatchService dispatcher = new RingBufferDispatchService();
+		GlobalScreen.setEventDispatcher(dispatcher);
+		GlobalScreen.addNativeKeyListener(pressed, pressedFilter);
+		GlobalScreen.addNativeKeyListener(all);
+		GlobalScreen.addNativeKeyListener(released, releasedFilter);
+		try {
+			GlobalScreen.NativeHookThread.dispatchEvent(createKeyEvent());
+			GlobalScreen.NativeHookThread.dispatchEvent(new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_RELEASED, 0, 0x41, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED));
+
+			dispatcher.shutdown();
+			assertTrue(dispatcher.awaitTermination(5, TimeUnit.SECONDS));
+
+			assertEquals(4, order.size());
+			assertEquals("pressed", order.get(0));
+			assertEquals("all", order.get(1));
+			assertEquals("all", order.get(2));
+			assertEquals("released", order.get(3));
+
+			// Filtered listeners are removed like any other listener.
+			GlobalScreen.removeNativeKeyListener(pressed);
+			NativeKeyListener[] listeners = GlobalScreen.eventListeners.getListeners(NativeKeyListener.class);
+			assertEquals(2, listeners.length);
+			assertSame(all, listeners[0]);
+		}
+		finally {
+			GlobalScreen.removeNativeKeyListener(pressed);
+			GlobalScreen.removeNativeKeyListener(all);
+			GlobalScreen.removeNativeKeyListener(released);
+			GlobalScreen.setEventDispatcher(null);
+		}
+	}
+
+	/**
+	 * Test that the hook can be unregistered from a continuation of its registration.
+	 */
+	@Test
+	public void testUnregisterFromRegistration() throws Exception {
+		System.out.println("unregisterFromRegistration");
+
+		IdleEventSource source = new IdleEventSource();
+		GlobalScreen.setEventSource(source);
+		try {
+			final Thread[] notifier = new Thread[1];
+			CompletableFuture<Void> unregistered = GlobalScreen.registerNativeHookAsync().thenRun(new Runnable() {
+				public void run() {
+					notifier[0] = Thread.currentThread();
+
+					try {
+						GlobalScreen.unregisterNativeHook();
+					}
+					catch (NativeHookException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			});
+
+			unregistered.get(5, TimeUnit.SECONDS);
+			assertFalse(GlobalScreen.isNativeHookRegistered());
+			assertFalse("JNativeHook Hook Thread".equals(notifier[0].getName()));
+		}
+		finally {
+			GlobalScreen.unregisterNativeHookAsync(0, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+			GlobalScreen.setEventSource(null);
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.dispatcher.RingBufferDispatchService;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NativeInputBatchTest {
+	static {
+		// Flush tasks are submitted through the GlobalScreen, which must not load the native library.
+		System.setProperty("jnativehook.lib.load", "false");
+	}
+
+	/**
+	 * Batch listener that keeps a copy of every delivered batch.
+	 */
+	private static class RecordingBatchListener implements NativeInputBatchListener {
+		private final List<NativeInputEvent[]> batches = new ArrayList<NativeInputEvent[]>();
+		private final CountDownLatch delivered;
+
+		public RecordingBatchListener(int expectedBatches) {
+			this.delivered = new CountDownLatch(expectedBatches);
+		}
+
+		public void nativeInputBatch(NativeInputEvent[] nativeEvents, int length) {
+			batches.add(Arrays.copyOf(nativeEvents, length));
+			delivered.countDown();
+		}
+	}
+
+	/**
+	 * Append the events to the batch on the dispatch thread, like the global event dispatch task does.
+	 */
+	private static NativeInputEvent[] append(final RingBufferDispatchService service, final NativeInputBatch batch, int count) {
+		NativeInputEvent[] events = new NativeInputEvent[count];
+
+		for (int i = 0; i < count; i++) {
+			final NativeInputEvent event = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, i, i, 0);
+			events[i] = event;
+
+			service.execute(new Runnable() {
+				public void run() {
+					batch.append(event, service);
+				}
+			});
+		}
+
+		return events;
+	}
+
+	private static Runnable stall(final CountDownLatch release) {
+		return new Runnable() {
+			public void run() {
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Test that all events queued behind each other are delivered as a single batch.
+	 */
+	@Test
+	public void testDrain() throws InterruptedException {
+		System.out.println("drain");
+
+		RingBufferDispatchService service = new RingBufferDispatchService();
+		RecordingBatchListener listener = new RecordingBatchListener(1);
+		NativeInputBatch batch = new NativeInputBatch(listener, 16, 0);
+
+		CountDownLatch release = new CountDownLatch(1);
+		service.execute(stall(release));
+		NativeInputEvent[] events = append(service, batch, 5);
+		release.countDown();
+
+		assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(1, listener.batches.size());
+		assertEquals(5, listener.batches.get(0).length);
+		for (int i = 0; i < events.length; i++) {
+			assertSame(events[i], listener.batches.get(0)[i]);
+		}
+	}
+
+	/**
+	 * Test that a batch is delivered as soon as it is full.
+	 */
+	@Test
+	public void testMaxBatchSize() throws InterruptedException {
+		System.out.println("maxBatchSize");
+
+		RingBufferDispatchService service = new RingBufferDispatchService();
+		RecordingBatchListener listener = new RecordingBatchListener(3);
+		NativeInputBatch batch = new NativeInputBatch(listener, 2, 0);
+
+		CountDownLatch release = new CountDownLatch(1);
+		service.execute(stall(release));
+		NativeInputEvent[] events = append(service, batch, 5);
+		release.countDown();
+
+		assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(3, listener.batches.size());
+		assertEquals(2, listener.batches.get(0).length);
+		assertEquals(2, listener.batches.get(1).length);
+		assertEquals(1, listener.batches.get(2).length);
+		assertSame(events[4], listener.batches.get(2)[0]);
+	}
+
+	/**
+	 * Test that a lingering batch collects events that arrive after the queue was drained.
+	 */
+	@Test
+	public void testMaxLinger() throws InterruptedException {
+		System.out.println("maxLinger");
+
+		RingBufferDispatchService service = new RingBufferDispatchService();
+		RecordingBatchListener listener = new RecordingBatchListener(1);
+		NativeInputBatch batch = new NativeInputBatch(listener, 16, TimeUnit.MILLISECONDS.toNanos(200));
+
+		append(service, batch, 1);
+		while (service.getQueueSize() > 0) {
+			Thread.yield();
+		}
+		append(service, batch, 1);
+
+		assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(1, listener.batches.size());
+		assertEquals(2, listener.batches.get(0).length);
+	}
+
+	/**
+	 * Test that a batch is delivered immediately when its flush task cannot be submitted.
+	 */
+	@Test
+	public void testRejectedFlush() throws InterruptedException {
+		System.out.println("rejectedFlush");
+
+		RingBufferDispatchService service = new RingBufferDispatchService(2, RingBufferDispatchService.WaitStrategy.BLOCKING);
+		RecordingBatchListener listener = new RecordingBatchListener(2);
+		NativeInputBatch batch = new NativeInputBatch(listener, 16, 0);
+
+		// Fill the ring so that the flush task is dropped.
+		CountDownLatch release = new CountDownLatch(1);
+		service.execute(stall(release));
+		while (service.getQueueSize() > 0) {
+			Thread.yield();
+		}
+		service.execute(stall(release));
+		service.execute(stall(release));
+
+		NativeInputEvent event = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 0, 0, 0);
+		batch.append(event, service);
+		assertEquals(1, listener.batches.size());
+		assertSame(event, listener.batches.get(0)[0]);
+
+		release.countDown();
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		batch.append(event, service);
+		assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+		assertEquals(2, listener.batches.size());
+	}
+
+	/**
+	 * Test that the flush task of a lingering batch is resubmitted until the ring has room for it.
+	 */
+	@Test
+	public void testLingerRetry() throws InterruptedException {
+		System.out.println("lingerRetry");
+
+		RingBufferDispatchService service = new RingBufferDispatchService(2, RingBufferDispatchService.WaitStrategy.BLOCKING);
+		RecordingBatchListener listener = new RecordingBatchListener(1);
+		NativeInputBatch batch = new NativeInputBatch(listener, 16, TimeUnit.MILLISECONDS.toNanos(10));
+
+		CountDownLatch release = new CountDownLatch(1);
+		service.execute(stall(release));
+		while (service.getQueueSize() > 0) {
+			Thread.yield();
+		}
+		batch.append(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 0, 0, 0), service);
+		service.execute(stall(release));
+		service.execute(stall(release));
+
+		// The flush task is dropped at least once while the ring is full.
+		while (service.getDroppedTaskCount() == 0) {
+			Thread.sleep(1);
+		}
+		release.countDown();
+
+		assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(1, listener.batches.size());
+		assertEquals(1, listener.batches.get(0).length);
+	}
+}
@@ -20,8 +20,11 @@ package org.jnativehook;
 // Imports.
 import org.jnativehook.keyboard.NativeKeyEvent;
 import org.junit.Test;
+import java.util.concurrent.TimeUnit;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class NativeInputEventTest {
 	/**
@@ -56,6 +59,35 @@ public class NativeInputEventTest {
 		assertEquals(event.getWhen(), when);
 	}
 
+	/**
+	 * Test of getQueueLatency and getDispatchLatency methods, of class NativeInputEvent.
+	 */
+	@Test
+	public void testGetLatency() {
+		System.out.println("getLatency");
+
+		NativeInputEvent event = new NativeInputEvent(
+				GlobalScreen.class,
+				NativeKeyEvent.NATIVE_KEY_PRESSED,
+				0x00);
+
+		assertEquals(0, event.getCaptureTime());
+		assertEquals(0, event.getQueueLatency(TimeUnit.NANOSECONDS));
+		assertEquals(0, event.getDispatchLatency(TimeUnit.NANOSECONDS));
+		assertEquals(0, event.getLatency(TimeUnit.NANOSECONDS));
+
+		event.setCaptureTime(1000000L);
+		event.setQueueTime(3000000L);
+		assertEquals(2000000L, event.getQueueLatency(TimeUnit.NANOSECONDS));
+		assertEquals(0, event.getDispatchLatency(TimeUnit.NANOSECONDS));
+
+		event.setDeliveryTime(7000000L);
+		assertEquals(4L, event.getDispatchLatency(TimeUnit.MILLISECONDS));
+
+		event.setCaptureTime(System.nanoTime());
+		assertTrue(event.getLatency(TimeUnit.NANOSECONDS) >= 0);
+	}
+
 	/**
 	 * Test of getModifiers method, of class NativeInputEvent.
 	 */
@@ -109,6 +141,17 @@ public class NativeInputEventTest {
 					NativeInputEvent.BUTTON1_MASK;
 
 		assertFalse(NativeInputEvent.getModifiersText(mask).equals(""));
+
+		// Rendered text is cached and interned.
+		assertSame(NativeInputEvent.getModifiersText(mask), NativeInputEvent.getModifiersText(mask));
+		assertSame(NativeInputEvent.getModifiersText(mask), new String(NativeInputEvent.getModifiersText(mask)).intern());
+		assertEquals("", NativeInputEvent.getModifiersText(0));
+
+		// Bits above the 16-bit mask do not change the text.
+		assertSame(NativeInputEvent.getModifiersText(mask), NativeInputEvent.getModifiersText(mask | 1 << 20));
+		assertEquals(
+				NativeInputEvent.getModifiersText(NativeInputEvent.SHIFT_L_MASK),
+				NativeInputEvent.getModifiersText(NativeInputEvent.SHIFT_R_MASK));
 	}
 
 	/**
@@ -126,4 +169,27 @@ public class NativeInputEventTest {
 
 		assertFalse(event.paramString().equals(""));
 	}
+
+	/**
+	 * Test of appendParamString method, of class NativeInputEvent.
+	 */
+	@Test
+	public void testAppendParamString() {
+		System.out.println("appendParamString");
+
+		NativeInputEvent event = new NativeInputEvent(
+				GlobalScreen.class,
+				NativeKeyEvent.NATIVE_KEY_PRESSED,
+				NativeInputEvent.SHIFT_MASK |
+				NativeInputEvent.BUTTON5_MASK);
+
+		StringBuilder param = new StringBuilder("prefix:");
+		assertSame(param, event.appendParamString(param));
+		assertEquals("prefix:" + event.paramString(), param.toString());
+		assertTrue(param.indexOf("mask=" + Integer.toBinaryString(event.getModifiers()) + ",") > 0);
+
+		event.setModifiers(0);
+		param.setLength(0);
+		assertTrue(event.appendParamString(param).indexOf("mask=0,") > 0);
+	}
 }
@@ -0,0 +1,117 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseWheelEvent;
+import java.awt.Point;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NativeInputStateTest {
+	/**
+	 * Test of isKeyDown method, of class NativeInputState.
+	 */
+	@Test
+	public void testIsKeyDown() {
+		System.out.println("isKeyDown");
+
+		NativeInputState state = new NativeInputState();
+		assertFalse(state.isKeyDown(NativeKeyEvent.VC_A));
+		assertFalse(state.isAnyKeyDown());
+
+		state.update(new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, NativeInputEvent.SHIFT_L_MASK, 0x00, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED));
+		state.update(new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0x00, 0x00, NativeKeyEvent.VC_MEDIA_PLAY, NativeKeyEvent.CHAR_UNDEFINED));
+		assertTrue(state.isKeyDown(NativeKeyEvent.VC_A));
+		assertTrue(state.isKeyDown(NativeKeyEvent.VC_MEDIA_PLAY));
+		assertFalse(state.isKeyDown(NativeKeyEvent.VC_B));
+		assertTrue(state.isAnyKeyDown());
+		assertEquals(0x00, state.getModifiers());
+
+		// Auto-repeat and typed events do not change the state.
+		state.update(new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0x00, 0x00, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED));
+		state.update(new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_TYPED, 0x00, 0x00, NativeKeyEvent.VC_UNDEFINED, 'a'));
+		assertTrue(state.isKeyDown(NativeKeyEvent.VC_A));
+
+		state.update(new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_RELEASED, 0x00, 0x00, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED));
+		assertFalse(state.isKeyDown(NativeKeyEvent.VC_A));
+		assertTrue(state.isKeyDown(NativeKeyEvent.VC_MEDIA_PLAY));
+
+		// Out of range key codes are never reported as pressed.
+		assertFalse(state.isKeyDown(NativeKeyEvent.VC_UNDEFINED));
+		assertFalse(state.isKeyDown(-1));
+		assertFalse(state.isKeyDown(0x10000));
+
+		state.reset();
+		assertFalse(state.isKeyDown(NativeKeyEvent.VC_MEDIA_PLAY));
+		assertFalse(state.isAnyKeyDown());
+	}
+
+	/**
+	 * Test of isButtonDown method, of class NativeInputState.
+	 */
+	@Test
+	public void testIsButtonDown() {
+		System.out.println("isButtonDown");
+
+		NativeInputState state = new NativeInputState();
+
+		state.update(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_PRESSED, NativeInputEvent.BUTTON1_MASK, 10, 20, 1, NativeMouseEvent.BUTTON1));
+		state.update(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_PRESSED, NativeInputEvent.BUTTON1_MASK, 10, 20, 1, NativeMouseEvent.BUTTON5));
+		assertTrue(state.isButtonDown(NativeMouseEvent.BUTTON1));
+		assertTrue(state.isButtonDown(NativeMouseEvent.BUTTON5));
+		assertFalse(state.isButtonDown(NativeMouseEvent.BUTTON2));
+		assertFalse(state.isButtonDown(NativeMouseEvent.NOBUTTON));
+		assertTrue(state.isAnyButtonDown());
+		assertEquals(NativeInputEvent.BUTTON1_MASK, state.getModifiers());
+
+		state.update(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_RELEASED, 0x00, 10, 20, 1, NativeMouseEvent.BUTTON1));
+		state.update(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_RELEASED, 0x00, 10, 20, 1, NativeMouseEvent.BUTTON5));
+		assertFalse(state.isButtonDown(NativeMouseEvent.BUTTON1));
+		assertFalse(state.isAnyButtonDown());
+	}
+
+	/**
+	 * Test of getPointerLocation method, of class NativeInputState.
+	 */
+	@Test
+	public void testGetPointerLocation() {
+		System.out.println("getPointerLocation");
+
+		NativeInputState state = new NativeInputState();
+
+		state.update(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0x00, -1920, 1080, 0));
+		assertEquals(-1920, state.getX());
+		assertEquals(1080, state.getY());
+
+		state.update(new NativeMouseWheelEvent(NativeMouseEvent.NATIVE_MOUSE_WHEEL, 0x00, 5, -7, 0, NativeMouseWheelEvent.WHEEL_UNIT_SCROLL, 3, 1));
+		Point point = new Point();
+		assertSame(point, state.getPointerLocation(point));
+		assertEquals(new Point(5, -7), point);
+		assertEquals(new Point(5, -7), state.getPointerLocation(null));
+
+		// The pointer position is kept when the state is reset.
+		state.reset();
+		assertEquals(5, state.getX());
+	}
+}
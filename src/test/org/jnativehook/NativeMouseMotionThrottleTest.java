@@ -0,0 +1,207 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.dispatcher.RingBufferDispatchService;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseMotionAdapter;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NativeMouseMotionThrottleTest {
+	static {
+		// Settle tasks are submitted through the GlobalScreen, which must not load the native library.
+		System.setProperty("jnativehook.lib.load", "false");
+	}
+
+	/**
+	 * Motion listener that records the position of every delivered event.
+	 */
+	private static class RecordingMotionListener extends NativeMouseMotionAdapter {
+		private final List<Integer> positions = new ArrayList<Integer>();
+		private final CountDownLatch delivered;
+
+		public RecordingMotionListener(int expectedEvents) {
+			this.delivered = new CountDownLatch(expectedEvents);
+		}
+
+		public void nativeMouseMoved(NativeMouseEvent nativeEvent) {
+			positions.add(nativeEvent.getX());
+			delivered.countDown();
+		}
+	}
+
+	/**
+	 * Pass moved events along the x axis to the throttle on the dispatch thread, one every millisecond of capture
+	 * time.
+	 */
+	private static void move(final RingBufferDispatchService service, final NativeMouseMotionThrottle throttle, int from, int to, final AtomicInteger skipped) {
+		for (int i = from; i < to; i++) {
+			final NativeInputEvent event = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, i, 0, 0);
+			event.setCaptureTime(TimeUnit.MILLISECONDS.toNanos(i));
+
+			service.execute(new Runnable() {
+				public void run() {
+					if (throttle.motion((NativeMouseEvent) event, service)) {
+						skipped.incrementAndGet();
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Test of the maximum rate, of class NativeMouseMotionThrottle.
+	 */
+	@Test
+	public void testMaxRate() throws InterruptedException {
+		System.out.println("maxRate");
+
+		RingBufferDispatchService service = new RingBufferDispatchService();
+		RecordingMotionListener listener = new RecordingMotionListener(11);
+		NativeMouseMotionThrottle throttle = new NativeMouseMotionThrottle(listener, 10, 0);
+		AtomicInteger skipped = new AtomicInteger();
+
+		// One second of events at 1000 Hz is reduced to 10 Hz, followed by the final position once it has settled.
+		move(service, throttle, 0, 1000, skipped);
+		assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+
+		service.shutdown();
+		service.awaitTermination(5, TimeUnit.SECONDS);
+
+		assertEquals(11, listener.positions.size());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i * 100, (int) listener.positions.get(i));
+		}
+		assertEquals(999, (int) listener.positions.get(10));
+		assertEquals(1000 - 11, skipped.get());
+	}
+
+	/**
+	 * Test of the minimum distance, of class NativeMouseMotionThrottle.
+	 */
+	@Test
+	public void testMinDistance() throws InterruptedException {
+		System.out.println("minDistance");
+
+		RingBufferDispatchService service = new RingBufferDispatchService();
+		RecordingMotionListener listener = new RecordingMotionListener(6);
+		NativeMouseMotionThrottle throttle = new NativeMouseMotionThrottle(listener, 0, 25);
+		AtomicInteger skipped = new AtomicInteger();
+
+		move(service, throttle, 0, 110, skipped);
+		assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+
+		assertEquals(6, listener.positions.size());
+		assertEquals(0, (int) listener.positions.get(0));
+		assertEquals(100, (int) listener.positions.get(4));
+		assertEquals(109, (int) listener.positions.get(5));
+		assertEquals(110 - 6, skipped.get());
+
+		service.shutdown();
+		service.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Test of the flush method, of class NativeMouseMotionThrottle.
+	 */
+	@Test
+	public void testFlush() {
+		System.out.println("flush");
+
+		RecordingMotionListener listener = new RecordingMotionListener(0);
+		NativeMouseMotionThrottle throttle = new NativeMouseMotionThrottle(listener, 1, 0);
+
+		NativeInputEvent event = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 1, 0, 0);
+		event.setCaptureTime(1);
+		throttle.motion((NativeMouseEvent) event, null);
+
+		// Withheld events do not need an executor until they have to be scheduled.
+		RingBufferDispatchService service = new RingBufferDispatchService();
+		event = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 2, 0, 0);
+		event.setCaptureTime(2);
+		throttle.motion((NativeMouseEvent) event, service);
+		assertEquals(1, listener.positions.size());
+
+		// A button event delivers the withheld position.
+		throttle.flush();
+		assertEquals(2, listener.positions.size());
+		assertEquals(2, (int) listener.positions.get(1));
+
+		throttle.flush();
+		assertEquals(2, listener.positions.size());
+
+		service.shutdown();
+	}
+
+	/**
+	 * Test that a withheld event is delivered even if the dispatcher was full when it settled.
+	 */
+	@Test
+	public void testSettleWithFullDispatcher() throws InterruptedException {
+		System.out.println("settleWithFullDispatcher");
+
+		final CountDownLatch release = new CountDownLatch(1);
+		Runnable stall = new Runnable() {
+			public void run() {
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+
+		RingBufferDispatchService service = new RingBufferDispatchService(2, RingBufferDispatchService.WaitStrategy.BLOCKING);
+		service.execute(stall);
+		while (service.getQueueSize() > 0) {
+			Thread.yield();
+		}
+
+		RecordingMotionListener listener = new RecordingMotionListener(2);
+		NativeMouseMotionThrottle throttle = new NativeMouseMotionThrottle(listener, 100, 0);
+		for (int i = 1; i <= 2; i++) {
+			NativeInputEvent event = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, i, 0, 0);
+			event.setCaptureTime(i);
+			throttle.motion((NativeMouseEvent) event, service);
+		}
+
+		// Fill the ring, so that the settle task is dropped at least once.
+		service.execute(stall);
+		service.execute(stall);
+		while (service.getDroppedTaskCount() == 0) {
+			Thread.sleep(1);
+		}
+		release.countDown();
+
+		assertTrue(listener.delivered.await(5, TimeUnit.SECONDS));
+		service.shutdown();
+		service.awaitTermination(5, TimeUnit.SECONDS);
+
+		assertEquals(2, listener.positions.size());
+		assertEquals(2, (int) listener.positions.get(1));
+	}
+}
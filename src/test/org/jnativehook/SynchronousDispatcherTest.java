@@ -0,0 +1,239 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.keyboard.NativeKeyListener;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.jnativehook.mouse.NativeMouseListener;
+import org.jnativehook.mouse.NativeMouseMotionListener;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SynchronousDispatcherTest {
+	/**
+	 * Key listener that records pressed events and optionally takes its time.
+	 */
+	private static class RecordingKeyListener implements NativeKeyListener {
+		private final List<NativeKeyEvent> received = new ArrayList<NativeKeyEvent>();
+		private final long delay;
+
+		public RecordingKeyListener(long delay) {
+			this.delay = delay;
+		}
+
+		public void nativeKeyPressed(NativeKeyEvent nativeEvent) {
+			received.add(nativeEvent);
+
+			long end = System.nanoTime() + delay;
+			while (System.nanoTime() < end) {
+				Thread.yield();
+			}
+		}
+
+		public void nativeKeyReleased(NativeKeyEvent nativeEvent) { }
+
+		public void nativeKeyTyped(NativeKeyEvent nativeEvent) { }
+	}
+
+	private static NativeKeyEvent createKeyEvent() {
+		return new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, 0x41, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED);
+	}
+
+	/**
+	 * Test that listeners within the budget are notified on the calling thread.
+	 */
+	@Test
+	public void testDispatch() {
+		System.out.println("dispatch");
+
+		SynchronousDispatcher dispatcher = new SynchronousDispatcher(null);
+		EventListenerRegistry asyncListeners = new EventListenerRegistry();
+		RecordingKeyListener listener = new RecordingKeyListener(0);
+		dispatcher.add(NativeKeyListener.class, listener);
+		dispatcher.setBudget(TimeUnit.SECONDS.toNanos(1));
+
+		NativeKeyEvent event = createKeyEvent();
+		assertNull(dispatcher.dispatch(event, asyncListeners));
+		assertEquals(1, listener.received.size());
+		assertSame(event, listener.received.get(0));
+
+		// Events without synchronous listeners are ignored.
+		assertNull(dispatcher.dispatch(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 1, 1, 0), asyncListeners));
+
+		assertEquals(1, dispatcher.getEventCount());
+		assertEquals(0, dispatcher.getOverrunCount());
+		assertTrue(dispatcher.getMaxTime() <= dispatcher.getTotalTime());
+	}
+
+	/**
+	 * Test that a listener exceeding the budget is demoted on the calling thread and that the remaining listeners are
+	 * left to the fallback.
+	 */
+	@Test
+	public void testBudgetOverrun() {
+		System.out.println("budgetOverrun");
+
+		final int[] demotions = new int[1];
+		SynchronousDispatcher dispatcher = new SynchronousDispatcher(new Runnable() {
+			public void run() {
+				demotions[0]++;
+			}
+		});
+		EventListenerRegistry asyncListeners = new EventListenerRegistry();
+		RecordingKeyListener slow = new RecordingKeyListener(TimeUnit.MILLISECONDS.toNanos(20));
+		RecordingKeyListener fast = new RecordingKeyListener(0);
+		dispatcher.add(NativeKeyListener.class, slow);
+		dispatcher.add(NativeKeyListener.class, fast);
+		dispatcher.setBudget(TimeUnit.MILLISECONDS.toNanos(1));
+		dispatcher.setOverrunLimit(1);
+
+		NativeKeyEvent event = createKeyEvent();
+		SynchronousDispatcher.Fallback fallback = dispatcher.dispatch(event, asyncListeners);
+		assertNotNull(fallback);
+		assertEquals(1, dispatcher.getOverrunCount());
+		assertEquals(1, slow.received.size());
+		assertEquals(0, fast.received.size());
+
+		// The slow listener is asynchronous before the event is handed to the event dispatcher.
+		assertSame(slow, fallback.demoted);
+		assertEquals(1, asyncListeners.getListenerCount(NativeKeyListener.class));
+		assertSame(slow, asyncListeners.getListeners(NativeKeyListener.class)[0]);
+		assertEquals(1, demotions[0]);
+		assertEquals(1, dispatcher.getListenerCount(NativeKeyListener.class));
+
+		assertNull(dispatcher.dispatch(createKeyEvent(), asyncListeners));
+		assertEquals(1, slow.received.size());
+		assertEquals(1, fast.received.size());
+
+		fallback.deliverPending(event);
+		assertEquals(2, fast.received.size());
+		assertSame(event, fast.received.get(1));
+		assertEquals(1, slow.received.size());
+	}
+
+	/**
+	 * Test that a listener is only demoted once it exceeded the budget on the configured number of events.
+	 */
+	@Test
+	public void testOverrunLimit() {
+		System.out.println("overrunLimit");
+
+		SynchronousDispatcher dispatcher = new SynchronousDispatcher(null);
+		EventListenerRegistry asyncListeners = new EventListenerRegistry();
+		RecordingKeyListener slow = new RecordingKeyListener(TimeUnit.MILLISECONDS.toNanos(5));
+		RecordingKeyListener fast = new RecordingKeyListener(0);
+		dispatcher.add(NativeKeyListener.class, slow);
+		dispatcher.add(NativeKeyListener.class, fast);
+		dispatcher.setBudget(TimeUnit.MILLISECONDS.toNanos(1));
+		assertEquals(SynchronousDispatcher.DEFAULT_OVERRUN_LIMIT, dispatcher.getOverrunLimit());
+
+		for (int i = 1; i < SynchronousDispatcher.DEFAULT_OVERRUN_LIMIT; i++) {
+			SynchronousDispatcher.Fallback fallback = dispatcher.dispatch(createKeyEvent(), asyncListeners);
+			assertNotNull(fallback);
+			assertNull(fallback.demoted);
+			assertEquals(1, fallback.pending.length);
+			assertSame(fast, fallback.pending[0]);
+			assertEquals(2, dispatcher.getListenerCount(NativeKeyListener.class));
+		}
+
+		SynchronousDispatcher.Fallback fallback = dispatcher.dispatch(createKeyEvent(), asyncListeners);
+		assertSame(slow, fallback.demoted);
+		assertEquals(1, dispatcher.getListenerCount(NativeKeyListener.class));
+		assertEquals(1, asyncListeners.getListenerCount(NativeKeyListener.class));
+		assertEquals(SynchronousDispatcher.DEFAULT_OVERRUN_LIMIT, dispatcher.getOverrunCount());
+
+		try {
+			dispatcher.setOverrunLimit(0);
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException e) {
+			// Expected.
+		}
+	}
+
+	/**
+	 * Test that exceptions thrown by a listener are passed to the uncaught exception handler.
+	 */
+	@Test
+	public void testListenerException() {
+		System.out.println("listenerException");
+
+		SynchronousDispatcher dispatcher = new SynchronousDispatcher(null);
+		dispatcher.setBudget(TimeUnit.SECONDS.toNanos(1));
+		final RuntimeException exception = new RuntimeException("Listener failure");
+		dispatcher.add(NativeMouseListener.class, new NativeMouseListener() {
+			public void nativeMouseClicked(NativeMouseEvent nativeEvent) { }
+
+			public void nativeMousePressed(NativeMouseEvent nativeEvent) {
+				throw exception;
+			}
+
+			public void nativeMouseReleased(NativeMouseEvent nativeEvent) { }
+		});
+
+		final List<Throwable> uncaught = new ArrayList<Throwable>();
+		Thread thread = Thread.currentThread();
+		Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+		thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			public void uncaughtException(Thread t, Throwable e) {
+				uncaught.add(e);
+			}
+		});
+
+		try {
+			dispatcher.dispatch(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 0, 1, 1, 1, NativeMouseEvent.BUTTON1), new EventListenerRegistry());
+		}
+		finally {
+			thread.setUncaughtExceptionHandler(handler);
+		}
+
+		assertEquals(1, uncaught.size());
+		assertSame(exception, uncaught.get(0));
+	}
+
+	/**
+	 * Test that only the standard listener interfaces are accepted.
+	 */
+	@Test
+	public void testAddUnsupportedType() {
+		System.out.println("addUnsupportedType");
+
+		SynchronousDispatcher dispatcher = new SynchronousDispatcher(null);
+		try {
+			dispatcher.add(NativeInputBatchListener.class, new NativeInputBatchListener() {
+				public void nativeInputBatch(NativeInputEvent[] nativeEvents, int length) { }
+			});
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException e) {
+			// Expected.
+		}
+
+		dispatcher.add(NativeMouseMotionListener.class, null);
+	}
+}
@@ -0,0 +1,154 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook;
+
+// Imports.
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SyntheticEventSourceTest {
+	private static class CollectingSink implements NativeEventSink {
+		private final List<NativeInputEvent> events = new ArrayList<NativeInputEvent>();
+		private final CountDownLatch started = new CountDownLatch(1);
+
+		public void started() {
+			started.countDown();
+		}
+
+		public void dispatchEvent(NativeInputEvent event) {
+			events.add(event);
+		}
+
+		public List<String> getParamStrings() {
+			List<String> params = new ArrayList<String>(events.size());
+			for (NativeInputEvent event : events) {
+				params.add(event.paramString());
+			}
+
+			return params;
+		}
+	}
+
+	private static List<String> generate(long seed, int count) throws NativeHookException {
+		SyntheticEventSource source = new SyntheticEventSource(seed);
+		source.addPattern(SyntheticEventSource.Pattern.TYPING, 0);
+		source.addPattern(SyntheticEventSource.Pattern.MOUSE_MOTION, 0);
+		source.addPattern(SyntheticEventSource.Pattern.WHEEL_STORM, 0);
+		source.setEventLimit(count);
+
+		CollectingSink sink = new CollectingSink();
+		source.enable(sink);
+		assertEquals(count, source.getEventCount());
+
+		return sink.getParamStrings();
+	}
+
+	/**
+	 * Test that the generated events only depend on the seed.
+	 */
+	@Test
+	public void testSeed() throws NativeHookException {
+		System.out.println("seed");
+
+		List<String> first = generate(42, 3000);
+		assertEquals(3000, first.size());
+		assertEquals(first, generate(42, 3000));
+		assertFalse(first.equals(generate(43, 3000)));
+	}
+
+	/**
+	 * Test that typing produces pressed, typed and released events for every key.
+	 */
+	@Test
+	public void testTyping() throws NativeHookException {
+		System.out.println("typing");
+
+		SyntheticEventSource source = new SyntheticEventSource(1);
+		source.addPattern(SyntheticEventSource.Pattern.TYPING, 0);
+		source.setEventLimit(300);
+
+		CollectingSink sink = new CollectingSink();
+		source.enable(sink);
+
+		assertEquals(300, sink.events.size());
+		for (int i = 0; i < sink.events.size(); i += 3) {
+			NativeKeyEvent pressed = (NativeKeyEvent) sink.events.get(i);
+			NativeKeyEvent typed = (NativeKeyEvent) sink.events.get(i + 1);
+			NativeKeyEvent released = (NativeKeyEvent) sink.events.get(i + 2);
+
+			assertEquals(NativeKeyEvent.NATIVE_KEY_PRESSED, pressed.getID());
+			assertEquals(NativeKeyEvent.NATIVE_KEY_TYPED, typed.getID());
+			assertEquals(NativeKeyEvent.NATIVE_KEY_RELEASED, released.getID());
+			assertEquals(pressed.getKeyCode(), released.getKeyCode());
+			assertEquals(pressed.getRawCode(), typed.getKeyChar());
+		}
+	}
+
+	/**
+	 * Test that a throttled pattern does not exceed its rate.
+	 */
+	@Test
+	public void testRate() throws NativeHookException {
+		System.out.println("rate");
+
+		SyntheticEventSource source = new SyntheticEventSource(1);
+		source.addPattern(SyntheticEventSource.Pattern.MOUSE_MOTION, 1000);
+		source.setEventLimit(101);
+
+		long start = System.nanoTime();
+		source.enable(new CollectingSink());
+
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+	}
+
+	/**
+	 * Test that disable stops a running source.
+	 */
+	@Test
+	public void testDisable() throws InterruptedException {
+		System.out.println("disable");
+
+		final SyntheticEventSource source = new SyntheticEventSource(1);
+		source.addPattern(SyntheticEventSource.Pattern.WHEEL_STORM, 100);
+
+		final CollectingSink sink = new CollectingSink();
+		Thread thread = new Thread(new Runnable() {
+			public void run() {
+				try {
+					source.enable(sink);
+				}
+				catch (NativeHookException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		thread.start();
+
+		assertTrue(sink.started.await(5, TimeUnit.SECONDS));
+		source.disable();
+		thread.join(5000);
+		assertFalse(thread.isAlive());
+	}
+}
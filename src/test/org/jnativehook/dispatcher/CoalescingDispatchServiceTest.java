@@ -0,0 +1,183 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.dispatcher;
+
+// Imports.
+import org.jnativehook.GlobalScreen;
+import org.jnativehook.NativeInputEvent;
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CoalescingDispatchServiceTest {
+	/**
+	 * Task that records the delivered event instead of notifying the global listeners.
+	 */
+	private static class RecordingTask extends GlobalScreen.EventDispatchTask {
+		private final List<NativeInputEvent> delivered;
+
+		public RecordingTask(NativeInputEvent event, List<NativeInputEvent> delivered) {
+			super(event);
+			this.delivered = delivered;
+		}
+
+		public void run() {
+			delivered.add(getEvent());
+		}
+	}
+
+	/**
+	 * Test that consecutive pending motion events are merged and that no other event is merged or reordered.
+	 */
+	@Test
+	public void testCoalesce() throws InterruptedException {
+		System.out.println("coalesce");
+
+		CoalescingDispatchService service = new CoalescingDispatchService(16, RingBufferDispatchService.WaitStrategy.BLOCKING);
+		List<NativeInputEvent> delivered = new ArrayList<NativeInputEvent>();
+
+		// Stall the dispatch thread so that everything below is still pending.
+		final CountDownLatch release = new CountDownLatch(1);
+		service.execute(new Runnable() {
+			public void run() {
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		NativeMouseEvent moved1 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 1, 1, 0);
+		NativeMouseEvent moved2 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 2, 2, 0);
+		NativeMouseEvent moved3 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 3, 3, 0);
+		NativeKeyEvent pressed = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, 0x41, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED);
+		NativeMouseEvent moved4 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 4, 4, 0);
+		NativeMouseEvent dragged5 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_DRAGGED, 0, 5, 5, 0);
+		NativeMouseEvent dragged6 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_DRAGGED, 0, 6, 6, 0);
+
+		NativeInputEvent[] events = new NativeInputEvent[] { moved1, moved2, moved3, pressed, moved4, dragged5, dragged6 };
+		for (NativeInputEvent event : events) {
+			service.execute(new RecordingTask(event, delivered));
+		}
+
+		release.countDown();
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(3, service.getCoalescedEventCount());
+		assertEquals(4, delivered.size());
+		assertSame(moved3, delivered.get(0));
+		assertSame(pressed, delivered.get(1));
+		assertSame(moved4, delivered.get(2));
+		assertSame(dragged6, delivered.get(3));
+	}
+
+	/**
+	 * Test that a motion event is not merged with one that has already been delivered.
+	 */
+	@Test
+	public void testNoCoalesceAfterDelivery() throws InterruptedException {
+		System.out.println("noCoalesceAfterDelivery");
+
+		CoalescingDispatchService service = new CoalescingDispatchService(16, RingBufferDispatchService.WaitStrategy.BLOCKING);
+		List<NativeInputEvent> delivered = new ArrayList<NativeInputEvent>();
+
+		NativeMouseEvent moved1 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 1, 1, 0);
+		NativeMouseEvent moved2 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 2, 2, 0);
+
+		service.execute(new RecordingTask(moved1, delivered));
+		while (service.getQueueSize() > 0) {
+			Thread.yield();
+		}
+		service.execute(new RecordingTask(moved2, delivered));
+
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(0, service.getCoalescedEventCount());
+		assertEquals(2, delivered.size());
+		assertSame(moved1, delivered.get(0));
+		assertSame(moved2, delivered.get(1));
+	}
+
+	/**
+	 * Test that a task submitted with tryExecute from another thread is never merged and keeps the coalescing state.
+	 */
+	@Test
+	public void testTryExecute() throws InterruptedException {
+		System.out.println("tryExecute");
+
+		final CoalescingDispatchService service = new CoalescingDispatchService(16, RingBufferDispatchService.WaitStrategy.BLOCKING);
+		final List<NativeInputEvent> delivered = Collections.synchronizedList(new ArrayList<NativeInputEvent>());
+
+		final CountDownLatch release = new CountDownLatch(1);
+		service.execute(new Runnable() {
+			public void run() {
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		NativeMouseEvent moved1 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 1, 1, 0);
+		NativeMouseEvent moved2 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 2, 2, 0);
+		NativeMouseEvent moved3 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 3, 3, 0);
+		final NativeKeyEvent marker = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, 0x41, NativeKeyEvent.VC_A, NativeKeyEvent.CHAR_UNDEFINED);
+
+		service.execute(new RecordingTask(moved1, delivered));
+
+		// Submit the marker like the batch and throttle timers do.
+		Thread timer = new Thread(new Runnable() {
+			public void run() {
+				assertTrue(service.tryExecute(new Runnable() {
+					public void run() {
+						delivered.add(marker);
+					}
+				}));
+			}
+		});
+		timer.start();
+		timer.join();
+
+		service.execute(new RecordingTask(moved2, delivered));
+		service.execute(new RecordingTask(moved3, delivered));
+		release.countDown();
+
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(1, service.getCoalescedEventCount());
+		assertEquals(3, delivered.size());
+		assertSame(moved1, delivered.get(0));
+		assertSame(marker, delivered.get(1));
+		assertSame(moved3, delivered.get(2));
+	}
+}
@@ -0,0 +1,332 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.dispatcher;
+
+// Imports.
+import org.junit.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RingBufferDispatchServiceTest {
+	/**
+	 * Test that events are delivered in submission order for every wait strategy.
+	 */
+	@Test
+	public void testExecuteOrder() throws InterruptedException {
+		System.out.println("executeOrder");
+
+		for (RingBufferDispatchService.WaitStrategy strategy : RingBufferDispatchService.WaitStrategy.values()) {
+			RingBufferDispatchService service = new RingBufferDispatchService(64, strategy);
+
+			final int count = 10000;
+			final int[] received = new int[count];
+			final int[] index = new int[1];
+			final CountDownLatch done = new CountDownLatch(count);
+
+			for (int i = 0; i < count; i++) {
+				final int value = i;
+
+				// Wait for room in the ring so that nothing is dropped.
+				while (service.getQueueSize() >= service.getCapacity()) {
+					Thread.yield();
+				}
+
+				service.execute(new Runnable() {
+					public void run() {
+						received[index[0]++] = value;
+						done.countDown();
+					}
+				});
+			}
+
+			assertTrue(strategy.toString(), done.await(10, TimeUnit.SECONDS));
+			for (int i = 0; i < count; i++) {
+				assertEquals(i, received[i]);
+			}
+			assertEquals(0, service.getDroppedTaskCount());
+
+			service.shutdown();
+			assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+		}
+	}
+
+	/**
+	 * Test that the ring never grows past its capacity.
+	 */
+	@Test
+	public void testDroppedTasks() throws InterruptedException {
+		System.out.println("droppedTasks");
+
+		RingBufferDispatchService service = new RingBufferDispatchService(6, RingBufferDispatchService.WaitStrategy.BLOCKING);
+		assertEquals(8, service.getCapacity());
+
+		// Stall the dispatch thread so the ring fills up.
+		final CountDownLatch stall = new CountDownLatch(1);
+		final CountDownLatch stalled = new CountDownLatch(1);
+		service.execute(new Runnable() {
+			public void run() {
+				stalled.countDown();
+				try {
+					stall.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		assertTrue(stalled.await(5, TimeUnit.SECONDS));
+
+		Runnable noop = new Runnable() {
+			public void run() { }
+		};
+
+		for (int i = 0; i < 10; i++) {
+			service.execute(noop);
+		}
+
+		assertEquals(8, service.getQueueSize());
+		assertEquals(2, service.getDroppedTaskCount());
+
+		stall.countDown();
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(0, service.getQueueSize());
+	}
+
+	/**
+	 * Test that a task can only be replaced while it is the most recently submitted task.
+	 */
+	@Test
+	public void testReplace() throws InterruptedException {
+		System.out.println("replace");
+
+		RingBufferDispatchService service = new RingBufferDispatchService(16, RingBufferDispatchService.WaitStrategy.BLOCKING);
+
+		final CountDownLatch stall = new CountDownLatch(1);
+		final CountDownLatch stalled = new CountDownLatch(1);
+		service.execute(new Runnable() {
+			public void run() {
+				stalled.countDown();
+				try {
+					stall.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		assertTrue(stalled.await(5, TimeUnit.SECONDS));
+
+		final StringBuilder order = new StringBuilder();
+		Runnable first = new Runnable() {
+			public void run() {
+				order.append('A');
+			}
+		};
+		Runnable second = new Runnable() {
+			public void run() {
+				order.append('B');
+			}
+		};
+		Runnable third = new Runnable() {
+			public void run() {
+				order.append('C');
+			}
+		};
+
+		long sequence = service.offer(first);
+		assertTrue(service.replace(sequence, first, second));
+		assertFalse(service.replace(sequence, first, third));
+
+		// Once another task was submitted, the waiting task can no longer be replaced.
+		assertTrue(service.tryExecute(first));
+		assertFalse(service.replace(sequence, second, third));
+		assertEquals(2, service.getQueueSize());
+
+		stall.countDown();
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals("BA", order.toString());
+	}
+
+	/**
+	 * Test that dropped tasks are reported to the flight recorder.
+	 */
+	@Test
+	public void testDroppedTaskEvent() throws InterruptedException, IOException {
+		System.out.println("droppedTaskEvent");
+
+		Recording recording = new Recording();
+		recording.enable("org.jnativehook.DroppedTask");
+		recording.start();
+
+		RingBufferDispatchService service = new RingBufferDispatchService(1, RingBufferDispatchService.WaitStrategy.BLOCKING);
+
+		final CountDownLatch stall = new CountDownLatch(1);
+		final CountDownLatch stalled = new CountDownLatch(1);
+		service.execute(new Runnable() {
+			public void run() {
+				stalled.countDown();
+				try {
+					stall.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		assertTrue(stalled.await(5, TimeUnit.SECONDS));
+
+		Runnable noop = new Runnable() {
+			public void run() { }
+		};
+
+		for (int i = 0; i < 3; i++) {
+			service.execute(noop);
+		}
+
+		stall.countDown();
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		recording.stop();
+		Path file = Files.createTempFile("jnativehook", ".jfr");
+		try {
+			recording.dump(file);
+
+			int count = 0;
+			for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+				if (event.getEventType().getName().equals("org.jnativehook.DroppedTask")) {
+					assertEquals(1, event.getInt("capacity"));
+					count++;
+				}
+			}
+			assertEquals(2, count);
+		}
+		finally {
+			recording.close();
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Test that shutdown rejects new tasks and shutdownNow returns pending tasks.
+	 */
+	@Test
+	public void testShutdownNow() throws InterruptedException {
+		System.out.println("shutdownNow");
+
+		RingBufferDispatchService service = new RingBufferDispatchService(16, RingBufferDispatchService.WaitStrategy.SLEEPING);
+
+		final CountDownLatch stall = new CountDownLatch(1);
+		final CountDownLatch stalled = new CountDownLatch(1);
+		service.execute(new Runnable() {
+			public void run() {
+				stalled.countDown();
+				try {
+					stall.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		assertTrue(stalled.await(5, TimeUnit.SECONDS));
+
+		Runnable noop = new Runnable() {
+			public void run() { }
+		};
+		service.execute(noop);
+		service.execute(noop);
+
+		List<Runnable> pending = service.shutdownNow();
+		assertEquals(2, pending.size());
+		assertTrue(service.isShutdown());
+
+		try {
+			service.execute(noop);
+			fail("Task accepted after shutdown!");
+		}
+		catch (RejectedExecutionException e) {
+			// Expected.
+		}
+
+		assertFalse(service.isTerminated());
+		stall.countDown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Test that every task accepted while the service is shutting down is still executed.
+	 */
+	@Test
+	public void testShutdownRace() throws InterruptedException {
+		System.out.println("shutdownRace");
+
+		for (int i = 0; i < 200; i++) {
+			final RingBufferDispatchService service = new RingBufferDispatchService(1024, RingBufferDispatchService.WaitStrategy.BUSY_SPIN);
+			final AtomicInteger accepted = new AtomicInteger(0);
+			final AtomicInteger executed = new AtomicInteger(0);
+			final CountDownLatch start = new CountDownLatch(1);
+
+			final Runnable task = new Runnable() {
+				public void run() {
+					executed.incrementAndGet();
+				}
+			};
+
+			Thread producer = new Thread(new Runnable() {
+				public void run() {
+					start.countDown();
+					try {
+						while (true) {
+							if (service.tryExecute(task)) {
+								accepted.incrementAndGet();
+							}
+						}
+					}
+					catch (RejectedExecutionException e) {
+						// Expected.
+					}
+				}
+			});
+			producer.start();
+
+			assertTrue(start.await(5, TimeUnit.SECONDS));
+			service.shutdown();
+			producer.join(5000);
+
+			assertFalse(producer.isAlive());
+			assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+			assertEquals(accepted.get(), executed.get());
+		}
+	}
+}
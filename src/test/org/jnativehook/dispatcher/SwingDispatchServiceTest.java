@@ -0,0 +1,282 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.dispatcher;
+
+// Imports.
+import org.jnativehook.GlobalScreen;
+import org.jnativehook.NativeInputEvent;
+import org.jnativehook.keyboard.NativeKeyEvent;
+import org.jnativehook.mouse.NativeMouseEvent;
+import org.junit.Test;
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SwingDispatchServiceTest {
+	/**
+	 * Task that records the delivered event instead of notifying the global listeners.
+	 */
+	private static class RecordingTask extends GlobalScreen.EventDispatchTask {
+		private final List<Object> delivered;
+
+		public RecordingTask(NativeInputEvent event, List<Object> delivered) {
+			super(event);
+			this.delivered = delivered;
+		}
+
+		public void run() {
+			assertTrue(SwingUtilities.isEventDispatchThread());
+			delivered.add(getEvent());
+		}
+	}
+
+	/**
+	 * Blocks the event dispatch thread until the returned latch is released.
+	 */
+	private static CountDownLatch stallEventDispatchThread() {
+		final CountDownLatch release = new CountDownLatch(1);
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		return release;
+	}
+
+	/**
+	 * Posts a runnable directly to the event queue that records the marker when it runs.
+	 */
+	private static void postMarker(final List<Object> delivered, final Object marker) {
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				delivered.add(marker);
+			}
+		});
+	}
+
+	private static NativeKeyEvent newKeyEvent(int keyCode) {
+		return new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, 0, 0x00, keyCode, NativeKeyEvent.CHAR_UNDEFINED);
+	}
+
+	/**
+	 * Test that all pending events are delivered by a single runnable on the event queue.
+	 */
+	@Test
+	public void testBatch() throws Exception {
+		System.out.println("batch");
+
+		SwingDispatchService service = new SwingDispatchService();
+		List<Object> delivered = Collections.synchronizedList(new ArrayList<Object>());
+		Object marker = new Object();
+
+		CountDownLatch release = stallEventDispatchThread();
+		service.execute(new RecordingTask(newKeyEvent(NativeKeyEvent.VC_A), delivered));
+		postMarker(delivered, marker);
+		for (int i = 0; i < 99; i++) {
+			service.execute(new RecordingTask(newKeyEvent(NativeKeyEvent.VC_B), delivered));
+		}
+		release.countDown();
+
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		// The marker runs after the drain task, so wait for the event queue to pass it as well.
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() { }
+		});
+
+		// Events submitted after the marker are still delivered by the drain task queued before it.
+		assertEquals(101, delivered.size());
+		assertSame(marker, delivered.get(100));
+		assertEquals(0, service.getCoalescedEventCount());
+	}
+
+	/**
+	 * Test that the time budget yields the event dispatch thread between events.
+	 */
+	@Test
+	public void testTimeBudget() throws InterruptedException {
+		System.out.println("timeBudget");
+
+		SwingDispatchService service = new SwingDispatchService(1, TimeUnit.MILLISECONDS, false);
+		final List<Object> delivered = Collections.synchronizedList(new ArrayList<Object>());
+		Object marker = new Object();
+
+		CountDownLatch release = stallEventDispatchThread();
+		for (int i = 0; i < 3; i++) {
+			service.execute(new Runnable() {
+				public void run() {
+					try {
+						Thread.sleep(5);
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+
+					delivered.add(this);
+				}
+			});
+		}
+		postMarker(delivered, marker);
+		release.countDown();
+
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(4, delivered.size());
+		assertSame(marker, delivered.get(1));
+	}
+
+	/**
+	 * Test that consecutive pending motion events are merged and that no other event is merged or reordered.
+	 */
+	@Test
+	public void testCoalesce() throws InterruptedException {
+		System.out.println("coalesce");
+
+		SwingDispatchService service = new SwingDispatchService(0, TimeUnit.MILLISECONDS, true);
+		List<Object> delivered = Collections.synchronizedList(new ArrayList<Object>());
+
+		NativeMouseEvent moved1 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 1, 1, 0);
+		NativeMouseEvent moved2 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 2, 2, 0);
+		NativeKeyEvent pressed = newKeyEvent(NativeKeyEvent.VC_A);
+		NativeMouseEvent moved3 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_MOVED, 0, 3, 3, 0);
+		NativeMouseEvent dragged4 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_DRAGGED, 0, 4, 4, 0);
+		NativeMouseEvent dragged5 = new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_DRAGGED, 0, 5, 5, 0);
+
+		CountDownLatch release = stallEventDispatchThread();
+		NativeInputEvent[] events = new NativeInputEvent[] { moved1, moved2, pressed, moved3, dragged4, dragged5 };
+		for (NativeInputEvent event : events) {
+			service.execute(new RecordingTask(event, delivered));
+		}
+		release.countDown();
+
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+
+		assertEquals(2, service.getCoalescedEventCount());
+		assertEquals(4, delivered.size());
+		assertSame(moved2, delivered.get(0));
+		assertSame(pressed, delivered.get(1));
+		assertSame(moved3, delivered.get(2));
+		assertSame(dragged5, delivered.get(3));
+	}
+
+	/**
+	 * Test the shutdown and termination behavior.
+	 */
+	@Test
+	public void testShutdown() throws InterruptedException {
+		System.out.println("shutdown");
+
+		SwingDispatchService service = new SwingDispatchService();
+		List<Object> delivered = Collections.synchronizedList(new ArrayList<Object>());
+
+		CountDownLatch release = stallEventDispatchThread();
+		service.execute(new RecordingTask(newKeyEvent(NativeKeyEvent.VC_A), delivered));
+		service.shutdown();
+
+		assertTrue(service.isShutdown());
+		assertFalse(service.isTerminated());
+		assertFalse(service.awaitTermination(10, TimeUnit.MILLISECONDS));
+
+		try {
+			service.execute(new RecordingTask(newKeyEvent(NativeKeyEvent.VC_B), delivered));
+			fail("Expected RejectedExecutionException");
+		}
+		catch (RejectedExecutionException e) {
+			// Expected.
+		}
+
+		release.countDown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+		assertTrue(service.isTerminated());
+		assertEquals(1, delivered.size());
+
+		// An idle service terminates immediately.
+		SwingDispatchService idle = new SwingDispatchService();
+		idle.shutdown();
+		assertTrue(idle.isTerminated());
+	}
+
+	/**
+	 * Test that shutdownNow returns the pending tasks without running them.
+	 */
+	@Test
+	public void testShutdownNow() throws InterruptedException {
+		System.out.println("shutdownNow");
+
+		SwingDispatchService service = new SwingDispatchService();
+		List<Object> delivered = Collections.synchronizedList(new ArrayList<Object>());
+
+		CountDownLatch release = stallEventDispatchThread();
+		service.execute(new RecordingTask(newKeyEvent(NativeKeyEvent.VC_A), delivered));
+		service.execute(new RecordingTask(newKeyEvent(NativeKeyEvent.VC_B), delivered));
+
+		assertEquals(2, service.shutdownNow().size());
+		release.countDown();
+
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(0, delivered.size());
+	}
+
+	/**
+	 * Test that awaitTermination delivers pending events when called on the event dispatch thread.
+	 */
+	@Test
+	public void testAwaitTerminationOnEventDispatchThread() throws Exception {
+		System.out.println("awaitTerminationOnEventDispatchThread");
+
+		final SwingDispatchService service = new SwingDispatchService();
+		final List<Object> delivered = Collections.synchronizedList(new ArrayList<Object>());
+		final boolean[] terminated = new boolean[1];
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			public void run() {
+				service.execute(new RecordingTask(newKeyEvent(NativeKeyEvent.VC_A), delivered));
+				service.execute(new RecordingTask(newKeyEvent(NativeKeyEvent.VC_B), delivered));
+				service.shutdown();
+
+				try {
+					terminated[0] = service.awaitTermination(1, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		assertTrue(terminated[0]);
+		assertEquals(2, delivered.size());
+	}
+}
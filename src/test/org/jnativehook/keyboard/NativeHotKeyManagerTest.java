@@ -0,0 +1,175 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.keyboard;
+
+// Imports.
+import org.jnativehook.NativeInputEvent;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class NativeHotKeyManagerTest {
+	/**
+	 * Records the hotkeys reported to it.
+	 */
+	private static class HotKeyRecorder implements NativeHotKeyListener {
+		private final List<NativeHotKey> matches = new ArrayList<NativeHotKey>();
+
+		public void nativeHotKeyPressed(NativeHotKey hotKey, NativeKeyEvent nativeEvent) {
+			matches.add(hotKey);
+		}
+	}
+
+	private static void press(NativeHotKeyManager manager, int modifiers, int keyCode) {
+		manager.nativeKeyPressed(new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, modifiers, 0x00, keyCode, NativeKeyEvent.CHAR_UNDEFINED));
+		manager.nativeKeyReleased(new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_RELEASED, modifiers, 0x00, keyCode, NativeKeyEvent.CHAR_UNDEFINED));
+	}
+
+	/**
+	 * Test of toString method, of class NativeHotKey.
+	 */
+	@Test
+	public void testHotKeyToString() {
+		System.out.println("hotKeyToString");
+
+		NativeHotKey chord = new NativeHotKey(new NativeHotKey(NativeInputEvent.CTRL_L_MASK, NativeKeyEvent.VC_K), NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_C);
+		assertEquals(2, chord.getLength());
+		assertEquals(NativeInputEvent.CTRL_MASK, chord.getModifiers(0));
+		assertEquals("Ctrl+K, Ctrl+C", chord.toString());
+
+		// Left and right modifiers are not distinguished and lock modifiers are ignored.
+		assertEquals(new NativeHotKey(NativeInputEvent.SHIFT_R_MASK | NativeInputEvent.CAPS_LOCK_MASK, NativeKeyEvent.VC_F1), new NativeHotKey(NativeInputEvent.SHIFT_MASK, NativeKeyEvent.VC_F1));
+		assertFalse(new NativeHotKey(0x00, NativeKeyEvent.VC_F1).equals(new NativeHotKey(NativeInputEvent.SHIFT_MASK, NativeKeyEvent.VC_F1)));
+	}
+
+	/**
+	 * Test of nativeKeyPressed method, of class NativeHotKeyManager.
+	 */
+	@Test
+	public void testNativeKeyPressed() {
+		System.out.println("nativeKeyPressed");
+
+		NativeHotKeyManager manager = new NativeHotKeyManager();
+		HotKeyRecorder recorder = new HotKeyRecorder();
+
+		NativeHotKey save = new NativeHotKey(NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_S);
+		NativeHotKey comment = new NativeHotKey(new NativeHotKey(NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_K), NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_C);
+		NativeHotKey uncomment = new NativeHotKey(new NativeHotKey(NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_K), NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_U);
+		manager.addHotKey(save, recorder);
+		manager.addHotKey(comment, recorder);
+		manager.addHotKey(uncomment, recorder);
+
+		// The modifier key itself does not cancel the chord.
+		press(manager, NativeInputEvent.CTRL_L_MASK, NativeKeyEvent.VC_CONTROL);
+		press(manager, NativeInputEvent.CTRL_L_MASK, NativeKeyEvent.VC_K);
+		press(manager, NativeInputEvent.CTRL_L_MASK, NativeKeyEvent.VC_C);
+		press(manager, NativeInputEvent.CTRL_R_MASK, NativeKeyEvent.VC_S);
+		press(manager, 0x00, NativeKeyEvent.VC_S);
+		assertEquals(2, recorder.matches.size());
+		assertEquals(comment, recorder.matches.get(0));
+		assertEquals(save, recorder.matches.get(1));
+
+		// A stroke that breaks a chord starts a new one.
+		press(manager, NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_K);
+		press(manager, NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_S);
+		press(manager, NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_K);
+		press(manager, NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_K);
+		press(manager, NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_U);
+		assertEquals(4, recorder.matches.size());
+		assertEquals(save, recorder.matches.get(2));
+		assertEquals(uncomment, recorder.matches.get(3));
+
+		// Auto-repeat only reports a single match.
+		NativeKeyEvent repeat = new NativeKeyEvent(NativeKeyEvent.NATIVE_KEY_PRESSED, NativeInputEvent.CTRL_MASK, 0x00, NativeKeyEvent.VC_S, NativeKeyEvent.CHAR_UNDEFINED);
+		manager.nativeKeyPressed(repeat);
+		manager.nativeKeyPressed(repeat);
+		assertEquals(5, recorder.matches.size());
+
+		manager.removeHotKey(save);
+		press(manager, NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_S);
+		assertEquals(5, recorder.matches.size());
+		assertEquals(2, manager.getHotKeys().size());
+	}
+
+	/**
+	 * Test of setSequenceTimeout method, of class NativeHotKeyManager.
+	 */
+	@Test
+	public void testSequenceTimeout() throws InterruptedException {
+		System.out.println("sequenceTimeout");
+
+		NativeHotKeyManager manager = new NativeHotKeyManager();
+		HotKeyRecorder recorder = new HotKeyRecorder();
+		manager.addHotKey(new NativeHotKey(new NativeHotKey(NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_K), NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_C), recorder);
+		manager.setSequenceTimeout(50, TimeUnit.MILLISECONDS);
+		assertEquals(50, manager.getSequenceTimeout(TimeUnit.MILLISECONDS));
+
+		press(manager, NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_K);
+		Thread.sleep(100);
+		press(manager, NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_C);
+		assertEquals(0, recorder.matches.size());
+
+		press(manager, NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_K);
+		press(manager, NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_C);
+		assertEquals(1, recorder.matches.size());
+	}
+
+	/**
+	 * Test of addHotKey method, of class NativeHotKeyManager.
+	 */
+	@Test
+	public void testAddHotKey() {
+		System.out.println("addHotKey");
+
+		NativeHotKeyManager manager = new NativeHotKeyManager();
+		HotKeyRecorder recorder = new HotKeyRecorder();
+
+		NativeHotKey prefix = new NativeHotKey(NativeInputEvent.CTRL_MASK, NativeKeyEvent.VC_K);
+		manager.addHotKey(new NativeHotKey(prefix, 0x00, NativeKeyEvent.VC_1), recorder);
+
+		try {
+			manager.addHotKey(prefix, recorder);
+			fail("A prefix of a registered hotkey was accepted");
+		}
+		catch (IllegalArgumentException e) {
+			assertEquals(1, manager.getHotKeys().size());
+		}
+
+		try {
+			manager.addHotKey(new NativeHotKey(new NativeHotKey(prefix, 0x00, NativeKeyEvent.VC_1), 0x00, NativeKeyEvent.VC_2), recorder);
+			fail("An extension of a registered hotkey was accepted");
+		}
+		catch (IllegalArgumentException e) {
+			assertEquals(1, manager.getHotKeys().size());
+		}
+
+		// Many hotkeys compile into one automaton.
+		for (int i = 0; i < 500; i++) {
+			manager.addHotKey(new NativeHotKey(new NativeHotKey(NativeInputEvent.ALT_MASK, NativeKeyEvent.VC_F1 + (i % 10)), NativeInputEvent.SHIFT_MASK, 0x1000 + i), recorder);
+		}
+		assertEquals(501, manager.getHotKeys().size());
+
+		press(manager, NativeInputEvent.ALT_MASK, NativeKeyEvent.VC_F1 + 7);
+		press(manager, NativeInputEvent.SHIFT_MASK, 0x1000 + 497);
+		assertEquals(1, recorder.matches.size());
+		assertEquals("Alt+" + NativeKeyEvent.getKeyText(NativeKeyEvent.VC_F1 + 7) + ", Shift+" + NativeKeyEvent.getKeyText(0x1000 + 497), recorder.matches.get(0).toString());
+	}
+}
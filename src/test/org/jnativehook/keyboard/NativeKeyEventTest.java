@@ -206,6 +206,29 @@ public class NativeKeyEventTest {
 		assertFalse(event.paramString().equals(""));
 	}
 
+	/**
+	 * Test of appendParamString method, of class NativeKeyEvent.
+	 */
+	@Test
+	public void testAppendParamString() {
+		System.out.println("appendParamString");
+
+		NativeKeyEvent event = new NativeKeyEvent(
+				NativeKeyEvent.NATIVE_KEY_RELEASED,
+				NativeKeyEvent.CTRL_L_MASK,
+				0x41,		// Raw Code
+				NativeKeyEvent.VC_A,
+				NativeKeyEvent.CHAR_UNDEFINED,
+				NativeKeyEvent.KEY_LOCATION_STANDARD);
+
+		StringBuilder param = new StringBuilder();
+		event.appendParamString(param);
+
+		assertEquals(event.paramString(), param.toString());
+		assertTrue(param.toString().startsWith("NATIVE_KEY_RELEASED,keyCode=30,keyText=A,"));
+		assertTrue(param.toString().endsWith(",keyLocation=KEY_LOCATION_STANDARD,rawCode=65"));
+	}
+
 	/**
 	 * Test for missing constants, of class NativeKeyEvent.
 	 */
@@ -0,0 +1,103 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.keyboard;
+
+// Imports.
+import org.junit.Test;
+import java.awt.event.KeyEvent;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static org.junit.Assert.*;
+
+public class NativeKeyTableTest {
+	/**
+	 * Test of getKeyText method, of class NativeKeyTable.
+	 */
+	@Test
+	public void testGetKeyText() throws IllegalAccessException {
+		System.out.println("getKeyText");
+
+		for (Field field : NativeKeyEvent.class.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers()) && field.getName().startsWith("VC_")
+					&& field.getInt(null) != NativeKeyEvent.VC_SUN_UNDO) {
+				String text = NativeKeyTable.getKeyText(field.getInt(null));
+
+				assertFalse(field.getName(), text.startsWith("Unknown keyCode"));
+			}
+		}
+
+		assertEquals("A", NativeKeyTable.getKeyText(NativeKeyEvent.VC_A));
+		assertEquals("0", NativeKeyTable.getKeyText(NativeKeyEvent.VC_0));
+
+		// Localized text is only resolved once.
+		assertSame(NativeKeyTable.getKeyText(NativeKeyEvent.VC_ESCAPE), NativeKeyTable.getKeyText(NativeKeyEvent.VC_ESCAPE));
+
+		assertTrue(NativeKeyTable.getKeyText(NativeKeyEvent.VC_SUN_UNDO).endsWith("keyCode: 0xff7a"));
+		assertTrue(NativeKeyTable.getKeyText(0x1234).endsWith("keyCode: 0x1234"));
+		assertTrue(NativeKeyTable.getKeyText(-1).endsWith("keyCode: 0x-1"));
+		assertTrue(NativeKeyTable.getKeyText(0x10000).endsWith("keyCode: 0x10000"));
+	}
+
+	/**
+	 * Test of isActionKey method, of class NativeKeyTable.
+	 */
+	@Test
+	public void testIsActionKey() {
+		System.out.println("isActionKey");
+
+		assertTrue(NativeKeyTable.isActionKey(NativeKeyEvent.VC_F1));
+		assertTrue(NativeKeyTable.isActionKey(NativeKeyEvent.VC_LEFT));
+		assertTrue(NativeKeyTable.isActionKey(NativeKeyEvent.VC_SUN_UNDO));
+		assertFalse(NativeKeyTable.isActionKey(NativeKeyEvent.VC_A));
+		assertFalse(NativeKeyTable.isActionKey(NativeKeyEvent.VC_ESCAPE));
+		assertFalse(NativeKeyTable.isActionKey(NativeKeyEvent.VC_UNDEFINED));
+		assertFalse(NativeKeyTable.isActionKey(0x1234));
+		assertFalse(NativeKeyTable.isActionKey(Integer.MIN_VALUE));
+	}
+
+	/**
+	 * Test of getJavaKeyCode and getNativeKeyCode methods, of class NativeKeyTable.
+	 */
+	@Test
+	public void testKeyCodeConversion() throws IllegalAccessException {
+		System.out.println("keyCodeConversion");
+
+		assertEquals(KeyEvent.VK_A, NativeKeyTable.getJavaKeyCode(NativeKeyEvent.VC_A));
+		assertEquals(KeyEvent.VK_PAGE_DOWN, NativeKeyTable.getJavaKeyCode(NativeKeyEvent.VC_PAGE_DOWN));
+		assertEquals(KeyEvent.VK_HELP, NativeKeyTable.getJavaKeyCode(NativeKeyEvent.VC_SUN_HELP));
+		assertEquals(KeyEvent.VK_UNDEFINED, NativeKeyTable.getJavaKeyCode(NativeKeyEvent.VC_MEDIA_PLAY));
+		assertEquals(KeyEvent.VK_UNDEFINED, NativeKeyTable.getJavaKeyCode(0x1234));
+
+		assertEquals(NativeKeyEvent.VC_A, NativeKeyTable.getNativeKeyCode(KeyEvent.VK_A));
+		assertEquals(NativeKeyEvent.VC_UNDEFINED, NativeKeyTable.getNativeKeyCode(KeyEvent.VK_UNDEFINED));
+		assertEquals(NativeKeyEvent.VC_UNDEFINED, NativeKeyTable.getNativeKeyCode(KeyEvent.VK_F1 + 0x10000));
+
+		// Every mapped key converts back to itself.
+		for (Field field : NativeKeyEvent.class.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers()) && field.getName().startsWith("VC_")) {
+				int keyCode = field.getInt(null);
+				int javaKeyCode = NativeKeyTable.getJavaKeyCode(keyCode);
+
+				if (javaKeyCode != KeyEvent.VK_UNDEFINED) {
+					assertEquals(field.getName(), keyCode, NativeKeyTable.getNativeKeyCode(javaKeyCode));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/* JNativeHook: Global keyboard and mouse hooking for Java.
+ * Copyright (C) 2006-2018 Alexander Barker.  All Rights Received.
+ * https://github.com/kwhat/jnativehook/
+ *
+ * JNativeHook is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JNativeHook is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jnativehook.mouse;
+
+// Imports.
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class NativeGestureRecognizerTest {
+	/**
+	 * Records the gestures reported to it.
+	 */
+	private static class GestureRecorder implements NativeGestureListener {
+		private final List<NativeGesture> gestures = new ArrayList<NativeGesture>();
+		private final List<Float> scores = new ArrayList<Float>();
+
+		public void nativeGestureRecognized(NativeGesture gesture, float score, NativeMouseEvent nativeEvent) {
+			gestures.add(gesture);
+			scores.add(score);
+		}
+	}
+
+	private static NativeGestureRecognizer createRecognizer(GestureRecorder recorder) {
+		NativeGestureRecognizer recognizer = new NativeGestureRecognizer(NativeMouseEvent.BUTTON1);
+		recognizer.addGesture(NativeGesture.SWIPE_LEFT);
+		recognizer.addGesture(NativeGesture.SWIPE_RIGHT);
+		recognizer.addGesture(NativeGesture.SWIPE_UP);
+		recognizer.addGesture(NativeGesture.SWIPE_DOWN);
+		recognizer.addGesture(NativeGesture.CIRCLE_CLOCKWISE);
+		recognizer.addGesture(NativeGesture.CIRCLE_COUNTERCLOCKWISE);
+		recognizer.addNativeGestureListener(recorder);
+
+		return recognizer;
+	}
+
+	/**
+	 * Draw a path with the gesture button held down.
+	 */
+	private static void drag(NativeGestureRecognizer recognizer, int button, int[] x, int[] y) {
+		recognizer.nativeMousePressed(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_PRESSED, 0x00, x[0], y[0], 1, button));
+		for (int i = 1; i < x.length; i++) {
+			recognizer.nativeMouseDragged(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_DRAGGED, 0x00, x[i], y[i], 0));
+		}
+		recognizer.nativeMouseReleased(new NativeMouseEvent(NativeMouseEvent.NATIVE_MOUSE_RELEASED, 0x00, x[x.length - 1], y[y.length - 1], 1, button));
+	}
+
+	/**
+	 * Test of swipe recognition, of class NativeGestureRecognizer.
+	 */
+	@Test
+	public void testSwipe() {
+		System.out.println("swipe");
+
+		GestureRecorder recorder = new GestureRecorder();
+		NativeGestureRecognizer recognizer = createRecognizer(recorder);
+
+		// A slightly wobbly stroke to the right, reported one pixel at a time.
+		int[] x = new int[400];
+		int[] y = new int[400];
+		for (int i = 0; i < x.length; i++) {
+			x[i] = 500 + i;
+			y[i] = 300 + (int) Math.round(4 * Math.sin(i / 20.0));
+		}
+		drag(recognizer, NativeMouseEvent.BUTTON1, x, y);
+
+		// The same stroke upwards in a few large steps.
+		drag(recognizer, NativeMouseEvent.BUTTON1, new int[] { 100, 102, 101, 100 }, new int[] { 900, 600, 300, 100 });
+
+		assertEquals(2, recorder.gestures.size());
+		assertSame(NativeGesture.SWIPE_RIGHT, recorder.gestures.get(0));
+		assertSame(NativeGesture.SWIPE_UP, recorder.gestures.get(1));
+		assertTrue(recorder.scores.get(0) >= recognizer.getThreshold());
+
+		// Drags with another button or below the minimum length are not gestures.
+		drag(recognizer, NativeMouseEvent.BUTTON2, x, y);
+		drag(recognizer, NativeMouseEvent.BUTTON1, new int[] { 0, 10 }, new int[] { 0, 0 });
+		assertEquals(2, recorder.gestures.size());
+	}
+
+	/**
+	 * Test of circle recognition with a path much longer than the path buffer, of class NativeGestureRecognizer.
+	 */
+	@Test
+	public void testCircle() {
+		System.out.println("circle");
+
+		GestureRecorder recorder = new GestureRecorder();
+		NativeGestureRecognizer recognizer = createRecognizer(recorder);
+
+		// A large circle sampled at a high polling rate, drawn counterclockwise on the screen starting at the top.
+		int[] x = new int[20000];
+		int[] y = new int[20000];
+		for (int i = 0; i < x.length; i++) {
+			double angle = -2 * Math.PI * i / (x.length - 1);
+			x[i] = 2000 + (int) Math.round(1500 * Math.sin(angle));
+			y[i] = 2000 - (int) Math.round(1500 * Math.cos(angle));
+		}
+		drag(recognizer, NativeMouseEvent.BUTTON1, x, y);
+
+		assertEquals(1, recorder.gestures.size());
+		assertSame(NativeGesture.CIRCLE_COUNTERCLOCKWISE, recorder.gestures.get(0));
+		assertTrue(recorder.scores.get(0) > 0.95f);
+
+		// A zig zag does not resemble any template.
+		drag(recognizer, NativeMouseEvent.BUTTON1, new int[] { 0, 200, 0, 200, 0, 200 }, new int[] { 0, 40, 80, 120, 160, 200 });
+		assertEquals(1, recorder.gestures.size());
+
+		// Removed templates are no longer reported.
+		recognizer.removeGesture(NativeGesture.CIRCLE_COUNTERCLOCKWISE);
+		drag(recognizer, NativeMouseEvent.BUTTON1, x, y);
+		assertEquals(1, recorder.gestures.size());
+	}
+}
@@ -21,6 +21,7 @@ package org.jnativehook.mouse;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class NativeMouseWheelEventTest {
 	/**
@@ -102,4 +103,29 @@ public class NativeMouseWheelEventTest {
 
 		assertFalse(event.paramString().equals(""));
 	}
+
+	/**
+	 * Test of appendParamString method, of class NativeMouseWheelEvent.
+	 */
+	@Test
+	public void testAppendParamString() {
+		System.out.println("appendParamString");
+
+		NativeMouseWheelEvent event = new NativeMouseWheelEvent(
+				NativeMouseEvent.NATIVE_MOUSE_WHEEL,
+				NativeMouseEvent.BUTTON1_MASK,
+				50,		// X
+				75,		// Y
+				1,		// Click Count
+				NativeMouseWheelEvent.WHEEL_UNIT_SCROLL,
+				3,		// Scroll Amount
+				-1);	// Wheel Rotation
+
+		StringBuilder param = new StringBuilder();
+		event.appendParamString(param);
+
+		assertEquals(event.paramString(), param.toString());
+		assertTrue(param.toString().startsWith("NATIVE_MOUSE_WHEEL,(50,75),"));
+		assertTrue(param.toString().endsWith(",wheelDirection=WHEEL_VERTICAL_DIRECTION"));
+	}
 }